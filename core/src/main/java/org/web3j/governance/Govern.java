@@ -34,6 +34,7 @@ import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.*;
+import org.web3j.tx.ChainParameters;
 import org.web3j.tx.gas.ContractGasProvider;
 import org.web3j.utils.Numeric;
 
@@ -44,11 +45,13 @@ public class Govern {
     private Web3j web3j;
     private Credentials credentials;
     private ContractGasProvider contractGasProvider;
+    private ChainParameters chainParameters;
 
     public Govern(Web3j web3j, Credentials credentials, ContractGasProvider contractGasProvider) {
         this.web3j = web3j;
         this.credentials = credentials;
         this.contractGasProvider = contractGasProvider;
+        this.chainParameters = ChainParameters.shared(web3j);
     }
 
     /**
@@ -289,9 +292,8 @@ public class Govern {
         BigInteger gasLimit;
 
         if (contractGasProvider == null) {
-            EthBlock.Block block = getLatestBlock();
-            gasPrice = web3j.ethGasPrice().send().getGasPrice();
-            gasLimit = block.getGasLimit();
+            gasPrice = chainParameters.getGasPrice();
+            gasLimit = chainParameters.getBlockGasLimit();
         } else {
             gasPrice = contractGasProvider.getGasPrice(encodedFunction);
             gasLimit = contractGasProvider.getGasLimit(encodedFunction);
@@ -303,7 +305,11 @@ public class Govern {
 
         byte[] signedMessage = TransactionEncoder.signMessage(rawTransaction, credentials);
         String hexValue = Numeric.toHexString(signedMessage);
-        return web3j.ethSendRawTransaction(hexValue).send();
+        EthSendTransaction ethSendTransaction = web3j.ethSendRawTransaction(hexValue).send();
+        if (ethSendTransaction.hasError()) {
+            chainParameters.invalidateOn(ethSendTransaction.getError());
+        }
+        return ethSendTransaction;
     }
 
     private BigInteger getTransactionCount() throws IOException {
@@ -312,8 +318,4 @@ public class Govern {
                 .send()
                 .getTransactionCount();
     }
-
-    private EthBlock.Block getLatestBlock() throws IOException {
-        return web3j.ethGetBlockByNumber(DefaultBlockParameterName.LATEST, true).send().getBlock();
-    }
 }
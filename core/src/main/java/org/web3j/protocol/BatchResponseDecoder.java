@@ -0,0 +1,232 @@
+package org.web3j.protocol;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserSequence;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+
+/**
+ * Streaming decoder for JSON-RPC batch responses.
+ *
+ * <p>The JSON-RPC specification allows a server to return the elements of a batch response in any
+ * order, so each element is matched to its request by {@code id} rather than by position. The array
+ * is read token by token: only the fields preceding {@code id} are buffered, after which the
+ * element is bound straight to the response type of the matching request. Elements without a usable
+ * {@code id} fall back to positional matching.
+ *
+ * <p>The decoded responses are returned in request order. Requests the server did not answer have
+ * no entry in the result.
+ */
+public class BatchResponseDecoder {
+
+    private static final String ID_FIELD = "id";
+
+    private final ObjectMapper objectMapper;
+
+    public BatchResponseDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public BatchResponse decode(List<Request<?, ? extends Response<?>>> requests, InputStream input)
+            throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            return decode(requests, parser);
+        }
+    }
+
+    public BatchResponse decode(List<Request<?, ? extends Response<?>>> requests, String input)
+            throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            return decode(requests, parser);
+        }
+    }
+
+    private BatchResponse decode(
+            List<Request<?, ? extends Response<?>>> requests, JsonParser parser)
+            throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Batch response is not a JSON array");
+        }
+
+        Response<?>[] responses = new Response<?>[requests.size()];
+        RequestIndex requestIndex = new RequestIndex(requests);
+
+        JsonToken token;
+        for (int position = 0; (token = parser.nextToken()) == JsonToken.START_OBJECT; position++) {
+            decodeElement(requests, requestIndex, responses, position, parser);
+        }
+        if (token != JsonToken.END_ARRAY) {
+            throw new IOException("Unexpected token in batch response: " + token);
+        }
+
+        List<Response<?>> result = new ArrayList<>(responses.length);
+        for (Response<?> response : responses) {
+            if (response != null) {
+                result.add(response);
+            }
+        }
+        return new BatchResponse(requests, result);
+    }
+
+    private void decodeElement(
+            List<Request<?, ? extends Response<?>>> requests,
+            RequestIndex requestIndex,
+            Response<?>[] responses,
+            int position,
+            JsonParser parser)
+            throws IOException {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.writeStartObject();
+
+        int index = -1;
+        boolean idFound = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            buffer.writeFieldName(fieldName);
+            buffer.copyCurrentStructure(parser);
+
+            if (ID_FIELD.equals(fieldName)) {
+                idFound = true;
+                index = indexForId(requestIndex, responses, parser);
+                break;
+            }
+        }
+        if (!idFound) {
+            buffer.writeEndObject();
+        }
+
+        if (index < 0 && position < responses.length && responses[position] == null) {
+            index = position;
+        }
+        if (index < 0) {
+            if (idFound) {
+                parser.skipChildren();
+                skipRemainingFields(parser);
+            }
+            return;
+        }
+
+        Class<? extends Response<?>> responseType = requests.get(index).getResponseType();
+        JsonParser elementParser =
+                idFound ? new ElementParser(buffer.asParser(), parser) : buffer.asParser();
+        responses[index] = objectMapper.readValue(elementParser, responseType);
+    }
+
+    private static int indexForId(
+            RequestIndex requestIndex, Response<?>[] responses, JsonParser parser)
+            throws IOException {
+        long id;
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            id = parser.getLongValue();
+        } else if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            try {
+                id = Long.parseLong(parser.getText());
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        } else {
+            return -1;
+        }
+        return requestIndex.unanswered(id, responses);
+    }
+
+    private static void skipRemainingFields(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * Continues an element from the buffered leading fields into the live parser. The input source
+     * is hidden so that raw response capture does not pick up the whole batch payload.
+     */
+    private static class ElementParser extends JsonParserSequence {
+
+        ElementParser(JsonParser buffered, JsonParser live) {
+            super(false, new JsonParser[] {buffered, live});
+        }
+
+        @Override
+        public Object getInputSource() {
+            return null;
+        }
+
+        @Override
+        public void close() {
+            // the live parser is owned by the decoder
+        }
+    }
+
+    /** Open addressing map of request id to request position. */
+    private static class RequestIndex {
+
+        private final long[] ids;
+        private final int[] positions;
+        private final int mask;
+        private final List<Request<?, ? extends Response<?>>> requests;
+
+        RequestIndex(List<Request<?, ? extends Response<?>>> requests) {
+            this.requests = requests;
+            int capacity = Integer.highestOneBit(Math.max(requests.size(), 1) * 2 - 1) << 1;
+            this.ids = new long[capacity];
+            this.positions = new int[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(positions, -1);
+
+            for (int i = 0; i < requests.size(); i++) {
+                put(requests.get(i).getId(), i);
+            }
+        }
+
+        private void put(long id, int position) {
+            int slot = slot(id);
+            while (positions[slot] >= 0) {
+                if (ids[slot] == id) {
+                    // keep the first position, duplicates are resolved in unanswered
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            ids[slot] = id;
+            positions[slot] = position;
+        }
+
+        /**
+         * Returns the position of the first request with the given id that has no response yet, or
+         * -1 if there is none.
+         */
+        int unanswered(long id, Response<?>[] responses) {
+            int slot = slot(id);
+            while (positions[slot] >= 0) {
+                if (ids[slot] == id) {
+                    for (int i = positions[slot]; i < responses.length; i++) {
+                        if (responses[i] == null && requests.get(i).getId() == id) {
+                            return i;
+                        }
+                    }
+                    return -1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int slot(long id) {
+            long hash = id * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+    }
+}
@@ -14,13 +14,10 @@ package org.web3j.protocol;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import io.reactivex.Flowable;
 
 import org.web3j.protocol.core.BatchRequest;
@@ -34,9 +31,14 @@ import org.web3j.utils.Async;
 public abstract class Service implements Web3jService {
 
     protected final ObjectMapper objectMapper;
+    // Whether responses keep the raw JSON they were parsed from
+    protected final boolean includeRawResponses;
+    private final BatchResponseDecoder batchResponseDecoder;
 
     public Service(boolean includeRawResponses) {
+        this.includeRawResponses = includeRawResponses;
         objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses);
+        batchResponseDecoder = new BatchResponseDecoder(objectMapper);
     }
 
     protected abstract InputStream performIO(String payload) throws IOException;
@@ -46,11 +48,7 @@ public abstract class Service implements Web3jService {
         String payload = objectMapper.writeValueAsString(request);
 
         try (InputStream result = performIO(payload)) {
-            if (result != null) {
-                return objectMapper.readValue(result, responseType);
-            } else {
-                return null;
-            }
+            return readResponse(result, responseType);
         }
     }
 
@@ -69,21 +67,43 @@ public abstract class Service implements Web3jService {
         String payload = objectMapper.writeValueAsString(batchRequest.getRequests());
 
         try (InputStream result = performIO(payload)) {
-            if (result != null) {
-                ArrayNode nodes = (ArrayNode) objectMapper.readTree(result);
-                List<Response<?>> responses = new ArrayList<>(nodes.size());
-
-                for (int i = 0; i < nodes.size(); i++) {
-                    Request<?, ? extends Response<?>> request = batchRequest.getRequests().get(i);
-                    Response<?> response =
-                            objectMapper.treeToValue(nodes.get(i), request.getResponseType());
-                    responses.add(response);
-                }
-
-                return new BatchResponse(batchRequest.getRequests(), responses);
-            } else {
-                return null;
-            }
+            return readBatchResponse(batchRequest, result);
+        }
+    }
+
+    /**
+     * Deserializes a single JSON-RPC response.
+     *
+     * @param result response stream, may be null
+     * @param responseType class of a data item returned by the request
+     * @param <T> type of a data item returned by the request
+     * @return deserialized JSON-RPC response, or null if there was no response
+     * @throws IOException thrown if the response could not be read
+     */
+    protected <T extends Response> T readResponse(InputStream result, Class<T> responseType)
+            throws IOException {
+        if (result != null) {
+            return objectMapper.readValue(result, responseType);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Deserializes a JSON-RPC batch response. Responses are matched to their requests by id, so the
+     * server may return them in any order.
+     *
+     * @param batchRequest requests the response belongs to
+     * @param result response stream, may be null
+     * @return deserialized JSON-RPC responses, or null if there was no response
+     * @throws IOException thrown if the response could not be read
+     */
+    protected BatchResponse readBatchResponse(BatchRequest batchRequest, InputStream result)
+            throws IOException {
+        if (result != null) {
+            return batchResponseDecoder.decode(batchRequest.getRequests(), result);
+        } else {
+            return null;
         }
     }
 
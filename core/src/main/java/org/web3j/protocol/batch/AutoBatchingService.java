@@ -0,0 +1,339 @@
+package org.web3j.protocol.batch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+
+/**
+ * Web3jService decorator that transparently coalesces individual requests into JSON-RPC batches.
+ *
+ * <p>Requests passed to {@link #send(Request, Class)} and {@link #sendAsync(Request, Class)} are
+ * held back for at most the configured batch window, or until the maximum batch size is reached,
+ * and are then sent as a single batch through {@link Web3jService#sendBatchAsync(BatchRequest)} of
+ * the underlying service. Each caller receives the response carrying its own request id, including
+ * any JSON-RPC error returned for that request.
+ *
+ * <p>Flushing is adaptive: when no batch is in flight a request is sent straight away, so a lone
+ * caller does not pay for the batch window. While batches are in flight new requests accumulate,
+ * and they are flushed as soon as a batch completes, the window elapses, or the batch is full.
+ *
+ * <p>Explicit batch requests and subscriptions are passed to the underlying service unchanged.
+ */
+public class AutoBatchingService implements Web3jService {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final long DEFAULT_BATCH_WINDOW_MILLIS = 2;
+
+    private final Web3jService web3jService;
+    private final int maxBatchSize;
+    private final long batchWindowNanos;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean ownsExecutorService;
+
+    private final Object lock = new Object();
+    private List<PendingRequest<?>> pendingRequests = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private int inFlightBatches;
+
+    public AutoBatchingService(Web3jService web3jService) {
+        this(
+                web3jService,
+                DEFAULT_MAX_BATCH_SIZE,
+                DEFAULT_BATCH_WINDOW_MILLIS,
+                TimeUnit.MILLISECONDS);
+    }
+
+    public AutoBatchingService(
+            Web3jService web3jService, int maxBatchSize, long batchWindow, TimeUnit unit) {
+        this(web3jService, maxBatchSize, batchWindow, unit, Async.defaultExecutorService(), true);
+    }
+
+    /**
+     * Creates an auto-batching service.
+     *
+     * @param web3jService service used to send batches
+     * @param maxBatchSize maximum number of requests in a single batch
+     * @param batchWindow maximum time a request is held back before its batch is sent
+     * @param unit time unit of the batch window
+     * @param scheduledExecutorService executor used to flush batches once the window elapses.
+     *     <strong>You are responsible for terminating this thread pool</strong>
+     */
+    public AutoBatchingService(
+            Web3jService web3jService,
+            int maxBatchSize,
+            long batchWindow,
+            TimeUnit unit,
+            ScheduledExecutorService scheduledExecutorService) {
+        this(web3jService, maxBatchSize, batchWindow, unit, scheduledExecutorService, false);
+    }
+
+    private AutoBatchingService(
+            Web3jService web3jService,
+            int maxBatchSize,
+            long batchWindow,
+            TimeUnit unit,
+            ScheduledExecutorService scheduledExecutorService,
+            boolean ownsExecutorService) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be at least 1");
+        }
+        if (batchWindow < 0) {
+            throw new IllegalArgumentException("Batch window cannot be negative");
+        }
+        this.web3jService = web3jService;
+        this.maxBatchSize = maxBatchSize;
+        this.batchWindowNanos = unit.toNanos(batchWindow);
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.ownsExecutorService = ownsExecutorService;
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        try {
+            return sendAsync(request, responseType).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted batched request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        List<PendingRequest<?>> batch = null;
+
+        synchronized (lock) {
+            pendingRequests.add(new PendingRequest<>(request, responseType, result));
+            if (pendingRequests.size() >= maxBatchSize || inFlightBatches == 0) {
+                batch = drainPendingRequests();
+            } else if (scheduledFlush == null) {
+                scheduledFlush =
+                        scheduledExecutorService.schedule(
+                                this::flush, batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (batch != null) {
+            dispatch(batch);
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return web3jService.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return web3jService.sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    /** Sends all requests that are currently held back, without waiting for the batch window. */
+    public void flush() {
+        List<PendingRequest<?>> batch;
+        synchronized (lock) {
+            if (pendingRequests.isEmpty()) {
+                return;
+            }
+            batch = drainPendingRequests();
+        }
+        dispatch(batch);
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (ownsExecutorService) {
+            scheduledExecutorService.shutdown();
+        }
+        web3jService.close();
+    }
+
+    // Must be called while holding the lock
+    private List<PendingRequest<?>> drainPendingRequests() {
+        List<PendingRequest<?>> batch = pendingRequests;
+        pendingRequests = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        inFlightBatches++;
+        return batch;
+    }
+
+    private void dispatch(List<PendingRequest<?>> batch) {
+        if (batch.size() == 1) {
+            send(batch.get(0));
+            return;
+        }
+
+        // Responses are matched to callers by id, so requests sharing an id (the same Request
+        // sent twice, or ids assigned by hand) go out in a batch of their own
+        Map<Long, PendingRequest<?>> pendingForId = new LinkedHashMap<>(batch.size() * 2);
+        List<PendingRequest<?>> duplicates = new ArrayList<>();
+        for (PendingRequest<?> pendingRequest : batch) {
+            if (pendingForId.putIfAbsent(pendingRequest.request.getId(), pendingRequest) != null) {
+                duplicates.add(pendingRequest);
+            }
+        }
+
+        if (!duplicates.isEmpty()) {
+            synchronized (lock) {
+                inFlightBatches++;
+            }
+            dispatch(duplicates);
+        }
+
+        if (pendingForId.size() == 1) {
+            send(pendingForId.values().iterator().next());
+            return;
+        }
+
+        BatchRequest batchRequest = new BatchRequest(web3jService);
+        for (PendingRequest<?> pendingRequest : pendingForId.values()) {
+            batchRequest.add(pendingRequest.request);
+        }
+
+        CompletableFuture<BatchResponse> batchResult;
+        try {
+            batchResult = web3jService.sendBatchAsync(batchRequest);
+        } catch (RuntimeException e) {
+            batchResult = CompletableFuture.failedFuture(e);
+        }
+
+        batchResult.whenComplete(
+                (batchResponse, throwable) -> {
+                    try {
+                        complete(pendingForId, batchResponse, throwable);
+                    } finally {
+                        onBatchCompleted();
+                    }
+                });
+    }
+
+    private void send(PendingRequest<?> pendingRequest) {
+        pendingRequest.send(web3jService).whenComplete((response, throwable) -> onBatchCompleted());
+    }
+
+    private void complete(
+            Map<Long, PendingRequest<?>> pendingForId,
+            BatchResponse batchResponse,
+            Throwable throwable) {
+        if (throwable == null && batchResponse == null) {
+            throwable = new IOException("No response received for batch request");
+        }
+
+        if (throwable != null) {
+            for (PendingRequest<?> pendingRequest : pendingForId.values()) {
+                pendingRequest.result.completeExceptionally(unwrap(throwable));
+            }
+            return;
+        }
+
+        for (Response<?> response : batchResponse.getResponses()) {
+            PendingRequest<?> pendingRequest = pendingForId.remove(response.getId());
+            if (pendingRequest != null) {
+                pendingRequest.complete(response);
+            }
+        }
+
+        for (PendingRequest<?> pendingRequest : pendingForId.values()) {
+            pendingRequest.result.completeExceptionally(
+                    new IOException(
+                            String.format(
+                                    "No response received for request with id %d",
+                                    pendingRequest.request.getId())));
+        }
+    }
+
+    private void onBatchCompleted() {
+        List<PendingRequest<?>> batch = null;
+        synchronized (lock) {
+            inFlightBatches--;
+            if (!pendingRequests.isEmpty()) {
+                batch = drainPendingRequests();
+            }
+        }
+
+        if (batch != null) {
+            dispatch(batch);
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private static class PendingRequest<T extends Response> {
+        private final Request<?, ? extends Response<?>> request;
+        private final Class<T> responseType;
+        private final CompletableFuture<T> result;
+
+        @SuppressWarnings("unchecked")
+        PendingRequest(Request request, Class<T> responseType, CompletableFuture<T> result) {
+            this.request = request;
+            this.responseType = responseType;
+            this.result = result;
+        }
+
+        CompletableFuture<T> send(Web3jService web3jService) {
+            CompletableFuture<T> response;
+            try {
+                response = web3jService.sendAsync(request, responseType);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            return response.whenComplete(
+                    (value, throwable) -> {
+                        if (throwable != null) {
+                            result.completeExceptionally(unwrap(throwable));
+                        } else {
+                            result.complete(value);
+                        }
+                    });
+        }
+
+        void complete(Response<?> response) {
+            try {
+                result.complete(responseType.cast(response));
+            } catch (ClassCastException e) {
+                result.completeExceptionally(e);
+            }
+        }
+    }
+}
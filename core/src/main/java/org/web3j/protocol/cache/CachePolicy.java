@@ -0,0 +1,76 @@
+package org.web3j.protocol.cache;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.Transaction;
+
+/** Decides whether, and for how long, a response of a JSON-RPC method may be cached. */
+@FunctionalInterface
+public interface CachePolicy {
+
+    /** Time to live of responses that never change. */
+    long FOREVER = Long.MAX_VALUE;
+
+    /**
+     * Returns how long the given response may be served from the cache.
+     *
+     * @param request request the response answers
+     * @param response response received from the node, never an error response
+     * @return time to live in nanoseconds, or a value not greater than zero if the response must
+     *     not be cached
+     */
+    long timeToLiveNanos(Request<?, ?> request, Response<?> response);
+
+    /** Caches every successful response with a non null result. */
+    static CachePolicy whenResultPresent(long timeToLive, TimeUnit unit) {
+        long timeToLiveNanos = unit.toNanos(timeToLive);
+        return (request, response) -> response.getResult() != null ? timeToLiveNanos : 0;
+    }
+
+    /** Caches responses that never change once the node returned a non null result. */
+    static CachePolicy immutableResult() {
+        return (request, response) -> response.getResult() != null ? FOREVER : 0;
+    }
+
+    /** Caches transactions once they are included in a block. */
+    static CachePolicy minedTransaction() {
+        return minedTransaction(FOREVER);
+    }
+
+    /**
+     * Caches transactions included in a block for a time, after which a reorganisation may have
+     * dropped them from the block.
+     */
+    static CachePolicy minedTransaction(long timeToLive, TimeUnit unit) {
+        return minedTransaction(unit.toNanos(timeToLive));
+    }
+
+    private static CachePolicy minedTransaction(long timeToLiveNanos) {
+        return (request, response) -> {
+            Object result = response.getResult();
+            return result instanceof Transaction && ((Transaction) result).getBlockHash() != null
+                    ? timeToLiveNanos
+                    : 0;
+        };
+    }
+
+    /**
+     * Caches responses of requests made at a fixed block number, e.g. {@code eth_getCode}, but not
+     * of requests at a block tag such as {@code latest}.
+     *
+     * @param blockParameterIndex index of the block parameter of the request
+     */
+    static CachePolicy atBlockNumber(int blockParameterIndex) {
+        return (request, response) -> {
+            List<?> params = request.getParams();
+            if (params.size() <= blockParameterIndex || response.getResult() == null) {
+                return 0;
+            }
+            Object block = params.get(blockParameterIndex);
+            return block instanceof String && ((String) block).startsWith("0x") ? FOREVER : 0;
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package org.web3j.protocol.cache;
+
+/** Point in time statistics of a {@link CachingService}. */
+public class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long loadCount;
+    private final long evictionCount;
+    private final long size;
+
+    CacheStats(long hitCount, long missCount, long loadCount, long evictionCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.loadCount = loadCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /** Returns the number of requests answered from the cache. */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /** Returns the number of cacheable requests that were not found in the cache. */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of requests sent to the underlying service for cacheable methods. This is
+     * lower than the miss count when concurrent misses for the same key were collapsed.
+     */
+    public long getLoadCount() {
+        return loadCount;
+    }
+
+    /** Returns the number of entries evicted because the cache was full. */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /** Returns the number of entries currently in the cache. */
+    public long getSize() {
+        return size;
+    }
+
+    /** Returns the ratio of hits to cacheable requests, or 1 if there were none. */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{"
+                + "hitCount="
+                + hitCount
+                + ", missCount="
+                + missCount
+                + ", loadCount="
+                + loadCount
+                + ", evictionCount="
+                + evictionCount
+                + ", size="
+                + size
+                + '}';
+    }
+}
@@ -0,0 +1,217 @@
+package org.web3j.protocol.cache;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.websocket.events.Notification;
+
+/**
+ * Web3jService caching responses that do not change once they exist, such as blocks looked up by
+ * hash. Receipts and transactions of mined transactions are only cached for {@link
+ * #DEFAULT_MINED_TTL_MILLIS} by default, as a reorganisation may drop them from their block.
+ *
+ * <p>Only methods with a {@link CachePolicy} are cached, keyed by response type, method and
+ * parameters. Error responses are never cached. Concurrent requests for the same key that miss the
+ * cache share a single request to the underlying service. Each caller receives its own copy of the
+ * response, with the id of its request, sharing the result of the cached response.
+ */
+public class CachingService implements Web3jService {
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+    public static final long DEFAULT_MINED_TTL_MILLIS = 10_000;
+
+    public static final Map<String, CachePolicy> DEFAULT_POLICIES;
+
+    static {
+        Map<String, CachePolicy> policies = new HashMap<>();
+        policies.put("eth_chainId", CachePolicy.immutableResult());
+        policies.put("eth_getBlockByHash", CachePolicy.immutableResult());
+        policies.put(
+                "eth_getTransactionByHash",
+                CachePolicy.minedTransaction(DEFAULT_MINED_TTL_MILLIS, TimeUnit.MILLISECONDS));
+        policies.put(
+                "eth_getTransactionReceipt",
+                CachePolicy.whenResultPresent(DEFAULT_MINED_TTL_MILLIS, TimeUnit.MILLISECONDS));
+        policies.put("eth_getCode", CachePolicy.atBlockNumber(1));
+        DEFAULT_POLICIES = Collections.unmodifiableMap(policies);
+    }
+
+    private final Web3jService web3jService;
+    private final Map<String, CachePolicy> policies;
+    private final SegmentedLruCache<String, Response<?>> cache;
+    private final Map<String, CompletableFuture<Response<?>>> inFlight = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+
+    public CachingService(Web3jService web3jService) {
+        this(web3jService, DEFAULT_MAXIMUM_SIZE, DEFAULT_POLICIES);
+    }
+
+    /**
+     * Creates a caching service.
+     *
+     * @param web3jService service to send requests that cannot be answered from the cache
+     * @param maximumSize maximum number of cached responses
+     * @param policies cache policy per JSON-RPC method, methods without a policy are not cached
+     */
+    public CachingService(
+            Web3jService web3jService, int maximumSize, Map<String, CachePolicy> policies) {
+        this.web3jService = web3jService;
+        this.cache = new SegmentedLruCache<>(maximumSize);
+        this.policies = new HashMap<>(policies);
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        try {
+            return sendAsync(request, responseType).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted cached request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        CachePolicy policy = policies.get(request.getMethod());
+        if (policy == null) {
+            return web3jService.sendAsync(request, responseType);
+        }
+
+        String key;
+        try {
+            key = cacheKey(request, responseType);
+        } catch (JsonProcessingException e) {
+            return web3jService.sendAsync(request, responseType);
+        }
+
+        Response<?> cached = cache.get(key, System.nanoTime());
+        if (cached != null) {
+            hitCount.increment();
+            return CompletableFuture.completedFuture(copyFor(request, cached));
+        }
+        missCount.increment();
+
+        CompletableFuture<Response<?>> result = new CompletableFuture<>();
+        CompletableFuture<Response<?>> existing = inFlight.putIfAbsent(key, result);
+        if (existing != null) {
+            return existing.thenApply(r -> copyFor(request, r));
+        }
+
+        loadCount.increment();
+        CompletableFuture<T> response;
+        try {
+            response = web3jService.sendAsync(request, responseType);
+        } catch (RuntimeException e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+        response.whenComplete(
+                (value, throwable) -> {
+                    if (throwable == null && value != null && !value.hasError()) {
+                        long timeToLive = policy.timeToLiveNanos(request, value);
+                        if (timeToLive > 0) {
+                            long now = System.nanoTime();
+                            long expiresAt =
+                                    timeToLive == CachePolicy.FOREVER
+                                            ? Long.MAX_VALUE
+                                            : now + timeToLive;
+                            cache.put(key, value, expiresAt);
+                        }
+                    }
+                    inFlight.remove(key, result);
+                    if (throwable != null) {
+                        result.completeExceptionally(throwable);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+        return result.thenApply(r -> copyFor(request, r));
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        return web3jService.sendBatch(batchRequest);
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        return web3jService.sendBatchAsync(batchRequest);
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        web3jService.close();
+    }
+
+    /** Returns a snapshot of the statistics of this cache. */
+    public CacheStats getStats() {
+        return new CacheStats(
+                hitCount.sum(),
+                missCount.sum(),
+                loadCount.sum(),
+                cache.evictionCount(),
+                cache.size());
+    }
+
+    /** Copies a shared response, with the id of the request it answers. */
+    @SuppressWarnings("unchecked")
+    private static <T extends Response> T copyFor(Request<?, ?> request, Response<?> response) {
+        Response<Object> copy;
+        try {
+            copy = response.getClass().getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            // Response types without an accessible constructor are shared
+            return (T) response;
+        }
+        copy.setId(request.getId());
+        copy.setJsonrpc(response.getJsonrpc());
+        copy.setResult(response.getResult());
+        copy.setError(response.getError());
+        copy.setRawResponse(response.getRawResponse());
+        return (T) copy;
+    }
+
+    private String cacheKey(Request<?, ?> request, Class<?> responseType)
+            throws JsonProcessingException {
+        return responseType.getName()
+                + '|'
+                + request.getMethod()
+                + '|'
+                + objectMapper.writeValueAsString(request.getParams());
+    }
+}
@@ -0,0 +1,105 @@
+package org.web3j.protocol.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded segmented LRU cache.
+ *
+ * <p>New entries enter a probation segment and are promoted to a protected segment when they are
+ * read again. Entries falling out of the protected segment are demoted back to probation, and only
+ * entries falling out of probation are evicted. A burst of one-off entries therefore cannot flush
+ * entries that are read repeatedly.
+ */
+class SegmentedLruCache<K, V> {
+
+    private final int maximumSize;
+    private final int protectedMaximumSize;
+
+    // access ordered, eldest entry first
+    private final LinkedHashMap<K, Entry<V>> probation = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, Entry<V>> protectedSegment =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    private long evictionCount;
+
+    SegmentedLruCache(int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.protectedMaximumSize = Math.max(maximumSize * 4 / 5, 1);
+    }
+
+    synchronized V get(K key, long now) {
+        Entry<V> entry = protectedSegment.get(key);
+        if (entry == null) {
+            entry = probation.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            if (!entry.isExpired(now)) {
+                promote(key, entry);
+            }
+        }
+
+        if (entry.isExpired(now)) {
+            protectedSegment.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    synchronized void put(K key, V value, long expiresAt) {
+        Entry<V> entry = new Entry<>(value, expiresAt);
+        if (protectedSegment.containsKey(key)) {
+            protectedSegment.put(key, entry);
+            return;
+        }
+
+        probation.put(key, entry);
+        while (probation.size() + protectedSegment.size() > maximumSize) {
+            removeEldest(probation.isEmpty() ? protectedSegment : probation);
+            evictionCount++;
+        }
+    }
+
+    synchronized int size() {
+        return probation.size() + protectedSegment.size();
+    }
+
+    synchronized long evictionCount() {
+        return evictionCount;
+    }
+
+    private void promote(K key, Entry<V> entry) {
+        protectedSegment.put(key, entry);
+        while (protectedSegment.size() > protectedMaximumSize) {
+            Iterator<Map.Entry<K, Entry<V>>> iterator = protectedSegment.entrySet().iterator();
+            Map.Entry<K, Entry<V>> eldest = iterator.next();
+            iterator.remove();
+            probation.put(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private void removeEldest(LinkedHashMap<K, Entry<V>> segment) {
+        Iterator<K> iterator = segment.keySet().iterator();
+        iterator.next();
+        iterator.remove();
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(long now) {
+            return expiresAt != Long.MAX_VALUE && now - expiresAt >= 0;
+        }
+    }
+}
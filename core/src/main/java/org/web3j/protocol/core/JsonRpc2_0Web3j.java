@@ -32,7 +32,13 @@ import org.web3j.protocol.core.methods.response.*;
 import org.web3j.protocol.core.methods.response.admin.AdminDataDir;
 import org.web3j.protocol.core.methods.response.admin.AdminNodeInfo;
 import org.web3j.protocol.core.methods.response.admin.AdminPeers;
+import org.web3j.protocol.rx.BackpressurePolicy;
+import org.web3j.protocol.rx.BlockCheckpoint;
+import org.web3j.protocol.rx.BlockHeader;
+import org.web3j.protocol.rx.ChainEvent;
+import org.web3j.protocol.rx.InMemoryBlockCheckpoint;
 import org.web3j.protocol.rx.JsonRpc2_0Rx;
+import org.web3j.protocol.rx.PendingTransactionHydrator;
 import org.web3j.protocol.websocket.events.LogNotification;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
 import org.web3j.utils.Async;
@@ -703,33 +709,91 @@ public class JsonRpc2_0Web3j implements Web3j {
         return web3jRx.ethBlockHashFlowable(blockTime);
     }
 
+    @Override
+    public Flowable<String> ethBlockHashFlowable(BackpressurePolicy backpressurePolicy) {
+        return web3jRx.ethBlockHashFlowable(blockTime, backpressurePolicy);
+    }
+
     @Override
     public Flowable<String> ethPendingTransactionHashFlowable() {
         return web3jRx.ethPendingTransactionHashFlowable(blockTime);
     }
 
+    @Override
+    public Flowable<String> ethPendingTransactionHashFlowable(
+            BackpressurePolicy backpressurePolicy) {
+        return web3jRx.ethPendingTransactionHashFlowable(blockTime, backpressurePolicy);
+    }
+
     @Override
     public Flowable<Log> ethLogFlowable(
             org.web3j.protocol.core.methods.request.EthFilter ethFilter) {
         return web3jRx.ethLogFlowable(ethFilter, blockTime);
     }
 
+    @Override
+    public Flowable<Log> ethLogFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            BackpressurePolicy backpressurePolicy) {
+        return web3jRx.ethLogFlowable(ethFilter, blockTime, backpressurePolicy);
+    }
+
     @Override
     public Flowable<org.web3j.protocol.core.methods.response.Transaction> transactionFlowable() {
         return web3jRx.transactionFlowable(blockTime);
     }
 
+    @Override
+    public Flowable<org.web3j.protocol.core.methods.response.Transaction> transactionFlowable(
+            BackpressurePolicy backpressurePolicy) {
+        return web3jRx.transactionFlowable(blockTime, backpressurePolicy);
+    }
+
     @Override
     public Flowable<org.web3j.protocol.core.methods.response.Transaction>
             pendingTransactionFlowable() {
         return web3jRx.pendingTransactionFlowable(blockTime);
     }
 
+    @Override
+    public Flowable<org.web3j.protocol.core.methods.response.Transaction>
+            pendingTransactionFlowable(PendingTransactionHydrator hydrator) {
+        return web3jRx.pendingTransactionFlowable(blockTime, hydrator);
+    }
+
     @Override
     public Flowable<EthBlock> blockFlowable(boolean fullTransactionObjects) {
         return web3jRx.blockFlowable(fullTransactionObjects, blockTime);
     }
 
+    @Override
+    public Flowable<EthBlock> blockFlowable(
+            boolean fullTransactionObjects, BackpressurePolicy backpressurePolicy) {
+        return web3jRx.blockFlowable(fullTransactionObjects, blockTime, backpressurePolicy);
+    }
+
+    @Override
+    public Flowable<BlockHeader> blockHeaderFlowable() {
+        return web3jRx.blockHeaderFlowable(blockTime);
+    }
+
+    @Override
+    public Flowable<BlockHeader> blockHeaderFlowable(BackpressurePolicy backpressurePolicy) {
+        return web3jRx.blockHeaderFlowable(blockTime, backpressurePolicy);
+    }
+
+    @Override
+    public Flowable<ChainEvent<EthBlock>> confirmedBlockFlowable(
+            boolean fullTransactionObjects, int depth) {
+        return web3jRx.confirmedBlockFlowable(fullTransactionObjects, depth, blockTime);
+    }
+
+    @Override
+    public Flowable<ChainEvent<Log>> confirmedLogFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter, int depth) {
+        return web3jRx.confirmedLogFlowable(ethFilter, depth, blockTime);
+    }
+
     @Override
     public Flowable<EthBlock> replayPastBlocksFlowable(
             DefaultBlockParameter startBlock,
@@ -789,6 +853,33 @@ public class JsonRpc2_0Web3j implements Web3j {
         return web3jRx.replayPastAndFutureTransactionsFlowable(startBlock, blockTime);
     }
 
+    @Override
+    public Flowable<Log> replayPastLogsFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock) {
+        return replayPastLogsFlowable(
+                ethFilter, startBlock, endBlock, new InMemoryBlockCheckpoint());
+    }
+
+    @Override
+    public Flowable<Log> replayPastLogsFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            BlockCheckpoint checkpoint) {
+        return web3jRx.replayPastLogsFlowable(ethFilter, startBlock, endBlock, checkpoint);
+    }
+
+    @Override
+    public Flowable<Log> replayPastAndFutureLogsFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            DefaultBlockParameter startBlock,
+            BlockCheckpoint checkpoint) {
+        return web3jRx.replayPastAndFutureLogsFlowable(
+                ethFilter, startBlock, checkpoint, blockTime);
+    }
+
     @Override
     public void shutdown() {
         scheduledExecutorService.shutdown();
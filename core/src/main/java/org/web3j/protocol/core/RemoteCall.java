@@ -14,6 +14,7 @@ package org.web3j.protocol.core;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 import io.reactivex.Flowable;
 
@@ -27,11 +28,24 @@ import org.web3j.utils.Async;
 public class RemoteCall<T> {
 
     private Callable<T> callable;
+    // Performs the request asynchronously without blocking a thread, if set
+    private Supplier<CompletableFuture<T>> asyncCallable;
 
     public RemoteCall(Callable<T> callable) {
         this.callable = callable;
     }
 
+    /**
+     * Creates a remote call that can be performed asynchronously without blocking a thread.
+     *
+     * @param callable performs the request synchronously
+     * @param asyncCallable performs the request asynchronously
+     */
+    public RemoteCall(Callable<T> callable, Supplier<CompletableFuture<T>> asyncCallable) {
+        this.callable = callable;
+        this.asyncCallable = asyncCallable;
+    }
+
     /**
      * Perform request synchronously.
      *
@@ -48,6 +62,9 @@ public class RemoteCall<T> {
      * @return a future containing our function
      */
     public CompletableFuture<T> sendAsync() {
+        if (asyncCallable != null) {
+            return asyncCallable.get();
+        }
         return Async.run(this::send);
     }
 
@@ -34,6 +34,11 @@ public class BlockFilter extends Filter<String> {
         return web3j.ethNewBlockFilter().send();
     }
 
+    @Override
+    protected Optional<Request<?, EthFilter>> newFilterRequest() {
+        return Optional.of(web3j.ethNewBlockFilter());
+    }
+
     @Override
     protected void process(List<EthLog.LogResult> logResults) {
         for (EthLog.LogResult logResult : logResults) {
@@ -36,6 +36,11 @@ public class BlocksFilter extends Filter<List<String>> {
         return web3j.ethNewBlockFilter().send();
     }
 
+    @Override
+    protected Optional<Request<?, EthFilter>> newFilterRequest() {
+        return Optional.of(web3j.ethNewBlockFilter());
+    }
+
     @Override
     protected void process(List<LogResult> logResults) {
         List<String> blockHashes = new ArrayList<>(logResults.size());
@@ -20,6 +20,7 @@ import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
@@ -50,7 +51,16 @@ public abstract class Filter<T> {
 
     private long blockTime;
 
-    private static final String FILTER_NOT_FOUND_PATTERN = "(?i)\\bfilter\\s+not\\s+found\\b";
+    // Poller polling this filter together with others, if any
+    private volatile FilterPoller poller;
+
+    private volatile boolean cancelled;
+
+    // Polling is skipped while this holds, e.g. while the subscriber has not caught up
+    private volatile BooleanSupplier pauseCondition = () -> false;
+
+    private static final Pattern FILTER_NOT_FOUND_PATTERN =
+            Pattern.compile("(?i)\\bfilter\\s+not\\s+found\\b");
 
     public Filter(Web3j web3j, Callback<T> callback) {
         this.web3j = web3j;
@@ -59,12 +69,7 @@ public abstract class Filter<T> {
 
     public void run(ScheduledExecutorService scheduledExecutorService, long blockTime) {
         try {
-            EthFilter ethFilter = sendRequest();
-            if (ethFilter.hasError()) {
-                throwException(ethFilter.getError());
-            }
-
-            filterId = ethFilter.getFilterId();
+            EthFilter ethFilter = install();
             this.scheduledExecutorService = scheduledExecutorService;
             this.blockTime = blockTime;
             // this runs in the caller thread as if any exceptions are encountered, we shouldn't
@@ -108,6 +113,36 @@ public abstract class Filter<T> {
         }
     }
 
+    /**
+     * Installs the filter and lets the given poller poll it, together with the other filters
+     * registered with the poller.
+     *
+     * @param poller poller to poll the filter with
+     * @param blockTime polling interval in milliseconds
+     */
+    public void run(FilterPoller poller, long blockTime) {
+        try {
+            install();
+            this.poller = poller;
+            this.blockTime = blockTime;
+            getInitialFilterLogs();
+
+            poller.register(this, blockTime);
+        } catch (IOException e) {
+            throwException(e);
+        }
+    }
+
+    private EthFilter install() throws IOException {
+        EthFilter ethFilter = sendRequest();
+        if (ethFilter.hasError()) {
+            throwException(ethFilter.getError());
+        }
+
+        filterId = ethFilter.getFilterId();
+        return ethFilter;
+    }
+
     private void getInitialFilterLogs() {
         try {
             Optional<Request<?, EthLog>> maybeRequest = this.getFilterLogs(this.filterId);
@@ -131,32 +166,88 @@ public abstract class Filter<T> {
     }
 
     private void pollFilter(EthFilter ethFilter) {
+        if (isPaused()) {
+            return;
+        }
         EthLog ethLog = null;
         try {
             ethLog = web3j.ethGetFilterChanges(filterId).send();
         } catch (IOException e) {
             throwException(e);
         }
+        if (!processFilterChanges(ethLog)) {
+            reinstallFilter();
+        }
+    }
+
+    /**
+     * Passes the changes returned by {@code eth_getFilterChanges} to the callback.
+     *
+     * @return false if the filter has to be reinstalled since the node no longer knows it
+     */
+    boolean processFilterChanges(EthLog ethLog) {
         if (ethLog.hasError()) {
             Error error = ethLog.getError();
-            String message = error.getMessage();
-            switch (error.getCode()) {
-                case RpcErrors.FILTER_NOT_FOUND:
-                    reinstallFilter();
-                    break;
-                default:
-                    if (Pattern.compile(FILTER_NOT_FOUND_PATTERN).matcher(message).find())
-                        reinstallFilter();
-                    else throwException(error);
-                    break;
+            if (isFilterNotFound(error)) {
+                return false;
             }
-        } else {
-            process(ethLog.getLogs());
+            throwException(error);
         }
+        process(ethLog.getLogs());
+        return true;
+    }
+
+    static boolean isFilterNotFound(Error error) {
+        return error.getCode() == RpcErrors.FILTER_NOT_FOUND
+                || (error.getMessage() != null
+                        && FILTER_NOT_FOUND_PATTERN.matcher(error.getMessage()).find());
+    }
+
+    BigInteger getFilterId() {
+        return filterId;
+    }
+
+    void setFilterId(BigInteger filterId) {
+        this.filterId = filterId;
+    }
+
+    boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Skips polling the filter while a condition holds. The node keeps collecting the changes of
+     * the filter meanwhile, unless the filter expires, in which case it is reinstalled.
+     *
+     * @param pauseCondition condition under which the filter is not polled
+     */
+    public void pauseWhile(BooleanSupplier pauseCondition) {
+        this.pauseCondition = pauseCondition;
+    }
+
+    boolean isPaused() {
+        return pauseCondition.getAsBoolean();
     }
 
     protected abstract EthFilter sendRequest() throws IOException;
 
+    /**
+     * Returns the request installing this filter, which allows to reinstall several filters with a
+     * single batch. Filters that cannot provide the request are reinstalled with {@link
+     * #sendRequest()}.
+     *
+     * @return request installing the filter, or an empty optional
+     */
+    protected Optional<Request<?, EthFilter>> newFilterRequest() {
+        return Optional.empty();
+    }
+
+    /** Reinstalls the filter with {@link #sendRequest()}, and processes its initial logs. */
+    void reinstall() throws IOException {
+        install();
+        getInitialFilterLogs();
+    }
+
     protected abstract void process(List<EthLog.LogResult> logResults);
 
     private void reinstallFilter() {
@@ -166,7 +257,12 @@ public abstract class Filter<T> {
     }
 
     public void cancel() {
-        schedule.cancel(false);
+        cancelled = true;
+        if (poller != null) {
+            poller.unregister(this);
+        } else {
+            schedule.cancel(false);
+        }
 
         try {
             EthUninstallFilter ethUninstallFilter = uninstallFilter(filterId);
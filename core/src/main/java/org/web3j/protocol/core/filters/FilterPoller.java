@@ -0,0 +1,261 @@
+package org.web3j.protocol.core.filters;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+
+/**
+ * Polls installed filters together, instead of every filter polling on its own.
+ *
+ * <p>Filters with the same polling interval form a group that is polled by a single task. Each tick
+ * sends the {@code eth_getFilterChanges} requests of the whole group in batches of a limited size
+ * and passes the results to the filters. Filters the node no longer knows, e.g. after a restart,
+ * are reinstalled together, with one batch installing them and one fetching their initial logs.
+ * Paused filters are skipped until they resume.
+ */
+public class FilterPoller {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(FilterPoller.class);
+
+    private final Web3j web3j;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final int maxBatchSize;
+
+    // Groups of filters by polling interval, guarded by this poller
+    private final Map<Long, Group> groups = new HashMap<>();
+
+    public FilterPoller(Web3j web3j, ScheduledExecutorService scheduledExecutorService) {
+        this(web3j, scheduledExecutorService, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a filter poller.
+     *
+     * @param web3j web3j instance to poll filters with
+     * @param scheduledExecutorService executor to run the polling tasks on
+     * @param maxBatchSize maximum number of requests in a batch
+     */
+    public FilterPoller(
+            Web3j web3j, ScheduledExecutorService scheduledExecutorService, int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.web3j = web3j;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Starts polling an installed filter.
+     *
+     * @param filter filter to poll
+     * @param pollingInterval polling interval in milliseconds
+     */
+    public synchronized void register(Filter<?> filter, long pollingInterval) {
+        Group group = groups.computeIfAbsent(pollingInterval, interval -> new Group());
+        group.filters.add(filter);
+        if (group.schedule == null) {
+            // All exceptions must be caught, otherwise the task stops without any notification
+            group.schedule =
+                    scheduledExecutorService.scheduleAtFixedRate(
+                            () -> {
+                                try {
+                                    poll(group);
+                                } catch (Throwable e) {
+                                    log.warn("Error polling filters", e);
+                                }
+                            },
+                            0,
+                            pollingInterval,
+                            TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /** Stops polling a filter, the filter is not uninstalled. */
+    public synchronized void unregister(Filter<?> filter) {
+        groups.values()
+                .removeIf(
+                        group -> {
+                            if (group.filters.remove(filter) && group.filters.isEmpty()) {
+                                group.schedule.cancel(false);
+                                return true;
+                            }
+                            return false;
+                        });
+    }
+
+    /** Returns the number of filters being polled. */
+    public synchronized int getFilterCount() {
+        return groups.values().stream().mapToInt(group -> group.filters.size()).sum();
+    }
+
+    void poll(Group group) throws IOException {
+        List<Filter<?>> filters = new ArrayList<>(group.filters);
+        filters.removeIf(Filter::isPaused);
+        if (filters.isEmpty()) {
+            return;
+        }
+
+        List<Request<?, EthLog>> requests = new ArrayList<>(filters.size());
+        for (Filter<?> filter : filters) {
+            requests.add(web3j.ethGetFilterChanges(filter.getFilterId()));
+        }
+        List<EthLog> changes = sendAll(requests);
+
+        List<Filter<?>> notFound = new ArrayList<>();
+        for (int i = 0; i < filters.size(); i++) {
+            Filter<?> filter = filters.get(i);
+            EthLog ethLog = changes.get(i);
+            if (ethLog == null || filter.isCancelled()) {
+                continue;
+            }
+            try {
+                if (!filter.processFilterChanges(ethLog)) {
+                    notFound.add(filter);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Error processing changes of filter {}", filter.getFilterId(), e);
+            }
+        }
+
+        if (!notFound.isEmpty()) {
+            reinstall(notFound);
+        }
+    }
+
+    private void reinstall(List<Filter<?>> filters) throws IOException {
+        log.warn("{} filters have not been found, reinstalling them", filters.size());
+
+        List<Filter<?>> batched = new ArrayList<>();
+        List<Request<?, EthFilter>> requests = new ArrayList<>();
+        for (Filter<?> filter : filters) {
+            Optional<Request<?, EthFilter>> request = filter.newFilterRequest();
+            if (request.isPresent()) {
+                batched.add(filter);
+                requests.add(request.get());
+            } else {
+                reinstallSingle(filter);
+            }
+        }
+        if (batched.isEmpty()) {
+            return;
+        }
+
+        List<EthFilter> installed = sendAll(requests);
+        List<Filter<?>> reinstalled = new ArrayList<>();
+        List<Request<?, EthLog>> logRequests = new ArrayList<>();
+        for (int i = 0; i < batched.size(); i++) {
+            Filter<?> filter = batched.get(i);
+            EthFilter ethFilter = installed.get(i);
+            if (ethFilter == null || ethFilter.hasError()) {
+                log.warn("Failed to reinstall filter {}", filter.getFilterId());
+                continue;
+            }
+            filter.setFilterId(ethFilter.getFilterId());
+            Optional<Request<?, EthLog>> logRequest = filter.getFilterLogs(filter.getFilterId());
+            if (logRequest.isPresent()) {
+                reinstalled.add(filter);
+                logRequests.add(logRequest.get());
+            }
+        }
+        if (reinstalled.isEmpty()) {
+            return;
+        }
+
+        List<EthLog> initialLogs = sendAll(logRequests);
+        for (int i = 0; i < reinstalled.size(); i++) {
+            Filter<?> filter = reinstalled.get(i);
+            EthLog ethLog = initialLogs.get(i);
+            if (ethLog == null || ethLog.hasError()) {
+                log.warn("Failed to get initial logs of filter {}", filter.getFilterId());
+                continue;
+            }
+            try {
+                filter.process(ethLog.getLogs());
+            } catch (RuntimeException e) {
+                log.warn("Error processing logs of filter {}", filter.getFilterId(), e);
+            }
+        }
+    }
+
+    private static void reinstallSingle(Filter<?> filter) {
+        try {
+            filter.reinstall();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to reinstall filter {}", filter.getFilterId(), e);
+        }
+    }
+
+    /**
+     * Sends the requests in batches of at most {@code maxBatchSize} requests.
+     *
+     * @return responses in request order, null for requests without response
+     */
+    private <T extends Response<?>> List<T> sendAll(List<Request<?, T>> requests)
+            throws IOException {
+        List<T> responses = new ArrayList<>(requests.size());
+        for (int from = 0; from < requests.size(); from += maxBatchSize) {
+            int to = Math.min(requests.size(), from + maxBatchSize);
+            responses.addAll(send(requests.subList(from, to)));
+        }
+        return responses;
+    }
+
+    /**
+     * Sends the requests, as a batch if there are several of them.
+     *
+     * @return responses in request order, null for requests without response
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Response<?>> List<T> send(List<Request<?, T>> requests) throws IOException {
+        List<T> responses = new ArrayList<>(requests.size());
+        if (requests.size() == 1) {
+            responses.add(requests.get(0).send());
+            return responses;
+        }
+
+        BatchRequest batchRequest = web3j.newBatch();
+        Map<Long, Integer> positionForId = new HashMap<>(requests.size() * 2);
+        for (int i = 0; i < requests.size(); i++) {
+            Request<?, T> request = requests.get(i);
+            batchRequest.add(request);
+            positionForId.put(request.getId(), i);
+            responses.add(null);
+        }
+
+        BatchResponse batchResponse = batchRequest.send();
+        for (Response<?> response : batchResponse.getResponses()) {
+            Integer position = positionForId.get(response.getId());
+            if (position != null) {
+                responses.set(position, (T) response);
+            }
+        }
+        return responses;
+    }
+
+    /** Filters sharing a polling interval. */
+    static class Group {
+        private final List<Filter<?>> filters = new CopyOnWriteArrayList<>();
+        private ScheduledFuture<?> schedule;
+    }
+}
@@ -41,6 +41,11 @@ public class LogFilter extends Filter<Log> {
         return web3j.ethNewFilter(ethFilter).send();
     }
 
+    @Override
+    protected Optional<Request<?, EthFilter>> newFilterRequest() {
+        return Optional.of(web3j.ethNewFilter(ethFilter));
+    }
+
     @Override
     protected void process(List<EthLog.LogResult> logResults) {
         for (EthLog.LogResult logResult : logResults) {
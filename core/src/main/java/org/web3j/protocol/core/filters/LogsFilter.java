@@ -43,6 +43,11 @@ public class LogsFilter extends Filter<List<Log>> {
         return web3j.ethNewFilter(ethFilter).send();
     }
 
+    @Override
+    protected Optional<Request<?, EthFilter>> newFilterRequest() {
+        return Optional.of(web3j.ethNewFilter(ethFilter));
+    }
+
     @Override
     protected void process(List<LogResult> logResults) {
         List<Log> logs = new ArrayList<>(logResults.size());
@@ -34,6 +34,11 @@ public class PendingTransactionFilter extends Filter<String> {
         return web3j.ethNewPendingTransactionFilter().send();
     }
 
+    @Override
+    protected Optional<Request<?, EthFilter>> newFilterRequest() {
+        return Optional.of(web3j.ethNewPendingTransactionFilter());
+    }
+
     @Override
     protected void process(List<EthLog.LogResult> logResults) {
         for (EthLog.LogResult logResult : logResults) {
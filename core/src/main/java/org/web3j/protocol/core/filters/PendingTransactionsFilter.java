@@ -35,6 +35,11 @@ public class PendingTransactionsFilter extends Filter<List<String>> {
         return web3j.ethNewPendingTransactionFilter().send();
     }
 
+    @Override
+    protected Optional<Request<?, EthFilter>> newFilterRequest() {
+        return Optional.of(web3j.ethNewPendingTransactionFilter());
+    }
+
     @Override
     protected void process(List<EthLog.LogResult> logResults) {
         List<String> logs = new ArrayList<>(logResults.size());
@@ -54,6 +54,11 @@ public class EthFilter extends Filter<EthFilter> {
         this.blockHash = blockHash;
     }
 
+    public EthFilter(String blockHash, List<String> address) {
+        this(null, null, address);
+        this.blockHash = blockHash;
+    }
+
     public DefaultBlockParameter getFromBlock() {
         return fromBlock;
     }
@@ -16,12 +16,18 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.CipherSuite;
 import okhttp3.ConnectionSpec;
+import okhttp3.Dispatcher;
 import okhttp3.Headers;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -32,11 +38,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.web3j.protocol.Service;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
 import org.web3j.protocol.exceptions.ClientConnectionException;
 
 import static okhttp3.ConnectionSpec.CLEARTEXT;
 
-/** HTTP implementation of our services API. */
+/**
+ * HTTP implementation of our services API.
+ *
+ * <p>Asynchronous requests are dispatched through OkHttp's {@link Dispatcher}, so no thread is held
+ * while a request is in flight. The number of concurrent asynchronous requests is bounded by the
+ * dispatcher's {@link Dispatcher#setMaxRequests(int) maxRequests} and {@link
+ * Dispatcher#setMaxRequestsPerHost(int) maxRequestsPerHost} limits, which default to {@link
+ * #DEFAULT_MAX_REQUESTS} for clients created by this class.
+ */
 public class HttpService extends Service {
 
     /** Copied from {@link ConnectionSpec#APPROVED_CIPHER_SUITES}. */
@@ -86,12 +104,17 @@ public class HttpService extends Service {
 
     public static final String DEFAULT_URL = "http://localhost:8545/";
 
+    /** Default limit of concurrent asynchronous requests, both in total and per host. */
+    public static final int DEFAULT_MAX_REQUESTS = 64;
+
     private static final Logger log = LoggerFactory.getLogger(HttpService.class);
 
     private OkHttpClient httpClient;
 
     private final String url;
 
+    private volatile boolean streamResponses;
+
     private HashMap<String, String> headers = new HashMap<>();
 
     public HttpService(String url, OkHttpClient httpClient, boolean includeRawResponses) {
@@ -129,8 +152,28 @@ public class HttpService extends Service {
     }
 
     public static OkHttpClient.Builder getOkHttpClientBuilder() {
+        return getOkHttpClientBuilder(DEFAULT_MAX_REQUESTS);
+    }
+
+    /**
+     * Creates an OkHttp client builder whose dispatcher allows the given number of concurrent
+     * asynchronous requests.
+     *
+     * <p>All requests of a service target the same host, so the per host limit is set to the same
+     * value as the overall limit.
+     *
+     * @param maxRequests maximum number of asynchronous requests in flight
+     * @return a preconfigured OkHttp client builder
+     */
+    public static OkHttpClient.Builder getOkHttpClientBuilder(int maxRequests) {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequests);
+
         final OkHttpClient.Builder builder =
-                new OkHttpClient.Builder().connectionSpecs(CONNECTION_SPEC_LIST);
+                new OkHttpClient.Builder()
+                        .connectionSpecs(CONNECTION_SPEC_LIST)
+                        .dispatcher(dispatcher);
         configureLogging(builder);
         return builder;
     }
@@ -149,18 +192,92 @@ public class HttpService extends Service {
 
     @Override
     protected InputStream performIO(String request) throws IOException {
+        okhttp3.Response response = httpClient.newCall(buildRequest(request)).execute();
+        return processResponse(response);
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request jsonRpc20Request, Class<T> responseType) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(jsonRpc20Request);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return enqueue(payload, result -> readResponse(result, responseType));
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        if (batchRequest.getRequests().isEmpty()) {
+            return CompletableFuture.completedFuture(
+                    new BatchResponse(Collections.emptyList(), Collections.emptyList()));
+        }
+
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(batchRequest.getRequests());
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return enqueue(payload, result -> readBatchResponse(batchRequest, result));
+    }
+
+    private <T> CompletableFuture<T> enqueue(String payload, ResponseReader<T> reader) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Call call = httpClient.newCall(buildRequest(payload));
+
+        call.enqueue(
+                new Callback() {
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        result.completeExceptionally(e);
+                    }
+
+                    @Override
+                    public void onResponse(Call call, okhttp3.Response response) {
+                        // Runs on an OkHttp dispatcher thread, all exceptions must be passed on
+                        // to the caller
+                        try (InputStream inputStream = processResponse(response)) {
+                            result.complete(reader.read(inputStream));
+                        } catch (Throwable e) {
+                            result.completeExceptionally(e);
+                        }
+                    }
+                });
+
+        result.whenComplete(
+                (value, throwable) -> {
+                    if (result.isCancelled()) {
+                        call.cancel();
+                    }
+                });
+        return result;
+    }
 
+    private okhttp3.Request buildRequest(String request) {
         RequestBody requestBody = RequestBody.create(request, JSON_MEDIA_TYPE);
         Headers headers = buildHeaders();
 
-        okhttp3.Request httpRequest =
-                new okhttp3.Request.Builder().url(url).headers(headers).post(requestBody).build();
+        return new okhttp3.Request.Builder().url(url).headers(headers).post(requestBody).build();
+    }
 
-        try (okhttp3.Response response = httpClient.newCall(httpRequest).execute()) {
+    private InputStream processResponse(okhttp3.Response response) throws IOException {
+        boolean streaming = false;
+        try {
             processHeaders(response.headers());
             ResponseBody responseBody = response.body();
             if (response.isSuccessful()) {
                 if (responseBody != null) {
+                    if (isStreaming()) {
+                        // The caller closes the stream once parsing completes, which in turn
+                        // releases the underlying connection back to the pool.
+                        streaming = true;
+                        return responseBody.byteStream();
+                    }
                     return buildInputStream(responseBody);
                 } else {
                     return null;
@@ -172,6 +289,10 @@ public class HttpService extends Service {
                 throw new ClientConnectionException(
                         "Invalid response received: " + code + "; " + text);
             }
+        } finally {
+            if (!streaming) {
+                response.close();
+            }
         }
     }
 
@@ -183,6 +304,12 @@ public class HttpService extends Service {
         return new ByteArrayInputStream(responseBody.bytes());
     }
 
+    private boolean isStreaming() {
+        // Raw responses are re-read from the start of the stream once parsed, so they always
+        // require the full body to be buffered.
+        return streamResponses && !includeRawResponses;
+    }
+
     private Headers buildHeaders() {
         return Headers.of(headers);
     }
@@ -203,6 +330,38 @@ public class HttpService extends Service {
         return url;
     }
 
+    /**
+     * Returns the OkHttp dispatcher used for asynchronous requests. Its request limits may be
+     * adjusted at any time to bound the number of asynchronous requests in flight.
+     *
+     * @return the dispatcher of the underlying OkHttp client
+     */
+    public Dispatcher getDispatcher() {
+        return httpClient.dispatcher();
+    }
+
+    /**
+     * Enables or disables streaming of response bodies.
+     *
+     * <p>When enabled, responses are deserialized directly from the HTTP connection as bytes
+     * arrive, rather than being copied into memory first. The connection is held until parsing
+     * completes. This setting has no effect if raw responses are included.
+     *
+     * @param streamResponses true to stream response bodies, false to buffer them
+     */
+    public void setStreamResponses(boolean streamResponses) {
+        this.streamResponses = streamResponses;
+    }
+
+    public boolean isStreamResponses() {
+        return streamResponses;
+    }
+
     @Override
     public void close() throws IOException {}
+
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(InputStream inputStream) throws IOException;
+    }
 }
@@ -0,0 +1,121 @@
+package org.web3j.protocol.ipc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Splits a byte stream into top-level JSON values.
+ *
+ * <p>Nesting depth and string state are tracked byte by byte, so the end of a value is found
+ * without parsing it, however the stream is chunked and whether or not the node terminates its
+ * messages with a newline. Bytes of multi-byte UTF-8 sequences never match the ASCII structural
+ * characters, so the input does not need to be decoded.
+ */
+class JsonFrameDecoder {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 8 * 1024;
+
+    /** Receives complete frames, the buffer is only valid until the method returns. */
+    interface FrameHandler {
+        void onFrame(byte[] buffer, int offset, int length) throws IOException;
+    }
+
+    private byte[] buffer;
+    // Start of the frame being read, end of the buffered bytes and next byte to scan
+    private int start;
+    private int limit;
+    private int position;
+
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    JsonFrameDecoder() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    JsonFrameDecoder(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * Appends the remaining bytes of the input and passes every frame completed by them to the
+     * handler, in stream order.
+     *
+     * @param input bytes read from the stream
+     * @param handler handler of the completed frames
+     * @throws IOException if the stream is not a sequence of JSON objects and arrays
+     */
+    void decode(ByteBuffer input, FrameHandler handler) throws IOException {
+        append(input);
+
+        while (position < limit) {
+            byte b = buffer[position++];
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (b == '\\') {
+                    escaped = true;
+                } else if (b == '"') {
+                    inString = false;
+                }
+            } else if (b == '{' || b == '[') {
+                if (depth == 0) {
+                    start = position - 1;
+                }
+                depth++;
+            } else if (b == '}' || b == ']') {
+                if (depth == 0) {
+                    throw new IOException("Unbalanced JSON in IPC stream");
+                }
+                if (--depth == 0) {
+                    handler.onFrame(buffer, start, position - start);
+                    start = position;
+                }
+            } else if (depth == 0) {
+                if (!isWhitespace(b)) {
+                    throw new IOException(
+                            String.format("Unexpected character '%c' in IPC stream", (char) b));
+                }
+                start = position;
+            } else if (b == '"') {
+                inString = true;
+            }
+        }
+
+        compact();
+    }
+
+    /** Returns the number of buffered bytes that do not form a complete frame yet. */
+    int pendingBytes() {
+        return limit - start;
+    }
+
+    private void append(ByteBuffer input) {
+        int length = input.remaining();
+        if (limit + length > buffer.length) {
+            int required = limit - start + length;
+            if (required > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, required));
+            }
+            compact();
+        }
+        input.get(buffer, limit, length);
+        limit += length;
+    }
+
+    private void compact() {
+        if (start == 0) {
+            return;
+        }
+        System.arraycopy(buffer, start, buffer, 0, limit - start);
+        limit -= start;
+        position -= start;
+        start = 0;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+}
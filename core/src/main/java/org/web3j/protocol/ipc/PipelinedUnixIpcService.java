@@ -0,0 +1,620 @@
+package org.web3j.protocol.ipc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.BackpressureStrategy;
+import io.reactivex.Flowable;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subjects.BehaviorSubject;
+import jnr.unixsocket.UnixSocketAddress;
+import jnr.unixsocket.UnixSocketChannel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.BatchResponseDecoder;
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.core.methods.response.EthUnsubscribe;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+import org.web3j.utils.HashedWheelTimer;
+
+/**
+ * Unix domain socket service keeping its connections open and pipelining requests over them.
+ *
+ * <p>Unlike {@link UnixIpcService}, which opens a socket per request and waits for its reply, this
+ * service writes requests as soon as they are sent and matches replies to requests by id, so any
+ * number of requests can be in flight on a connection. Requests are spread over a fixed number of
+ * connections, which are reopened on demand after they fail. Replies are framed with {@link
+ * JsonFrameDecoder} and bound straight from the bytes read.
+ *
+ * <p>Subscriptions are supported as in {@link org.web3j.protocol.websocket.WebSocketService}. A
+ * subscription is bound to the connection it was started on and fails if that connection is closed.
+ */
+public class PipelinedUnixIpcService implements Web3jService {
+
+    private static final Logger log = LoggerFactory.getLogger(PipelinedUnixIpcService.class);
+
+    public static final int DEFAULT_CONNECTIONS = 1;
+    // Timeout for JSON-RPC requests
+    static final long REQUEST_TIMEOUT_SECONDS = 60;
+    // Resolution and size of the wheel tracking request timeouts
+    static final long TIMEOUT_TICK_MILLIS = 100;
+    static final int TIMEOUT_WHEEL_SIZE = 1024;
+
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+    /** Opens the channel of a new connection. */
+    interface ChannelFactory {
+        ByteChannel open() throws IOException;
+    }
+
+    private final ChannelFactory channelFactory;
+    private final Connection[] connections;
+    private final AtomicInteger nextConnection = new AtomicInteger();
+    private final ObjectMapper objectMapper;
+    private final boolean includeRawResponses;
+    private final BatchResponseDecoder batchResponseDecoder;
+    private final ScheduledExecutorService executor;
+    private final HashedWheelTimer timeoutTimer;
+
+    // Map of a sent request id to objects necessary to process its reply, batches are registered
+    // with the id of each of their requests
+    private final Map<Long, PendingRequest> pendingForId = new ConcurrentHashMap<>();
+    // Map of a subscription id to objects necessary to process incoming events
+    private final Map<String, IpcSubscription<?>> subscriptionForId = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    public PipelinedUnixIpcService(String ipcSocketPath) {
+        this(ipcSocketPath, DEFAULT_CONNECTIONS, false);
+    }
+
+    public PipelinedUnixIpcService(String ipcSocketPath, boolean includeRawResponses) {
+        this(ipcSocketPath, DEFAULT_CONNECTIONS, includeRawResponses);
+    }
+
+    /**
+     * Creates a pipelined IPC service. Connections are opened when they are first used.
+     *
+     * @param ipcSocketPath path of the node's IPC socket
+     * @param connections number of connections to spread requests over
+     * @param includeRawResponses whether to include the raw JSON of replies in responses
+     */
+    public PipelinedUnixIpcService(
+            String ipcSocketPath, int connections, boolean includeRawResponses) {
+        this(
+                () -> UnixSocketChannel.open(new UnixSocketAddress(ipcSocketPath)),
+                connections,
+                includeRawResponses);
+    }
+
+    PipelinedUnixIpcService(
+            ChannelFactory channelFactory, int connections, boolean includeRawResponses) {
+        this(
+                channelFactory,
+                connections,
+                includeRawResponses,
+                Async.defaultExecutorService(),
+                new HashedWheelTimer(
+                        TIMEOUT_TICK_MILLIS, TimeUnit.MILLISECONDS, TIMEOUT_WHEEL_SIZE));
+    }
+
+    PipelinedUnixIpcService(
+            ChannelFactory channelFactory,
+            int connections,
+            boolean includeRawResponses,
+            ScheduledExecutorService executor,
+            HashedWheelTimer timeoutTimer) {
+        if (connections < 1) {
+            throw new IllegalArgumentException("At least one connection is required");
+        }
+        this.channelFactory = channelFactory;
+        this.connections = new Connection[connections];
+        this.objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses);
+        this.includeRawResponses = includeRawResponses;
+        this.batchResponseDecoder = new BatchResponseDecoder(objectMapper);
+        this.executor = executor;
+        this.timeoutTimer = timeoutTimer;
+        timeoutTimer.start(executor);
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        try {
+            return sendAsync(request, responseType).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted IPC request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        send(
+                Collections.singletonList(request),
+                new PendingRequest(reply -> result.complete(responseType.cast(reply)), result) {
+                    @Override
+                    Object read(byte[] buffer, int offset, int length) throws IOException {
+                        return readValue(buffer, offset, length, responseType);
+                    }
+                },
+                request);
+        return result;
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        try {
+            return sendBatchAsync(batchRequest).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted IPC batch request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        CompletableFuture<BatchResponse> result = new CompletableFuture<>();
+        List<Request<?, ? extends Response<?>>> requests = batchRequest.getRequests();
+        if (requests.isEmpty()) {
+            result.complete(new BatchResponse(requests, Collections.emptyList()));
+            return result;
+        }
+
+        send(
+                requests,
+                new PendingRequest(reply -> result.complete((BatchResponse) reply), result) {
+                    @Override
+                    Object read(byte[] buffer, int offset, int length) throws IOException {
+                        return batchResponseDecoder.decode(
+                                requests, new ByteArrayInputStream(buffer, offset, length));
+                    }
+                },
+                requests);
+        return result;
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        BehaviorSubject<T> subject = BehaviorSubject.create();
+        IpcSubscription<T> subscription = new IpcSubscription<>(subject, responseType);
+
+        // Subscribe synchronously, so that the subscription id is known before the stream can be
+        // disposed
+        CompletableFuture<EthSubscribe> result = new CompletableFuture<>();
+        send(
+                Collections.singletonList(request),
+                new PendingRequest(reply -> result.complete((EthSubscribe) reply), result) {
+                    @Override
+                    Object read(byte[] buffer, int offset, int length) throws IOException {
+                        return readValue(buffer, offset, length, EthSubscribe.class);
+                    }
+
+                    @Override
+                    void onRead(Object reply, Connection connection) {
+                        // Registered on the reading thread, so that no event following the reply
+                        // is missed
+                        EthSubscribe ethSubscribe = (EthSubscribe) reply;
+                        if (!ethSubscribe.hasError()) {
+                            subscription.connection = connection;
+                            subscription.subscriptionId = ethSubscribe.getSubscriptionId();
+                            subscriptionForId.put(ethSubscribe.getSubscriptionId(), subscription);
+                        }
+                    }
+                },
+                request);
+
+        try {
+            EthSubscribe reply = result.get();
+            if (reply.hasError()) {
+                subject.onError(
+                        new IOException(
+                                String.format(
+                                        "Subscription request failed with error: %s",
+                                        reply.getError().getMessage())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            subject.onError(new IOException("Interrupted subscription request", e));
+        } catch (ExecutionException e) {
+            log.error("Failed to subscribe to RPC events with request id {}", request.getId());
+            subject.onError(e.getCause());
+        }
+
+        // Events are emitted off the reading thread, as replies are
+        return subject.doOnDispose(() -> unsubscribe(subscription, unsubscribeMethod))
+                .toFlowable(BackpressureStrategy.BUFFER)
+                .observeOn(Schedulers.from(executor));
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        for (int i = 0; i < connections.length; i++) {
+            Connection connection;
+            synchronized (connections) {
+                connection = connections[i];
+            }
+            if (connection != null) {
+                connection.close(new IOException("Service was closed"));
+            }
+        }
+        executor.shutdown();
+    }
+
+    private void send(List<? extends Request> requests, PendingRequest pending, Object payload) {
+        Connection connection;
+        byte[] bytes;
+        try {
+            if (closed) {
+                throw new IOException("Service was closed");
+            }
+            bytes = objectMapper.writeValueAsBytes(payload);
+            connection = connection();
+        } catch (IOException e) {
+            pending.result.completeExceptionally(e);
+            return;
+        }
+
+        pending.connection = connection;
+        pending.requestIds = new long[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            long id = requests.get(i).getId();
+            pending.requestIds[i] = id;
+            PendingRequest existing = pendingForId.putIfAbsent(id, pending);
+            if (existing != null && existing != pending) {
+                unregister(pending, i);
+                pending.result.completeExceptionally(
+                        new IOException(
+                                String.format("A request with id %d is already pending", id)));
+                return;
+            }
+        }
+
+        pending.timeout =
+                timeoutTimer.newTimeout(
+                        () -> fail(pending, new IOException("Request timed out")),
+                        REQUEST_TIMEOUT_SECONDS,
+                        TimeUnit.SECONDS);
+
+        if (log.isDebugEnabled()) {
+            log.debug(">> {}", new String(bytes, StandardCharsets.UTF_8));
+        }
+        try {
+            connection.write(bytes);
+        } catch (IOException e) {
+            connection.close(e);
+        }
+    }
+
+    private Connection connection() throws IOException {
+        int index = Math.floorMod(nextConnection.getAndIncrement(), connections.length);
+        synchronized (connections) {
+            Connection connection = connections[index];
+            if (connection == null || connection.closed) {
+                connection = new Connection(channelFactory.open(), index);
+                connections[index] = connection;
+                connection.start();
+            }
+            return connection;
+        }
+    }
+
+    private <T> void unsubscribe(IpcSubscription<T> subscription, String unsubscribeMethod) {
+        String subscriptionId = subscription.subscriptionId;
+        if (subscriptionId == null || subscriptionForId.remove(subscriptionId) == null) {
+            return;
+        }
+
+        Request<String, EthUnsubscribe> request =
+                new Request<>(
+                        unsubscribeMethod,
+                        Collections.singletonList(subscriptionId),
+                        this,
+                        EthUnsubscribe.class);
+        sendAsync(request, EthUnsubscribe.class)
+                .exceptionally(
+                        throwable -> {
+                            log.error(
+                                    "Failed to unsubscribe from subscription with id {}",
+                                    subscriptionId,
+                                    throwable);
+                            return null;
+                        });
+    }
+
+    private void fail(PendingRequest pending, Throwable throwable) {
+        if (unregister(pending, pending.requestIds.length)) {
+            completeOnExecutor(() -> pending.result.completeExceptionally(throwable));
+        }
+    }
+
+    // Removes the first count ids of the request, returns false if it was already removed
+    private boolean unregister(PendingRequest pending, int count) {
+        boolean removed = false;
+        for (int i = 0; i < count; i++) {
+            removed |= pendingForId.remove(pending.requestIds[i], pending);
+        }
+        return removed;
+    }
+
+    // Completes futures off the reading thread, so that callers blocking on another request in a
+    // callback cannot stall the connection
+    private void completeOnExecutor(Runnable completion) {
+        try {
+            executor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            completion.run();
+        }
+    }
+
+    private void onFrame(Connection connection, byte[] buffer, int offset, int length)
+            throws IOException {
+        if (log.isDebugEnabled()) {
+            log.debug("<< {}", new String(buffer, offset, length, StandardCharsets.UTF_8));
+        }
+
+        MessageHeader header;
+        try (JsonParser parser = objectMapper.getFactory().createParser(buffer, offset, length)) {
+            header = buffer[offset] == '[' ? peekBatchHeader(parser) : peekHeader(parser);
+        }
+
+        if (header.subscription != null) {
+            IpcSubscription<?> subscription = subscriptionForId.get(header.subscription);
+            if (subscription != null) {
+                try {
+                    subscription.onEvent(objectMapper, buffer, offset, length);
+                } catch (IOException | RuntimeException e) {
+                    // A malformed event must not close the connection of other requests
+                    log.warn("Failed to read event of subscription {}", header.subscription, e);
+                }
+            } else {
+                log.debug("Ignoring event for unknown subscription {}", header.subscription);
+            }
+            return;
+        }
+
+        PendingRequest pending = header.hasId ? pendingForId.get(header.id) : null;
+        if (pending == null) {
+            log.warn("Received reply for unknown request id {}", header.hasId ? header.id : null);
+            return;
+        }
+        pending.cancelTimeout();
+        unregister(pending, pending.requestIds.length);
+
+        Object reply;
+        try {
+            reply = pending.read(buffer, offset, length);
+        } catch (IOException e) {
+            completeOnExecutor(() -> pending.result.completeExceptionally(e));
+            return;
+        }
+        pending.onRead(reply, connection);
+        completeOnExecutor(() -> pending.onReply.accept(reply));
+    }
+
+    private <T> T readValue(byte[] buffer, int offset, int length, Class<T> type)
+            throws IOException {
+        if (includeRawResponses) {
+            // raw responses are read back from the input stream
+            return objectMapper.readValue(new ByteArrayInputStream(buffer, offset, length), type);
+        }
+        return objectMapper.readValue(buffer, offset, length, type);
+    }
+
+    private static MessageHeader peekBatchHeader(JsonParser parser) throws IOException {
+        parser.nextToken();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            MessageHeader header = readHeader(parser);
+            if (header.hasId) {
+                return header;
+            }
+        }
+        return new MessageHeader();
+    }
+
+    private static MessageHeader peekHeader(JsonParser parser) throws IOException {
+        parser.nextToken();
+        return readHeader(parser);
+    }
+
+    // Reads the fields of the current object, leaving the parser at its end
+    private static MessageHeader readHeader(JsonParser parser) throws IOException {
+        MessageHeader header = new MessageHeader();
+        String method = null;
+        String subscription = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if ("id".equals(fieldName)) {
+                if (token == JsonToken.VALUE_NUMBER_INT) {
+                    header.id = parser.getLongValue();
+                    header.hasId = true;
+                } else if (token == JsonToken.VALUE_STRING) {
+                    try {
+                        header.id = Long.parseLong(parser.getText());
+                        header.hasId = true;
+                    } catch (NumberFormatException e) {
+                        // not one of our ids
+                    }
+                }
+            } else if ("method".equals(fieldName) && token == JsonToken.VALUE_STRING) {
+                method = parser.getText();
+            } else if ("params".equals(fieldName) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String paramName = parser.getCurrentName();
+                    if (parser.nextToken() == JsonToken.VALUE_STRING
+                            && "subscription".equals(paramName)) {
+                        subscription = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (!header.hasId && method != null && method.endsWith("_subscription")) {
+            header.subscription = subscription;
+        }
+        return header;
+    }
+
+    private static class MessageHeader {
+        private boolean hasId;
+        private long id;
+        private String subscription;
+    }
+
+    /** Request or batch waiting for its reply. */
+    private abstract static class PendingRequest {
+        private final Consumer<Object> onReply;
+        private final CompletableFuture<?> result;
+        private volatile Connection connection;
+        private volatile long[] requestIds;
+        private volatile HashedWheelTimer.Timeout timeout;
+
+        PendingRequest(Consumer<Object> onReply, CompletableFuture<?> result) {
+            this.onReply = onReply;
+            this.result = result;
+        }
+
+        abstract Object read(byte[] buffer, int offset, int length) throws IOException;
+
+        void cancelTimeout() {
+            HashedWheelTimer.Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        void onRead(Object reply, Connection connection) {}
+    }
+
+    private static class IpcSubscription<T> {
+        private final BehaviorSubject<T> subject;
+        private final Class<T> responseType;
+        private volatile Connection connection;
+        private volatile String subscriptionId;
+
+        IpcSubscription(BehaviorSubject<T> subject, Class<T> responseType) {
+            this.subject = subject;
+            this.responseType = responseType;
+        }
+
+        void onEvent(ObjectMapper objectMapper, byte[] buffer, int offset, int length)
+                throws IOException {
+            subject.onNext(objectMapper.readValue(buffer, offset, length, responseType));
+        }
+    }
+
+    /** Open channel with a thread reading and dispatching its replies. */
+    private class Connection {
+        private final ByteChannel channel;
+        private final Thread reader;
+        private final Object writeLock = new Object();
+        private volatile boolean closed;
+
+        Connection(ByteChannel channel, int index) {
+            this.channel = channel;
+            this.reader = new Thread(this::read, "web3j-ipc-" + index);
+            this.reader.setDaemon(true);
+        }
+
+        void start() {
+            reader.start();
+        }
+
+        void write(byte[] payload) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(payload);
+            synchronized (writeLock) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+
+        private void read() {
+            JsonFrameDecoder decoder = new JsonFrameDecoder();
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            try {
+                while (!closed && channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    decoder.decode(
+                            buffer,
+                            (bytes, offset, length) -> onFrame(this, bytes, offset, length));
+                    buffer.clear();
+                }
+                close(new IOException("Connection was closed"));
+            } catch (IOException e) {
+                close(e);
+            }
+        }
+
+        void close(IOException cause) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug("Failed to close IPC channel", e);
+            }
+
+            for (PendingRequest pending : pendingForId.values()) {
+                if (pending.connection == this) {
+                    pending.cancelTimeout();
+                    fail(pending, cause);
+                }
+            }
+            for (IpcSubscription<?> subscription : subscriptionForId.values()) {
+                if (subscription.connection == this
+                        && subscriptionForId.remove(subscription.subscriptionId, subscription)) {
+                    subscription.subject.onError(cause);
+                }
+            }
+        }
+    }
+}
@@ -12,7 +12,12 @@
  */
 package org.web3j.protocol.ipc;
 
-/** Unix domain socket implementation of our services API. */
+/**
+ * Unix domain socket implementation of our services API.
+ *
+ * <p>A socket is opened for every request, see {@link PipelinedUnixIpcService} for a service
+ * keeping its connections open and sending requests concurrently.
+ */
 public class UnixIpcService extends IpcService {
     private final String ipcSocketPath;
 
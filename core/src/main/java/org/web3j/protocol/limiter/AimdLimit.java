@@ -0,0 +1,80 @@
+package org.web3j.protocol.limiter;
+
+/**
+ * Concurrency limit adjusted by additive increase and multiplicative decrease.
+ *
+ * <p>The limit grows by one per round trip while requests succeed and the limit is actually used,
+ * and is multiplied by the backoff ratio when a request fails because the node is overloaded, or
+ * takes considerably longer than the smoothed round trip time. It is decreased at most once per
+ * round trip, so that a burst of failures of requests sent at the same time counts once.
+ */
+class AimdLimit {
+
+    // Weight of a new sample in the smoothed round trip time
+    private static final double RTT_SMOOTHING = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double latencyTolerance;
+
+    private double limit;
+    private double smoothedRttNanos;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+    private volatile int currentLimit;
+
+    AimdLimit(
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            double backoffRatio,
+            double latencyTolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limit bounds");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.currentLimit = (int) limit;
+    }
+
+    int getLimit() {
+        return currentLimit;
+    }
+
+    /**
+     * Adjusts the limit to the outcome of a request.
+     *
+     * @param rttNanos round trip time of the request
+     * @param inFlight number of requests in flight when the request was completed
+     * @param overloaded whether the request failed in a way indicating an overloaded node
+     * @param nowNanos current time
+     */
+    synchronized void onSample(long rttNanos, int inFlight, boolean overloaded, long nowNanos) {
+        boolean slow = smoothedRttNanos > 0 && rttNanos > latencyTolerance * smoothedRttNanos;
+
+        if (overloaded || slow) {
+            if (!decreased || nowNanos - lastDecreaseNanos >= smoothedRttNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = nowNanos;
+                decreased = true;
+            }
+        } else if (inFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+
+        if (!overloaded) {
+            smoothedRttNanos =
+                    smoothedRttNanos == 0
+                            ? rttNanos
+                            : smoothedRttNanos + (rttNanos - smoothedRttNanos) * RTT_SMOOTHING;
+        }
+        currentLimit = (int) limit;
+    }
+}
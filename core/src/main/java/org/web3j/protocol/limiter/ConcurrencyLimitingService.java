@@ -0,0 +1,453 @@
+package org.web3j.protocol.limiter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+
+/**
+ * Web3jService decorator limiting the number of requests in flight to what the node can handle.
+ *
+ * <p>The limit adapts to the observed latency and errors: it grows while requests succeed and
+ * shrinks when the node signals that it is overloaded, with an HTTP 429 or a "limit exceeded"
+ * JSON-RPC error, or when requests take considerably longer than usual. Requests beyond the limit
+ * wait in a bounded queue and are rejected with an {@link IOException} once the queue is full.
+ *
+ * <p>Optionally, read requests are hedged: if a request has not been answered after the 95th
+ * percentile of recent latencies, a copy is sent, and the first answer is used. When the underlying
+ * service is a {@link org.web3j.protocol.loadbalancer.LoadBalancingService} the copy usually goes
+ * to another endpoint. Hedges are only sent while the limit has room for them.
+ */
+public class ConcurrencyLimitingService implements Web3jService {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 200;
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 1_000;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    public static final double DEFAULT_LATENCY_TOLERANCE = 2.0;
+
+    public static final Set<String> DEFAULT_HEDGED_METHODS =
+            Collections.unmodifiableSet(
+                    new HashSet<>(
+                            Arrays.asList(
+                                    "eth_blockNumber",
+                                    "eth_call",
+                                    "eth_chainId",
+                                    "eth_estimateGas",
+                                    "eth_gasPrice",
+                                    "eth_getBalance",
+                                    "eth_getBlockByHash",
+                                    "eth_getBlockByNumber",
+                                    "eth_getCode",
+                                    "eth_getLogs",
+                                    "eth_getStorageAt",
+                                    "eth_getTransactionByHash",
+                                    "eth_getTransactionReceipt")));
+
+    // JSON-RPC error returned by nodes and providers enforcing request limits
+    static final int LIMIT_EXCEEDED_ERROR_CODE = -32005;
+    // Messages of the HttpService errors for HTTP status 429 and 503
+    private static final String TOO_MANY_REQUESTS = "Invalid response received: 429;";
+    private static final String SERVICE_UNAVAILABLE = "Invalid response received: 503;";
+
+    private static final int LATENCY_WINDOW_SIZE = 256;
+    private static final double HEDGE_PERCENTILE = 0.95;
+
+    private final Web3jService web3jService;
+    private final AimdLimit limit;
+    private final int maxQueueSize;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean ownsExecutorService;
+    private final LatencyWindow latencies =
+            new LatencyWindow(LATENCY_WINDOW_SIZE, HEDGE_PERCENTILE);
+
+    private final Object lock = new Object();
+    private final Queue<Runnable> queue = new ArrayDeque<>();
+    private int inFlight;
+
+    private volatile Set<String> hedgedMethods = Collections.emptySet();
+
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder hedgeCount = new LongAdder();
+    private final LongAdder hedgeWinCount = new LongAdder();
+
+    public ConcurrencyLimitingService(Web3jService web3jService) {
+        this(
+                web3jService,
+                DEFAULT_INITIAL_LIMIT,
+                DEFAULT_MIN_LIMIT,
+                DEFAULT_MAX_LIMIT,
+                DEFAULT_MAX_QUEUE_SIZE,
+                Async.defaultExecutorService(),
+                true);
+    }
+
+    /**
+     * Creates a concurrency limiting service.
+     *
+     * @param web3jService service to send requests with
+     * @param initialLimit initial number of requests allowed in flight
+     * @param minLimit lower bound of the limit
+     * @param maxLimit upper bound of the limit
+     * @param maxQueueSize maximum number of requests waiting for the limit
+     * @param scheduledExecutorService executor sending hedged requests. <strong>You are responsible
+     *     for terminating this thread pool</strong>
+     */
+    public ConcurrencyLimitingService(
+            Web3jService web3jService,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            int maxQueueSize,
+            ScheduledExecutorService scheduledExecutorService) {
+        this(
+                web3jService,
+                initialLimit,
+                minLimit,
+                maxLimit,
+                maxQueueSize,
+                scheduledExecutorService,
+                false);
+    }
+
+    private ConcurrencyLimitingService(
+            Web3jService web3jService,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            int maxQueueSize,
+            ScheduledExecutorService scheduledExecutorService,
+            boolean ownsExecutorService) {
+        if (maxQueueSize < 0) {
+            throw new IllegalArgumentException("Queue size cannot be negative");
+        }
+        this.web3jService = web3jService;
+        this.limit =
+                new AimdLimit(
+                        initialLimit,
+                        minLimit,
+                        maxLimit,
+                        DEFAULT_BACKOFF_RATIO,
+                        DEFAULT_LATENCY_TOLERANCE);
+        this.maxQueueSize = maxQueueSize;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.ownsExecutorService = ownsExecutorService;
+    }
+
+    /** Hedges requests of the {@link #DEFAULT_HEDGED_METHODS}. */
+    public void enableHedging() {
+        enableHedging(DEFAULT_HEDGED_METHODS);
+    }
+
+    /**
+     * Hedges requests of the given methods, which must be safe to send twice.
+     *
+     * @param methods JSON-RPC methods to hedge
+     */
+    public void enableHedging(Set<String> methods) {
+        this.hedgedMethods = new HashSet<>(methods);
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        try {
+            return sendAsync(request, responseType).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted limited request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        boolean hedged = hedgedMethods.contains(request.getMethod());
+        acquire(
+                () -> {
+                    if (hedged) {
+                        sendHedged(request, responseType, result);
+                    } else {
+                        attempt(() -> web3jService.sendAsync(request, responseType))
+                                .whenComplete(
+                                        (response, throwable) ->
+                                                complete(result, response, throwable));
+                    }
+                },
+                result);
+        return result;
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        try {
+            return sendBatchAsync(batchRequest).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted limited batch request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        CompletableFuture<BatchResponse> result = new CompletableFuture<>();
+        acquire(
+                () ->
+                        attempt(() -> web3jService.sendBatchAsync(batchRequest))
+                                .whenComplete(
+                                        (response, throwable) ->
+                                                complete(result, response, throwable)),
+                result);
+        return result;
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return web3jService.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (ownsExecutorService) {
+            scheduledExecutorService.shutdown();
+        }
+        web3jService.close();
+    }
+
+    /** Returns the current number of requests allowed in flight. */
+    public int getLimit() {
+        return limit.getLimit();
+    }
+
+    public int getInFlight() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    public int getQueueSize() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    /** Returns the number of requests rejected because the queue was full. */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /** Returns the number of hedged requests sent. */
+    public long getHedgeCount() {
+        return hedgeCount.sum();
+    }
+
+    /** Returns the number of hedged requests answered before the original request. */
+    public long getHedgeWinCount() {
+        return hedgeWinCount.sum();
+    }
+
+    private <T extends Response> void sendHedged(
+            Request<?, ?> request, Class<T> responseType, CompletableFuture<T> result) {
+        AtomicInteger outstanding = new AtomicInteger(1);
+        attempt(() -> web3jService.sendAsync(request, responseType))
+                .whenComplete(
+                        (response, throwable) ->
+                                completeHedged(result, outstanding, response, throwable, false));
+
+        long delayNanos = latencies.getPercentileNanos();
+        if (delayNanos < 0) {
+            return;
+        }
+        ScheduledFuture<?> hedge;
+        try {
+            hedge =
+                    scheduledExecutorService.schedule(
+                            () -> {
+                                if (result.isDone() || !tryAcquire()) {
+                                    return;
+                                }
+                                outstanding.incrementAndGet();
+                                hedgeCount.increment();
+                                Request<?, ?> copy =
+                                        new Request<>(
+                                                request.getMethod(),
+                                                request.getParams(),
+                                                web3jService,
+                                                responseType);
+                                attempt(() -> web3jService.sendAsync(copy, responseType))
+                                        .whenComplete(
+                                                (response, throwable) ->
+                                                        completeHedged(
+                                                                result,
+                                                                outstanding,
+                                                                response,
+                                                                throwable,
+                                                                true));
+                            },
+                            delayNanos,
+                            TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            return;
+        }
+        result.whenComplete((response, throwable) -> hedge.cancel(false));
+    }
+
+    private <T> void completeHedged(
+            CompletableFuture<T> result,
+            AtomicInteger outstanding,
+            T response,
+            Throwable throwable,
+            boolean isHedge) {
+        if (throwable == null) {
+            if (result.complete(response) && isHedge) {
+                hedgeWinCount.increment();
+            }
+        } else if (outstanding.decrementAndGet() == 0) {
+            result.completeExceptionally(unwrap(throwable));
+        }
+    }
+
+    /**
+     * Sends a request holding a permit, and adjusts the limit and releases the permit once it
+     * completes.
+     */
+    private <T> CompletableFuture<T> attempt(Supplier<CompletableFuture<T>> sender) {
+        long start = System.nanoTime();
+        CompletableFuture<T> response;
+        try {
+            response = sender.get();
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response.whenComplete(
+                (value, throwable) -> {
+                    long now = System.nanoTime();
+                    boolean overloaded = isOverloaded(value, throwable);
+                    if (throwable == null && !overloaded) {
+                        latencies.add(now - start);
+                    }
+                    int currentInFlight;
+                    synchronized (lock) {
+                        currentInFlight = inFlight;
+                    }
+                    limit.onSample(now - start, currentInFlight, overloaded, now);
+                    release();
+                });
+    }
+
+    private void acquire(Runnable task, CompletableFuture<?> result) {
+        synchronized (lock) {
+            if (inFlight < limit.getLimit() && queue.isEmpty()) {
+                inFlight++;
+            } else if (queue.size() < maxQueueSize) {
+                queue.add(task);
+                return;
+            } else {
+                rejectedCount.increment();
+                result.completeExceptionally(
+                        new IOException(
+                                String.format(
+                                        "Request rejected, %d requests are in flight and %d queued",
+                                        inFlight, queue.size())));
+                return;
+            }
+        }
+        task.run();
+    }
+
+    private boolean tryAcquire() {
+        synchronized (lock) {
+            if (inFlight < limit.getLimit() && queue.isEmpty()) {
+                inFlight++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private void release() {
+        List<Runnable> tasks = null;
+        synchronized (lock) {
+            inFlight--;
+            while (inFlight < limit.getLimit() && !queue.isEmpty()) {
+                inFlight++;
+                if (tasks == null) {
+                    tasks = new ArrayList<>();
+                }
+                tasks.add(queue.poll());
+            }
+        }
+        if (tasks != null) {
+            tasks.forEach(Runnable::run);
+        }
+    }
+
+    private static boolean isOverloaded(Object value, Throwable throwable) {
+        if (throwable != null) {
+            Throwable cause = unwrap(throwable);
+            return cause instanceof IOException
+                    || (cause instanceof ClientConnectionException
+                            && cause.getMessage() != null
+                            && (cause.getMessage().startsWith(TOO_MANY_REQUESTS)
+                                    || cause.getMessage().startsWith(SERVICE_UNAVAILABLE)));
+        }
+        return value instanceof Response
+                && ((Response<?>) value).hasError()
+                && ((Response<?>) value).getError().getCode() == LIMIT_EXCEEDED_ERROR_CODE;
+    }
+
+    private static <T> void complete(CompletableFuture<T> result, T response, Throwable throwable) {
+        if (throwable != null) {
+            result.completeExceptionally(unwrap(throwable));
+        } else {
+            result.complete(response);
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+}
@@ -0,0 +1,39 @@
+package org.web3j.protocol.limiter;
+
+import java.util.Arrays;
+
+/** Latencies of the most recent requests, with a percentile recomputed every few samples. */
+class LatencyWindow {
+
+    private final long[] samples;
+    private final double percentile;
+    private final int recomputeInterval;
+
+    private int count;
+    private int next;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int size, double percentile) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+        this.recomputeInterval = Math.max(1, size / 8);
+    }
+
+    synchronized void add(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (next % recomputeInterval == 0) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[(int) Math.min(count - 1, (long) (count * percentile))];
+        }
+    }
+
+    /** Returns the latency percentile, or -1 if too few samples were recorded yet. */
+    long getPercentileNanos() {
+        return percentileNanos;
+    }
+}
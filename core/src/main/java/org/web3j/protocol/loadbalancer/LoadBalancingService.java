@@ -0,0 +1,502 @@
+package org.web3j.protocol.loadbalancer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import io.reactivex.Flowable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Axiom;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.JsonRpc2_0Web3j;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.AxiomStatus;
+import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.Async;
+
+/**
+ * Web3jService spreading requests over several endpoints, e.g. one {@link
+ * org.web3j.protocol.http.HttpService} per Axiom node.
+ *
+ * <p>Every request goes to the cheaper of two randomly picked endpoints, where the cost of an
+ * endpoint is its peak-EWMA latency multiplied by the number of requests in flight on it. An
+ * endpoint that fails {@code failureThreshold} requests in a row, or fails a health check, is
+ * ejected. Health checks call {@code axm_status} on every endpoint; an ejected endpoint is taken
+ * back once its ejection time has passed and a health check succeeds. Failed read requests are
+ * retried on the remaining endpoints.
+ *
+ * <p>Methods whose result depends on state held by a single node, such as nonces of just sent
+ * transactions and installed filters, are pinned: they all go to the same endpoint until that
+ * endpoint is ejected. Batches containing a pinned method and subscriptions are pinned as well.
+ */
+public class LoadBalancingService implements Web3jService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadBalancingService.class);
+
+    public static final Set<String> DEFAULT_PINNED_METHODS =
+            Collections.unmodifiableSet(
+                    new HashSet<>(
+                            Arrays.asList(
+                                    "eth_sendRawTransaction",
+                                    "eth_sendTransaction",
+                                    "eth_getTransactionCount",
+                                    "eth_getTransactionByHash",
+                                    "eth_getTransactionReceipt",
+                                    "eth_newFilter",
+                                    "eth_newBlockFilter",
+                                    "eth_newPendingTransactionFilter",
+                                    "eth_getFilterChanges",
+                                    "eth_getFilterLogs",
+                                    "eth_uninstallFilter")));
+
+    public static final long DEFAULT_HEALTH_CHECK_INTERVAL_MILLIS = 5_000;
+    public static final long DEFAULT_EJECTION_MILLIS = 10_000;
+    public static final int DEFAULT_FAILURE_THRESHOLD = 3;
+    public static final long DEFAULT_DECAY_MILLIS = 10_000;
+
+    private final List<Endpoint> endpoints;
+    private final Set<String> pinnedMethods;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean ownsExecutorService;
+
+    private volatile Endpoint pinnedEndpoint;
+
+    public LoadBalancingService(List<? extends Web3jService> services) {
+        this(
+                services,
+                DEFAULT_PINNED_METHODS,
+                DEFAULT_HEALTH_CHECK_INTERVAL_MILLIS,
+                DEFAULT_EJECTION_MILLIS,
+                TimeUnit.MILLISECONDS,
+                DEFAULT_FAILURE_THRESHOLD,
+                Async.defaultExecutorService(),
+                true);
+    }
+
+    /**
+     * Creates a service balancing over the given services.
+     *
+     * @param services underlying services, one per endpoint
+     * @param pinnedMethods JSON-RPC methods to always send to the same endpoint
+     * @param healthCheckInterval interval between health checks, health checks are disabled if not
+     *     positive
+     * @param ejectionTime minimal time an ejected endpoint stays out of rotation
+     * @param unit time unit of the health check interval and the ejection time
+     * @param failureThreshold number of consecutive failures after which an endpoint is ejected
+     * @param scheduledExecutorService executor running the health checks. <strong>You are
+     *     responsible for terminating this thread pool</strong>
+     */
+    public LoadBalancingService(
+            List<? extends Web3jService> services,
+            Set<String> pinnedMethods,
+            long healthCheckInterval,
+            long ejectionTime,
+            TimeUnit unit,
+            int failureThreshold,
+            ScheduledExecutorService scheduledExecutorService) {
+        this(
+                services,
+                pinnedMethods,
+                healthCheckInterval,
+                ejectionTime,
+                unit,
+                failureThreshold,
+                scheduledExecutorService,
+                false);
+    }
+
+    private LoadBalancingService(
+            List<? extends Web3jService> services,
+            Set<String> pinnedMethods,
+            long healthCheckInterval,
+            long ejectionTime,
+            TimeUnit unit,
+            int failureThreshold,
+            ScheduledExecutorService scheduledExecutorService,
+            boolean ownsExecutorService) {
+        if (services.isEmpty()) {
+            throw new IllegalArgumentException("At least one service is required");
+        }
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be positive");
+        }
+
+        long decayNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DECAY_MILLIS);
+        List<Endpoint> endpoints = new ArrayList<>(services.size());
+        for (Web3jService service : services) {
+            Axiom axiom =
+                    Web3j.build(
+                            service, JsonRpc2_0Web3j.DEFAULT_BLOCK_TIME, scheduledExecutorService);
+            endpoints.add(new Endpoint(service, axiom, decayNanos));
+        }
+        this.endpoints = Collections.unmodifiableList(endpoints);
+        this.pinnedMethods = new HashSet<>(pinnedMethods);
+        this.failureThreshold = failureThreshold;
+        this.ejectionNanos = unit.toNanos(ejectionTime);
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.ownsExecutorService = ownsExecutorService;
+
+        if (healthCheckInterval > 0) {
+            scheduledExecutorService.scheduleWithFixedDelay(
+                    this::checkHealth, healthCheckInterval, healthCheckInterval, unit);
+        }
+    }
+
+    @Override
+    public <T extends Response> T send(Request request, Class<T> responseType) throws IOException {
+        try {
+            return sendAsync(request, responseType).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted load balanced request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    public <T extends Response> CompletableFuture<T> sendAsync(
+            Request request, Class<T> responseType) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (isPinned(request.getMethod())) {
+            Endpoint endpoint = pinnedEndpoint();
+            forward(endpoint, e -> e.service.sendAsync(request, responseType), result);
+        } else {
+            sendWithRetry(request, responseType, result, new HashSet<>(endpoints.size()), null);
+        }
+        return result;
+    }
+
+    private <T extends Response> void sendWithRetry(
+            Request request,
+            Class<T> responseType,
+            CompletableFuture<T> result,
+            Set<Endpoint> attempted,
+            Throwable lastFailure) {
+        Endpoint endpoint = select(attempted);
+        if (endpoint == null) {
+            result.completeExceptionally(lastFailure);
+            return;
+        }
+        attempted.add(endpoint);
+
+        CompletableFuture<T> attempt = new CompletableFuture<>();
+        forward(endpoint, e -> e.service.sendAsync(request, responseType), attempt);
+        attempt.whenComplete(
+                (response, throwable) -> {
+                    if (throwable == null) {
+                        result.complete(response);
+                    } else {
+                        log.debug(
+                                "Request {} failed on {}, retrying",
+                                request.getMethod(),
+                                endpoint,
+                                throwable);
+                        sendWithRetry(request, responseType, result, attempted, throwable);
+                    }
+                });
+    }
+
+    @Override
+    public BatchResponse sendBatch(BatchRequest batchRequest) throws IOException {
+        try {
+            return sendBatchAsync(batchRequest).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted load balanced batch request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+
+            throw new RuntimeException("Unexpected exception", e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<BatchResponse> sendBatchAsync(BatchRequest batchRequest) {
+        boolean pinned = false;
+        for (Request<?, ? extends Response<?>> request : batchRequest.getRequests()) {
+            pinned |= isPinned(request.getMethod());
+        }
+
+        Endpoint endpoint = pinned ? pinnedEndpoint() : select(Collections.emptySet());
+        CompletableFuture<BatchResponse> result = new CompletableFuture<>();
+        forward(endpoint, e -> e.service.sendBatchAsync(batchRequest), result);
+        return result;
+    }
+
+    @Override
+    public <T extends Notification<?>> Flowable<T> subscribe(
+            Request request, String unsubscribeMethod, Class<T> responseType) {
+        return pinnedEndpoint().service.subscribe(request, unsubscribeMethod, responseType);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (ownsExecutorService) {
+            scheduledExecutorService.shutdown();
+        }
+        IOException failure = null;
+        for (Endpoint endpoint : endpoints) {
+            try {
+                endpoint.service.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** Runs a health check against every endpoint, ejecting and reinstating them accordingly. */
+    public void checkHealth() {
+        for (Endpoint endpoint : endpoints) {
+            CompletableFuture<AxiomStatus> status;
+            try {
+                status = endpoint.axiom.status().sendAsync();
+            } catch (RuntimeException e) {
+                status = new CompletableFuture<>();
+                status.completeExceptionally(e);
+            }
+
+            status.whenComplete(
+                    (response, throwable) -> {
+                        if (throwable == null
+                                && !response.hasError()
+                                && response.getStatus() != null) {
+                            onHealthCheckSucceeded(endpoint);
+                        } else {
+                            log.warn("Health check failed on {}", endpoint, throwable);
+                            eject(endpoint);
+                        }
+                    });
+        }
+    }
+
+    /** Returns the endpoints this service balances over, in the order they were given. */
+    public List<Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    private boolean isPinned(String method) {
+        return pinnedMethods.contains(method);
+    }
+
+    private Endpoint pinnedEndpoint() {
+        Endpoint endpoint = pinnedEndpoint;
+        if (endpoint == null || !endpoint.isAvailable()) {
+            synchronized (this) {
+                endpoint = pinnedEndpoint;
+                if (endpoint == null || !endpoint.isAvailable()) {
+                    endpoint = select(Collections.emptySet());
+                    pinnedEndpoint = endpoint;
+                }
+            }
+        }
+        return endpoint;
+    }
+
+    /**
+     * Picks the cheaper of two random available endpoints that were not attempted yet. If every
+     * endpoint is ejected the one ejected the longest time ago is used, so that requests are not
+     * rejected outright.
+     */
+    private Endpoint select(Set<Endpoint> attempted) {
+        List<Endpoint> candidates = new ArrayList<>(endpoints.size());
+        for (Endpoint endpoint : endpoints) {
+            if (endpoint.isAvailable() && !attempted.contains(endpoint)) {
+                candidates.add(endpoint);
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            if (!attempted.isEmpty()) {
+                return null;
+            }
+            Endpoint oldest = endpoints.get(0);
+            for (Endpoint endpoint : endpoints) {
+                if (endpoint.ejectedAt < oldest.ejectedAt) {
+                    oldest = endpoint;
+                }
+            }
+            return oldest;
+        } else if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        Endpoint a = candidates.get(first);
+        Endpoint b = candidates.get(second);
+        long now = System.nanoTime();
+        return a.cost(now) <= b.cost(now) ? a : b;
+    }
+
+    private <T> void forward(
+            Endpoint endpoint,
+            Function<Endpoint, CompletableFuture<T>> call,
+            CompletableFuture<T> result) {
+        long start = endpoint.start();
+        CompletableFuture<T> response;
+        try {
+            response = call.apply(endpoint);
+        } catch (RuntimeException e) {
+            response = new CompletableFuture<>();
+            response.completeExceptionally(e);
+        }
+
+        response.whenComplete(
+                (value, throwable) -> {
+                    long end = System.nanoTime();
+                    if (throwable == null) {
+                        endpoint.succeeded(start, end);
+                        result.complete(value);
+                    } else {
+                        if (endpoint.failed(end) >= failureThreshold) {
+                            eject(endpoint);
+                        }
+                        result.completeExceptionally(throwable);
+                    }
+                });
+    }
+
+    private void eject(Endpoint endpoint) {
+        if (endpoint.eject(System.nanoTime())) {
+            log.warn("Ejected {} from load balancing", endpoint);
+        }
+    }
+
+    private void onHealthCheckSucceeded(Endpoint endpoint) {
+        if (endpoint.reinstate(System.nanoTime(), ejectionNanos)) {
+            log.info("Reinstated {} into load balancing", endpoint);
+        }
+    }
+
+    /** A single endpoint together with its load and health state. */
+    public static class Endpoint {
+
+        // Latency assumed for an endpoint with requests in flight but no observations yet
+        private static final double PENALTY_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+        private final Web3jService service;
+        private final Axiom axiom;
+        private final long decayNanos;
+
+        private int inFlight;
+        private int consecutiveFailures;
+        private double latencyNanos;
+        private long lastObserved;
+        private volatile boolean ejected;
+        private volatile long ejectedAt = Long.MIN_VALUE;
+
+        Endpoint(Web3jService service, Axiom axiom, long decayNanos) {
+            this.service = service;
+            this.axiom = axiom;
+            this.decayNanos = decayNanos;
+            this.lastObserved = System.nanoTime();
+        }
+
+        public Web3jService getService() {
+            return service;
+        }
+
+        public boolean isAvailable() {
+            return !ejected;
+        }
+
+        /** Returns the peak-EWMA latency of this endpoint in nanoseconds. */
+        public synchronized double getLatencyNanos() {
+            return latencyNanos;
+        }
+
+        synchronized long start() {
+            inFlight++;
+            return System.nanoTime();
+        }
+
+        synchronized void succeeded(long start, long end) {
+            inFlight--;
+            consecutiveFailures = 0;
+            observe(end - start, end);
+        }
+
+        synchronized int failed(long now) {
+            inFlight--;
+            return ++consecutiveFailures;
+        }
+
+        /**
+         * Peak-EWMA: a latency above the current average replaces it right away, lower latencies
+         * are blended in with a weight depending on the time since the last observation.
+         */
+        private void observe(double rtt, long now) {
+            long elapsed = Math.max(now - lastObserved, 0);
+            lastObserved = now;
+            if (rtt > latencyNanos) {
+                latencyNanos = rtt;
+            } else {
+                double weight = Math.exp(-(double) elapsed / decayNanos);
+                latencyNanos = latencyNanos * weight + rtt * (1 - weight);
+            }
+        }
+
+        synchronized double cost(long now) {
+            observe(0, now);
+            if (latencyNanos == 0 && inFlight > 0) {
+                return PENALTY_NANOS * inFlight;
+            }
+            return latencyNanos * (inFlight + 1);
+        }
+
+        synchronized boolean eject(long now) {
+            if (ejected) {
+                return false;
+            }
+            ejected = true;
+            ejectedAt = now;
+            return true;
+        }
+
+        synchronized boolean reinstate(long now, long ejectionNanos) {
+            consecutiveFailures = 0;
+            if (ejected && now - ejectedAt >= ejectionNanos) {
+                ejected = false;
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return "Endpoint{" + service + "}";
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.web3j.protocol.rx;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Block checkpoint stored in a file that every save appends a record to.
+ *
+ * <p>Appending a small record and syncing it is cheaper than replacing a file, which suits
+ * checkpoints saved after every block. Each record holds the block number and a check value, so
+ * that a record torn by a crash is ignored and the previous one is used. Once the file holds the
+ * maximum number of records, it is replaced with a file holding the last record only.
+ */
+public class AppendOnlyFileBlockCheckpoint implements BlockCheckpoint, Closeable {
+
+    public static final int DEFAULT_MAX_RECORDS = 100_000;
+
+    private static final int RECORD_LENGTH = 16;
+    // Mixed into the check value, so that a zeroed record is not valid
+    private static final long CHECK_MASK = 0x5a5a5a5a5a5a5a5aL;
+
+    private final Path path;
+    private final Path tempPath;
+    private final int maxRecords;
+
+    private FileChannel channel;
+    private long records;
+
+    public AppendOnlyFileBlockCheckpoint(Path path) {
+        this(path, DEFAULT_MAX_RECORDS);
+    }
+
+    /**
+     * Creates an append-only file block checkpoint.
+     *
+     * @param path checkpoint file
+     * @param maxRecords number of records after which the file is compacted
+     */
+    public AppendOnlyFileBlockCheckpoint(Path path, int maxRecords) {
+        if (maxRecords < 1) {
+            throw new IllegalArgumentException("At least one record must fit");
+        }
+        this.path = path;
+        this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.maxRecords = maxRecords;
+    }
+
+    @Override
+    public synchronized long load() throws IOException {
+        if (!Files.exists(path)) {
+            return -1;
+        }
+        try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer record = ByteBuffer.allocate(RECORD_LENGTH);
+            for (long position = readChannel.size() / RECORD_LENGTH * RECORD_LENGTH - RECORD_LENGTH;
+                    position >= 0;
+                    position -= RECORD_LENGTH) {
+                record.clear();
+                readFully(readChannel, record, position);
+                long blockNumber = record.getLong(0);
+                if (record.getLong(8) == check(blockNumber)) {
+                    return blockNumber;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized void save(long blockNumber) throws IOException {
+        if (channel == null) {
+            open();
+        } else if (records >= maxRecords) {
+            compact(blockNumber);
+            return;
+        }
+
+        ByteBuffer record = record(blockNumber);
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        channel.force(false);
+        records++;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void open() throws IOException {
+        channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE);
+        // Drop a record torn by a crash, so that new records stay aligned
+        long size = channel.size();
+        channel.truncate(size / RECORD_LENGTH * RECORD_LENGTH);
+        channel.position(channel.size());
+        records = channel.size() / RECORD_LENGTH;
+    }
+
+    private void compact(long blockNumber) throws IOException {
+        channel.close();
+        channel = null;
+        try (FileChannel tempChannel =
+                FileChannel.open(
+                        tempPath,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE)) {
+            ByteBuffer record = record(blockNumber);
+            while (record.hasRemaining()) {
+                tempChannel.write(record);
+            }
+            tempChannel.force(false);
+        }
+        Files.move(
+                tempPath,
+                path,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        open();
+    }
+
+    private static ByteBuffer record(long blockNumber) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_LENGTH);
+        record.putLong(blockNumber).putLong(check(blockNumber)).flip();
+        return record;
+    }
+
+    private static long check(long blockNumber) {
+        return Long.reverse(blockNumber) ^ CHECK_MASK;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+            throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of checkpoint file");
+            }
+        }
+    }
+}
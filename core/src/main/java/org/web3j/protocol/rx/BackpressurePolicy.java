@@ -0,0 +1,158 @@
+package org.web3j.protocol.rx;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import io.reactivex.BackpressureOverflowStrategy;
+import io.reactivex.Flowable;
+
+/**
+ * How a polled flowable buffers items its subscriber has not requested yet.
+ *
+ * <p>Filters deliver whatever the node reports on every poll, regardless of demand, so items are
+ * buffered until the subscriber requests them. Without a bound, a slow subscriber lets the buffer
+ * grow until the JVM runs out of memory. A bounded policy either drops items once the buffer is
+ * full, fails the flowable, or stops polling until the subscriber has caught up.
+ *
+ * <p>A policy also records the queue depth and the number of dropped items of the flowables it is
+ * applied to. To get the metrics of a single stream, use a new policy for each flowable.
+ */
+public class BackpressurePolicy {
+
+    /** What happens when the buffer is full. */
+    public enum Overflow {
+        /** The buffer is not bounded. */
+        UNBOUNDED,
+        /** The oldest buffered item is dropped to make room for the new one. */
+        DROP_OLDEST,
+        /** The most recently buffered item is dropped to make room for the new one. */
+        DROP_LATEST,
+        /**
+         * The flowable fails with a {@link io.reactivex.exceptions.MissingBackpressureException}.
+         */
+        ERROR,
+        /**
+         * The filter is not polled until half of the buffer has been consumed. Items of a single
+         * poll are never dropped, so the buffer may exceed its capacity by one poll. Nodes remove
+         * filters that are not polled for a while, such a filter is reinstalled once polling
+         * resumes.
+         */
+        PAUSE_POLLING
+    }
+
+    private final Overflow overflow;
+    private final int capacity;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final LongAdder droppedCount = new LongAdder();
+
+    private BackpressurePolicy(Overflow overflow, int capacity) {
+        if (overflow != Overflow.UNBOUNDED && capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.overflow = overflow;
+        this.capacity = capacity;
+    }
+
+    /** Buffers all items, as flowables do by default. */
+    public static BackpressurePolicy unbounded() {
+        return new BackpressurePolicy(Overflow.UNBOUNDED, Integer.MAX_VALUE);
+    }
+
+    public static BackpressurePolicy dropOldest(int capacity) {
+        return new BackpressurePolicy(Overflow.DROP_OLDEST, capacity);
+    }
+
+    public static BackpressurePolicy dropLatest(int capacity) {
+        return new BackpressurePolicy(Overflow.DROP_LATEST, capacity);
+    }
+
+    public static BackpressurePolicy error(int capacity) {
+        return new BackpressurePolicy(Overflow.ERROR, capacity);
+    }
+
+    public static BackpressurePolicy pausePolling(int capacity) {
+        return new BackpressurePolicy(Overflow.PAUSE_POLLING, capacity);
+    }
+
+    public Overflow getOverflow() {
+        return overflow;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /** Returns the number of items buffered, across all subscriptions. */
+    public long getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /** Returns the number of items dropped as the buffer was full. */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /**
+     * Applies this policy to a flowable that does not support backpressure.
+     *
+     * @param source creates the flowable of a subscription, given the condition under which it
+     *     should stop polling
+     * @return the flowable, buffering as per this policy
+     */
+    <T> Flowable<T> apply(Function<BooleanSupplier, Flowable<T>> source) {
+        return Flowable.defer(
+                () -> {
+                    // Items buffered for this subscription
+                    AtomicLong depth = new AtomicLong();
+                    // Set once the buffer is full, cleared when half of it has been consumed
+                    AtomicBoolean paused = new AtomicBoolean();
+
+                    Flowable<T> buffered =
+                            source.apply(paused::get)
+                                    .doOnNext(
+                                            item -> {
+                                                queueDepth.incrementAndGet();
+                                                if (depth.incrementAndGet() >= capacity
+                                                        && overflow == Overflow.PAUSE_POLLING) {
+                                                    paused.set(true);
+                                                }
+                                            });
+                    switch (overflow) {
+                        case DROP_OLDEST:
+                        case DROP_LATEST:
+                            buffered =
+                                    buffered.onBackpressureBuffer(
+                                            capacity,
+                                            () -> {
+                                                queueDepth.decrementAndGet();
+                                                depth.decrementAndGet();
+                                                droppedCount.increment();
+                                            },
+                                            overflow == Overflow.DROP_OLDEST
+                                                    ? BackpressureOverflowStrategy.DROP_OLDEST
+                                                    : BackpressureOverflowStrategy.DROP_LATEST);
+                            break;
+                        case ERROR:
+                            buffered =
+                                    buffered.onBackpressureBuffer(
+                                            capacity, null, BackpressureOverflowStrategy.ERROR);
+                            break;
+                        default:
+                            buffered = buffered.onBackpressureBuffer();
+                    }
+
+                    return buffered.doOnNext(
+                                    item -> {
+                                        queueDepth.decrementAndGet();
+                                        if (depth.decrementAndGet() <= capacity / 2) {
+                                            paused.set(false);
+                                        }
+                                    })
+                            .doFinally(() -> queueDepth.addAndGet(-depth.getAndSet(0)));
+                });
+    }
+}
@@ -0,0 +1,267 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+/**
+ * Replays ranges of blocks by fetching windows of consecutive blocks with a single JSON-RPC batch.
+ *
+ * <p>Several windows are in flight at the same time, and blocks are emitted in strict block order
+ * regardless of the order in which the batches complete. The window size adapts to every completed
+ * batch: it grows while batches are answered quickly and are small, and shrinks when a batch takes
+ * longer than the target latency or carries more than the target number of blocks and transactions.
+ */
+public class BatchBlockReplayer {
+
+    public static final int DEFAULT_INITIAL_WINDOW_SIZE = 20;
+    public static final int DEFAULT_MAX_WINDOW_SIZE = 500;
+    public static final int DEFAULT_MAX_WINDOWS_IN_FLIGHT = 4;
+    public static final long DEFAULT_TARGET_LATENCY_MILLIS = 1_000;
+    public static final int DEFAULT_TARGET_PAYLOAD_SIZE = 10_000;
+
+    private final Web3j web3j;
+    private final int initialWindowSize;
+    private final int maxWindowSize;
+    private final int maxWindowsInFlight;
+    private final long targetLatencyNanos;
+    private final int targetPayloadSize;
+
+    public BatchBlockReplayer(Web3j web3j) {
+        this(
+                web3j,
+                DEFAULT_INITIAL_WINDOW_SIZE,
+                DEFAULT_MAX_WINDOW_SIZE,
+                DEFAULT_MAX_WINDOWS_IN_FLIGHT,
+                DEFAULT_TARGET_LATENCY_MILLIS,
+                DEFAULT_TARGET_PAYLOAD_SIZE);
+    }
+
+    /**
+     * Creates a block replayer.
+     *
+     * @param web3j web3j instance to fetch blocks with
+     * @param initialWindowSize number of blocks in the first batch
+     * @param maxWindowSize maximum number of blocks in a batch
+     * @param maxWindowsInFlight maximum number of batches in flight
+     * @param targetLatencyMillis batch latency above which the window shrinks
+     * @param targetPayloadSize number of blocks plus, for full transaction objects, transactions in
+     *     a batch above which the window shrinks
+     */
+    public BatchBlockReplayer(
+            Web3j web3j,
+            int initialWindowSize,
+            int maxWindowSize,
+            int maxWindowsInFlight,
+            long targetLatencyMillis,
+            int targetPayloadSize) {
+        if (initialWindowSize < 1 || maxWindowSize < initialWindowSize) {
+            throw new IllegalArgumentException("Invalid window sizes");
+        }
+        if (maxWindowsInFlight < 1) {
+            throw new IllegalArgumentException("At least one window must be in flight");
+        }
+        this.web3j = web3j;
+        this.initialWindowSize = initialWindowSize;
+        this.maxWindowSize = maxWindowSize;
+        this.maxWindowsInFlight = maxWindowsInFlight;
+        this.targetLatencyNanos = targetLatencyMillis * 1_000_000;
+        this.targetPayloadSize = targetPayloadSize;
+    }
+
+    /**
+     * Replays the blocks from {@code startBlock} to {@code endBlock}, both inclusive.
+     *
+     * @param startBlock first block number
+     * @param endBlock last block number
+     * @param fullTransactionObjects whether to fetch full transaction objects
+     * @param ascending whether to emit the blocks in ascending order
+     * @return blocks in the requested order
+     */
+    public Flowable<EthBlock> replay(
+            long startBlock, long endBlock, boolean fullTransactionObjects, boolean ascending) {
+        if (startBlock < 0) {
+            throw new IllegalArgumentException("Negative start block cannot be used");
+        } else if (startBlock > endBlock) {
+            throw new IllegalArgumentException("Start block cannot be greater than end block");
+        }
+
+        return Flowable.defer(
+                () -> {
+                    WindowSize windowSize = new WindowSize(initialWindowSize);
+                    return Flowable.<Window, long[]>generate(
+                                    () -> new long[] {ascending ? startBlock : endBlock},
+                                    (next, emitter) -> {
+                                        long from = next[0];
+                                        int size = windowSize.get();
+                                        if (ascending) {
+                                            long to = Math.min(endBlock, from + size - 1);
+                                            emitter.onNext(new Window(from, to, true));
+                                            next[0] = to + 1;
+                                            if (to == endBlock) {
+                                                emitter.onComplete();
+                                            }
+                                        } else {
+                                            long to = Math.max(startBlock, from - size + 1);
+                                            emitter.onNext(new Window(to, from, false));
+                                            next[0] = to - 1;
+                                            if (to == startBlock) {
+                                                emitter.onComplete();
+                                            }
+                                        }
+                                    })
+                            .concatMapEager(
+                                    window ->
+                                            fetch(window, fullTransactionObjects, windowSize)
+                                                    .toFlowable()
+                                                    .flatMapIterable(blocks -> blocks),
+                                    maxWindowsInFlight,
+                                    1);
+                });
+    }
+
+    private Single<List<EthBlock>> fetch(
+            Window window, boolean fullTransactionObjects, WindowSize windowSize) {
+        return Single.create(
+                emitter -> {
+                    BatchRequest batchRequest = web3j.newBatch();
+                    List<Request<?, EthBlock>> requests = new ArrayList<>(window.size());
+                    for (int i = 0; i < window.size(); i++) {
+                        Request<?, EthBlock> request =
+                                web3j.ethGetBlockByNumber(
+                                        new DefaultBlockParameterNumber(window.blockNumber(i)),
+                                        fullTransactionObjects);
+                        requests.add(request);
+                        batchRequest.add(request);
+                    }
+
+                    long start = System.nanoTime();
+                    batchRequest
+                            .sendAsync()
+                            .whenComplete(
+                                    (batchResponse, throwable) -> {
+                                        if (throwable != null) {
+                                            emitter.tryOnError(unwrap(throwable));
+                                            return;
+                                        }
+                                        try {
+                                            List<EthBlock> blocks =
+                                                    toBlocks(window, requests, batchResponse);
+                                            int payloadSize = 0;
+                                            for (EthBlock block : blocks) {
+                                                payloadSize +=
+                                                        payloadSize(block, fullTransactionObjects);
+                                            }
+                                            windowSize.adapt(
+                                                    window.size(),
+                                                    System.nanoTime() - start,
+                                                    payloadSize);
+                                            emitter.onSuccess(blocks);
+                                        } catch (IOException e) {
+                                            emitter.tryOnError(e);
+                                        }
+                                    });
+                });
+    }
+
+    private static List<EthBlock> toBlocks(
+            Window window, List<Request<?, EthBlock>> requests, BatchResponse batchResponse)
+            throws IOException {
+        Map<Long, EthBlock> blockForId = new HashMap<>(requests.size() * 2);
+        for (Response<?> response : batchResponse.getResponses()) {
+            if (response instanceof EthBlock) {
+                blockForId.put(response.getId(), (EthBlock) response);
+            }
+        }
+
+        List<EthBlock> blocks = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            EthBlock ethBlock = blockForId.get(requests.get(i).getId());
+            if (ethBlock == null) {
+                throw new IOException("No response for block " + window.blockNumber(i));
+            } else if (ethBlock.hasError()) {
+                throw new IOException(
+                        "Failed to fetch block "
+                                + window.blockNumber(i)
+                                + ": "
+                                + ethBlock.getError().getMessage());
+            }
+            blocks.add(ethBlock);
+        }
+        return blocks;
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private static int payloadSize(EthBlock ethBlock, boolean fullTransactionObjects) {
+        EthBlock.Block block = ethBlock.getBlock();
+        if (!fullTransactionObjects || block == null || block.getTransactions() == null) {
+            return 1;
+        }
+        return 1 + block.getTransactions().size();
+    }
+
+    /** Consecutive block numbers fetched with one batch. */
+    private static class Window {
+        private final long from;
+        private final long to;
+        private final boolean ascending;
+
+        Window(long from, long to, boolean ascending) {
+            this.from = from;
+            this.to = to;
+            this.ascending = ascending;
+        }
+
+        int size() {
+            return (int) (to - from + 1);
+        }
+
+        long blockNumber(int index) {
+            return ascending ? from + index : to - index;
+        }
+    }
+
+    /** Window size of a single replay, adapted to the completed batches. */
+    private class WindowSize {
+        private int size;
+
+        WindowSize(int size) {
+            this.size = size;
+        }
+
+        synchronized int get() {
+            return size;
+        }
+
+        synchronized void adapt(int windowSize, long latencyNanos, int payloadSize) {
+            // scale the payload to the current window, batches may have been sent with another size
+            long scaledPayload = (long) payloadSize * size / windowSize;
+            if (latencyNanos > targetLatencyNanos || scaledPayload > targetPayloadSize) {
+                size = Math.max(1, size / 2);
+            } else if (latencyNanos < targetLatencyNanos / 2
+                    && scaledPayload < targetPayloadSize / 2) {
+                size = Math.min(maxWindowSize, size + size / 2 + 1);
+            }
+        }
+    }
+}
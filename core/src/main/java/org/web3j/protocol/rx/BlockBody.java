@@ -0,0 +1,43 @@
+package org.web3j.protocol.rx;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/** The transactions of a block and their receipts. */
+public class BlockBody {
+
+    private final List<Transaction> transactions;
+    private final List<TransactionReceipt> receipts;
+    private final Map<String, TransactionReceipt> receiptForTransactionHash;
+
+    BlockBody(List<Transaction> transactions, List<TransactionReceipt> receipts) {
+        this.transactions = transactions;
+        this.receipts = receipts;
+        this.receiptForTransactionHash = new HashMap<>(receipts.size() * 2);
+        for (TransactionReceipt receipt : receipts) {
+            receiptForTransactionHash.put(receipt.getTransactionHash(), receipt);
+        }
+    }
+
+    public List<Transaction> getTransactions() {
+        return transactions;
+    }
+
+    public List<TransactionReceipt> getReceipts() {
+        return receipts;
+    }
+
+    /**
+     * Returns the receipt of a transaction of the block.
+     *
+     * @param transactionHash transaction hash
+     * @return the receipt, or null if the transaction is not in the block
+     */
+    public TransactionReceipt getReceipt(String transactionHash) {
+        return receiptForTransactionHash.get(transactionHash);
+    }
+}
@@ -0,0 +1,23 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+
+/** Persists the last block a stream has completely processed, so it can resume after it. */
+public interface BlockCheckpoint {
+
+    /**
+     * Returns the last completely processed block.
+     *
+     * @return the block number, or -1 if no block has been processed yet
+     * @throws IOException if the checkpoint cannot be read
+     */
+    long load() throws IOException;
+
+    /**
+     * Records that all blocks up to and including the given block have been processed.
+     *
+     * @param blockNumber last completely processed block
+     * @throws IOException if the checkpoint cannot be written
+     */
+    void save(long blockNumber) throws IOException;
+}
@@ -0,0 +1,73 @@
+package org.web3j.protocol.rx;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.reactivex.Single;
+
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/**
+ * A block fetched with transaction hashes only, whose transactions and receipts are fetched when
+ * first asked for.
+ */
+public class BlockHeader {
+
+    private final EthBlock.Block block;
+    private final BlockHydrator hydrator;
+
+    BlockHeader(EthBlock.Block block, BlockHydrator hydrator) {
+        this.block = block;
+        this.hydrator = hydrator;
+    }
+
+    /** Returns the block, with transaction hashes instead of transactions. */
+    public EthBlock.Block getBlock() {
+        return block;
+    }
+
+    public BigInteger getNumber() {
+        return block.getNumber();
+    }
+
+    public String getHash() {
+        return block.getHash();
+    }
+
+    public String getParentHash() {
+        return block.getParentHash();
+    }
+
+    public BigInteger getTimestamp() {
+        return block.getTimestamp();
+    }
+
+    public List<String> getTransactionHashes() {
+        return block.getTransactions().stream()
+                .map(transactionResult -> (String) transactionResult.get())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Fetches the transactions and receipts of the block on subscription, unless they have been
+     * fetched recently.
+     *
+     * @return the transactions and receipts of the block
+     */
+    public Single<BlockBody> body() {
+        return hydrator.hydrate(block);
+    }
+
+    /** As per {@link #body()}, for the transactions only. */
+    public Single<List<Transaction>> transactions() {
+        return body().map(BlockBody::getTransactions);
+    }
+
+    /** As per {@link #body()}, for the receipts only. */
+    public Single<List<TransactionReceipt>> receipts() {
+        return body().map(BlockBody::getReceipts);
+    }
+}
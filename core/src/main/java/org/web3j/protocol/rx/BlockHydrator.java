@@ -0,0 +1,203 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import io.reactivex.Single;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGetBlockReceipts;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/**
+ * Fetches the transactions and receipts of blocks in a single JSON-RPC batch, and keeps the bodies
+ * of the most recently used blocks.
+ *
+ * <p>Consumers asking for the body of the same block share a single fetch, including while it is in
+ * flight. A failed fetch is not kept, so that the next consumer fetches the body again.
+ */
+public class BlockHydrator {
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final Web3j web3j;
+
+    // Access ordered, least recently used body first
+    private final LinkedHashMap<String, Single<BlockBody>> bodies;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public BlockHydrator(Web3j web3j) {
+        this(web3j, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a block hydrator.
+     *
+     * @param web3j web3j instance to fetch transactions and receipts with
+     * @param capacity number of block bodies kept
+     */
+    public BlockHydrator(Web3j web3j, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.web3j = web3j;
+        this.bodies =
+                new LinkedHashMap<String, Single<BlockBody>>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(
+                            Map.Entry<String, Single<BlockBody>> eldest) {
+                        return size() > capacity;
+                    }
+                };
+    }
+
+    /**
+     * Fetches the transactions and receipts of a block on subscription, unless they have been
+     * fetched recently.
+     *
+     * @param block the block, with transaction hashes or transactions
+     * @return the transactions and receipts of the block
+     */
+    public Single<BlockBody> hydrate(EthBlock.Block block) {
+        String blockHash = block.getHash();
+        synchronized (bodies) {
+            Single<BlockBody> body = bodies.get(blockHash);
+            if (body != null) {
+                hitCount.increment();
+                return body;
+            }
+            missCount.increment();
+            body = fetch(block).doOnError(throwable -> evict(blockHash)).cache();
+            bodies.put(blockHash, body);
+            return body;
+        }
+    }
+
+    /** Returns the number of bodies found among the recently used ones. */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /** Returns the number of bodies that had to be fetched. */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    private void evict(String blockHash) {
+        synchronized (bodies) {
+            bodies.remove(blockHash);
+        }
+    }
+
+    private Single<BlockBody> fetch(EthBlock.Block block) {
+        return Single.create(
+                emitter -> {
+                    Request<?, EthBlock> blockRequest =
+                            web3j.ethGetBlockByHash(block.getHash(), true);
+                    Request<?, EthGetBlockReceipts> receiptsRequest =
+                            web3j.ethGetBlockReceipts(
+                                    new DefaultBlockParameterNumber(block.getNumber()));
+                    BatchRequest batchRequest =
+                            web3j.newBatch().add(blockRequest).add(receiptsRequest);
+
+                    batchRequest
+                            .sendAsync()
+                            .whenComplete(
+                                    (batchResponse, throwable) -> {
+                                        if (throwable != null) {
+                                            emitter.tryOnError(unwrap(throwable));
+                                            return;
+                                        }
+                                        try {
+                                            emitter.onSuccess(
+                                                    toBody(
+                                                            block,
+                                                            blockRequest,
+                                                            receiptsRequest,
+                                                            batchResponse));
+                                        } catch (IOException e) {
+                                            emitter.tryOnError(e);
+                                        }
+                                    });
+                });
+    }
+
+    private static BlockBody toBody(
+            EthBlock.Block block,
+            Request<?, EthBlock> blockRequest,
+            Request<?, EthGetBlockReceipts> receiptsRequest,
+            BatchResponse batchResponse)
+            throws IOException {
+        EthBlock ethBlock = null;
+        EthGetBlockReceipts ethGetBlockReceipts = null;
+        for (Response<?> response : batchResponse.getResponses()) {
+            if (response.getId() == blockRequest.getId() && response instanceof EthBlock) {
+                ethBlock = (EthBlock) response;
+            } else if (response.getId() == receiptsRequest.getId()
+                    && response instanceof EthGetBlockReceipts) {
+                ethGetBlockReceipts = (EthGetBlockReceipts) response;
+            }
+        }
+
+        if (ethBlock == null || ethGetBlockReceipts == null) {
+            throw new IOException("No response for the body of block " + block.getHash());
+        } else if (ethBlock.hasError()) {
+            throw new IOException(
+                    "Failed to fetch block "
+                            + block.getHash()
+                            + ": "
+                            + ethBlock.getError().getMessage());
+        } else if (ethGetBlockReceipts.hasError()) {
+            throw new IOException(
+                    "Failed to fetch receipts of block "
+                            + block.getHash()
+                            + ": "
+                            + ethGetBlockReceipts.getError().getMessage());
+        } else if (ethBlock.getBlock() == null) {
+            throw new IOException("Block " + block.getHash() + " is not known to the node");
+        }
+
+        List<TransactionReceipt> receipts = ethGetBlockReceipts.getResult();
+        if (receipts == null) {
+            throw new IOException("No receipts for block " + block.getHash());
+        }
+        // Receipts fetched by number belong to another block if the chain has reorganised since
+        for (TransactionReceipt receipt : receipts) {
+            if (receipt.getBlockHash() != null
+                    && !receipt.getBlockHash().equalsIgnoreCase(block.getHash())) {
+                throw new IOException(
+                        "Receipts of block "
+                                + block.getNumber()
+                                + " do not belong to block "
+                                + block.getHash());
+            }
+        }
+
+        List<Transaction> transactions =
+                ethBlock.getBlock().getTransactions().stream()
+                        .map(transactionResult -> (Transaction) transactionResult.get())
+                        .collect(Collectors.toList());
+        return new BlockBody(transactions, receipts);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+}
@@ -0,0 +1,174 @@
+package org.web3j.protocol.rx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.reactivex.Flowable;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.request.Filter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.BloomBitsIndex;
+import org.web3j.utils.BloomQuery;
+import org.web3j.utils.Numeric;
+
+/**
+ * Scans a block range for logs by testing the {@code logsBloom} of the blocks first, and fetching
+ * the logs of matching blocks only.
+ *
+ * <p>Headers are fetched without transactions, in batches. Their blooms are tested against the
+ * addresses and topics of the filter, with bit positions computed once per scan. If a {@link
+ * BloomBitsIndex} is given, the blooms of scanned blocks are added to it, and sections of the range
+ * that have been indexed completely are not fetched at all, but matched against the index. As the
+ * index does not handle chain reorganisations, only final blocks should be scanned with it.
+ *
+ * <p>This suits filters for rare events, where the logs of most blocks would be requested in vain.
+ */
+public class BloomLogScanner {
+
+    public static final int DEFAULT_MAX_LOG_REQUESTS_IN_FLIGHT = 8;
+
+    private final Web3j web3j;
+    private final BatchBlockReplayer blockReplayer;
+    private final BloomBitsIndex index;
+    private final int maxLogRequestsInFlight;
+
+    public BloomLogScanner(Web3j web3j) {
+        this(web3j, null);
+    }
+
+    public BloomLogScanner(Web3j web3j, BloomBitsIndex index) {
+        this(web3j, new BatchBlockReplayer(web3j), index, DEFAULT_MAX_LOG_REQUESTS_IN_FLIGHT);
+    }
+
+    /**
+     * Creates a bloom log scanner.
+     *
+     * @param web3j web3j instance to fetch logs with
+     * @param blockReplayer replayer to fetch headers with
+     * @param index bloom bits index to use and fill, or null
+     * @param maxLogRequestsInFlight maximum number of log requests of matching blocks in flight
+     */
+    public BloomLogScanner(
+            Web3j web3j,
+            BatchBlockReplayer blockReplayer,
+            BloomBitsIndex index,
+            int maxLogRequestsInFlight) {
+        this.web3j = web3j;
+        this.blockReplayer = blockReplayer;
+        this.index = index;
+        this.maxLogRequestsInFlight = maxLogRequestsInFlight;
+    }
+
+    /**
+     * Emits the logs matching a filter from {@code fromBlock} to {@code toBlock}, both inclusive.
+     *
+     * @param ethFilter filter criteria, its block range is ignored
+     * @param fromBlock first block number
+     * @param toBlock last block number
+     * @return logs in block order
+     */
+    public Flowable<Log> scan(EthFilter ethFilter, long fromBlock, long toBlock) {
+        if (fromBlock < 0) {
+            throw new IllegalArgumentException("Negative start block cannot be used");
+        } else if (fromBlock > toBlock) {
+            throw new IllegalArgumentException("Start block cannot be greater than end block");
+        }
+
+        BloomQuery query = toBloomQuery(ethFilter);
+        return matchingBlocks(query, fromBlock, toBlock)
+                .concatMapEager(
+                        blockNumber ->
+                                LogBackfiller.getLogs(web3j, ethFilter, blockNumber, blockNumber)
+                                        .toFlowable(),
+                        maxLogRequestsInFlight,
+                        1)
+                .concatMapIterable(logs -> logs);
+    }
+
+    private Flowable<Long> matchingBlocks(BloomQuery query, long fromBlock, long toBlock) {
+        if (index == null) {
+            return scanHeaders(query, fromBlock, toBlock);
+        }
+
+        int sectionSize = index.getSectionSize();
+        long firstSection = fromBlock / sectionSize;
+        long lastSection = toBlock / sectionSize;
+        return Flowable.rangeLong(firstSection, lastSection - firstSection + 1)
+                .concatMap(
+                        section -> {
+                            long from = Math.max(fromBlock, section * sectionSize);
+                            long to = Math.min(toBlock, (section + 1) * sectionSize - 1);
+                            if (index.isComplete(section)) {
+                                return Flowable.fromIterable(
+                                        toBlockNumbers(
+                                                index.match(section, query),
+                                                section * sectionSize,
+                                                from,
+                                                to));
+                            }
+                            return scanHeaders(query, from, to);
+                        });
+    }
+
+    private Flowable<Long> scanHeaders(BloomQuery query, long fromBlock, long toBlock) {
+        return blockReplayer
+                .replay(fromBlock, toBlock, false, true)
+                .map(EthBlock::getBlock)
+                .filter(
+                        block -> {
+                            byte[] bloomBytes = Numeric.hexStringToByteArray(block.getLogsBloom());
+                            if (index != null) {
+                                index.add(block.getNumber().longValueExact(), bloomBytes);
+                            }
+                            return query.test(bloomBytes);
+                        })
+                .map(block -> block.getNumber().longValueExact());
+    }
+
+    private static List<Long> toBlockNumbers(
+            long[] matches, long sectionStart, long fromBlock, long toBlock) {
+        List<Long> blockNumbers = new ArrayList<>();
+        for (int word = 0; word < matches.length; word++) {
+            long bits = matches[word];
+            while (bits != 0) {
+                long blockNumber = sectionStart + word * 64L + Long.numberOfTrailingZeros(bits);
+                if (blockNumber >= fromBlock && blockNumber <= toBlock) {
+                    blockNumbers.add(blockNumber);
+                }
+                bits &= bits - 1;
+            }
+        }
+        return blockNumbers;
+    }
+
+    /**
+     * Creates the bloom query of a log filter: any of its addresses, and for every topic position
+     * that is not a wildcard, any of its topics.
+     */
+    static BloomQuery toBloomQuery(EthFilter ethFilter) {
+        BloomQuery.Builder builder = new BloomQuery.Builder();
+        List<String> addresses = ethFilter.getAddress();
+        if (addresses != null && !addresses.isEmpty()) {
+            builder.anyOfHex(addresses);
+        }
+
+        for (Filter.FilterTopic<?> topic : ethFilter.getTopics()) {
+            List<String> topics = new ArrayList<>();
+            if (topic instanceof Filter.SingleTopic) {
+                topics.add(((Filter.SingleTopic) topic).getValue());
+            } else if (topic instanceof Filter.ListTopic) {
+                for (Filter.SingleTopic optionalTopic : ((Filter.ListTopic) topic).getValue()) {
+                    topics.add(optionalTopic.getValue());
+                }
+            }
+            // A null topic matches anything, so does a position with one
+            if (!topics.isEmpty() && !topics.contains(null)) {
+                builder.anyOfHex(topics);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,62 @@
+package org.web3j.protocol.rx;
+
+/**
+ * A value of a block that became confirmed, or a previously confirmed value whose block was
+ * orphaned by a chain reorganisation.
+ *
+ * @param <T> type of the value, a block or a log
+ */
+public class ChainEvent<T> {
+
+    public enum Type {
+        /** The block of the value is the given number of blocks deep in the canonical chain. */
+        CONFIRMED,
+        /** The block of a previously confirmed value is no longer part of the canonical chain. */
+        REVERTED
+    }
+
+    private final Type type;
+    private final long blockNumber;
+    private final String blockHash;
+    private final T value;
+
+    public ChainEvent(Type type, long blockNumber, String blockHash, T value) {
+        this.type = type;
+        this.blockNumber = blockNumber;
+        this.blockHash = blockHash;
+        this.value = value;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public boolean isReverted() {
+        return type == Type.REVERTED;
+    }
+
+    public long getBlockNumber() {
+        return blockNumber;
+    }
+
+    public String getBlockHash() {
+        return blockHash;
+    }
+
+    public T getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "ChainEvent{"
+                + "type="
+                + type
+                + ", blockNumber="
+                + blockNumber
+                + ", blockHash='"
+                + blockHash
+                + '\''
+                + '}';
+    }
+}
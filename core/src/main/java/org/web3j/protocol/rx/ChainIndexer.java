@@ -0,0 +1,325 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGetBlockReceipts;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+/**
+ * Indexes the chain block by block through ordered stages, and keeps a cursor of the last committed
+ * block so that a restart resumes right after it.
+ *
+ * <p>The stages are:
+ *
+ * <ol>
+ *   <li>fetching blocks, in parallel JSON-RPC batches, see {@link BatchBlockReplayer}
+ *   <li>fetching the receipts of each block with {@code eth_getBlockReceipts}, several blocks at a
+ *       time
+ *   <li>decoding each block and its receipts, several blocks at a time on the computation scheduler
+ *   <li>writing the decoded value to the sink and saving the block to the checkpoint, one block at
+ *       a time in block order on the io scheduler
+ * </ol>
+ *
+ * <p>A failure in any stage stops the indexer, blocks after the last committed one are then indexed
+ * again once it is restarted.
+ *
+ * <p>A block is committed once the sink has returned and the checkpoint has been saved, and a
+ * restart resumes after the last committed block. A crash between the two may have the sink see the
+ * block again, unless the sink stores the cursor itself, e.g. by saving the checkpoint in the same
+ * transaction as its writes, with a no-op checkpoint given to the indexer.
+ *
+ * <p>Once the indexer has caught up with the chain, it polls for new blocks. Blocks are indexed
+ * once they are the given number of confirmations deep, chain reorganisations of indexed blocks are
+ * not handled.
+ *
+ * @param <T> type of the decoded blocks
+ */
+public class ChainIndexer<T> {
+
+    public static final int DEFAULT_MAX_RECEIPT_REQUESTS_IN_FLIGHT = 4;
+    public static final int DEFAULT_DECODE_PARALLELISM = Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_CONFIRMATIONS = 12;
+
+    /** Decodes a block, e.g. into the events of its logs. */
+    public interface Decoder<T> {
+        /**
+         * Decodes a block.
+         *
+         * @param block the block
+         * @param receipts the receipts of its transactions, empty if receipts are not fetched
+         * @return the decoded value
+         * @throws Exception if the block cannot be decoded, which stops the indexer
+         */
+        T decode(EthBlock.Block block, List<TransactionReceipt> receipts) throws Exception;
+    }
+
+    /** Receives the decoded blocks, in block order. */
+    public interface Sink<T> {
+        /**
+         * Writes a decoded block.
+         *
+         * @param blockNumber block number
+         * @param value the decoded value
+         * @throws Exception if the value cannot be written, which stops the indexer before the
+         *     block is committed
+         */
+        void write(long blockNumber, T value) throws Exception;
+    }
+
+    private final Web3j web3j;
+    private final BatchBlockReplayer blockReplayer;
+    private final BlockCheckpoint checkpoint;
+    private final Decoder<T> decoder;
+    private final Sink<T> sink;
+    private final boolean fullTransactionObjects;
+    private final boolean fetchReceipts;
+    private final int maxReceiptRequestsInFlight;
+    private final int decodeParallelism;
+    private final int confirmations;
+
+    public ChainIndexer(Web3j web3j, BlockCheckpoint checkpoint, Decoder<T> decoder, Sink<T> sink) {
+        this(
+                web3j,
+                new BatchBlockReplayer(web3j),
+                checkpoint,
+                decoder,
+                sink,
+                false,
+                true,
+                DEFAULT_MAX_RECEIPT_REQUESTS_IN_FLIGHT,
+                DEFAULT_DECODE_PARALLELISM,
+                DEFAULT_CONFIRMATIONS);
+    }
+
+    /**
+     * Creates a chain indexer.
+     *
+     * @param web3j web3j instance to fetch receipts and the chain head with
+     * @param blockReplayer replayer to fetch blocks with
+     * @param checkpoint checkpoint to resume from and to save committed blocks to
+     * @param decoder decoder of blocks
+     * @param sink sink of decoded blocks
+     * @param fullTransactionObjects whether to fetch full transaction objects
+     * @param fetchReceipts whether to fetch the receipts of blocks
+     * @param maxReceiptRequestsInFlight maximum number of receipt requests in flight
+     * @param decodeParallelism maximum number of blocks decoded at the same time
+     * @param confirmations number of blocks on top of a block before it is indexed
+     */
+    public ChainIndexer(
+            Web3j web3j,
+            BatchBlockReplayer blockReplayer,
+            BlockCheckpoint checkpoint,
+            Decoder<T> decoder,
+            Sink<T> sink,
+            boolean fullTransactionObjects,
+            boolean fetchReceipts,
+            int maxReceiptRequestsInFlight,
+            int decodeParallelism,
+            int confirmations) {
+        if (maxReceiptRequestsInFlight < 1 || decodeParallelism < 1) {
+            throw new IllegalArgumentException("Stages must process at least one block at a time");
+        }
+        if (confirmations < 0) {
+            throw new IllegalArgumentException("Confirmations cannot be negative");
+        }
+        this.web3j = web3j;
+        this.blockReplayer = blockReplayer;
+        this.checkpoint = checkpoint;
+        this.decoder = decoder;
+        this.sink = sink;
+        this.fullTransactionObjects = fullTransactionObjects;
+        this.fetchReceipts = fetchReceipts;
+        this.maxReceiptRequestsInFlight = maxReceiptRequestsInFlight;
+        this.decodeParallelism = decodeParallelism;
+        this.confirmations = confirmations;
+    }
+
+    /**
+     * Indexes the chain from {@code startBlock}, or from the block after the checkpoint if the
+     * checkpoint is further, and keeps indexing new blocks until the subscription is cancelled.
+     *
+     * @param startBlock first block to index, unless the checkpoint is further
+     * @param pollingInterval interval at which new blocks are polled for once caught up, in
+     *     milliseconds
+     * @return the numbers of the committed blocks
+     */
+    public Flowable<Long> index(long startBlock, long pollingInterval) {
+        if (startBlock < 0) {
+            throw new IllegalArgumentException("Negative start block cannot be used");
+        }
+
+        return Flowable.defer(
+                () -> {
+                    AtomicLong nextBlock =
+                            new AtomicLong(Math.max(startBlock, checkpoint.load() + 1));
+                    return fetchHeadBlockNumber()
+                            .flatMapPublisher(
+                                    headBlockNumber -> {
+                                        long from = nextBlock.get();
+                                        long to = headBlockNumber - confirmations;
+                                        if (from > to) {
+                                            return Flowable.<Long>empty();
+                                        }
+                                        return indexRange(from, to)
+                                                .doOnComplete(() -> nextBlock.set(to + 1));
+                                    })
+                            .repeatWhen(
+                                    completed ->
+                                            completed.delay(
+                                                    pollingInterval, TimeUnit.MILLISECONDS));
+                });
+    }
+
+    private Flowable<Long> indexRange(long fromBlock, long toBlock) {
+        return blockReplayer
+                .replay(fromBlock, toBlock, fullTransactionObjects, true)
+                .concatMapEager(
+                        ethBlock -> fetchReceipts(ethBlock.getBlock()).toFlowable(),
+                        maxReceiptRequestsInFlight,
+                        1)
+                .concatMapEager(
+                        fetched ->
+                                Single.fromCallable(() -> decode(fetched))
+                                        .subscribeOn(Schedulers.computation())
+                                        .toFlowable(),
+                        decodeParallelism,
+                        1)
+                // The sink and the checkpoint may block, which computation threads must not
+                .observeOn(Schedulers.io(), false, decodeParallelism)
+                .map(this::commit);
+    }
+
+    private Single<Fetched> fetchReceipts(EthBlock.Block block) {
+        if (!fetchReceipts) {
+            return Single.just(new Fetched(block, Collections.emptyList()));
+        }
+
+        return Single.create(
+                emitter ->
+                        web3j.ethGetBlockReceipts(
+                                        new DefaultBlockParameterNumber(block.getNumber()))
+                                .sendAsync()
+                                .whenComplete(
+                                        (ethGetBlockReceipts, throwable) -> {
+                                            if (throwable != null) {
+                                                emitter.tryOnError(unwrap(throwable));
+                                                return;
+                                            }
+                                            try {
+                                                emitter.onSuccess(
+                                                        new Fetched(
+                                                                block,
+                                                                toReceipts(
+                                                                        block,
+                                                                        ethGetBlockReceipts)));
+                                            } catch (IOException e) {
+                                                emitter.tryOnError(e);
+                                            }
+                                        }));
+    }
+
+    private static List<TransactionReceipt> toReceipts(
+            EthBlock.Block block, EthGetBlockReceipts ethGetBlockReceipts) throws IOException {
+        if (ethGetBlockReceipts.hasError()) {
+            throw new IOException(
+                    "Failed to fetch receipts of block "
+                            + block.getNumber()
+                            + ": "
+                            + ethGetBlockReceipts.getError().getMessage());
+        }
+        List<TransactionReceipt> receipts = ethGetBlockReceipts.getResult();
+        if (receipts == null) {
+            throw new IOException("No receipts for block " + block.getNumber());
+        }
+        // Receipts fetched by number belong to another block if the chain has reorganised since
+        for (TransactionReceipt receipt : receipts) {
+            if (receipt.getBlockHash() != null
+                    && !receipt.getBlockHash().equalsIgnoreCase(block.getHash())) {
+                throw new IOException(
+                        "Receipts of block "
+                                + block.getNumber()
+                                + " do not belong to block "
+                                + block.getHash());
+            }
+        }
+        return receipts;
+    }
+
+    private Decoded<T> decode(Fetched fetched) throws Exception {
+        return new Decoded<>(
+                fetched.block.getNumber().longValueExact(),
+                decoder.decode(fetched.block, fetched.receipts));
+    }
+
+    private long commit(Decoded<T> decoded) throws Exception {
+        sink.write(decoded.blockNumber, decoded.value);
+        checkpoint.save(decoded.blockNumber);
+        return decoded.blockNumber;
+    }
+
+    private Single<Long> fetchHeadBlockNumber() {
+        return Single.create(
+                emitter ->
+                        web3j.ethBlockNumber()
+                                .sendAsync()
+                                .whenComplete(
+                                        (ethBlockNumber, throwable) -> {
+                                            if (throwable != null) {
+                                                emitter.tryOnError(unwrap(throwable));
+                                            } else if (ethBlockNumber.hasError()) {
+                                                emitter.tryOnError(
+                                                        new IOException(
+                                                                "Failed to fetch block number: "
+                                                                        + ethBlockNumber
+                                                                                .getError()
+                                                                                .getMessage()));
+                                            } else {
+                                                emitter.onSuccess(
+                                                        ethBlockNumber
+                                                                .getBlockNumber()
+                                                                .longValueExact());
+                                            }
+                                        }));
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /** A block with its receipts. */
+    private static class Fetched {
+        private final EthBlock.Block block;
+        private final List<TransactionReceipt> receipts;
+
+        Fetched(EthBlock.Block block, List<TransactionReceipt> receipts) {
+            this.block = block;
+            this.receipts = receipts;
+        }
+    }
+
+    /** A decoded block. */
+    private static class Decoded<T> {
+        private final long blockNumber;
+        private final T value;
+
+        Decoded(long blockNumber, T value) {
+            this.blockNumber = blockNumber;
+            this.value = value;
+        }
+    }
+}
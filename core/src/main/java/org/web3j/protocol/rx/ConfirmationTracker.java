@@ -0,0 +1,127 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.web3j.utils.Numeric;
+
+/**
+ * Follows the head of a chain and releases the value of every block once it is a given number of
+ * blocks deep.
+ *
+ * <p>The most recent headers are kept in a {@link HeaderRing}. A new head whose parent hash does
+ * not match the header of the previous number is a fork: its ancestors are fetched until one
+ * connects to the ring, the orphaned headers are dropped, and a revert event is emitted for each
+ * orphaned block that had already been released. Missing blocks between the ring and a new head are
+ * fetched the same way. Calls must not be concurrent.
+ */
+class ConfirmationTracker<T> {
+
+    /** Fetches a block with its value. */
+    interface Fetcher<T> {
+        Block<T> fetch(String blockHash) throws IOException;
+    }
+
+    /** Header of a block with its value. */
+    static class Block<T> {
+        private final long number;
+        private final byte[] hash;
+        private final byte[] parentHash;
+        private final T value;
+
+        Block(long number, String hash, String parentHash, T value) {
+            this.number = number;
+            this.hash = Numeric.hexStringToByteArray(hash);
+            this.parentHash = Numeric.hexStringToByteArray(parentHash);
+            this.value = value;
+        }
+    }
+
+    private final int depth;
+    private final HeaderRing<T> ring;
+    private final Fetcher<T> fetcher;
+
+    // Last block whose value was released
+    private long confirmedUpTo;
+
+    /**
+     * Creates a tracker.
+     *
+     * @param depth number of blocks on top of a block before it is released, 0 releases every block
+     *     immediately
+     * @param history number of released blocks kept to detect their reorganisation
+     * @param fetcher fetches ancestors of new heads
+     */
+    ConfirmationTracker(int depth, int history, Fetcher<T> fetcher) {
+        if (depth < 0 || history < 0) {
+            throw new IllegalArgumentException("Depth and history must not be negative");
+        }
+        this.depth = depth;
+        this.ring = new HeaderRing<>(depth + 1 + history);
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * Processes the current head of the chain.
+     *
+     * @return events of blocks reverted and released because of the new head, in order
+     * @throws IOException if an ancestor cannot be fetched or the fork is older than the history
+     */
+    List<ChainEvent<T>> onHead(Block<T> head) throws IOException {
+        List<ChainEvent<T>> events = new ArrayList<>();
+        if (ring.isEmpty()) {
+            // Blocks before the first head are not released
+            confirmedUpTo = head.number - 1;
+            push(head, events);
+            return events;
+        }
+        if (ring.hashEquals(head.number, head.hash)) {
+            return events;
+        }
+
+        Deque<Block<T>> branch = new ArrayDeque<>();
+        Block<T> block = head;
+        branch.push(block);
+        while (block.number - 1 > ring.tipNumber()
+                || !ring.hashEquals(block.number - 1, block.parentHash)) {
+            if (block.number - 1 < ring.oldestNumber()) {
+                throw new IOException(
+                        "Chain reorganisation deeper than " + ring.size() + " blocks");
+            }
+            block = fetcher.fetch(Numeric.toHexString(block.parentHash));
+            branch.push(block);
+        }
+
+        long ancestor = block.number - 1;
+        while (ring.tipNumber() > ancestor) {
+            long number = ring.tipNumber();
+            if (number <= confirmedUpTo) {
+                events.add(event(ChainEvent.Type.REVERTED, number));
+            }
+            ring.pop();
+        }
+        confirmedUpTo = Math.min(confirmedUpTo, ancestor);
+
+        while (!branch.isEmpty()) {
+            push(branch.pop(), events);
+        }
+        return events;
+    }
+
+    private void push(Block<T> block, List<ChainEvent<T>> events) {
+        ring.push(block.number, block.hash, block.parentHash, block.value);
+        // Release before the ring evicts, the ring is larger than the depth
+        while (confirmedUpTo < ring.tipNumber() - depth) {
+            confirmedUpTo++;
+            events.add(event(ChainEvent.Type.CONFIRMED, confirmedUpTo));
+        }
+    }
+
+    private ChainEvent<T> event(ChainEvent.Type type, long number) {
+        return new ChainEvent<>(
+                type, number, Numeric.toHexString(ring.hash(number)), ring.value(number));
+    }
+}
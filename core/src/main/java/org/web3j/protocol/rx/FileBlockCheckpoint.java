@@ -0,0 +1,47 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Block checkpoint stored in a file.
+ *
+ * <p>The block number is written to a temporary file that then atomically replaces the checkpoint
+ * file, so that a crash never leaves a partially written checkpoint behind.
+ */
+public class FileBlockCheckpoint implements BlockCheckpoint {
+
+    private final Path path;
+    private final Path tempPath;
+
+    public FileBlockCheckpoint(Path path) {
+        this.path = path;
+        this.tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    @Override
+    public synchronized long load() throws IOException {
+        if (!Files.exists(path)) {
+            return -1;
+        }
+        String content = new String(Files.readAllBytes(path), StandardCharsets.UTF_8).trim();
+        try {
+            return Long.parseLong(content);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid checkpoint in " + path + ": " + content, e);
+        }
+    }
+
+    @Override
+    public synchronized void save(long blockNumber) throws IOException {
+        Files.write(tempPath, Long.toString(blockNumber).getBytes(StandardCharsets.UTF_8));
+        Files.move(
+                tempPath,
+                path,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+}
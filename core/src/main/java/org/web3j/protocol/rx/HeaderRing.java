@@ -0,0 +1,104 @@
+package org.web3j.protocol.rx;
+
+/**
+ * Fixed-size ring of the most recent headers of a chain, with consecutive block numbers.
+ *
+ * <p>Numbers and hashes are kept in primitive arrays, so that the memory used does not depend on
+ * how many blocks have been seen. A pushed header must be the child of the tip, so the parent hash
+ * of a header is the hash of the previous one and is not stored. Pushing to a full ring evicts the
+ * oldest header.
+ */
+class HeaderRing<T> {
+
+    static final int HASH_LENGTH = 32;
+
+    private final int capacity;
+    private final long[] numbers;
+    private final byte[] hashes;
+    private final Object[] values;
+
+    private int tip = -1;
+    private int size;
+
+    HeaderRing(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.numbers = new long[capacity];
+        this.hashes = new byte[capacity * HASH_LENGTH];
+        this.values = new Object[capacity];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long tipNumber() {
+        return numbers[tip];
+    }
+
+    long oldestNumber() {
+        return numbers[tip] - size + 1;
+    }
+
+    void push(long number, byte[] hash, byte[] parentHash, T value) {
+        if (size > 0 && (number != tipNumber() + 1 || !hashEquals(number - 1, parentHash))) {
+            throw new IllegalStateException(
+                    "Block " + number + " is not a child of block " + tipNumber());
+        }
+        tip = (tip + 1) % capacity;
+        numbers[tip] = number;
+        System.arraycopy(hash, 0, hashes, tip * HASH_LENGTH, HASH_LENGTH);
+        values[tip] = value;
+        if (size < capacity) {
+            size++;
+        }
+    }
+
+    void pop() {
+        values[tip] = null;
+        tip = (tip - 1 + capacity) % capacity;
+        size--;
+    }
+
+    boolean contains(long number) {
+        return size > 0 && number <= tipNumber() && number >= oldestNumber();
+    }
+
+    /** Returns whether the header of the given number has the given hash. */
+    boolean hashEquals(long number, byte[] hash) {
+        if (!contains(number)) {
+            return false;
+        }
+        int offset = indexOf(number) * HASH_LENGTH;
+        for (int i = 0; i < HASH_LENGTH; i++) {
+            if (hashes[offset + i] != hash[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    byte[] hash(long number) {
+        byte[] hash = new byte[HASH_LENGTH];
+        System.arraycopy(hashes, indexOf(number) * HASH_LENGTH, hash, 0, HASH_LENGTH);
+        return hash;
+    }
+
+    @SuppressWarnings("unchecked")
+    T value(long number) {
+        return (T) values[indexOf(number)];
+    }
+
+    private int indexOf(long number) {
+        if (!contains(number)) {
+            throw new IllegalArgumentException("Block " + number + " is not in the ring");
+        }
+        return Math.floorMod(tip - (int) (tipNumber() - number), capacity);
+    }
+}
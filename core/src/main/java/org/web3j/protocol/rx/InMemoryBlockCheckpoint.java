@@ -0,0 +1,25 @@
+package org.web3j.protocol.rx;
+
+/** Block checkpoint kept in memory, for streams that need not survive a restart. */
+public class InMemoryBlockCheckpoint implements BlockCheckpoint {
+
+    private volatile long blockNumber;
+
+    public InMemoryBlockCheckpoint() {
+        this(-1);
+    }
+
+    public InMemoryBlockCheckpoint(long blockNumber) {
+        this.blockNumber = blockNumber;
+    }
+
+    @Override
+    public long load() {
+        return blockNumber;
+    }
+
+    @Override
+    public void save(long blockNumber) {
+        this.blockNumber = blockNumber;
+    }
+}
@@ -14,8 +14,12 @@ package org.web3j.protocol.rx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import io.reactivex.BackpressureStrategy;
@@ -28,57 +32,106 @@ import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterName;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
-import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.filters.BlockFilter;
+import org.web3j.protocol.core.filters.Callback;
+import org.web3j.protocol.core.filters.FilterPoller;
 import org.web3j.protocol.core.filters.LogFilter;
 import org.web3j.protocol.core.filters.PendingTransactionFilter;
 import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthLog;
 import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.Transaction;
-import org.web3j.utils.Flowables;
 
 /** web3j reactive API implementation. */
 public class JsonRpc2_0Rx {
 
+    // Number of confirmed blocks kept to detect reorganisations deeper than the confirmation depth
+    private static final int CONFIRMATION_HISTORY = 64;
+
     private final Web3j web3j;
     private final ScheduledExecutorService scheduledExecutorService;
     private final Scheduler scheduler;
+    // Polls the filters of all flowables, batching their requests
+    private final FilterPoller filterPoller;
+    // Fetches replayed blocks in parallel batches
+    private final BatchBlockReplayer blockReplayer;
+    // Fetches historic logs in adaptive chunks
+    private final LogBackfiller logBackfiller;
+    // Fetches pending transactions in batches
+    private final PendingTransactionHydrator pendingTransactionHydrator;
+    // Fetches the bodies of block headers on demand
+    private final BlockHydrator blockHydrator;
 
     public JsonRpc2_0Rx(Web3j web3j, ScheduledExecutorService scheduledExecutorService) {
+        this(web3j, scheduledExecutorService, new BatchBlockReplayer(web3j));
+    }
+
+    public JsonRpc2_0Rx(
+            Web3j web3j,
+            ScheduledExecutorService scheduledExecutorService,
+            BatchBlockReplayer blockReplayer) {
         this.web3j = web3j;
         this.scheduledExecutorService = scheduledExecutorService;
         this.scheduler = Schedulers.from(scheduledExecutorService);
+        this.filterPoller = new FilterPoller(web3j, scheduledExecutorService);
+        this.blockReplayer = blockReplayer;
+        this.logBackfiller = new LogBackfiller(web3j);
+        this.pendingTransactionHydrator = new PendingTransactionHydrator(web3j, scheduler);
+        this.blockHydrator = new BlockHydrator(web3j);
     }
 
     public Flowable<String> ethBlockHashFlowable(long pollingInterval) {
-        return Flowable.create(
-                subscriber -> {
-                    BlockFilter blockFilter = new BlockFilter(web3j, subscriber::onNext);
-                    run(blockFilter, subscriber, pollingInterval);
-                },
-                BackpressureStrategy.BUFFER);
+        return ethBlockHashFlowable(pollingInterval, BackpressurePolicy.unbounded());
+    }
+
+    public Flowable<String> ethBlockHashFlowable(
+            long pollingInterval, BackpressurePolicy backpressurePolicy) {
+        return filterFlowable(
+                callback -> new BlockFilter(web3j, callback), pollingInterval, backpressurePolicy);
     }
 
     public Flowable<String> ethPendingTransactionHashFlowable(long pollingInterval) {
-        return Flowable.create(
-                subscriber -> {
-                    PendingTransactionFilter pendingTransactionFilter =
-                            new PendingTransactionFilter(web3j, subscriber::onNext);
+        return ethPendingTransactionHashFlowable(pollingInterval, BackpressurePolicy.unbounded());
+    }
 
-                    run(pendingTransactionFilter, subscriber, pollingInterval);
-                },
-                BackpressureStrategy.BUFFER);
+    public Flowable<String> ethPendingTransactionHashFlowable(
+            long pollingInterval, BackpressurePolicy backpressurePolicy) {
+        return filterFlowable(
+                callback -> new PendingTransactionFilter(web3j, callback),
+                pollingInterval,
+                backpressurePolicy);
     }
 
     public Flowable<Log> ethLogFlowable(
             org.web3j.protocol.core.methods.request.EthFilter ethFilter, long pollingInterval) {
-        return Flowable.create(
-                subscriber -> {
-                    LogFilter logFilter = new LogFilter(web3j, subscriber::onNext, ethFilter);
+        return ethLogFlowable(ethFilter, pollingInterval, BackpressurePolicy.unbounded());
+    }
+
+    public Flowable<Log> ethLogFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            long pollingInterval,
+            BackpressurePolicy backpressurePolicy) {
+        return filterFlowable(
+                callback -> new LogFilter(web3j, callback, ethFilter),
+                pollingInterval,
+                backpressurePolicy);
+    }
 
-                    run(logFilter, subscriber, pollingInterval);
-                },
-                BackpressureStrategy.BUFFER);
+    private <T> Flowable<T> filterFlowable(
+            Function<Callback<T>, org.web3j.protocol.core.filters.Filter<T>> filterFactory,
+            long pollingInterval,
+            BackpressurePolicy backpressurePolicy) {
+        return backpressurePolicy.apply(
+                pauseCondition ->
+                        Flowable.create(
+                                subscriber -> {
+                                    org.web3j.protocol.core.filters.Filter<T> filter =
+                                            filterFactory.apply(subscriber::onNext);
+                                    filter.pauseWhile(pauseCondition);
+
+                                    run(filter, subscriber, pollingInterval);
+                                },
+                                BackpressureStrategy.MISSING));
     }
 
     private <T> void run(
@@ -86,31 +139,167 @@ public class JsonRpc2_0Rx {
             FlowableEmitter<? super T> emitter,
             long pollingInterval) {
 
-        filter.run(scheduledExecutorService, pollingInterval);
+        filter.run(filterPoller, pollingInterval);
         emitter.setCancellable(filter::cancel);
     }
 
     public Flowable<Transaction> transactionFlowable(long pollingInterval) {
-        return blockFlowable(true, pollingInterval).flatMapIterable(JsonRpc2_0Rx::toTransactions);
+        return transactionFlowable(pollingInterval, BackpressurePolicy.unbounded());
+    }
+
+    public Flowable<Transaction> transactionFlowable(
+            long pollingInterval, BackpressurePolicy backpressurePolicy) {
+        return blockFlowable(true, pollingInterval, backpressurePolicy)
+                .flatMapIterable(JsonRpc2_0Rx::toTransactions);
     }
 
     public Flowable<Transaction> pendingTransactionFlowable(long pollingInterval) {
-        return ethPendingTransactionHashFlowable(pollingInterval)
-                .flatMap(
-                        transactionHash ->
-                                web3j.ethGetTransactionByHash(transactionHash).flowable())
-                .filter(ethTransaction -> ethTransaction.getTransaction().isPresent())
-                .map(ethTransaction -> ethTransaction.getTransaction().get());
+        return pendingTransactionFlowable(pollingInterval, pendingTransactionHydrator);
+    }
+
+    public Flowable<Transaction> pendingTransactionFlowable(
+            long pollingInterval, PendingTransactionHydrator hydrator) {
+        return hydrator.hydrate(ethPendingTransactionHashFlowable(pollingInterval));
+    }
+
+    /** Returns the hydrator of {@link #pendingTransactionFlowable(long)}. */
+    public PendingTransactionHydrator getPendingTransactionHydrator() {
+        return pendingTransactionHydrator;
     }
 
     public Flowable<EthBlock> blockFlowable(boolean fullTransactionObjects, long pollingInterval) {
-        return ethBlockHashFlowable(pollingInterval)
+        return blockFlowable(
+                fullTransactionObjects, pollingInterval, BackpressurePolicy.unbounded());
+    }
+
+    public Flowable<EthBlock> blockFlowable(
+            boolean fullTransactionObjects,
+            long pollingInterval,
+            BackpressurePolicy backpressurePolicy) {
+        return ethBlockHashFlowable(pollingInterval, backpressurePolicy)
                 .flatMap(
                         blockHash ->
                                 web3j.ethGetBlockByHash(blockHash, fullTransactionObjects)
                                         .flowable());
     }
 
+    public Flowable<BlockHeader> blockHeaderFlowable(long pollingInterval) {
+        return blockHeaderFlowable(pollingInterval, BackpressurePolicy.unbounded());
+    }
+
+    public Flowable<BlockHeader> blockHeaderFlowable(
+            long pollingInterval, BackpressurePolicy backpressurePolicy) {
+        return blockFlowable(false, pollingInterval, backpressurePolicy)
+                .filter(ethBlock -> ethBlock.getBlock() != null)
+                .map(ethBlock -> new BlockHeader(ethBlock.getBlock(), blockHydrator));
+    }
+
+    public Flowable<ChainEvent<EthBlock>> confirmedBlockFlowable(
+            boolean fullTransactionObjects, int depth, long pollingInterval) {
+        return confirmedFlowable(
+                () ->
+                        toTrackedBlock(
+                                web3j.ethGetBlockByNumber(
+                                                DefaultBlockParameterName.LATEST,
+                                                fullTransactionObjects)
+                                        .send()),
+                blockHash ->
+                        toTrackedBlock(
+                                web3j.ethGetBlockByHash(blockHash, fullTransactionObjects).send()),
+                depth,
+                pollingInterval);
+    }
+
+    public Flowable<ChainEvent<Log>> confirmedLogFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            int depth,
+            long pollingInterval) {
+        return confirmedFlowable(
+                        () ->
+                                withLogs(
+                                        web3j.ethGetBlockByNumber(
+                                                        DefaultBlockParameterName.LATEST, false)
+                                                .send(),
+                                        ethFilter),
+                        blockHash ->
+                                withLogs(
+                                        web3j.ethGetBlockByHash(blockHash, false).send(),
+                                        ethFilter),
+                        depth,
+                        pollingInterval)
+                .concatMapIterable(JsonRpc2_0Rx::toLogEvents);
+    }
+
+    private <T> Flowable<ChainEvent<T>> confirmedFlowable(
+            Callable<ConfirmationTracker.Block<T>> latestBlock,
+            ConfirmationTracker.Fetcher<T> fetcher,
+            int depth,
+            long pollingInterval) {
+        // New block hashes only trigger fetching the canonical head, as the block filter may
+        // also report blocks of other branches
+        return Flowable.defer(
+                () -> {
+                    ConfirmationTracker<T> tracker =
+                            new ConfirmationTracker<>(depth, CONFIRMATION_HISTORY, fetcher);
+                    return ethBlockHashFlowable(pollingInterval)
+                            .concatMapIterable(blockHash -> tracker.onHead(latestBlock.call()));
+                });
+    }
+
+    private ConfirmationTracker.Block<List<Log>> withLogs(
+            EthBlock ethBlock, org.web3j.protocol.core.methods.request.EthFilter ethFilter)
+            throws IOException {
+        EthBlock.Block block = getBlock(ethBlock);
+        org.web3j.protocol.core.methods.request.EthFilter blockFilter =
+                new org.web3j.protocol.core.methods.request.EthFilter(
+                        block.getHash(), ethFilter.getAddress());
+        blockFilter.getTopics().addAll(ethFilter.getTopics());
+
+        EthLog ethLog = web3j.ethGetLogs(blockFilter).send();
+        if (ethLog.hasError()) {
+            throw new IOException(
+                    "Failed to fetch logs of block "
+                            + block.getHash()
+                            + ": "
+                            + ethLog.getError().getMessage());
+        }
+        return toTrackedBlock(block, LogBackfiller.toLogs(ethLog));
+    }
+
+    private static ConfirmationTracker.Block<EthBlock> toTrackedBlock(EthBlock ethBlock)
+            throws IOException {
+        return toTrackedBlock(getBlock(ethBlock), ethBlock);
+    }
+
+    private static <T> ConfirmationTracker.Block<T> toTrackedBlock(EthBlock.Block block, T value) {
+        return new ConfirmationTracker.Block<>(
+                block.getNumber().longValueExact(), block.getHash(), block.getParentHash(), value);
+    }
+
+    private static EthBlock.Block getBlock(EthBlock ethBlock) throws IOException {
+        if (ethBlock.hasError()) {
+            throw new IOException("Failed to fetch block: " + ethBlock.getError().getMessage());
+        } else if (ethBlock.getBlock() == null) {
+            // e.g. a block of an abandoned branch that the node has already dropped
+            throw new IOException("Block not found");
+        }
+        return ethBlock.getBlock();
+    }
+
+    private static List<ChainEvent<Log>> toLogEvents(ChainEvent<List<Log>> event) {
+        List<Log> logs = new ArrayList<>(event.getValue());
+        if (event.isReverted()) {
+            Collections.reverse(logs);
+        }
+        List<ChainEvent<Log>> events = new ArrayList<>(logs.size());
+        for (Log log : logs) {
+            events.add(
+                    new ChainEvent<>(
+                            event.getType(), event.getBlockNumber(), event.getBlockHash(), log));
+        }
+        return events;
+    }
+
     public Flowable<EthBlock> replayBlocksFlowable(
             DefaultBlockParameter startBlock,
             DefaultBlockParameter endBlock,
@@ -150,10 +339,11 @@ public class JsonRpc2_0Rx {
             return Flowable.error(e);
         }
 
-        return Flowables.range(startBlockNumber, endBlockNumber, isAscending)
-                .map(DefaultBlockParameterNumber::new)
-                .map(number -> web3j.ethGetBlockByNumber(number, containsFullTransactionObjects))
-                .flatMap(Request::flowable);
+        return blockReplayer.replay(
+                startBlockNumber.longValueExact(),
+                endBlockNumber.longValueExact(),
+                containsFullTransactionObjects,
+                isAscending);
     }
 
     public Flowable<Transaction> replayTransactionsFlowable(
@@ -231,6 +421,103 @@ public class JsonRpc2_0Rx {
                 .flatMapIterable(JsonRpc2_0Rx::toTransactions);
     }
 
+    public Flowable<Log> replayPastLogsFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            BlockCheckpoint checkpoint) {
+        // We use a scheduler to ensure this Flowable runs asynchronously for users to be
+        // consistent with the other Flowables
+        return Flowable.defer(
+                        () -> {
+                            BigInteger startBlockNumber;
+                            BigInteger endBlockNumber;
+                            try {
+                                startBlockNumber = getBlockNumber(startBlock);
+                                endBlockNumber = getBlockNumber(endBlock);
+                            } catch (IOException e) {
+                                return Flowable.error(e);
+                            }
+                            return logBackfiller.backfill(
+                                    ethFilter,
+                                    startBlockNumber.longValueExact(),
+                                    endBlockNumber.longValueExact(),
+                                    checkpoint);
+                        })
+                .subscribeOn(scheduler);
+    }
+
+    public Flowable<Log> replayPastAndFutureLogsFlowable(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            DefaultBlockParameter startBlock,
+            BlockCheckpoint checkpoint,
+            long pollingInterval) {
+        return Flowable.defer(
+                        () -> {
+                            BigInteger startBlockNumber;
+                            try {
+                                startBlockNumber = getBlockNumber(startBlock);
+                            } catch (IOException e) {
+                                return Flowable.error(e);
+                            }
+                            return replayPastAndFutureLogsFlowableSync(
+                                    ethFilter,
+                                    startBlockNumber.longValueExact(),
+                                    checkpoint,
+                                    pollingInterval);
+                        })
+                .subscribeOn(scheduler);
+    }
+
+    private Flowable<Log> replayPastAndFutureLogsFlowableSync(
+            org.web3j.protocol.core.methods.request.EthFilter ethFilter,
+            long startBlock,
+            BlockCheckpoint checkpoint,
+            long pollingInterval) {
+
+        long start;
+        long latestBlock;
+        try {
+            start = Math.max(startBlock, checkpoint.load() + 1);
+            latestBlock = getLatestBlockNumber().longValueExact();
+        } catch (IOException e) {
+            return Flowable.error(e);
+        }
+
+        if (start <= latestBlock) {
+            return Flowable.concat(
+                    logBackfiller.backfill(ethFilter, start, latestBlock, checkpoint),
+                    Flowable.defer(
+                            () ->
+                                    replayPastAndFutureLogsFlowableSync(
+                                            ethFilter,
+                                            latestBlock + 1,
+                                            checkpoint,
+                                            pollingInterval)));
+        }
+
+        // Caught up, the live filter starts right after the last backfilled block. A block is
+        // checkpointed once a log of a later block arrives, as more of its logs may follow.
+        org.web3j.protocol.core.methods.request.EthFilter liveFilter =
+                LogBackfiller.withRange(
+                        ethFilter,
+                        new DefaultBlockParameterNumber(start),
+                        DefaultBlockParameterName.LATEST);
+        long[] lastBlock = {start - 1};
+        return ethLogFlowable(liveFilter, pollingInterval)
+                .doOnNext(
+                        log -> {
+                            if (log.isRemoved() || log.getBlockNumber() == null) {
+                                return;
+                            }
+                            long blockNumber = log.getBlockNumber().longValueExact();
+                            if (blockNumber > lastBlock[0] + 1) {
+                                checkpoint.save(blockNumber - 1);
+                            }
+                            lastBlock[0] = Math.max(lastBlock[0], blockNumber - 1);
+                        });
+    }
+
     private BigInteger getLatestBlockNumber() throws IOException {
         return getBlockNumber(DefaultBlockParameterName.LATEST);
     }
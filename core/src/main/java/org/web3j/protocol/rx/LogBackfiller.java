@@ -0,0 +1,284 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Pattern;
+
+import io.reactivex.Completable;
+import io.reactivex.Flowable;
+import io.reactivex.Single;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+
+/**
+ * Fetches the historic logs of a block range with {@code eth_getLogs}, in chunks sized to the
+ * limits of the node.
+ *
+ * <p>A chunk the node rejects for returning too many results, or spanning too many blocks, is
+ * bisected until its halves are accepted, and subsequent chunks are made smaller. Chunks with few
+ * results make subsequent chunks larger. Several chunks are fetched at the same time, logs are
+ * emitted in block order, and the last block of every completely emitted chunk is saved to a {@link
+ * BlockCheckpoint}, from which an interrupted backfill resumes.
+ */
+public class LogBackfiller {
+
+    public static final int DEFAULT_INITIAL_CHUNK_SIZE = 1_000;
+    public static final int DEFAULT_MAX_CHUNK_SIZE = 100_000;
+    public static final int DEFAULT_MAX_CHUNKS_IN_FLIGHT = 4;
+    public static final int DEFAULT_TARGET_RESULT_COUNT = 5_000;
+
+    private static final int LIMIT_EXCEEDED_ERROR_CODE = -32005;
+
+    // Messages of the major clients and providers for queries exceeding their limits
+    private static final Pattern TOO_MANY_RESULTS =
+            Pattern.compile(
+                    "more than \\d+ results|too many|response size|limit exceeded|"
+                            + "range (is )?too (large|wide|big)|max(imum)? block range|"
+                            + "block range (limit|exceeded)",
+                    Pattern.CASE_INSENSITIVE);
+
+    private final Web3j web3j;
+    private final int initialChunkSize;
+    private final int maxChunkSize;
+    private final int maxChunksInFlight;
+    private final int targetResultCount;
+
+    public LogBackfiller(Web3j web3j) {
+        this(
+                web3j,
+                DEFAULT_INITIAL_CHUNK_SIZE,
+                DEFAULT_MAX_CHUNK_SIZE,
+                DEFAULT_MAX_CHUNKS_IN_FLIGHT,
+                DEFAULT_TARGET_RESULT_COUNT);
+    }
+
+    /**
+     * Creates a log backfiller.
+     *
+     * @param web3j web3j instance to fetch logs with
+     * @param initialChunkSize number of blocks in the first chunk
+     * @param maxChunkSize maximum number of blocks in a chunk
+     * @param maxChunksInFlight maximum number of chunks fetched at the same time
+     * @param targetResultCount number of logs per chunk the chunk size is adapted to
+     */
+    public LogBackfiller(
+            Web3j web3j,
+            int initialChunkSize,
+            int maxChunkSize,
+            int maxChunksInFlight,
+            int targetResultCount) {
+        if (initialChunkSize < 1 || maxChunkSize < initialChunkSize) {
+            throw new IllegalArgumentException("Invalid chunk sizes");
+        }
+        if (maxChunksInFlight < 1) {
+            throw new IllegalArgumentException("At least one chunk must be in flight");
+        }
+        this.web3j = web3j;
+        this.initialChunkSize = initialChunkSize;
+        this.maxChunkSize = maxChunkSize;
+        this.maxChunksInFlight = maxChunksInFlight;
+        this.targetResultCount = targetResultCount;
+    }
+
+    /**
+     * Emits the logs matching a filter from {@code fromBlock} to {@code toBlock}, both inclusive,
+     * resuming after the block saved in the checkpoint if there is one.
+     *
+     * @param ethFilter filter criteria, its block range is ignored
+     * @param fromBlock first block number
+     * @param toBlock last block number
+     * @param checkpoint checkpoint to resume from and to save progress to
+     * @return logs in block order
+     */
+    public Flowable<Log> backfill(
+            EthFilter ethFilter, long fromBlock, long toBlock, BlockCheckpoint checkpoint) {
+        if (fromBlock < 0) {
+            throw new IllegalArgumentException("Negative start block cannot be used");
+        }
+
+        return Flowable.defer(
+                () -> {
+                    long start = Math.max(fromBlock, checkpoint.load() + 1);
+                    if (start > toBlock) {
+                        return Flowable.empty();
+                    }
+
+                    ChunkSize chunkSize = new ChunkSize(initialChunkSize);
+                    return Flowable.<long[], long[]>generate(
+                                    () -> new long[] {start},
+                                    (next, emitter) -> {
+                                        long from = next[0];
+                                        long to = Math.min(toBlock, from + chunkSize.get() - 1);
+                                        emitter.onNext(new long[] {from, to});
+                                        next[0] = to + 1;
+                                        if (to == toBlock) {
+                                            emitter.onComplete();
+                                        }
+                                    })
+                            .concatMapEager(
+                                    range ->
+                                            fetch(ethFilter, range[0], range[1], chunkSize)
+                                                    .map(logs -> new Chunk(range[1], logs))
+                                                    .toFlowable(),
+                                    maxChunksInFlight,
+                                    1)
+                            .concatMap(
+                                    chunk ->
+                                            Flowable.fromIterable(chunk.logs)
+                                                    .concatWith(
+                                                            Completable.fromAction(
+                                                                    () ->
+                                                                            checkpoint.save(
+                                                                                    chunk.toBlock))));
+                });
+    }
+
+    private Single<List<Log>> fetch(EthFilter ethFilter, long from, long to, ChunkSize chunkSize) {
+        return send(web3j, ethFilter, from, to)
+                .flatMap(
+                        ethLog -> {
+                            if (!ethLog.hasError()) {
+                                List<Log> logs = toLogs(ethLog);
+                                chunkSize.onResult(to - from + 1, logs.size());
+                                return Single.just(logs);
+                            }
+
+                            Response.Error error = ethLog.getError();
+                            if (from == to || !isTooManyResults(error)) {
+                                return Single.error(failure(from, to, error));
+                            }
+
+                            long mid = from + (to - from) / 2;
+                            chunkSize.onTooManyResults(mid - from + 1);
+                            return fetch(ethFilter, from, mid, chunkSize)
+                                    .flatMap(
+                                            first ->
+                                                    fetch(ethFilter, mid + 1, to, chunkSize)
+                                                            .map(
+                                                                    second -> {
+                                                                        first.addAll(second);
+                                                                        return first;
+                                                                    }));
+                        });
+    }
+
+    /**
+     * Fetches the logs matching a filter from {@code from} to {@code to}, both inclusive.
+     *
+     * @return the logs, or an {@link IOException} if the node returns an error
+     */
+    static Single<List<Log>> getLogs(Web3j web3j, EthFilter ethFilter, long from, long to) {
+        return send(web3j, ethFilter, from, to)
+                .flatMap(
+                        ethLog ->
+                                ethLog.hasError()
+                                        ? Single.error(failure(from, to, ethLog.getError()))
+                                        : Single.just(toLogs(ethLog)));
+    }
+
+    private static IOException failure(long from, long to, Response.Error error) {
+        return new IOException(
+                "Failed to fetch logs of blocks " + from + " to " + to + ": " + error.getMessage());
+    }
+
+    private static Single<EthLog> send(Web3j web3j, EthFilter ethFilter, long from, long to) {
+        EthFilter chunkFilter =
+                withRange(
+                        ethFilter,
+                        new DefaultBlockParameterNumber(from),
+                        new DefaultBlockParameterNumber(to));
+
+        return Single.create(
+                emitter ->
+                        web3j.ethGetLogs(chunkFilter)
+                                .sendAsync()
+                                .whenComplete(
+                                        (ethLog, throwable) -> {
+                                            if (throwable == null) {
+                                                emitter.onSuccess(ethLog);
+                                            } else if (throwable instanceof CompletionException
+                                                    && throwable.getCause() != null) {
+                                                emitter.tryOnError(throwable.getCause());
+                                            } else {
+                                                emitter.tryOnError(throwable);
+                                            }
+                                        }));
+    }
+
+    /** Returns a copy of the filter with another block range. */
+    static EthFilter withRange(
+            EthFilter ethFilter, DefaultBlockParameter fromBlock, DefaultBlockParameter toBlock) {
+        EthFilter copy = new EthFilter(fromBlock, toBlock, ethFilter.getAddress());
+        copy.getTopics().addAll(ethFilter.getTopics());
+        return copy;
+    }
+
+    /**
+     * Returns whether an {@code eth_getLogs} error reports a query exceeding the result or block
+     * range limits of the node, rather than a failure that a smaller query would not avoid.
+     *
+     * @param error error returned by the node
+     * @return true if the query should be split
+     */
+    public static boolean isTooManyResults(Response.Error error) {
+        return error.getCode() == LIMIT_EXCEEDED_ERROR_CODE
+                || (error.getMessage() != null
+                        && TOO_MANY_RESULTS.matcher(error.getMessage()).find());
+    }
+
+    static List<Log> toLogs(EthLog ethLog) {
+        List<EthLog.LogResult> logResults = ethLog.getLogs();
+        List<Log> logs = new ArrayList<>(logResults.size());
+        for (EthLog.LogResult logResult : logResults) {
+            if (!(logResult instanceof EthLog.LogObject)) {
+                throw new IllegalStateException(
+                        "Unexpected result type: " + logResult.get() + " required LogObject");
+            }
+            logs.add((EthLog.LogObject) logResult);
+        }
+        return logs;
+    }
+
+    /** Logs of a chunk ending with the given block. */
+    private static class Chunk {
+        private final long toBlock;
+        private final List<Log> logs;
+
+        Chunk(long toBlock, List<Log> logs) {
+            this.toBlock = toBlock;
+            this.logs = logs;
+        }
+    }
+
+    /** Chunk size of a single backfill, adapted to the results of the chunks. */
+    private class ChunkSize {
+        private int size;
+
+        ChunkSize(int size) {
+            this.size = size;
+        }
+
+        synchronized int get() {
+            return size;
+        }
+
+        synchronized void onResult(long blocks, int resultCount) {
+            // only full-sized chunks tell whether the chunk size is too small
+            if (blocks >= size && resultCount < targetResultCount / 2) {
+                size = (int) Math.min(maxChunkSize, size * 2L);
+            }
+        }
+
+        synchronized void onTooManyResults(long acceptableSize) {
+            size = (int) Math.max(1, Math.min(size, acceptableSize));
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package org.web3j.protocol.rx;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthTransaction;
+import org.web3j.protocol.core.methods.response.Transaction;
+
+/**
+ * Fetches the transactions of pending transaction hashes with JSON-RPC batches.
+ *
+ * <p>Hashes seen recently are skipped, and the others are collected until a batch is full or the
+ * batch delay has passed. A limited number of batches is in flight, and batches are only fetched as
+ * the subscriber requests transactions. Batches that arrive while the subscriber is not keeping up
+ * are dropped rather than buffered, so a busy mempool neither floods the node nor exhausts memory.
+ *
+ * <p>Transactions are emitted in the order of their hashes. A transaction is late if it was mined,
+ * or is no longer known to the node, by the time it is fetched. Mined transactions are still
+ * emitted, unknown ones are not. Transactions the node fails to return are dropped.
+ */
+public class PendingTransactionHydrator {
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final long DEFAULT_MAX_BATCH_DELAY_MILLIS = 100;
+    public static final int DEFAULT_MAX_BATCHES_IN_FLIGHT = 2;
+    public static final int DEFAULT_RECENTLY_SEEN_CAPACITY = 10_000;
+
+    private final Web3j web3j;
+    private final Scheduler scheduler;
+    private final int maxBatchSize;
+    private final long maxBatchDelayMillis;
+    private final int maxBatchesInFlight;
+    private final int recentlySeenCapacity;
+
+    private final LongAdder duplicateCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder lateCount = new LongAdder();
+
+    public PendingTransactionHydrator(Web3j web3j, Scheduler scheduler) {
+        this(
+                web3j,
+                scheduler,
+                DEFAULT_MAX_BATCH_SIZE,
+                DEFAULT_MAX_BATCH_DELAY_MILLIS,
+                DEFAULT_MAX_BATCHES_IN_FLIGHT,
+                DEFAULT_RECENTLY_SEEN_CAPACITY);
+    }
+
+    /**
+     * Creates a pending transaction hydrator.
+     *
+     * @param web3j web3j instance to fetch transactions with
+     * @param scheduler scheduler to time batches on
+     * @param maxBatchSize maximum number of transactions in a batch
+     * @param maxBatchDelayMillis time after which a batch is sent even if it is not full
+     * @param maxBatchesInFlight maximum number of batches in flight
+     * @param recentlySeenCapacity number of recent hashes remembered to skip duplicates
+     */
+    public PendingTransactionHydrator(
+            Web3j web3j,
+            Scheduler scheduler,
+            int maxBatchSize,
+            long maxBatchDelayMillis,
+            int maxBatchesInFlight,
+            int recentlySeenCapacity) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (maxBatchesInFlight < 1) {
+            throw new IllegalArgumentException("At least one batch must be in flight");
+        }
+        this.web3j = web3j;
+        this.scheduler = scheduler;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelayMillis = maxBatchDelayMillis;
+        this.maxBatchesInFlight = maxBatchesInFlight;
+        this.recentlySeenCapacity = recentlySeenCapacity;
+    }
+
+    /**
+     * Fetches the transactions of pending transaction hashes.
+     *
+     * @param transactionHashes pending transaction hashes
+     * @return the pending transactions
+     */
+    public Flowable<Transaction> hydrate(Flowable<String> transactionHashes) {
+        return Flowable.defer(
+                () -> {
+                    Set<String> recentlySeen = newRecentlySeenSet(recentlySeenCapacity);
+                    return transactionHashes
+                            .filter(
+                                    transactionHash -> {
+                                        if (recentlySeen.add(transactionHash)) {
+                                            return true;
+                                        }
+                                        duplicateCount.increment();
+                                        return false;
+                                    })
+                            .buffer(
+                                    maxBatchDelayMillis,
+                                    TimeUnit.MILLISECONDS,
+                                    scheduler,
+                                    maxBatchSize)
+                            .filter(batch -> !batch.isEmpty())
+                            .onBackpressureDrop(batch -> droppedCount.add(batch.size()))
+                            .concatMapEager(
+                                    batch ->
+                                            fetch(batch)
+                                                    .toFlowable()
+                                                    .flatMapIterable(transactions -> transactions),
+                                    maxBatchesInFlight,
+                                    1);
+                });
+    }
+
+    /** Returns the number of hashes skipped as they had been seen recently. */
+    public long getDuplicateCount() {
+        return duplicateCount.sum();
+    }
+
+    /**
+     * Returns the number of hashes dropped as the subscriber was not keeping up, or as the node
+     * returned an error instead of their transaction.
+     */
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    /** Returns the number of transactions mined or unknown to the node when fetched. */
+    public long getLateCount() {
+        return lateCount.sum();
+    }
+
+    private Single<List<Transaction>> fetch(List<String> transactionHashes) {
+        return Single.create(
+                emitter -> {
+                    BatchRequest batchRequest = web3j.newBatch();
+                    List<Request<?, EthTransaction>> requests =
+                            new ArrayList<>(transactionHashes.size());
+                    for (String transactionHash : transactionHashes) {
+                        Request<?, EthTransaction> request =
+                                web3j.ethGetTransactionByHash(transactionHash);
+                        requests.add(request);
+                        batchRequest.add(request);
+                    }
+
+                    batchRequest
+                            .sendAsync()
+                            .whenComplete(
+                                    (batchResponse, throwable) -> {
+                                        if (throwable != null) {
+                                            emitter.tryOnError(unwrap(throwable));
+                                            return;
+                                        }
+                                        emitter.onSuccess(toTransactions(requests, batchResponse));
+                                    });
+                });
+    }
+
+    private List<Transaction> toTransactions(
+            List<Request<?, EthTransaction>> requests, BatchResponse batchResponse) {
+        Map<Long, EthTransaction> transactionForId = new HashMap<>(requests.size() * 2);
+        for (Response<?> response : batchResponse.getResponses()) {
+            if (response instanceof EthTransaction) {
+                transactionForId.put(response.getId(), (EthTransaction) response);
+            }
+        }
+
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        for (Request<?, EthTransaction> request : requests) {
+            // A single transaction failing to be fetched must not end the whole stream
+            EthTransaction ethTransaction = transactionForId.get(request.getId());
+            if (ethTransaction == null || ethTransaction.hasError()) {
+                droppedCount.increment();
+                continue;
+            }
+
+            Transaction transaction = ethTransaction.getResult();
+            if (transaction == null) {
+                lateCount.increment();
+                continue;
+            } else if (transaction.getBlockNumberRaw() != null) {
+                lateCount.increment();
+            }
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+
+    private static Set<String> newRecentlySeenSet(int capacity) {
+        return Collections.newSetFromMap(
+                new LinkedHashMap<String, Boolean>() {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                        return size() > capacity;
+                    }
+                });
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+}
@@ -35,6 +35,16 @@ public interface Web3jRx {
      */
     Flowable<Log> ethLogFlowable(EthFilter ethFilter);
 
+    /**
+     * As per {@link #ethLogFlowable(EthFilter)}, except that log events the subscriber has not
+     * requested yet are buffered as per the given policy.
+     *
+     * @param ethFilter filter criteria
+     * @param backpressurePolicy policy of the buffer of unrequested log events
+     * @return a {@link Flowable} instance that emits all Log events matching the filter
+     */
+    Flowable<Log> ethLogFlowable(EthFilter ethFilter, BackpressurePolicy backpressurePolicy);
+
     /**
      * Create an Flowable to emit block hashes.
      *
@@ -43,6 +53,16 @@ public interface Web3jRx {
      */
     Flowable<String> ethBlockHashFlowable();
 
+    /**
+     * As per {@link #ethBlockHashFlowable()}, except that block hashes the subscriber has not
+     * requested yet are buffered as per the given policy.
+     *
+     * @param backpressurePolicy policy of the buffer of unrequested block hashes
+     * @return a {@link Flowable} instance that emits all new block hashes as new blocks are created
+     *     on the blockchain
+     */
+    Flowable<String> ethBlockHashFlowable(BackpressurePolicy backpressurePolicy);
+
     /**
      * Create an Flowable to emit pending transactions, i.e. those transactions that have been
      * submitted by a node, but don't yet form part of a block (haven't been mined yet).
@@ -51,6 +71,15 @@ public interface Web3jRx {
      */
     Flowable<String> ethPendingTransactionHashFlowable();
 
+    /**
+     * As per {@link #ethPendingTransactionHashFlowable()}, except that transaction hashes the
+     * subscriber has not requested yet are buffered as per the given policy.
+     *
+     * @param backpressurePolicy policy of the buffer of unrequested transaction hashes
+     * @return a {@link Flowable} instance to emit pending transaction hashes.
+     */
+    Flowable<String> ethPendingTransactionHashFlowable(BackpressurePolicy backpressurePolicy);
+
     /**
      * Create an {@link Flowable} instance to emit all new transactions as they are confirmed on the
      * blockchain. i.e. they have been mined and are incorporated into a block.
@@ -59,6 +88,15 @@ public interface Web3jRx {
      */
     Flowable<Transaction> transactionFlowable();
 
+    /**
+     * As per {@link #transactionFlowable()}, except that block hashes whose transactions the
+     * subscriber has not requested yet are buffered as per the given policy.
+     *
+     * @param backpressurePolicy policy of the buffer of unrequested block hashes
+     * @return a {@link Flowable} instance to emit new transactions on the blockchain
+     */
+    Flowable<Transaction> transactionFlowable(BackpressurePolicy backpressurePolicy);
+
     /**
      * Create an {@link Flowable} instance to emit all pending transactions that have yet to be
      * placed into a block on the blockchain.
@@ -67,6 +105,16 @@ public interface Web3jRx {
      */
     Flowable<Transaction> pendingTransactionFlowable();
 
+    /**
+     * Create an {@link Flowable} instance to emit all pending transactions that have yet to be
+     * placed into a block on the blockchain, fetched by the given hydrator.
+     *
+     * @param hydrator hydrator fetching the pending transactions, e.g. to configure its batches or
+     *     to read its dropped and late counts
+     * @return a {@link Flowable} instance to emit pending transactions
+     */
+    Flowable<Transaction> pendingTransactionFlowable(PendingTransactionHydrator hydrator);
+
     /**
      * Create an {@link Flowable} instance that emits newly created blocks on the blockchain.
      *
@@ -77,6 +125,64 @@ public interface Web3jRx {
      */
     Flowable<EthBlock> blockFlowable(boolean fullTransactionObjects);
 
+    /**
+     * As per {@link #blockFlowable(boolean)}, except that hashes of blocks the subscriber has not
+     * requested yet are buffered as per the given policy.
+     *
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks, otherwise
+     *     transaction hashes
+     * @param backpressurePolicy policy of the buffer of unrequested block hashes
+     * @return a {@link Flowable} instance that emits all new blocks as they are added to the
+     *     blockchain
+     */
+    Flowable<EthBlock> blockFlowable(
+            boolean fullTransactionObjects, BackpressurePolicy backpressurePolicy);
+
+    /**
+     * Create a {@link Flowable} instance that emits the headers of newly created blocks on the
+     * blockchain. The transactions and receipts of a block are only fetched, in a single batch,
+     * when asked for with {@link BlockHeader#body()}, and are shared by the consumers of recently
+     * emitted headers.
+     *
+     * @return a {@link Flowable} instance that emits the headers of all new blocks as they are
+     *     added to the blockchain
+     */
+    Flowable<BlockHeader> blockHeaderFlowable();
+
+    /**
+     * As per {@link #blockHeaderFlowable()}, except that hashes of blocks the subscriber has not
+     * requested yet are buffered as per the given policy.
+     *
+     * @param backpressurePolicy policy of the buffer of unrequested block hashes
+     * @return a {@link Flowable} instance that emits the headers of all new blocks as they are
+     *     added to the blockchain
+     */
+    Flowable<BlockHeader> blockHeaderFlowable(BackpressurePolicy backpressurePolicy);
+
+    /**
+     * Create a {@link Flowable} instance that emits new blocks once they are {@code depth} blocks
+     * deep in the canonical chain. If a chain reorganisation orphans blocks that have already been
+     * emitted, a {@link ChainEvent.Type#REVERTED} event is emitted for each of them, latest first,
+     * before the blocks of the new branch.
+     *
+     * @param fullTransactionObjects if true, provides transactions embedded in blocks, otherwise
+     *     transaction hashes
+     * @param depth number of blocks on top of a block before it is emitted
+     * @return a {@link Flowable} instance that emits confirmed and reverted blocks
+     */
+    Flowable<ChainEvent<EthBlock>> confirmedBlockFlowable(
+            boolean fullTransactionObjects, int depth);
+
+    /**
+     * As per {@link #confirmedBlockFlowable(boolean, int)}, except that the logs of the blocks
+     * matching the filter are emitted.
+     *
+     * @param ethFilter filter criteria, its block range is ignored
+     * @param depth number of blocks on top of a block before its logs are emitted
+     * @return a {@link Flowable} instance that emits confirmed and reverted logs
+     */
+    Flowable<ChainEvent<Log>> confirmedLogFlowable(EthFilter ethFilter, int depth);
+
     /**
      * Create an {@link Flowable} instance that emits all blocks from the blockchain contained
      * within the requested range.
@@ -186,6 +292,49 @@ public interface Web3jRx {
      */
     Flowable<Transaction> replayPastAndFutureTransactionsFlowable(DefaultBlockParameter startBlock);
 
+    /**
+     * Creates a {@link Flowable} instance that emits all logs matching the filter within the
+     * requested range. The range is fetched with {@code eth_getLogs} in chunks adapted to the
+     * result limits of the node.
+     *
+     * @param ethFilter filter criteria, its block range is ignored
+     * @param startBlock block number to commence with
+     * @param endBlock block number to finish with
+     * @return a {@link Flowable} instance to emit these logs in block order
+     */
+    Flowable<Log> replayPastLogsFlowable(
+            EthFilter ethFilter, DefaultBlockParameter startBlock, DefaultBlockParameter endBlock);
+
+    /**
+     * As per {@link #replayPastLogsFlowable(EthFilter, DefaultBlockParameter,
+     * DefaultBlockParameter)}, except that the progress is saved to a checkpoint and an interrupted
+     * replay resumes after the last saved block.
+     *
+     * @param ethFilter filter criteria, its block range is ignored
+     * @param startBlock block number to commence with
+     * @param endBlock block number to finish with
+     * @param checkpoint checkpoint to resume from and to save progress to
+     * @return a {@link Flowable} instance to emit these logs in block order
+     */
+    Flowable<Log> replayPastLogsFlowable(
+            EthFilter ethFilter,
+            DefaultBlockParameter startBlock,
+            DefaultBlockParameter endBlock,
+            BlockCheckpoint checkpoint);
+
+    /**
+     * Creates a {@link Flowable} instance that emits all logs matching the filter from the
+     * requested block number to the most current, resuming after the block saved in the checkpoint.
+     * Once it has caught up, it starts emitting new logs as they are created.
+     *
+     * @param ethFilter filter criteria, its block range is ignored
+     * @param startBlock the block number we wish to request from
+     * @param checkpoint checkpoint to resume from and to save progress to
+     * @return a {@link Flowable} instance to emit all requested logs and future
+     */
+    Flowable<Log> replayPastAndFutureLogsFlowable(
+            EthFilter ethFilter, DefaultBlockParameter startBlock, BlockCheckpoint checkpoint);
+
     /**
      * Creates a {@link Flowable} instance that emits a notification when a new header is appended
      * to a chain, including chain reorganizations.
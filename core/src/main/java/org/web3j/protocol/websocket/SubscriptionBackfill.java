@@ -0,0 +1,206 @@
+package org.web3j.protocol.websocket;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.rx.LogBackfiller;
+import org.web3j.protocol.websocket.events.LogNotification;
+import org.web3j.protocol.websocket.events.NewHeadsNotification;
+import org.web3j.utils.Numeric;
+
+/**
+ * Fetches the newHeads and logs events a subscription missed while its WebSocket connection was
+ * down, starting after the last event it emitted.
+ *
+ * <p>Logs are fetched in pages of block ranges, and a page the node rejects for returning too many
+ * results is bisected.
+ */
+class SubscriptionBackfill {
+
+    // Number of blocks fetched at the same time to fill a newHeads gap
+    static final int BACKFILL_PAGE_SIZE = 100;
+    // Number of blocks whose logs are fetched with one eth_getLogs request
+    static final int BACKFILL_LOG_PAGE_SIZE = LogBackfiller.DEFAULT_INITIAL_CHUNK_SIZE;
+
+    private final Web3jService web3jService;
+    private final ObjectMapper objectMapper;
+
+    SubscriptionBackfill(Web3jService web3jService, ObjectMapper objectMapper) {
+        this.web3jService = web3jService;
+        this.objectMapper = objectMapper;
+    }
+
+    static boolean isSupported(WebSocketSubscription<?> subscription) {
+        return subscription.getResponseType() == NewHeadsNotification.class
+                || subscription.getResponseType() == LogNotification.class;
+    }
+
+    /**
+     * Emits the missed events of a re-established subscription.
+     *
+     * @param subscription subscription to emit the events to
+     * @param subscriptionId id of the new subscription on the node
+     * @return future completed once all missed events were emitted
+     */
+    <T> CompletableFuture<Void> backfill(
+            WebSocketSubscription<T> subscription, String subscriptionId) {
+        long lastBlockNumber = subscription.getLastBlockNumber();
+        if (lastBlockNumber < 0 || !isSupported(subscription)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return send("eth_blockNumber", Collections.emptyList())
+                .thenCompose(
+                        head -> {
+                            long headNumber = Numeric.decodeQuantity(head.asText()).longValue();
+                            if (subscription.getResponseType() == NewHeadsNotification.class) {
+                                return backfillHeads(
+                                        subscription,
+                                        subscriptionId,
+                                        lastBlockNumber + 1,
+                                        headNumber);
+                            } else {
+                                return backfillLogs(
+                                        subscription, subscriptionId, lastBlockNumber, headNumber);
+                            }
+                        });
+    }
+
+    private <T> CompletableFuture<Void> backfillHeads(
+            WebSocketSubscription<T> subscription, String subscriptionId, long from, long to) {
+        if (from > to) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long pageEnd = Math.min(to, from + BACKFILL_PAGE_SIZE - 1);
+        List<CompletableFuture<JsonNode>> blocks = new ArrayList<>();
+        for (long blockNumber = from; blockNumber <= pageEnd; blockNumber++) {
+            blocks.add(send("eth_getBlockByNumber", Arrays.asList(toHex(blockNumber), false)));
+        }
+        return CompletableFuture.allOf(blocks.toArray(new CompletableFuture[0]))
+                .thenCompose(
+                        ignored -> {
+                            for (CompletableFuture<JsonNode> future : blocks) {
+                                JsonNode block = future.join();
+                                if (block != null && !block.isNull()) {
+                                    subscription.onMissedEvent(
+                                            notification(subscription, subscriptionId, block));
+                                }
+                            }
+                            return backfillHeads(subscription, subscriptionId, pageEnd + 1, to);
+                        });
+    }
+
+    private <T> CompletableFuture<Void> backfillLogs(
+            WebSocketSubscription<T> subscription, String subscriptionId, long from, long to) {
+        if (from > to) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        long pageEnd = Math.min(to, from + BACKFILL_LOG_PAGE_SIZE - 1);
+        return getLogs(subscription, from, pageEnd)
+                .thenCompose(
+                        logs -> {
+                            for (JsonNode log : logs) {
+                                subscription.onMissedEvent(
+                                        notification(subscription, subscriptionId, log));
+                            }
+                            return backfillLogs(subscription, subscriptionId, pageEnd + 1, to);
+                        });
+    }
+
+    // A range the node rejects for returning too many results is bisected until it is accepted
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<List<JsonNode>> getLogs(
+            WebSocketSubscription<?> subscription, long from, long to) {
+        Map<String, Object> filter = new HashMap<>();
+        List<?> params = subscription.getRequest().getParams();
+        if (params.size() > 1 && params.get(1) instanceof Map) {
+            filter.putAll((Map<String, Object>) params.get(1));
+        }
+        filter.put("fromBlock", toHex(from));
+        filter.put("toBlock", toHex(to));
+
+        return sendRequest("eth_getLogs", Collections.singletonList(filter))
+                .thenCompose(
+                        response -> {
+                            if (!response.hasError()) {
+                                List<JsonNode> logs = new ArrayList<>();
+                                if (response.getResult() != null) {
+                                    response.getResult().forEach(logs::add);
+                                }
+                                return CompletableFuture.completedFuture(logs);
+                            }
+
+                            if (from == to
+                                    || !LogBackfiller.isTooManyResults(response.getError())) {
+                                return CompletableFuture.failedFuture(
+                                        failure("eth_getLogs", response));
+                            }
+
+                            long mid = from + (to - from) / 2;
+                            return getLogs(subscription, from, mid)
+                                    .thenCompose(
+                                            first ->
+                                                    getLogs(subscription, mid + 1, to)
+                                                            .thenApply(
+                                                                    second -> {
+                                                                        first.addAll(second);
+                                                                        return first;
+                                                                    }));
+                        });
+    }
+
+    private <T> T notification(
+            WebSocketSubscription<T> subscription, String subscriptionId, JsonNode result) {
+        ObjectNode notification = objectMapper.createObjectNode();
+        notification.put("jsonrpc", "2.0");
+        notification.put("method", "eth_subscription");
+        ObjectNode params = notification.putObject("params");
+        params.put("subscription", subscriptionId);
+        params.set("result", result);
+        return objectMapper.convertValue(notification, subscription.getResponseType());
+    }
+
+    private CompletableFuture<JsonNode> send(String method, List<?> params) {
+        return sendRequest(method, params)
+                .thenApply(
+                        response -> {
+                            if (response.hasError()) {
+                                throw new CompletionException(failure(method, response));
+                            }
+                            return response.getResult();
+                        });
+    }
+
+    private CompletableFuture<JsonResponse> sendRequest(String method, List<?> params) {
+        return new Request<>(method, params, web3jService, JsonResponse.class).sendAsync();
+    }
+
+    private static IOException failure(String method, Response<?> response) {
+        return new IOException(
+                String.format("%s failed: %s", method, response.getError().getMessage()));
+    }
+
+    private static String toHex(long blockNumber) {
+        return Numeric.encodeQuantity(BigInteger.valueOf(blockNumber));
+    }
+
+    /** Response whose result is kept as a JSON tree. */
+    static class JsonResponse extends Response<JsonNode> {}
+}
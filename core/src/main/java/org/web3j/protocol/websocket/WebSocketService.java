@@ -17,29 +17,36 @@ import java.net.ConnectException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 import io.reactivex.subjects.BehaviorSubject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.web3j.protocol.BatchResponseDecoder;
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3jService;
 import org.web3j.protocol.core.BatchRequest;
@@ -49,6 +56,7 @@ import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.response.EthSubscribe;
 import org.web3j.protocol.core.methods.response.EthUnsubscribe;
 import org.web3j.protocol.websocket.events.Notification;
+import org.web3j.utils.HashedWheelTimer;
 
 /**
  * Web socket service that allows to interact with JSON-RPC via WebSocket protocol.
@@ -59,22 +67,43 @@ import org.web3j.protocol.websocket.events.Notification;
  * notifications stream.
  *
  * <p>To unsubscribe from a stream of notifications it should send another JSON-RPC request.
+ *
+ * <p>With {@link #enableAutoReconnect(long, long, TimeUnit, boolean)} a dropped connection is
+ * re-established with exponential backoff. Subscriptions are then re-issued and their new ids are
+ * mapped to the existing streams, requests that can safely be sent twice are sent again, and
+ * newHeads and logs events missed in the meantime can be fetched over RPC.
  */
 public class WebSocketService implements Web3jService {
     private static final Logger log = LoggerFactory.getLogger(WebSocketService.class);
 
     // Timeout for JSON-RPC requests
     static final long REQUEST_TIMEOUT = 60;
+    // Resolution and size of the wheel tracking request timeouts
+    static final long TIMEOUT_TICK_MILLIS = 100;
+    static final int TIMEOUT_WHEEL_SIZE = 1024;
     // replaced batch's next id
     static final AtomicLong nextBatchId = new AtomicLong(0);
+    // Methods that must not be sent again after a reconnect, since they may have been executed
+    static final Set<String> NON_IDEMPOTENT_METHODS =
+            new HashSet<>(
+                    Arrays.asList(
+                            "eth_sendRawTransaction",
+                            "eth_sendTransaction",
+                            "personal_sendTransaction",
+                            "eth_subscribe",
+                            "eth_unsubscribe"));
 
     // WebSocket client
     private final WebSocketClient webSocketClient;
     private boolean shouldReConnect;
-    // Executor to schedule request timeouts
+    // Executor advancing the request timeout timer
     private final ScheduledExecutorService executor;
+    // Timer for request timeouts, cancelled when a reply arrives
+    private final HashedWheelTimer timeoutTimer;
     // Object mapper to map incoming JSON objects
     private final ObjectMapper objectMapper;
+    // Decoder matching batch reply elements to their requests
+    private final BatchResponseDecoder batchResponseDecoder;
 
     // Map of a sent request id to objects necessary to process this request
     private Map<Long, WebSocketRequest<?>> requestForId = new ConcurrentHashMap<>();
@@ -86,6 +115,14 @@ public class WebSocketService implements Web3jService {
     // Map of a subscription id to objects necessary to process incoming events
     private Map<String, WebSocketSubscription<?>> subscriptionForId = new ConcurrentHashMap<>();
 
+    // Reconnect settings, automatic reconnects are disabled unless enabled explicitly
+    private volatile boolean autoReconnect;
+    private long initialReconnectDelayMillis;
+    private long maxReconnectDelayMillis;
+    private volatile SubscriptionBackfill backfill;
+    private final AtomicBoolean reconnecting = new AtomicBoolean();
+    private volatile boolean closed;
+
     public WebSocketService(String serverUrl, boolean includeRawResponses) {
         this(new WebSocketClient(parseURI(serverUrl)), includeRawResponses);
     }
@@ -98,9 +135,47 @@ public class WebSocketService implements Web3jService {
             WebSocketClient webSocketClient,
             ScheduledExecutorService executor,
             boolean includeRawResponses) {
+        this(
+                webSocketClient,
+                executor,
+                new HashedWheelTimer(
+                        TIMEOUT_TICK_MILLIS, TimeUnit.MILLISECONDS, TIMEOUT_WHEEL_SIZE),
+                includeRawResponses);
+    }
+
+    WebSocketService(
+            WebSocketClient webSocketClient,
+            ScheduledExecutorService executor,
+            HashedWheelTimer timeoutTimer,
+            boolean includeRawResponses) {
         this.webSocketClient = webSocketClient;
         this.executor = executor;
+        this.timeoutTimer = timeoutTimer;
         this.objectMapper = ObjectMapperFactory.getObjectMapper(includeRawResponses);
+        this.batchResponseDecoder = new BatchResponseDecoder(objectMapper);
+        timeoutTimer.start(executor);
+    }
+
+    /**
+     * Reconnects automatically whenever the connection drops, waiting {@code initialDelay} before
+     * the first attempt and doubling the delay after every failed attempt up to {@code maxDelay}.
+     *
+     * <p>While reconnecting, requests that are safe to send twice stay pending and are sent again
+     * once connected, other requests fail. Subscriptions stay open and are re-issued.
+     *
+     * @param initialDelay delay before the first reconnect attempt
+     * @param maxDelay maximum delay between reconnect attempts
+     * @param unit time unit of the delays
+     * @param backfillMissedEvents whether to fetch newHeads and logs events missed while
+     *     disconnected, so that these subscriptions see a continuous stream
+     */
+    public void enableAutoReconnect(
+            long initialDelay, long maxDelay, TimeUnit unit, boolean backfillMissedEvents) {
+        this.initialReconnectDelayMillis = Math.max(unit.toMillis(initialDelay), 1);
+        this.maxReconnectDelayMillis =
+                Math.max(unit.toMillis(maxDelay), initialReconnectDelayMillis);
+        this.backfill = backfillMissedEvents ? new SubscriptionBackfill(this, objectMapper) : null;
+        this.autoReconnect = true;
     }
 
     /**
@@ -192,9 +267,10 @@ public class WebSocketService implements Web3jService {
 
         CompletableFuture<T> result = new CompletableFuture<>();
         long requestId = request.getId();
-        requestForId.put(requestId, new WebSocketRequest<>(result, responseType));
+        WebSocketRequest<T> webSocketRequest = new WebSocketRequest<>(result, responseType);
+        requestForId.put(requestId, webSocketRequest);
         try {
-            sendRequest(request, requestId);
+            sendRequest(request, webSocketRequest, requestId);
         } catch (IOException e) {
             closeRequest(requestId, e);
         }
@@ -228,11 +304,12 @@ public class WebSocketService implements Web3jService {
         long originId = firstRequest.getId();
         requests.getRequests().get(0).setId(requestId);
 
-        requestForId.put(
-                requestId, new WebSocketRequests(result, requests.getRequests(), originId));
+        WebSocketRequests webSocketRequests =
+                new WebSocketRequests(result, requests.getRequests(), originId);
+        requestForId.put(requestId, webSocketRequests);
 
         try {
-            sendBatchRequest(requests, requestId);
+            sendBatchRequest(requests, webSocketRequests, requestId);
         } catch (IOException e) {
             closeRequest(requestId, e);
         }
@@ -240,58 +317,140 @@ public class WebSocketService implements Web3jService {
         return result;
     }
 
-    private void sendRequest(Request request, long requestId) throws JsonProcessingException {
+    private void sendRequest(Request request, WebSocketRequest<?> webSocketRequest, long requestId)
+            throws JsonProcessingException {
         String payload = objectMapper.writeValueAsString(request);
         log.debug("Sending request: {}", payload);
+        if (autoReconnect && isIdempotent(request)) {
+            webSocketRequest.setPayload(payload);
+        }
         webSocketClient.send(payload);
-        setRequestTimeout(requestId);
+        setRequestTimeout(webSocketRequest, requestId);
     }
 
-    private void sendBatchRequest(BatchRequest request, long requestId)
+    private void sendBatchRequest(
+            BatchRequest request, WebSocketRequest<?> webSocketRequest, long requestId)
             throws JsonProcessingException {
         String payload = objectMapper.writeValueAsString(request.getRequests());
         log.debug("Sending batch request: {}", payload);
+        if (autoReconnect && request.getRequests().stream().allMatch(this::isIdempotent)) {
+            webSocketRequest.setPayload(payload);
+        }
         webSocketClient.send(payload);
-        setRequestTimeout(requestId);
-    }
-
-    private void setRequestTimeout(long requestId) {
-        executor.schedule(
-                () ->
-                        closeRequest(
-                                requestId,
-                                new IOException(
-                                        String.format("Request with id %d timed out", requestId))),
-                REQUEST_TIMEOUT,
-                TimeUnit.SECONDS);
+        setRequestTimeout(webSocketRequest, requestId);
+    }
+
+    private void setRequestTimeout(WebSocketRequest<?> webSocketRequest, long requestId) {
+        webSocketRequest.setTimeout(
+                timeoutTimer.newTimeout(
+                        () ->
+                                closeRequest(
+                                        requestId,
+                                        new IOException(
+                                                String.format(
+                                                        "Request with id %d timed out",
+                                                        requestId))),
+                        REQUEST_TIMEOUT,
+                        TimeUnit.SECONDS));
+        // the reply may have arrived before the timeout was set
+        if (webSocketRequest.getOnReply().isDone()) {
+            webSocketRequest.cancelTimeout();
+        }
     }
 
     void closeRequest(long requestId, Exception e) {
-        CompletableFuture result = requestForId.get(requestId).getOnReply();
-        requestForId.remove(requestId);
-        result.completeExceptionally(e);
+        WebSocketRequest<?> request = requestForId.remove(requestId);
+        if (request != null) {
+            request.cancelTimeout();
+            request.getOnReply().completeExceptionally(e);
+        }
     }
 
     void onWebSocketMessage(String messageStr) throws IOException {
-        JsonNode replyJson = parseToTree(messageStr);
-
-        if (isReply(replyJson)) {
-            processRequestReply(messageStr, replyJson);
-        } else if (isBatchReply(replyJson)) {
-            processBatchRequestReply(messageStr, (ArrayNode) replyJson);
-        } else if (isSubscriptionEvent(replyJson)) {
-            processSubscriptionEvent(messageStr, replyJson);
-        } else {
-            throw new IOException("Unknown message type");
+        try (JsonParser parser = objectMapper.getFactory().createParser(messageStr)) {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                processBatchRequestReply(messageStr, getBatchReplyId(parser));
+            } else if (token == JsonToken.START_OBJECT) {
+                MessageHeader header = peekHeader(parser);
+                if (header.idToken != null) {
+                    processRequestReply(messageStr, getReplyId(header));
+                } else if (header.method) {
+                    processSubscriptionEvent(messageStr, header.subscription);
+                } else {
+                    throw new IOException("Unknown message type");
+                }
+            } else {
+                throw new IOException("Unknown message type");
+            }
+        } catch (JsonProcessingException e) {
+            throw new IOException("Failed to parse incoming WebSocket message", e);
+        }
+    }
+
+    /**
+     * Reads the top level fields of a message up to the point where it is known how to dispatch it,
+     * skipping over results without materialising them.
+     */
+    private MessageHeader peekHeader(JsonParser parser) throws IOException {
+        MessageHeader header = new MessageHeader();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if ("id".equals(fieldName)) {
+                readId(parser, value, header);
+                return header;
+            } else if ("method".equals(fieldName)) {
+                header.method = true;
+                if (header.subscription != null) {
+                    return header;
+                }
+            } else if ("params".equals(fieldName) && value == JsonToken.START_OBJECT) {
+                header.subscription = peekSubscriptionId(parser);
+                if (header.method && header.subscription != null) {
+                    return header;
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return header;
+    }
+
+    private static void readId(JsonParser parser, JsonToken value, MessageHeader header)
+            throws IOException {
+        header.idToken = value;
+        header.id = value.isScalarValue() ? parser.getText() : null;
+        header.longId = value == JsonToken.VALUE_NUMBER_INT ? parser.getLongValue() : 0;
+    }
+
+    private String peekSubscriptionId(JsonParser parser) throws IOException {
+        String subscription = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            parser.nextToken();
+            if ("subscription".equals(fieldName)) {
+                subscription = parser.getValueAsString();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return subscription;
+    }
+
+    /** Binds a whole message to the given type. */
+    private <T> T bind(String messageStr, Class<T> type) throws IOException {
+        try (JsonParser parser =
+                new InputSourceHidingParser(objectMapper.getFactory().createParser(messageStr))) {
+            return objectMapper.readValue(parser, type);
         }
     }
 
     @SuppressWarnings("unchecked")
-    private void processRequestReply(String replyStr, JsonNode replyJson) throws IOException {
-        long replyId = getReplyId(replyJson);
+    private void processRequestReply(String replyStr, long replyId) throws IOException {
         WebSocketRequest request = getAndRemoveRequest(replyId);
         try {
-            Object reply = objectMapper.convertValue(replyJson, request.getResponseType());
+            Object reply = bind(replyStr, request.getResponseType());
             // Instead of sending a reply to a caller asynchronously we need to process it here
             // to avoid race conditions we need to modify state of this class.
             if (reply instanceof EthSubscribe) {
@@ -299,56 +458,77 @@ public class WebSocketService implements Web3jService {
             }
 
             sendReplyToListener(request, reply);
-        } catch (IllegalArgumentException e) {
+        } catch (JsonProcessingException e) {
             sendExceptionToListener(replyStr, request, e);
         }
     }
 
-    private void processBatchRequestReply(String replyStr, ArrayNode replyJson) throws IOException {
-        long replyId = getReplyId(replyJson.get(0));
+    private void processBatchRequestReply(String replyStr, long replyId) throws IOException {
         WebSocketRequests webSocketRequests = (WebSocketRequests) getAndRemoveRequest(replyId);
         try {
-            // rollback request id of first batch elt
-            ((ObjectNode) replyJson.get(0)).put("id", webSocketRequests.getOriginId());
-
             List<Request<?, ? extends Response<?>>> requests = webSocketRequests.getRequests();
-            List<Response<?>> responses = new ArrayList<>(replyJson.size());
+            BatchResponse batchResponse = batchResponseDecoder.decode(requests, replyStr);
 
-            for (int i = 0; i < replyJson.size(); i++) {
-                Response<?> response =
-                        objectMapper.treeToValue(
-                                replyJson.get(i), requests.get(i).getResponseType());
-                responses.add(response);
+            // rollback request id of first batch elt
+            requests.get(0).setId(webSocketRequests.getOriginId());
+            List<? extends Response<?>> responses = batchResponse.getResponses();
+            if (!responses.isEmpty() && responses.get(0).getId() == replyId) {
+                responses.get(0).setId(webSocketRequests.getOriginId());
             }
 
-            sendReplyToListener(webSocketRequests, new BatchResponse(requests, responses));
-        } catch (IllegalArgumentException e) {
+            sendReplyToListener(webSocketRequests, batchResponse);
+        } catch (JsonProcessingException e) {
             sendExceptionToListener(replyStr, webSocketRequests, e);
         }
     }
 
-    @SuppressWarnings("unchecked")
+    // Elements of a batch reply may come in any order, so look for the one carrying the batch id
+    private long getBatchReplyId(JsonParser parser) throws IOException {
+        MessageHeader first = null;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            MessageHeader header = new MessageHeader();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("id".equals(fieldName)) {
+                    readId(parser, value, header);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (header.idToken == JsonToken.VALUE_NUMBER_INT
+                    && requestForId.get(header.longId) instanceof WebSocketRequests) {
+                return header.longId;
+            }
+            if (first == null) {
+                first = header;
+            }
+        }
+        if (first == null) {
+            throw new IOException("Received an empty batch reply");
+        }
+        return getReplyId(first);
+    }
+
     private void processSubscriptionResponse(long replyId, EthSubscribe reply) throws IOException {
-        WebSocketSubscription subscription = subscriptionRequestForId.get(replyId);
-        processSubscriptionResponse(
-                reply, subscription.getSubject(), subscription.getResponseType());
+        WebSocketSubscription<?> subscription = subscriptionRequestForId.remove(replyId);
+        processSubscriptionResponse(reply, subscription);
     }
 
-    private <T extends Notification<?>> void processSubscriptionResponse(
-            EthSubscribe subscriptionReply, BehaviorSubject<T> subject, Class<T> responseType) {
+    private <T> void processSubscriptionResponse(
+            EthSubscribe subscriptionReply, WebSocketSubscription<T> subscription) {
         if (!subscriptionReply.hasError()) {
-            establishSubscription(subject, responseType, subscriptionReply);
+            establishSubscription(subscription, subscriptionReply);
         } else {
-            reportSubscriptionError(subject, subscriptionReply);
+            reportSubscriptionError(subscription.getSubject(), subscriptionReply);
         }
     }
 
-    private <T extends Notification<?>> void establishSubscription(
-            BehaviorSubject<T> subject, Class<T> responseType, EthSubscribe subscriptionReply) {
+    private <T> void establishSubscription(
+            WebSocketSubscription<T> subscription, EthSubscribe subscriptionReply) {
         log.debug("Subscribed to RPC events with id {}", subscriptionReply.getSubscriptionId());
-        subscriptionForId.put(
-                subscriptionReply.getSubscriptionId(),
-                new WebSocketSubscription<>(subject, responseType));
+        subscriptionForId.put(subscriptionReply.getSubscriptionId(), subscription);
     }
 
     private <T extends Notification<?>> String getSubscriptionId(BehaviorSubject<T> subject) {
@@ -359,7 +539,7 @@ public class WebSocketService implements Web3jService {
                 .orElse(null);
     }
 
-    private <T extends Notification<?>> void reportSubscriptionError(
+    private <T> void reportSubscriptionError(
             BehaviorSubject<T> subject, EthSubscribe subscriptionReply) {
         Response.Error error = subscriptionReply.getError();
         log.error("Subscription request returned error: {}", error.getMessage());
@@ -375,7 +555,7 @@ public class WebSocketService implements Web3jService {
     }
 
     private void sendExceptionToListener(
-            String replyStr, WebSocketRequest request, IllegalArgumentException e) {
+            String replyStr, WebSocketRequest request, JsonProcessingException e) {
         request.getOnReply()
                 .completeExceptionally(
                         new IOException(
@@ -385,82 +565,58 @@ public class WebSocketService implements Web3jService {
                                 e));
     }
 
-    private void processSubscriptionEvent(String replyStr, JsonNode replyJson) {
+    private void processSubscriptionEvent(String replyStr, String subscriptionId)
+            throws IOException {
         log.debug("Processing event: {}", replyStr);
-        String subscriptionId = extractSubscriptionId(replyJson);
-        WebSocketSubscription subscription = subscriptionForId.get(subscriptionId);
+        WebSocketSubscription subscription =
+                subscriptionId != null ? subscriptionForId.get(subscriptionId) : null;
 
         if (subscription != null) {
-            sendEventToSubscriber(replyJson, subscription);
+            sendEventToSubscriber(replyStr, subscription);
         } else {
             log.warn("No subscriber for WebSocket event with subscription id {}", subscriptionId);
         }
     }
 
-    private String extractSubscriptionId(JsonNode replyJson) {
-        return replyJson.get("params").get("subscription").asText();
-    }
-
     @SuppressWarnings("unchecked")
-    private void sendEventToSubscriber(JsonNode replyJson, WebSocketSubscription subscription) {
-        Object event = objectMapper.convertValue(replyJson, subscription.getResponseType());
-        subscription.getSubject().onNext(event);
-    }
-
-    private boolean isReply(JsonNode replyJson) {
-        return replyJson.has("id");
-    }
-
-    private boolean isBatchReply(JsonNode replyJson) {
-        return replyJson.isArray();
-    }
-
-    private boolean isSubscriptionEvent(JsonNode replyJson) {
-        return replyJson.has("method");
-    }
-
-    private JsonNode parseToTree(String replyStr) throws IOException {
-        try {
-            return objectMapper.readTree(replyStr);
-        } catch (IOException e) {
-            throw new IOException("Failed to parse incoming WebSocket message", e);
-        }
+    private void sendEventToSubscriber(String replyStr, WebSocketSubscription subscription)
+            throws IOException {
+        Object event = bind(replyStr, subscription.getResponseType());
+        subscription.onEvent(event);
     }
 
     private WebSocketRequest getAndRemoveRequest(long id) throws IOException {
-        if (!requestForId.containsKey(id)) {
+        WebSocketRequest request = requestForId.remove(id);
+        if (request == null) {
             throw new IOException(
                     String.format("Received reply for unexpected request id: %d", id));
         }
-        WebSocketRequest request = requestForId.get(id);
-        requestForId.remove(id);
+        request.cancelTimeout();
         return request;
     }
 
-    private long getReplyId(JsonNode replyJson) throws IOException {
-        JsonNode idField = replyJson.get("id");
-        if (idField == null) {
+    private long getReplyId(MessageHeader header) throws IOException {
+        if (header.idToken == null) {
             throw new IOException("'id' field is missing in the reply");
         }
 
-        if (!idField.isIntegralNumber()) {
-            if (idField.isTextual()) {
+        if (header.idToken != JsonToken.VALUE_NUMBER_INT) {
+            if (header.idToken == JsonToken.VALUE_STRING) {
                 try {
-                    return Long.parseLong(idField.asText());
+                    return Long.parseLong(header.id);
                 } catch (NumberFormatException e) {
                     throw new IOException(
                             String.format(
                                     "Found Textual 'id' that cannot be casted to long. Input : '%s'",
-                                    idField.asText()));
+                                    header.id));
                 }
             } else {
                 throw new IOException(
-                        String.format(
-                                "'id' expected to be long, but it is: '%s'", idField.asText()));
+                        String.format("'id' expected to be long, but it is: '%s'", header.id));
             }
         }
 
-        return idField.longValue();
+        return header.longId;
     }
 
     private static URI parseURI(String serverUrl) {
@@ -493,7 +649,7 @@ public class WebSocketService implements Web3jService {
             Request request, BehaviorSubject<T> subject, Class<T> responseType) {
 
         subscriptionRequestForId.put(
-                request.getId(), new WebSocketSubscription<>(subject, responseType));
+                request.getId(), new WebSocketSubscription<>(subject, responseType, request));
         try {
             send(request, EthSubscribe.class);
         } catch (IOException e) {
@@ -540,13 +696,143 @@ public class WebSocketService implements Web3jService {
 
     @Override
     public void close() {
+        closed = true;
         webSocketClient.close();
         executor.shutdown();
     }
 
     void onWebSocketClose() {
-        closeOutstandingRequests();
-        closeOutstandingSubscriptions();
+        if (!autoReconnect || closed) {
+            closeOutstandingRequests();
+            closeOutstandingSubscriptions();
+            return;
+        }
+
+        closeNonReplayableRequests();
+        if (reconnecting.compareAndSet(false, true)) {
+            log.warn("WebSocket connection was closed, reconnecting");
+            scheduleReconnect(initialReconnectDelayMillis);
+        }
+    }
+
+    private void scheduleReconnect(long delayMillis) {
+        try {
+            executor.schedule(() -> reconnect(delayMillis), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            log.debug("Not reconnecting, service was closed");
+        }
+    }
+
+    private void reconnect(long delayMillis) {
+        if (closed) {
+            return;
+        }
+
+        try {
+            connectToWebSocket();
+        } catch (ConnectException e) {
+            long nextDelayMillis = Math.min(delayMillis * 2, maxReconnectDelayMillis);
+            log.warn("Failed to reconnect, retrying in {} ms", nextDelayMillis);
+            scheduleReconnect(nextDelayMillis);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        log.info("Reconnected via WebSocket protocol");
+        reconnecting.set(false);
+        resubscribe();
+        replayRequests();
+    }
+
+    private void resubscribe() {
+        List<WebSocketSubscription<?>> subscriptions = new ArrayList<>(subscriptionForId.values());
+        subscriptionForId.clear();
+        subscriptions.forEach(this::resubscribe);
+    }
+
+    private <T> void resubscribe(WebSocketSubscription<T> subscription) {
+        Request<?, EthSubscribe> original = subscription.getRequest();
+        if (original == null) {
+            subscription.getSubject().onError(new IOException("Connection was closed"));
+            return;
+        }
+
+        SubscriptionBackfill backfill = this.backfill;
+        boolean catchUp = backfill != null && SubscriptionBackfill.isSupported(subscription);
+        if (catchUp) {
+            subscription.startCatchUp();
+        }
+
+        Request<?, EthSubscribe> request =
+                new Request<>(original.getMethod(), original.getParams(), this, EthSubscribe.class);
+        subscriptionRequestForId.put(request.getId(), subscription);
+        sendAsync(request, EthSubscribe.class)
+                .whenComplete(
+                        (reply, throwable) -> {
+                            if (throwable != null) {
+                                subscriptionRequestForId.remove(request.getId());
+                                subscription.endCatchUp();
+                                log.error("Failed to re-subscribe to RPC events", throwable);
+                            } else if (catchUp && !reply.hasError()) {
+                                String subscriptionId = reply.getSubscriptionId();
+                                backfill.backfill(subscription, subscriptionId)
+                                        .whenComplete(
+                                                (ignored, e) -> {
+                                                    if (e != null) {
+                                                        failBackfill(
+                                                                subscription, subscriptionId, e);
+                                                    } else {
+                                                        subscription.endCatchUp();
+                                                    }
+                                                });
+                            } else {
+                                subscription.endCatchUp();
+                            }
+                        });
+    }
+
+    // Emitting the live events after a gap would hide the missed ones from the subscriber
+    private <T> void failBackfill(
+            WebSocketSubscription<T> subscription, String subscriptionId, Throwable throwable) {
+        Throwable cause =
+                throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause()
+                        : throwable;
+        log.error("Failed to fetch missed events of subscription {}", subscriptionId, cause);
+        if (subscriptionForId.remove(subscriptionId, subscription)) {
+            unsubscribeFromEventsStream(subscriptionId, "eth_unsubscribe");
+        }
+        subscription.failCatchUp(new IOException("Failed to fetch missed events", cause));
+    }
+
+    private void replayRequests() {
+        requestForId.forEach(
+                (id, request) -> {
+                    String payload = request.getPayload();
+                    if (payload != null) {
+                        log.debug("Sending request again: {}", payload);
+                        try {
+                            webSocketClient.send(payload);
+                        } catch (RuntimeException e) {
+                            closeRequest(id, new IOException("Failed to send request again", e));
+                        }
+                    }
+                });
+    }
+
+    private boolean isIdempotent(Request<?, ?> request) {
+        return !NON_IDEMPOTENT_METHODS.contains(request.getMethod());
+    }
+
+    private void closeNonReplayableRequests() {
+        requestForId.forEach(
+                (id, request) -> {
+                    if (request.getPayload() == null) {
+                        closeRequest(id, new IOException("Connection was closed"));
+                    }
+                });
     }
 
     private void closeOutstandingRequests() {
@@ -573,4 +859,29 @@ public class WebSocketService implements Web3jService {
     boolean isWaitingForReply(long requestId) {
         return requestForId.containsKey(requestId);
     }
+
+    /** Fields of an incoming message needed to dispatch it. */
+    private static class MessageHeader {
+        private JsonToken idToken;
+        private String id;
+        private long longId;
+        private boolean method;
+        private String subscription;
+    }
+
+    /**
+     * Parser hiding the message it reads from, so that raw response capture does not attempt to
+     * rewind it.
+     */
+    private static class InputSourceHidingParser extends JsonParserDelegate {
+
+        InputSourceHidingParser(JsonParser parser) {
+            super(parser);
+        }
+
+        @Override
+        public Object getInputSource() {
+            return null;
+        }
+    }
 }
@@ -12,8 +12,19 @@
  */
 package org.web3j.protocol.websocket;
 
+import java.util.ArrayDeque;
+import java.util.Queue;
+
 import io.reactivex.subjects.BehaviorSubject;
 
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.websocket.events.Log;
+import org.web3j.protocol.websocket.events.LogNotification;
+import org.web3j.protocol.websocket.events.NewHead;
+import org.web3j.protocol.websocket.events.NewHeadsNotification;
+import org.web3j.utils.Numeric;
+
 /**
  * Objects necessary to process a new item received via a WebSocket subscription.
  *
@@ -22,6 +33,14 @@ import io.reactivex.subjects.BehaviorSubject;
 public class WebSocketSubscription<T> {
     private BehaviorSubject<T> subject;
     private Class<T> responseType;
+    private Request<?, EthSubscribe> request;
+
+    // Position of the last emitted newHeads or logs event, used to drop events that were
+    // already emitted when catching up after a reconnect
+    private long lastBlockNumber = -1;
+    private long lastLogIndex = -1;
+    // Live events held back while missed events are fetched
+    private Queue<T> heldBack;
 
     /**
      * Creates WebSocketSubscription.
@@ -30,8 +49,21 @@ public class WebSocketSubscription<T> {
      * @param responseType type of a data item returned by a WebSocket subscription
      */
     public WebSocketSubscription(BehaviorSubject<T> subject, Class<T> responseType) {
+        this(subject, responseType, null);
+    }
+
+    /**
+     * Creates WebSocketSubscription.
+     *
+     * @param subject used to send new data items to listeners
+     * @param responseType type of a data item returned by a WebSocket subscription
+     * @param request request that started the subscription, used to re-subscribe after a reconnect
+     */
+    public WebSocketSubscription(
+            BehaviorSubject<T> subject, Class<T> responseType, Request<?, EthSubscribe> request) {
         this.subject = subject;
         this.responseType = responseType;
+        this.request = request;
     }
 
     public BehaviorSubject<T> getSubject() {
@@ -41,4 +73,78 @@ public class WebSocketSubscription<T> {
     public Class<T> getResponseType() {
         return responseType;
     }
+
+    public Request<?, EthSubscribe> getRequest() {
+        return request;
+    }
+
+    /** Emits a live event, unless missed events are being fetched. */
+    synchronized void onEvent(T event) {
+        if (heldBack != null) {
+            heldBack.add(event);
+        } else {
+            emit(event, false);
+        }
+    }
+
+    /** Emits an event fetched over RPC after a reconnect, unless it was emitted already. */
+    synchronized void onMissedEvent(T event) {
+        emit(event, true);
+    }
+
+    synchronized long getLastBlockNumber() {
+        return lastBlockNumber;
+    }
+
+    /** Holds back live events until {@link #endCatchUp()} is called. */
+    synchronized void startCatchUp() {
+        if (heldBack == null) {
+            heldBack = new ArrayDeque<>();
+        }
+    }
+
+    synchronized void endCatchUp() {
+        Queue<T> events = heldBack;
+        heldBack = null;
+        if (events != null) {
+            for (T event : events) {
+                emit(event, true);
+            }
+        }
+    }
+
+    /** Drops the held back live events and terminates the subscription with an error. */
+    synchronized void failCatchUp(Throwable error) {
+        heldBack = null;
+        subject.onError(error);
+    }
+
+    // Live events are never dropped, as chain reorganisations legitimately repeat block numbers
+    private void emit(T event, boolean skipEmitted) {
+        long blockNumber = -1;
+        long logIndex = -1;
+        if (event instanceof NewHeadsNotification) {
+            NewHead newHead = ((NewHeadsNotification) event).getParams().getResult();
+            blockNumber = decode(newHead.getNumber());
+        } else if (event instanceof LogNotification) {
+            Log log = ((LogNotification) event).getParams().getResult();
+            blockNumber = decode(log.getBlockNumber());
+            logIndex = decode(log.getLogIndex());
+        }
+
+        if (blockNumber >= 0) {
+            if (skipEmitted
+                    && (blockNumber < lastBlockNumber
+                            || (blockNumber == lastBlockNumber && logIndex <= lastLogIndex))) {
+                return;
+            }
+            lastBlockNumber = blockNumber;
+            lastLogIndex = logIndex;
+        }
+        subject.onNext(event);
+    }
+
+    private static long decode(String quantity) {
+        return quantity != null ? Numeric.decodeQuantity(quantity).longValue() : -1;
+    }
 }
@@ -0,0 +1,47 @@
+package org.web3j.tx;
+
+/**
+ * Detects synchronous methods a subclass overrides without overriding their asynchronous
+ * counterparts, which the asynchronous path must then call instead of its own implementation.
+ */
+final class AsyncOverrides {
+
+    private AsyncOverrides() {}
+
+    /**
+     * Whether a subclass overrides a synchronous method more recently than its asynchronous
+     * counterpart.
+     *
+     * @param type class of the instance
+     * @param base class declaring both methods
+     * @param method name of the synchronous method
+     * @param asyncMethod name of the asynchronous method
+     * @param parameterTypes parameter types shared by both methods
+     * @return true if the asynchronous path must call the synchronous method
+     */
+    static boolean overrides(
+            Class<?> type,
+            Class<?> base,
+            String method,
+            String asyncMethod,
+            Class<?>... parameterTypes) {
+        for (Class<?> c = type; c != base && c != null; c = c.getSuperclass()) {
+            if (declares(c, asyncMethod, parameterTypes)) {
+                return false;
+            }
+            if (declares(c, method, parameterTypes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean declares(Class<?> type, String method, Class<?>... parameterTypes) {
+        try {
+            type.getDeclaredMethod(method, parameterTypes);
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
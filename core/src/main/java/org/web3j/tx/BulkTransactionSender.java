@@ -0,0 +1,447 @@
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.Single;
+import io.reactivex.schedulers.Schedulers;
+
+import org.web3j.crypto.Credentials;
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.transaction.type.ITransaction;
+import org.web3j.crypto.transaction.type.IncentiveTransaction;
+import org.web3j.crypto.transaction.type.LegacyTransaction;
+import org.web3j.crypto.transaction.type.Transaction1559;
+import org.web3j.crypto.transaction.type.Transaction2930;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.service.TxSignService;
+import org.web3j.service.TxSignServiceImpl;
+import org.web3j.utils.Numeric;
+import org.web3j.utils.TxHashVerifier;
+
+/**
+ * Sends large numbers of transactions from an account with JSON-RPC batches.
+ *
+ * <p>Transactions are given as templates, whose nonces are ignored. Each template is assigned the
+ * next nonce of the account in order, so that the nonces of a stream are contiguous unless nonces
+ * released earlier are reused. Batches of transactions are signed in parallel on a fork-join pool,
+ * and sent with {@code eth_sendRawTransaction} batches, a limited number of batches being in
+ * flight. Transactions are only signed as the subscriber requests results.
+ *
+ * <p>The results are emitted in the order of the templates. The nonce of a failed transaction is
+ * released, so that it is reused by the next transaction. If the node reports a nonce as too low,
+ * the account is resynchronised with the node, see {@link NonceManager#resync(String)}. A
+ * transaction the node reports as already known is sent. If the node already holds another
+ * transaction with the nonce, as it reports a replacement as underpriced, the transaction fails
+ * without releasing the nonce, and the account is resynchronised. If a batch cannot be sent at all,
+ * the flowable fails and the nonces of the transactions not sent yet are released. The node may
+ * have accepted the transactions of batches whose response was not received, so their nonces are
+ * not released: the account is resynchronised instead.
+ */
+public class BulkTransactionSender {
+
+    public static final int DEFAULT_BATCH_SIZE = 100;
+    public static final int DEFAULT_MAX_BATCHES_IN_FLIGHT = 4;
+
+    /** Outcome of sending a transaction. */
+    public enum Status {
+        /** The transaction has been accepted by the node. */
+        SENT,
+        /** The transaction has been accepted by the node, which returned another hash. */
+        HASH_MISMATCH,
+        /** The nonce had already been used, the transaction was not sent. */
+        NONCE_TOO_LOW,
+        /** The transaction was rejected by the node. */
+        FAILED
+    }
+
+    /** A transaction sent, with its outcome. */
+    public static class Result {
+        private final RawTransaction rawTransaction;
+        private final String transactionHash;
+        private final EthSendTransaction ethSendTransaction;
+        private final Status status;
+
+        Result(
+                RawTransaction rawTransaction,
+                String transactionHash,
+                EthSendTransaction ethSendTransaction,
+                Status status) {
+            this.rawTransaction = rawTransaction;
+            this.transactionHash = transactionHash;
+            this.ethSendTransaction = ethSendTransaction;
+            this.status = status;
+        }
+
+        /** Returns the transaction, with the nonce it was assigned. */
+        public RawTransaction getRawTransaction() {
+            return rawTransaction;
+        }
+
+        public BigInteger getNonce() {
+            return rawTransaction.getNonce();
+        }
+
+        /** Returns the hash of the signed transaction. */
+        public String getTransactionHash() {
+            return transactionHash;
+        }
+
+        /** Returns the response of the node. */
+        public EthSendTransaction getEthSendTransaction() {
+            return ethSendTransaction;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+    }
+
+    private final Web3j web3j;
+    private final TxSignService txSignService;
+    private final long chainId;
+    private final NonceManager nonceManager;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+    private final int signingParallelism;
+    private final Scheduler signingScheduler;
+
+    protected TxHashVerifier txHashVerifier = new TxHashVerifier();
+
+    public BulkTransactionSender(Web3j web3j, Credentials credentials, long chainId) {
+        this(
+                web3j,
+                new TxSignServiceImpl(credentials),
+                chainId,
+                NonceManager.shared(web3j),
+                DEFAULT_BATCH_SIZE,
+                DEFAULT_MAX_BATCHES_IN_FLIGHT,
+                ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a bulk transaction sender.
+     *
+     * @param web3j web3j instance to send transactions with
+     * @param txSignService service to sign transactions with
+     * @param chainId chain id, see {@link ChainId}
+     * @param nonceManager nonce manager to assign nonces with
+     * @param batchSize maximum number of transactions in a batch
+     * @param maxBatchesInFlight maximum number of batches sent at the same time
+     * @param signingPool pool to sign transactions on, as many batches are signed at the same time
+     *     as its parallelism, within the capacity of the nonce manager
+     * @throws IllegalArgumentException if the nonce manager cannot hold the nonces of the batches
+     *     in flight and of a batch being signed
+     */
+    public BulkTransactionSender(
+            Web3j web3j,
+            TxSignService txSignService,
+            long chainId,
+            NonceManager nonceManager,
+            int batchSize,
+            int maxBatchesInFlight,
+            ForkJoinPool signingPool) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (maxBatchesInFlight < 1) {
+            throw new IllegalArgumentException("At least one batch must be in flight");
+        }
+        // Batches being signed and sent all hold nonces in flight
+        int maxBatches = nonceManager.getMaxInFlight() / batchSize;
+        if (maxBatches < maxBatchesInFlight + 1) {
+            throw new IllegalArgumentException(
+                    "Nonce manager allows "
+                            + nonceManager.getMaxInFlight()
+                            + " nonces in flight, fewer than "
+                            + (maxBatchesInFlight + 1)
+                            + " batches of "
+                            + batchSize
+                            + " transactions");
+        }
+        this.web3j = web3j;
+        this.txSignService = txSignService;
+        this.chainId = chainId;
+        this.nonceManager = nonceManager;
+        this.batchSize = batchSize;
+        this.maxBatchesInFlight = maxBatchesInFlight;
+        this.signingParallelism =
+                Math.min(signingPool.getParallelism(), maxBatches - maxBatchesInFlight);
+        this.signingScheduler = Schedulers.from(signingPool);
+    }
+
+    public TxHashVerifier getTxHashVerifier() {
+        return txHashVerifier;
+    }
+
+    public void setTxHashVerifier(TxHashVerifier txHashVerifier) {
+        this.txHashVerifier = txHashVerifier;
+    }
+
+    /**
+     * Sends transactions.
+     *
+     * @param templates transactions to send, whose nonces are ignored
+     * @return the results, in the order of the templates
+     */
+    public Flowable<Result> send(Flowable<RawTransaction> templates) {
+        String address = txSignService.getAddress();
+        return Flowable.defer(
+                () -> {
+                    // Nonces assigned but not sent yet, released if the flowable terminates
+                    Set<BigInteger> assigned = ConcurrentHashMap.newKeySet();
+                    // Nonces sent without response yet, which the node may have accepted
+                    Set<BigInteger> sending = ConcurrentHashMap.newKeySet();
+                    return templates
+                            .map(
+                                    template -> {
+                                        RawTransaction rawTransaction =
+                                                withNonce(template, nonceManager.acquire(address));
+                                        assigned.add(rawTransaction.getNonce());
+                                        return rawTransaction;
+                                    })
+                            .buffer(batchSize)
+                            .concatMapEager(
+                                    batch ->
+                                            Single.fromCallable(() -> sign(batch))
+                                                    .subscribeOn(signingScheduler)
+                                                    .toFlowable(),
+                                    signingParallelism,
+                                    1)
+                            .concatMapEager(
+                                    signed ->
+                                            send(address, signed, assigned, sending)
+                                                    .toFlowable()
+                                                    .flatMapIterable(results -> results),
+                                    maxBatchesInFlight,
+                                    1)
+                            .doFinally(() -> releaseUnsent(address, assigned, sending));
+                });
+    }
+
+    private void releaseUnsent(String address, Set<BigInteger> assigned, Set<BigInteger> sending) {
+        for (BigInteger nonce : assigned) {
+            nonceManager.release(address, nonce);
+        }
+        if (sending.isEmpty()) {
+            return;
+        }
+        // Not in flight any more, but not reusable either unless the node has not received them
+        for (BigInteger nonce : sending) {
+            nonceManager.confirm(address, nonce);
+        }
+        try {
+            nonceManager.resync(address);
+        } catch (IOException e) {
+            // The next transaction fails with a nonce error, which resyncs the account
+        }
+    }
+
+    private List<Signed> sign(List<RawTransaction> batch) {
+        List<Signed> signed = new ArrayList<>(batch.size());
+        for (RawTransaction rawTransaction : batch) {
+            byte[] signedMessage = txSignService.sign(rawTransaction, chainId);
+            signed.add(
+                    new Signed(
+                            rawTransaction,
+                            Numeric.toHexString(signedMessage),
+                            Numeric.toHexString(Hash.sha3(signedMessage))));
+        }
+        return signed;
+    }
+
+    private Single<List<Result>> send(
+            String address, List<Signed> batch, Set<BigInteger> assigned, Set<BigInteger> sending) {
+        return Single.create(
+                emitter -> {
+                    BatchRequest batchRequest = web3j.newBatch();
+                    List<Request<?, EthSendTransaction>> requests = new ArrayList<>(batch.size());
+                    for (Signed signed : batch) {
+                        Request<?, EthSendTransaction> request =
+                                web3j.ethSendRawTransaction(signed.hexValue);
+                        requests.add(request);
+                        batchRequest.add(request);
+                        BigInteger nonce = signed.rawTransaction.getNonce();
+                        sending.add(nonce);
+                        assigned.remove(nonce);
+                    }
+
+                    batchRequest
+                            .sendAsync()
+                            .whenComplete(
+                                    (batchResponse, throwable) -> {
+                                        if (throwable != null) {
+                                            emitter.tryOnError(unwrap(throwable));
+                                            return;
+                                        }
+                                        try {
+                                            emitter.onSuccess(
+                                                    toResults(
+                                                            address,
+                                                            batch,
+                                                            requests,
+                                                            batchResponse,
+                                                            sending));
+                                        } catch (IOException e) {
+                                            emitter.tryOnError(e);
+                                        }
+                                    });
+                });
+    }
+
+    private List<Result> toResults(
+            String address,
+            List<Signed> batch,
+            List<Request<?, EthSendTransaction>> requests,
+            BatchResponse batchResponse,
+            Set<BigInteger> sending)
+            throws IOException {
+        Map<Long, EthSendTransaction> responseForId = new HashMap<>(requests.size() * 2);
+        for (Response<?> response : batchResponse.getResponses()) {
+            if (response instanceof EthSendTransaction) {
+                responseForId.put(response.getId(), (EthSendTransaction) response);
+            }
+        }
+
+        List<Result> results = new ArrayList<>(batch.size());
+        boolean resync = false;
+        for (int i = 0; i < batch.size(); i++) {
+            Signed signed = batch.get(i);
+            BigInteger nonce = signed.rawTransaction.getNonce();
+            EthSendTransaction ethSendTransaction = responseForId.get(requests.get(i).getId());
+            if (ethSendTransaction == null) {
+                throw new IOException("No response for transaction " + signed.transactionHash);
+            }
+
+            Status status;
+            if (!ethSendTransaction.hasError()) {
+                nonceManager.confirm(address, nonce);
+                status =
+                        txHashVerifier.verify(
+                                        signed.transactionHash,
+                                        ethSendTransaction.getTransactionHash())
+                                ? Status.SENT
+                                : Status.HASH_MISMATCH;
+            } else if (hasError(ethSendTransaction, "already known")) {
+                nonceManager.confirm(address, nonce);
+                status = Status.SENT;
+            } else if (hasError(ethSendTransaction, "underpriced")) {
+                // The node holds another transaction with this nonce, which must not be reused
+                nonceManager.confirm(address, nonce);
+                status = Status.FAILED;
+                resync = true;
+            } else {
+                nonceManager.release(address, nonce);
+                if (hasError(ethSendTransaction, "nonce too low")) {
+                    status = Status.NONCE_TOO_LOW;
+                    resync = true;
+                } else {
+                    status = Status.FAILED;
+                }
+            }
+            sending.remove(nonce);
+            results.add(
+                    new Result(
+                            signed.rawTransaction,
+                            signed.transactionHash,
+                            ethSendTransaction,
+                            status));
+        }
+
+        if (resync) {
+            nonceManager.resync(address);
+        }
+        return results;
+    }
+
+    private static boolean hasError(EthSendTransaction ethSendTransaction, String error) {
+        String message = ethSendTransaction.getError().getMessage();
+        return message != null && message.toLowerCase().contains(error);
+    }
+
+    /** Returns a copy of a transaction with another nonce. */
+    static RawTransaction withNonce(RawTransaction template, BigInteger nonce) {
+        ITransaction transaction = template.getTransaction();
+        if (transaction instanceof IncentiveTransaction) {
+            IncentiveTransaction incentiveTransaction = (IncentiveTransaction) transaction;
+            return RawTransaction.createTransaction(
+                    incentiveTransaction.getChainId(),
+                    nonce,
+                    incentiveTransaction.getGasLimit(),
+                    incentiveTransaction.getTo(),
+                    incentiveTransaction.getValue(),
+                    incentiveTransaction.getData(),
+                    incentiveTransaction.getMaxPriorityFeePerGas(),
+                    incentiveTransaction.getMaxFeePerGas(),
+                    incentiveTransaction.getIncentiveAddress());
+        } else if (transaction instanceof Transaction1559) {
+            Transaction1559 transaction1559 = (Transaction1559) transaction;
+            return RawTransaction.createTransaction(
+                    transaction1559.getChainId(),
+                    nonce,
+                    transaction1559.getGasLimit(),
+                    transaction1559.getTo(),
+                    transaction1559.getValue(),
+                    transaction1559.getData(),
+                    transaction1559.getMaxPriorityFeePerGas(),
+                    transaction1559.getMaxFeePerGas());
+        } else if (transaction instanceof Transaction2930) {
+            Transaction2930 transaction2930 = (Transaction2930) transaction;
+            return RawTransaction.createTransaction(
+                    transaction2930.getChainId(),
+                    nonce,
+                    transaction2930.getGasPrice(),
+                    transaction2930.getGasLimit(),
+                    transaction2930.getTo(),
+                    transaction2930.getValue(),
+                    transaction2930.getData(),
+                    transaction2930.getAccessList());
+        } else if (transaction instanceof LegacyTransaction) {
+            return RawTransaction.createTransaction(
+                    nonce,
+                    transaction.getGasPrice(),
+                    transaction.getGasLimit(),
+                    transaction.getTo(),
+                    transaction.getValue(),
+                    transaction.getData());
+        }
+        throw new IllegalArgumentException(
+                "Unsupported transaction type: " + transaction.getClass().getName());
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /** A signed transaction. */
+    private static class Signed {
+        private final RawTransaction rawTransaction;
+        private final String hexValue;
+        private final String transactionHash;
+
+        Signed(RawTransaction rawTransaction, String hexValue, String transactionHash) {
+            this.rawTransaction = rawTransaction;
+            this.hexValue = hexValue;
+            this.transactionHash = transactionHash;
+        }
+    }
+}
@@ -0,0 +1,445 @@
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.reactivex.Flowable;
+import io.reactivex.disposables.Disposable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.AXMIncentiveAddrResponse;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthChainId;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+
+import static org.web3j.protocol.core.JsonRpc2_0Web3j.DEFAULT_BLOCK_TIME;
+
+/**
+ * Caches the parameters of a chain that transactions are built with: the chain id, the incentive
+ * address, the gas price, the base fee and the gas limit of the latest block.
+ *
+ * <p>Each parameter has a {@link RefreshPolicy}: it is cached until it expires or is refreshed on
+ * each new head, and is invalidated when the node rejects a transaction with a matching error, see
+ * {@link #invalidateOn(Response.Error)}. If new heads fail or complete, parameters refreshed on new
+ * heads are fetched again and then cached for {@link #DEFAULT_FEE_TTL}. Cached values are read
+ * without locking. A parameter that is missing or expired is fetched by the caller reading it;
+ * concurrent readers may fetch it concurrently.
+ *
+ * <p>Transaction managers of the same web3j instance should share the chain parameters, see {@link
+ * #shared(Web3j)}.
+ */
+public class ChainParameters implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ChainParameters.class);
+
+    public static final long DEFAULT_INCENTIVE_ADDRESS_TTL = 60_000;
+    public static final long DEFAULT_FEE_TTL = DEFAULT_BLOCK_TIME;
+
+    /** A cached chain parameter. */
+    public enum Parameter {
+        CHAIN_ID,
+        INCENTIVE_ADDRESS,
+        GAS_PRICE,
+        BASE_FEE,
+        BLOCK_GAS_LIMIT
+    }
+
+    // Chain parameters shared by the transaction managers of a web3j instance
+    private static final Map<Web3j, WeakReference<ChainParameters>> SHARED = new WeakHashMap<>();
+
+    private final Web3j web3j;
+    private final RefreshPolicy[] policies;
+    private final AtomicReferenceArray<Entry> entries =
+            new AtomicReferenceArray<>(Parameter.values().length);
+    private final Disposable subscription;
+    // Whether new heads have stopped, parameters refreshed on new heads then expiring instead
+    private volatile boolean newHeadsEnded;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public ChainParameters(Web3j web3j) {
+        this(web3j, null, defaultPolicies());
+    }
+
+    /**
+     * Creates chain parameters.
+     *
+     * @param web3j web3j instance to fetch parameters with
+     * @param newHeads new blocks, e.g. from {@link Web3j#blockFlowable(boolean)}, to refresh the
+     *     parameters with a {@link RefreshPolicy#onNewHead()} policy with, or null
+     * @param policies refresh policies of the parameters, the default policies are used for the
+     *     others
+     */
+    public ChainParameters(
+            Web3j web3j,
+            Flowable<EthBlock.Block> newHeads,
+            Map<Parameter, RefreshPolicy> policies) {
+        this.web3j = web3j;
+        this.policies = new RefreshPolicy[Parameter.values().length];
+        Map<Parameter, RefreshPolicy> defaultPolicies = defaultPolicies();
+        for (Parameter parameter : Parameter.values()) {
+            this.policies[parameter.ordinal()] =
+                    policies.getOrDefault(parameter, defaultPolicies.get(parameter));
+        }
+        this.subscription =
+                newHeads != null
+                        ? newHeads.subscribe(
+                                this::onNewHead,
+                                e -> {
+                                    log.error("New heads failed, chain parameters now expire", e);
+                                    onNewHeadsEnded();
+                                },
+                                () -> {
+                                    log.warn("New heads completed, chain parameters now expire");
+                                    onNewHeadsEnded();
+                                })
+                        : null;
+    }
+
+    /**
+     * Returns the default refresh policies: the chain id is cached until the node reports a chain
+     * id error, the incentive address for a minute, and fee data for a block time.
+     */
+    public static Map<Parameter, RefreshPolicy> defaultPolicies() {
+        Map<Parameter, RefreshPolicy> policies = new EnumMap<>(Parameter.class);
+        policies.put(
+                Parameter.CHAIN_ID, RefreshPolicy.never().invalidatedOn("chain id", "chainid"));
+        policies.put(
+                Parameter.INCENTIVE_ADDRESS,
+                RefreshPolicy.ttl(DEFAULT_INCENTIVE_ADDRESS_TTL).invalidatedOn("incentive"));
+        policies.put(
+                Parameter.GAS_PRICE,
+                RefreshPolicy.ttl(DEFAULT_FEE_TTL).invalidatedOn("underpriced", "fee"));
+        policies.put(
+                Parameter.BASE_FEE,
+                RefreshPolicy.ttl(DEFAULT_FEE_TTL).invalidatedOn("underpriced", "fee"));
+        policies.put(
+                Parameter.BLOCK_GAS_LIMIT,
+                RefreshPolicy.ttl(DEFAULT_FEE_TTL).invalidatedOn("gas limit"));
+        return policies;
+    }
+
+    /**
+     * Returns the chain parameters shared by the transaction managers of a web3j instance. They are
+     * kept for as long as a transaction manager uses them.
+     *
+     * @param web3j web3j instance
+     * @return the shared chain parameters
+     */
+    public static ChainParameters shared(Web3j web3j) {
+        synchronized (SHARED) {
+            WeakReference<ChainParameters> reference = SHARED.get(web3j);
+            ChainParameters chainParameters = reference != null ? reference.get() : null;
+            if (chainParameters == null) {
+                chainParameters = new ChainParameters(web3j);
+                SHARED.put(web3j, new WeakReference<>(chainParameters));
+            }
+            return chainParameters;
+        }
+    }
+
+    public long getChainId() throws IOException {
+        return (Long) get(Parameter.CHAIN_ID);
+    }
+
+    public CompletableFuture<Long> getChainIdAsync() {
+        return getAsync(Parameter.CHAIN_ID).thenApply(Long.class::cast);
+    }
+
+    public String getIncentiveAddress() throws IOException {
+        return (String) get(Parameter.INCENTIVE_ADDRESS);
+    }
+
+    public CompletableFuture<String> getIncentiveAddressAsync() {
+        return getAsync(Parameter.INCENTIVE_ADDRESS).thenApply(String.class::cast);
+    }
+
+    public BigInteger getGasPrice() throws IOException {
+        return (BigInteger) get(Parameter.GAS_PRICE);
+    }
+
+    public CompletableFuture<BigInteger> getGasPriceAsync() {
+        return getAsync(Parameter.GAS_PRICE).thenApply(BigInteger.class::cast);
+    }
+
+    /** Returns the base fee of the latest block, or null if the chain does not have one. */
+    public BigInteger getBaseFee() throws IOException {
+        return (BigInteger) get(Parameter.BASE_FEE);
+    }
+
+    public CompletableFuture<BigInteger> getBaseFeeAsync() {
+        return getAsync(Parameter.BASE_FEE).thenApply(BigInteger.class::cast);
+    }
+
+    public BigInteger getBlockGasLimit() throws IOException {
+        return (BigInteger) get(Parameter.BLOCK_GAS_LIMIT);
+    }
+
+    public CompletableFuture<BigInteger> getBlockGasLimitAsync() {
+        return getAsync(Parameter.BLOCK_GAS_LIMIT).thenApply(BigInteger.class::cast);
+    }
+
+    /**
+     * Invalidates a parameter, so that it is fetched again when next read.
+     *
+     * @param parameter the parameter
+     */
+    public void invalidate(Parameter parameter) {
+        entries.set(parameter.ordinal(), null);
+    }
+
+    /**
+     * Invalidates the parameters whose policy matches the message of an error returned by the node.
+     *
+     * @param error the error
+     * @return true if a parameter has been invalidated
+     */
+    public boolean invalidateOn(Response.Error error) {
+        if (error == null || error.getMessage() == null) {
+            return false;
+        }
+        String message = error.getMessage().toLowerCase();
+        boolean invalidated = false;
+        for (Parameter parameter : Parameter.values()) {
+            if (policies[parameter.ordinal()].matches(message)) {
+                invalidate(parameter);
+                invalidated = true;
+            }
+        }
+        return invalidated;
+    }
+
+    /** Returns the number of reads served from the cache. */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /** Returns the number of reads that fetched the parameter. */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /** Stops following new heads. */
+    @Override
+    public void close() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    private Object get(Parameter parameter) throws IOException {
+        Entry entry = entries.get(parameter.ordinal());
+        if (entry != null && entry.isValid()) {
+            hitCount.increment();
+            return entry.value;
+        }
+        missCount.increment();
+        Object value = toValue(parameter, request(parameter).send());
+        store(parameter, value);
+        return value;
+    }
+
+    private CompletableFuture<Object> getAsync(Parameter parameter) {
+        Entry entry = entries.get(parameter.ordinal());
+        if (entry != null && entry.isValid()) {
+            hitCount.increment();
+            return CompletableFuture.completedFuture(entry.value);
+        }
+        missCount.increment();
+        return fetchAsync(parameter);
+    }
+
+    private CompletableFuture<Object> fetchAsync(Parameter parameter) {
+        return request(parameter)
+                .sendAsync()
+                .thenApply(
+                        response -> {
+                            try {
+                                Object value = toValue(parameter, response);
+                                store(parameter, value);
+                                return value;
+                            } catch (IOException e) {
+                                throw new CompletionException(e);
+                            }
+                        });
+    }
+
+    private Request<?, ? extends Response<?>> request(Parameter parameter) {
+        switch (parameter) {
+            case CHAIN_ID:
+                return web3j.ethChainId();
+            case INCENTIVE_ADDRESS:
+                return web3j.getIncentiveAddr();
+            case GAS_PRICE:
+                return web3j.ethGasPrice();
+            default:
+                return web3j.ethGetBlockByNumber(DefaultBlockParameterName.LATEST, false);
+        }
+    }
+
+    private Object toValue(Parameter parameter, Response<?> response) throws IOException {
+        if (response.hasError()) {
+            throw new IOException(
+                    "Failed to fetch " + parameter + ": " + response.getError().getMessage());
+        }
+        switch (parameter) {
+            case CHAIN_ID:
+                return ((EthChainId) response).getChainId().longValueExact();
+            case INCENTIVE_ADDRESS:
+                return ((AXMIncentiveAddrResponse) response).getIncentiveAddress();
+            case GAS_PRICE:
+                return ((EthGasPrice) response).getGasPrice();
+            default:
+                EthBlock.Block block = ((EthBlock) response).getBlock();
+                if (block == null) {
+                    throw new IOException("Failed to fetch " + parameter + ": no latest block");
+                }
+                // The other parameter of the block comes for free
+                Parameter other =
+                        parameter == Parameter.BASE_FEE
+                                ? Parameter.BLOCK_GAS_LIMIT
+                                : Parameter.BASE_FEE;
+                store(other, valueOf(other, block));
+                return valueOf(parameter, block);
+        }
+    }
+
+    private static Object valueOf(Parameter parameter, EthBlock.Block block) {
+        if (parameter == Parameter.BASE_FEE) {
+            return block.getBaseFeePerGasRaw() != null ? block.getBaseFeePerGas() : null;
+        }
+        return block.getGasLimit();
+    }
+
+    private void store(Parameter parameter, Object value) {
+        RefreshPolicy policy = policies[parameter.ordinal()];
+        long ttlMillis = policy.onNewHead && newHeadsEnded ? DEFAULT_FEE_TTL : policy.ttlMillis;
+        entries.set(parameter.ordinal(), new Entry(value, ttlMillis));
+    }
+
+    private void onNewHeadsEnded() {
+        newHeadsEnded = true;
+        for (Parameter parameter : Parameter.values()) {
+            if (policies[parameter.ordinal()].onNewHead) {
+                invalidate(parameter);
+            }
+        }
+    }
+
+    private void onNewHead(EthBlock.Block block) {
+        for (Parameter parameter : Parameter.values()) {
+            if (!policies[parameter.ordinal()].onNewHead) {
+                continue;
+            }
+            if (parameter == Parameter.BASE_FEE || parameter == Parameter.BLOCK_GAS_LIMIT) {
+                store(parameter, valueOf(parameter, block));
+            } else {
+                fetchAsync(parameter)
+                        .whenComplete(
+                                (value, throwable) -> {
+                                    if (throwable != null) {
+                                        // Fetched again when next read
+                                        invalidate(parameter);
+                                    }
+                                });
+            }
+        }
+    }
+
+    /** How a cached parameter is refreshed. */
+    public static final class RefreshPolicy {
+
+        private final long ttlMillis;
+        private final boolean onNewHead;
+        private final List<String> invalidatingErrors;
+
+        private RefreshPolicy(long ttlMillis, boolean onNewHead, List<String> invalidatingErrors) {
+            this.ttlMillis = ttlMillis;
+            this.onNewHead = onNewHead;
+            this.invalidatingErrors = invalidatingErrors;
+        }
+
+        /** Returns a policy caching the parameter until it is invalidated. */
+        public static RefreshPolicy never() {
+            return new RefreshPolicy(0, false, Collections.emptyList());
+        }
+
+        /**
+         * Returns a policy caching the parameter for a time.
+         *
+         * @param ttlMillis time to live in milliseconds
+         * @return the policy
+         */
+        public static RefreshPolicy ttl(long ttlMillis) {
+            if (ttlMillis < 1) {
+                throw new IllegalArgumentException("Time to live must be positive");
+            }
+            return new RefreshPolicy(ttlMillis, false, Collections.emptyList());
+        }
+
+        /** Returns a policy refreshing the parameter in the background on each new head. */
+        public static RefreshPolicy onNewHead() {
+            return new RefreshPolicy(0, true, Collections.emptyList());
+        }
+
+        /**
+         * Returns a copy of this policy also invalidating the parameter on errors containing one of
+         * the given messages, case-insensitively.
+         *
+         * @param messages parts of error messages
+         * @return the policy
+         */
+        public RefreshPolicy invalidatedOn(String... messages) {
+            List<String> errors = new ArrayList<>(invalidatingErrors);
+            for (String message : messages) {
+                errors.add(message.toLowerCase());
+            }
+            return new RefreshPolicy(ttlMillis, onNewHead, Collections.unmodifiableList(errors));
+        }
+
+        boolean matches(String message) {
+            for (String error : invalidatingErrors) {
+                if (message.contains(error)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** A cached value, immutable so that it can be read without locking. */
+    private static final class Entry {
+        private final Object value;
+        // System.nanoTime() at which the value expires, if it has a time to live
+        private final long expiresAt;
+        private final boolean expires;
+
+        Entry(Object value, long ttlMillis) {
+            this.value = value;
+            this.expires = ttlMillis > 0;
+            this.expiresAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        }
+
+        boolean isValid() {
+            return !expires || System.nanoTime() - expiresAt < 0;
+        }
+    }
+}
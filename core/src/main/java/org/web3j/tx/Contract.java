@@ -23,6 +23,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 import org.web3j.abi.EventEncoder;
@@ -52,6 +54,7 @@ import org.web3j.tx.gas.ContractEIP1559GasProvider;
 import org.web3j.tx.gas.ContractGasProvider;
 import org.web3j.tx.gas.StaticGasProvider;
 import org.web3j.tx.response.EmptyTransactionReceipt;
+import org.web3j.utils.Async;
 import org.web3j.utils.Numeric;
 
 import static org.web3j.utils.RevertReasonExtractor.extractRevertReason;
@@ -85,6 +88,19 @@ public abstract class Contract extends ManagedTransaction {
                             "a265627a7a72315820" /*Swarm (bzzr1)*/,
                             "a2646970667358221220" /*IPFS*/,
                             "a164736f6c634300080a000a" /*solc (None)*/));
+    // Whether a subclass overrides executeTransaction(Function) but not its asynchronous variant
+    private static final ClassValue<Boolean> EXECUTE_TRANSACTION_OVERRIDDEN =
+            new ClassValue<Boolean>() {
+                @Override
+                protected Boolean computeValue(Class<?> type) {
+                    return AsyncOverrides.overrides(
+                            type,
+                            Contract.class,
+                            "executeTransaction",
+                            "executeTransactionAsync",
+                            Function.class);
+                }
+            };
 
     protected Contract(
             String contractBinary,
@@ -416,34 +432,128 @@ public abstract class Contract extends ManagedTransaction {
                                 constructor);
             }
         } catch (JsonRpcError error) {
+            throw toTransactionException(error);
+        }
 
-            if (error.getData() != null) {
-                throw new TransactionException(error.getData().toString());
-            } else {
-                throw new TransactionException(
-                        String.format(
-                                "JsonRpcError thrown with code %d. Message: %s",
-                                error.getCode(), error.getMessage()));
+        if (isFailed(receipt)) {
+            throw transactionFailed(receipt, data, weiValue);
+        }
+        return receipt;
+    }
+
+    protected CompletableFuture<TransactionReceipt> executeTransactionAsync(Function function) {
+        if (EXECUTE_TRANSACTION_OVERRIDDEN.get(getClass())) {
+            return Async.run(() -> executeTransaction(function));
+        }
+        return executeTransactionAsync(function, BigInteger.ZERO);
+    }
+
+    private CompletableFuture<TransactionReceipt> executeTransactionAsync(
+            Function function, BigInteger weiValue) {
+        return executeTransactionAsync(
+                FunctionEncoder.encode(function), weiValue, function.getName(), false);
+    }
+
+    /**
+     * Executes a transaction like {@link #executeTransaction(String, BigInteger, String, boolean)},
+     * without blocking while it is sent and its receipt is awaited.
+     *
+     * @param data to send in transaction
+     * @param weiValue in Wei to send in transaction
+     * @return the transaction receipt, or a {@link TransactionException} if the transaction failed
+     *     or was not mined while waiting
+     */
+    CompletableFuture<TransactionReceipt> executeTransactionAsync(
+            String data, BigInteger weiValue, String funcName, boolean constructor) {
+
+        CompletableFuture<TransactionReceipt> receipt = null;
+        if (gasProvider instanceof ContractEIP1559GasProvider) {
+            ContractEIP1559GasProvider eip1559GasProvider =
+                    (ContractEIP1559GasProvider) gasProvider;
+            if (eip1559GasProvider.isEIP1559Enabled()) {
+                receipt =
+                        sendEIP1559Async(
+                                eip1559GasProvider.getChainId(),
+                                contractAddress,
+                                data,
+                                weiValue,
+                                eip1559GasProvider.getGasLimit(funcName),
+                                eip1559GasProvider.getMaxPriorityFeePerGas(funcName),
+                                eip1559GasProvider.getMaxFeePerGas(funcName),
+                                constructor);
             }
         }
 
-        if (!(receipt instanceof EmptyTransactionReceipt)
-                && receipt != null
-                && !receipt.isStatusOK()) {
-            throw new TransactionException(
+        if (receipt == null) {
+            receipt =
+                    sendAsync(
+                            contractAddress,
+                            data,
+                            weiValue,
+                            gasProvider.getGasPrice(funcName),
+                            gasProvider.getGasLimit(funcName),
+                            constructor);
+        }
+
+        return receipt.exceptionally(
+                        throwable -> {
+                            Throwable cause =
+                                    throwable instanceof CompletionException
+                                            ? throwable.getCause()
+                                            : throwable;
+                            if (cause instanceof JsonRpcError) {
+                                throw new CompletionException(
+                                        toTransactionException((JsonRpcError) cause));
+                            }
+                            throw throwable instanceof CompletionException
+                                    ? (CompletionException) throwable
+                                    : new CompletionException(throwable);
+                        })
+                .thenCompose(
+                        transactionReceipt -> {
+                            if (isFailed(transactionReceipt)) {
+                                // Fetching the revert reason calls the node
+                                return Async.run(
+                                        () -> {
+                                            throw transactionFailed(
+                                                    transactionReceipt, data, weiValue);
+                                        });
+                            }
+                            return CompletableFuture.completedFuture(transactionReceipt);
+                        });
+    }
+
+    private static TransactionException toTransactionException(JsonRpcError error) {
+        if (error.getData() != null) {
+            return new TransactionException(error.getData().toString());
+        } else {
+            return new TransactionException(
                     String.format(
-                            "Transaction %s has failed with status: %s. "
-                                    + "Gas used: %s. "
-                                    + "Revert reason: '%s'.",
-                            receipt.getTransactionHash(),
-                            receipt.getStatus(),
-                            receipt.getGasUsedRaw() != null
-                                    ? receipt.getGasUsed().toString()
-                                    : "unknown",
-                            extractRevertReason(receipt, data, web3j, true, weiValue)),
-                    receipt);
+                            "JsonRpcError thrown with code %d. Message: %s",
+                            error.getCode(), error.getMessage()));
         }
-        return receipt;
+    }
+
+    private static boolean isFailed(TransactionReceipt receipt) {
+        return !(receipt instanceof EmptyTransactionReceipt)
+                && receipt != null
+                && !receipt.isStatusOK();
+    }
+
+    private TransactionException transactionFailed(
+            TransactionReceipt receipt, String data, BigInteger weiValue) throws IOException {
+        return new TransactionException(
+                String.format(
+                        "Transaction %s has failed with status: %s. "
+                                + "Gas used: %s. "
+                                + "Revert reason: '%s'.",
+                        receipt.getTransactionHash(),
+                        receipt.getStatus(),
+                        receipt.getGasUsedRaw() != null
+                                ? receipt.getGasUsed().toString()
+                                : "unknown",
+                        extractRevertReason(receipt, data, web3j, true, weiValue)),
+                receipt);
     }
 
     protected <T extends Type> RemoteFunctionCall<T> executeRemoteCallSingleValueReturn(
@@ -464,12 +574,18 @@ public abstract class Contract extends ManagedTransaction {
 
     protected RemoteFunctionCall<TransactionReceipt> executeRemoteCallTransaction(
             Function function) {
-        return new RemoteFunctionCall<>(function, () -> executeTransaction(function));
+        return new RemoteFunctionCall<>(
+                function,
+                () -> executeTransaction(function),
+                () -> executeTransactionAsync(function));
     }
 
     protected RemoteFunctionCall<TransactionReceipt> executeRemoteCallTransaction(
             Function function, BigInteger weiValue) {
-        return new RemoteFunctionCall<>(function, () -> executeTransaction(function, weiValue));
+        return new RemoteFunctionCall<>(
+                function,
+                () -> executeTransaction(function, weiValue),
+                () -> executeTransactionAsync(function, weiValue));
     }
 
     private static <T extends Contract> T create(
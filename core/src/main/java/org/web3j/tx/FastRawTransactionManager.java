@@ -23,30 +23,33 @@ import org.web3j.tx.response.TransactionReceiptProcessor;
 /**
  * Simple RawTransactionManager derivative that manages nonces to facilitate multiple transactions
  * per block.
+ *
+ * <p>Nonces are allocated by the {@link NonceManager#shared(Web3j) nonce manager shared} by the
+ * transaction managers of the web3j instance, so that several instances can send from the same
+ * account. Managers seeded with a nonce allocate nonces on their own, without resetting the shared
+ * nonce manager.
  */
 public class FastRawTransactionManager extends RawTransactionManager {
 
-    private volatile BigInteger nonce = BigInteger.valueOf(-1);
-
     public FastRawTransactionManager(Web3j web3j, Credentials credentials, long chainId) {
-        super(web3j, credentials, chainId);
+        super(web3j, credentials, chainId, NonceManager.shared(web3j));
     }
 
     public FastRawTransactionManager(
             Web3j web3j, TxSignService txSignService, long chainId, BigInteger nonce) {
-        super(web3j, txSignService, chainId);
-        this.nonce = nonce;
+        super(web3j, txSignService, chainId, new NonceManager(web3j));
+        setNonce(nonce);
     }
 
     public FastRawTransactionManager(Web3j web3j, Credentials credentials) {
-        super(web3j, credentials);
+        this(web3j, credentials, ChainId.NONE);
     }
 
     public FastRawTransactionManager(
             Web3j web3j,
             Credentials credentials,
             TransactionReceiptProcessor transactionReceiptProcessor) {
-        super(web3j, credentials, ChainId.NONE, transactionReceiptProcessor);
+        this(web3j, credentials, ChainId.NONE, transactionReceiptProcessor);
     }
 
     public FastRawTransactionManager(
@@ -54,29 +57,28 @@ public class FastRawTransactionManager extends RawTransactionManager {
             Credentials credentials,
             long chainId,
             TransactionReceiptProcessor transactionReceiptProcessor) {
-        super(web3j, credentials, chainId, transactionReceiptProcessor);
-    }
-
-    @Override
-    protected synchronized BigInteger getNonce() throws IOException {
-        if (nonce.signum() == -1) {
-            // obtain lock
-            nonce = super.getNonce();
-        } else {
-            nonce = nonce.add(BigInteger.ONE);
-        }
-        return nonce;
+        super(web3j, credentials, chainId, transactionReceiptProcessor, NonceManager.shared(web3j));
     }
 
+    /** Returns the last nonce allocated, or -1 if none has been. */
     public BigInteger getCurrentNonce() {
-        return nonce;
+        BigInteger nextNonce = getNonceManager().getNextNonce(getFromAddress());
+        return nextNonce.signum() == -1 ? nextNonce : nextNonce.subtract(BigInteger.ONE);
     }
 
-    public synchronized void resetNonce() throws IOException {
-        nonce = super.getNonce();
+    public void resetNonce() throws IOException {
+        getNonceManager().resync(getFromAddress());
     }
 
-    public synchronized void setNonce(BigInteger value) {
-        nonce = value;
+    /**
+     * Sets the last nonce allocated.
+     *
+     * @param value the nonce, or -1 to fetch the next nonce from the node
+     */
+    public void setNonce(BigInteger value) {
+        getNonceManager()
+                .setNextNonce(
+                        getFromAddress(),
+                        value.signum() == -1 ? BigInteger.valueOf(-1) : value.add(BigInteger.ONE));
     }
 }
@@ -14,6 +14,7 @@ package org.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import org.web3j.ens.EnsResolver;
 import org.web3j.protocol.Web3j;
@@ -151,6 +152,39 @@ public abstract class ManagedTransaction {
                 constructor);
     }
 
+    protected CompletableFuture<TransactionReceipt> sendAsync(
+            String to,
+            String data,
+            BigInteger value,
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            boolean constructor) {
+
+        return transactionManager.executeTransactionAsync(
+                gasPrice, gasLimit, to, data, value, constructor);
+    }
+
+    protected CompletableFuture<TransactionReceipt> sendEIP1559Async(
+            long chainId,
+            String to,
+            String data,
+            BigInteger value,
+            BigInteger gasLimit,
+            BigInteger maxPriorityFeePerGas,
+            BigInteger maxFeePerGas,
+            boolean constructor) {
+
+        return transactionManager.executeTransactionEIP1559Async(
+                chainId,
+                maxPriorityFeePerGas,
+                maxFeePerGas,
+                gasLimit,
+                to,
+                data,
+                value,
+                constructor);
+    }
+
     protected String call(String to, String data, DefaultBlockParameter defaultBlockParameter)
             throws IOException {
 
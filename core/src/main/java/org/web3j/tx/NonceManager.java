@@ -0,0 +1,344 @@
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+
+/**
+ * Allocates the nonces of transactions sent from several accounts, so that transactions can be sent
+ * concurrently without waiting for each other.
+ *
+ * <p>The next nonce of an account is a lock-free counter, initialised from the {@code PENDING}
+ * transaction count when first needed. Nonces allocated but not yet submitted are in flight, and
+ * tracked in a bitmap. A nonce is either confirmed once its transaction has been accepted by the
+ * node, or released if its submission failed. A released nonce is reused by the next allocation, so
+ * that a failed submission does not leave a gap that stalls the account.
+ *
+ * <p>If transactions of the account are sent elsewhere, or the node drops some of them, the counter
+ * drifts from the node. {@link #resync(String)} then resets it to the {@code PENDING} transaction
+ * count, unless nonces beyond that count are still in flight.
+ *
+ * <p>Transaction managers sending from the same account should share a nonce manager, see {@link
+ * #shared(Web3j)}.
+ */
+public class NonceManager {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 1024;
+
+    private static final long UNSYNCED = -1;
+
+    // Nonce managers shared by the transaction managers of a web3j instance
+    private static final Map<Web3j, WeakReference<NonceManager>> SHARED = new WeakHashMap<>();
+
+    private final Web3j web3j;
+    private final int maxInFlight;
+
+    private final ConcurrentMap<String, Account> accounts = new ConcurrentHashMap<>();
+
+    private final LongAdder reusedCount = new LongAdder();
+    private final LongAdder resyncCount = new LongAdder();
+
+    public NonceManager(Web3j web3j) {
+        this(web3j, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Creates a nonce manager.
+     *
+     * @param web3j web3j instance to fetch transaction counts with
+     * @param maxInFlight maximum number of nonces of an account in flight, rounded up to a multiple
+     *     of 64
+     */
+    public NonceManager(Web3j web3j, int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("At least one nonce must be in flight");
+        }
+        this.web3j = web3j;
+        this.maxInFlight = (maxInFlight + 63) / 64 * 64;
+    }
+
+    /**
+     * Returns the nonce manager shared by the transaction managers of a web3j instance. It is kept
+     * for as long as a transaction manager uses it.
+     *
+     * @param web3j web3j instance
+     * @return the shared nonce manager
+     */
+    public static NonceManager shared(Web3j web3j) {
+        synchronized (SHARED) {
+            WeakReference<NonceManager> reference = SHARED.get(web3j);
+            NonceManager nonceManager = reference != null ? reference.get() : null;
+            if (nonceManager == null) {
+                nonceManager = new NonceManager(web3j);
+                SHARED.put(web3j, new WeakReference<>(nonceManager));
+            }
+            return nonceManager;
+        }
+    }
+
+    /**
+     * Allocates the next nonce of an account, reusing a released nonce if any.
+     *
+     * @param address account address
+     * @return the nonce, in flight until it is confirmed or released
+     * @throws IOException if the transaction count cannot be fetched, or too many nonces are in
+     *     flight
+     */
+    public BigInteger acquire(String address) throws IOException {
+        Account account = account(address);
+        while (true) {
+            long nonce;
+            Long released = account.released.pollFirst();
+            if (released != null) {
+                nonce = released;
+                reusedCount.increment();
+            } else {
+                long next = account.next.get();
+                if (next == UNSYNCED) {
+                    account.next.compareAndSet(UNSYNCED, getPendingTransactionCount(address));
+                    continue;
+                } else if (!account.next.compareAndSet(next, next + 1)) {
+                    continue;
+                }
+                nonce = next;
+            }
+
+            if (!account.setInFlight(nonce)) {
+                account.released.add(nonce);
+                throw new IOException(
+                        "More than " + maxInFlight + " transactions in flight from " + address);
+            }
+            return BigInteger.valueOf(nonce);
+        }
+    }
+
+    /**
+     * Allocates the next nonce of an account like {@link #acquire(String)}, without blocking on the
+     * transaction count if it has not been fetched yet.
+     *
+     * @param address account address
+     * @return the nonce, in flight until it is confirmed or released
+     */
+    public CompletableFuture<BigInteger> acquireAsync(String address) {
+        Account account = account(address);
+        CompletableFuture<Void> synced;
+        if (account.next.get() == UNSYNCED) {
+            synced =
+                    web3j.ethGetTransactionCount(address, DefaultBlockParameterName.PENDING)
+                            .sendAsync()
+                            .thenAccept(
+                                    ethGetTransactionCount -> {
+                                        if (ethGetTransactionCount.hasError()) {
+                                            throw new CompletionException(
+                                                    transactionCountError(
+                                                            address, ethGetTransactionCount));
+                                        }
+                                        account.next.compareAndSet(
+                                                UNSYNCED,
+                                                ethGetTransactionCount
+                                                        .getTransactionCount()
+                                                        .longValueExact());
+                                    });
+        } else {
+            synced = CompletableFuture.completedFuture(null);
+        }
+        return synced.thenApply(
+                ignored -> {
+                    try {
+                        return acquire(address);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    /**
+     * Confirms that the transaction of a nonce has been accepted by the node. Nonces not allocated
+     * by this manager are ignored.
+     *
+     * @param address account address
+     * @param nonce the nonce
+     */
+    public void confirm(String address, BigInteger nonce) {
+        account(address).clearInFlight(nonce.longValueExact());
+    }
+
+    /**
+     * Releases a nonce whose transaction could not be submitted, so that it is reused. Nonces not
+     * allocated by this manager are ignored.
+     *
+     * @param address account address
+     * @param nonce the nonce
+     */
+    public void release(String address, BigInteger nonce) {
+        Account account = account(address);
+        long released = nonce.longValueExact();
+        if (!account.clearInFlight(released)) {
+            return;
+        }
+        // Hand back the latest nonce, otherwise keep it for the next allocation
+        if (!account.next.compareAndSet(released + 1, released)) {
+            account.released.add(released);
+        }
+    }
+
+    /**
+     * Resets the next nonce of an account to its {@code PENDING} transaction count, if it has
+     * drifted from the node and no nonce beyond that count is in flight.
+     *
+     * @param address account address
+     * @throws IOException if the transaction count cannot be fetched
+     */
+    public void resync(String address) throws IOException {
+        Account account = account(address);
+        long count = getPendingTransactionCount(address);
+        while (true) {
+            long next = account.next.get();
+            boolean drifted =
+                    next == UNSYNCED
+                            || count > next
+                            || (count < next && !account.hasInFlight(count, next));
+            if (!drifted) {
+                // Nonces below the count have been used elsewhere
+                account.released.headSet(count).clear();
+                return;
+            } else if (account.next.compareAndSet(next, count)) {
+                account.released.clear();
+                resyncCount.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sets the next nonce of an account, for nonces managed elsewhere.
+     *
+     * @param address account address
+     * @param nonce the next nonce, or -1 to fetch it from the node
+     */
+    public void setNextNonce(String address, BigInteger nonce) {
+        Account account = account(address);
+        account.next.set(nonce.longValueExact());
+        account.released.clear();
+    }
+
+    /**
+     * Returns the next nonce of an account.
+     *
+     * @param address account address
+     * @return the next nonce, or -1 if it has not been fetched yet
+     */
+    public BigInteger getNextNonce(String address) {
+        return BigInteger.valueOf(account(address).next.get());
+    }
+
+    /** Returns the maximum number of nonces of an account in flight. */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /** Returns the number of released nonces that have been reused. */
+    public long getReusedCount() {
+        return reusedCount.sum();
+    }
+
+    /** Returns the number of times an account has been reset to its transaction count. */
+    public long getResyncCount() {
+        return resyncCount.sum();
+    }
+
+    private Account account(String address) {
+        return accounts.computeIfAbsent(address.toLowerCase(), key -> new Account(maxInFlight));
+    }
+
+    private long getPendingTransactionCount(String address) throws IOException {
+        EthGetTransactionCount ethGetTransactionCount =
+                web3j.ethGetTransactionCount(address, DefaultBlockParameterName.PENDING).send();
+        if (ethGetTransactionCount.hasError()) {
+            throw transactionCountError(address, ethGetTransactionCount);
+        }
+        return ethGetTransactionCount.getTransactionCount().longValueExact();
+    }
+
+    private static IOException transactionCountError(
+            String address, EthGetTransactionCount ethGetTransactionCount) {
+        return new IOException(
+                "Failed to fetch transaction count of "
+                        + address
+                        + ": "
+                        + ethGetTransactionCount.getError().getMessage());
+    }
+
+    /** Nonces of an account. */
+    private static class Account {
+        private final AtomicLong next = new AtomicLong(UNSYNCED);
+        private final ConcurrentSkipListSet<Long> released = new ConcurrentSkipListSet<>();
+        // Bit nonce % size is set while the nonce is in flight
+        private final AtomicLongArray inFlight;
+        private final int size;
+
+        Account(int size) {
+            this.inFlight = new AtomicLongArray(size / 64);
+            this.size = size;
+        }
+
+        /** Returns false if the bit of the nonce is taken by another nonce in flight. */
+        boolean setInFlight(long nonce) {
+            int index = (int) (nonce % size) >>> 6;
+            long bit = 1L << nonce;
+            while (true) {
+                long word = inFlight.get(index);
+                if ((word & bit) != 0) {
+                    return false;
+                } else if (inFlight.compareAndSet(index, word, word | bit)) {
+                    return true;
+                }
+            }
+        }
+
+        /** Returns false if the nonce was not in flight. */
+        boolean clearInFlight(long nonce) {
+            int index = (int) (nonce % size) >>> 6;
+            long bit = 1L << nonce;
+            while (true) {
+                long word = inFlight.get(index);
+                if ((word & bit) == 0) {
+                    return false;
+                } else if (inFlight.compareAndSet(index, word, word & ~bit)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean hasInFlight(long from, long to) {
+            if (to - from >= size) {
+                for (int i = 0; i < inFlight.length(); i++) {
+                    if (inFlight.get(i) != 0) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            for (long nonce = from; nonce < to; nonce++) {
+                if ((inFlight.get((int) (nonce % size) >>> 6) & (1L << nonce)) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
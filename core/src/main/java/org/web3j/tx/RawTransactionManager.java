@@ -14,6 +14,8 @@ package org.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.web3j.crypto.Credentials;
 import org.web3j.crypto.Hash;
@@ -27,6 +29,7 @@ import org.web3j.service.TxSignService;
 import org.web3j.service.TxSignServiceImpl;
 import org.web3j.tx.exceptions.TxHashMismatchException;
 import org.web3j.tx.response.TransactionReceiptProcessor;
+import org.web3j.utils.Async;
 import org.web3j.utils.Numeric;
 import org.web3j.utils.TxHashVerifier;
 
@@ -37,28 +40,50 @@ import org.web3j.utils.TxHashVerifier;
  * <p>This transaction manager provides support for specifying the chain id for transactions as per
  * <a href="https://github.com/ethereum/EIPs/issues/155">EIP155</a>, as well as for locally signing
  * RawTransaction instances without broadcasting them.
+ *
+ * <p>Transactions sent asynchronously are built on the nonce and incentive address fetched
+ * asynchronously, signed on the common fork-join pool, and submitted without blocking a thread. If
+ * a subclass overrides {@link #getNonce()}, {@link #getIncentiveAddress()} or a synchronous {@code
+ * send*} method without overriding its asynchronous counterpart, the asynchronous path calls the
+ * override on the {@link Async} executor instead.
  */
 public class RawTransactionManager extends TransactionManager {
 
+    private static final ClassValue<Overrides> OVERRIDES =
+            new ClassValue<Overrides>() {
+                @Override
+                protected Overrides computeValue(Class<?> type) {
+                    return new Overrides(type);
+                }
+            };
+
     private final Web3j web3j;
     private final TxSignService txSignService;
 
     private final long chainId;
+    // Allocates nonces if set, otherwise they are fetched for every transaction
+    private final NonceManager nonceManager;
+    // Caches the incentive address
+    private ChainParameters chainParameters;
 
     protected TxHashVerifier txHashVerifier = new TxHashVerifier();
 
     public RawTransactionManager(Web3j web3j, Credentials credentials, long chainId) {
         super(web3j, credentials.getAddress());
         this.web3j = web3j;
+        this.chainParameters = ChainParameters.shared(web3j);
         this.chainId = chainId;
         this.txSignService = new TxSignServiceImpl(credentials);
+        this.nonceManager = null;
     }
 
     public RawTransactionManager(Web3j web3j, TxSignService txSignService, long chainId) {
         super(web3j, txSignService.getAddress());
         this.web3j = web3j;
+        this.chainParameters = ChainParameters.shared(web3j);
         this.chainId = chainId;
         this.txSignService = txSignService;
+        this.nonceManager = null;
     }
 
     public RawTransactionManager(
@@ -69,8 +94,10 @@ public class RawTransactionManager extends TransactionManager {
         super(transactionReceiptProcessor, credentials.getAddress());
 
         this.web3j = web3j;
+        this.chainParameters = ChainParameters.shared(web3j);
         this.chainId = chainId;
         this.txSignService = new TxSignServiceImpl(credentials);
+        this.nonceManager = null;
     }
 
     public RawTransactionManager(
@@ -78,8 +105,45 @@ public class RawTransactionManager extends TransactionManager {
         super(web3j, attempts, sleepDuration, credentials.getAddress());
 
         this.web3j = web3j;
+        this.chainParameters = ChainParameters.shared(web3j);
+        this.chainId = chainId;
+        this.txSignService = new TxSignServiceImpl(credentials);
+        this.nonceManager = null;
+    }
+
+    public RawTransactionManager(
+            Web3j web3j, Credentials credentials, long chainId, NonceManager nonceManager) {
+        super(web3j, credentials.getAddress());
+        this.web3j = web3j;
+        this.chainParameters = ChainParameters.shared(web3j);
+        this.chainId = chainId;
+        this.txSignService = new TxSignServiceImpl(credentials);
+        this.nonceManager = nonceManager;
+    }
+
+    public RawTransactionManager(
+            Web3j web3j, TxSignService txSignService, long chainId, NonceManager nonceManager) {
+        super(web3j, txSignService.getAddress());
+        this.web3j = web3j;
+        this.chainParameters = ChainParameters.shared(web3j);
+        this.chainId = chainId;
+        this.txSignService = txSignService;
+        this.nonceManager = nonceManager;
+    }
+
+    public RawTransactionManager(
+            Web3j web3j,
+            Credentials credentials,
+            long chainId,
+            TransactionReceiptProcessor transactionReceiptProcessor,
+            NonceManager nonceManager) {
+        super(transactionReceiptProcessor, credentials.getAddress());
+
+        this.web3j = web3j;
+        this.chainParameters = ChainParameters.shared(web3j);
         this.chainId = chainId;
         this.txSignService = new TxSignServiceImpl(credentials);
+        this.nonceManager = nonceManager;
     }
 
     public RawTransactionManager(Web3j web3j, Credentials credentials) {
@@ -92,6 +156,10 @@ public class RawTransactionManager extends TransactionManager {
     }
 
     protected BigInteger getNonce() throws IOException {
+        if (nonceManager != null) {
+            return nonceManager.acquire(getFromAddress());
+        }
+
         EthGetTransactionCount ethGetTransactionCount =
                 web3j.ethGetTransactionCount(
                                 this.getFromAddress(), DefaultBlockParameterName.PENDING)
@@ -100,9 +168,28 @@ public class RawTransactionManager extends TransactionManager {
         return ethGetTransactionCount.getTransactionCount();
     }
 
+    protected CompletableFuture<BigInteger> getNonceAsync() {
+        if (overrides().nonce) {
+            return Async.run(this::getNonce);
+        }
+        if (nonceManager != null) {
+            return nonceManager.acquireAsync(getFromAddress());
+        }
+
+        return web3j.ethGetTransactionCount(getFromAddress(), DefaultBlockParameterName.PENDING)
+                .sendAsync()
+                .thenApply(EthGetTransactionCount::getTransactionCount);
+    }
+
     protected String getIncentiveAddress() throws IOException {
-        AXMIncentiveAddrResponse axmIncentiveAddrResponse = web3j.getIncentiveAddr().send();
-        return axmIncentiveAddrResponse.getIncentiveAddress();
+        return chainParameters.getIncentiveAddress();
+    }
+
+    protected CompletableFuture<String> getIncentiveAddressAsync() {
+        if (overrides().incentiveAddress) {
+            return Async.run(this::getIncentiveAddress);
+        }
+        return chainParameters.getIncentiveAddressAsync();
     }
 
     public TxHashVerifier getTxHashVerifier() {
@@ -113,6 +200,14 @@ public class RawTransactionManager extends TransactionManager {
         this.txHashVerifier = txHashVerifier;
     }
 
+    public ChainParameters getChainParameters() {
+        return chainParameters;
+    }
+
+    public void setChainParameters(ChainParameters chainParameters) {
+        this.chainParameters = chainParameters;
+    }
+
     @Override
     public EthSendTransaction sendTransaction(
             BigInteger gasPrice,
@@ -171,8 +266,8 @@ public class RawTransactionManager extends TransactionManager {
             boolean constructor)
             throws IOException {
 
-        BigInteger nonce = getNonce();
         String incentiveAddress = getIncentiveAddress();
+        BigInteger nonce = getNonce();
 
         RawTransaction rawTransaction =
                 RawTransaction.createTransaction(
@@ -189,6 +284,104 @@ public class RawTransactionManager extends TransactionManager {
         return signAndSend(rawTransaction);
     }
 
+    @Override
+    public CompletableFuture<EthSendTransaction> sendTransactionAsync(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor) {
+
+        if (overrides().sendTransaction) {
+            return super.sendTransactionAsync(gasPrice, gasLimit, to, data, value, constructor);
+        }
+        return getNonceAsync()
+                .thenCompose(
+                        nonce ->
+                                signAndSendAsync(
+                                        RawTransaction.createTransaction(
+                                                nonce, gasPrice, gasLimit, to, value, data)));
+    }
+
+    @Override
+    public CompletableFuture<EthSendTransaction> sendEIP1559TransactionAsync(
+            long chainId,
+            BigInteger maxPriorityFeePerGas,
+            BigInteger maxFeePerGas,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor) {
+
+        if (overrides().sendEIP1559Transaction) {
+            return super.sendEIP1559TransactionAsync(
+                    chainId,
+                    maxPriorityFeePerGas,
+                    maxFeePerGas,
+                    gasLimit,
+                    to,
+                    data,
+                    value,
+                    constructor);
+        }
+        return getNonceAsync()
+                .thenCompose(
+                        nonce ->
+                                signAndSendAsync(
+                                        RawTransaction.createTransaction(
+                                                chainId,
+                                                nonce,
+                                                gasLimit,
+                                                to,
+                                                value,
+                                                data,
+                                                maxPriorityFeePerGas,
+                                                maxFeePerGas)));
+    }
+
+    @Override
+    public CompletableFuture<EthSendTransaction> sendIncentiveTransactionAsync(
+            long chainId,
+            BigInteger maxPriorityFeePerGas,
+            BigInteger maxFeePerGas,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor) {
+
+        if (overrides().sendIncentiveTransaction) {
+            return super.sendIncentiveTransactionAsync(
+                    chainId,
+                    maxPriorityFeePerGas,
+                    maxFeePerGas,
+                    gasLimit,
+                    to,
+                    data,
+                    value,
+                    constructor);
+        }
+        return getIncentiveAddressAsync()
+                .thenCompose(
+                        incentiveAddress ->
+                                getNonceAsync()
+                                        .thenCompose(
+                                                nonce ->
+                                                        signAndSendAsync(
+                                                                RawTransaction.createTransaction(
+                                                                        chainId,
+                                                                        nonce,
+                                                                        gasLimit,
+                                                                        to,
+                                                                        value,
+                                                                        data,
+                                                                        maxPriorityFeePerGas,
+                                                                        maxFeePerGas,
+                                                                        incentiveAddress))));
+    }
+
     @Override
     public String sendCall(String to, String data, DefaultBlockParameter defaultBlockParameter)
             throws IOException {
@@ -220,9 +413,85 @@ public class RawTransactionManager extends TransactionManager {
         return Numeric.toHexString(signedMessage);
     }
 
+    public NonceManager getNonceManager() {
+        return nonceManager;
+    }
+
     public EthSendTransaction signAndSend(RawTransaction rawTransaction) throws IOException {
-        String hexValue = sign(rawTransaction);
-        EthSendTransaction ethSendTransaction = web3j.ethSendRawTransaction(hexValue).send();
+        String hexValue;
+        try {
+            hexValue = sign(rawTransaction);
+        } catch (RuntimeException e) {
+            releaseNonce(rawTransaction.getNonce());
+            throw e;
+        }
+
+        EthSendTransaction ethSendTransaction;
+        try {
+            ethSendTransaction = web3j.ethSendRawTransaction(hexValue).send();
+        } catch (IOException | RuntimeException e) {
+            abandonNonce(rawTransaction.getNonce());
+            throw e;
+        }
+        return processSent(rawTransaction, hexValue, ethSendTransaction);
+    }
+
+    /**
+     * Signs a transaction on the common fork-join pool and sends it without blocking.
+     *
+     * @param rawTransaction the transaction
+     * @return the response of the node
+     */
+    public CompletableFuture<EthSendTransaction> signAndSendAsync(RawTransaction rawTransaction) {
+        return CompletableFuture.supplyAsync(() -> sign(rawTransaction))
+                .whenComplete(
+                        (hexValue, throwable) -> {
+                            if (throwable != null) {
+                                releaseNonce(rawTransaction.getNonce());
+                            }
+                        })
+                .thenCompose(hexValue -> sendAsync(rawTransaction, hexValue));
+    }
+
+    private CompletableFuture<EthSendTransaction> sendAsync(
+            RawTransaction rawTransaction, String hexValue) {
+        return web3j.ethSendRawTransaction(hexValue)
+                .sendAsync()
+                .handle(
+                        (ethSendTransaction, throwable) -> {
+                            if (throwable != null) {
+                                abandonNonce(rawTransaction.getNonce());
+                                throw throwable instanceof CompletionException
+                                        ? (CompletionException) throwable
+                                        : new CompletionException(throwable);
+                            }
+                            try {
+                                return processSent(rawTransaction, hexValue, ethSendTransaction);
+                            } catch (IOException e) {
+                                throw new CompletionException(e);
+                            }
+                        });
+    }
+
+    private EthSendTransaction processSent(
+            RawTransaction rawTransaction, String hexValue, EthSendTransaction ethSendTransaction)
+            throws IOException {
+        if (ethSendTransaction == null || ethSendTransaction.hasError()) {
+            if (ethSendTransaction != null) {
+                chainParameters.invalidateOn(ethSendTransaction.getError());
+            }
+            if (isNonceTaken(ethSendTransaction)) {
+                abandonNonce(rawTransaction.getNonce());
+            } else {
+                releaseNonce(rawTransaction.getNonce());
+                // The node rejects nonces the manager has drifted from
+                if (nonceManager != null && isNonceError(ethSendTransaction)) {
+                    nonceManager.resync(getFromAddress());
+                }
+            }
+        } else if (nonceManager != null) {
+            nonceManager.confirm(getFromAddress(), rawTransaction.getNonce());
+        }
 
         if (ethSendTransaction != null && !ethSendTransaction.hasError()) {
             String txHashLocal = Hash.sha3(hexValue);
@@ -234,4 +503,98 @@ public class RawTransactionManager extends TransactionManager {
 
         return ethSendTransaction;
     }
+
+    private void releaseNonce(BigInteger nonce) {
+        if (nonceManager != null) {
+            nonceManager.release(getFromAddress(), nonce);
+        }
+    }
+
+    /**
+     * Gives up a nonce the node may have taken, without reusing it, and resynchronises the account
+     * so that the nonce is only reused if the node does not know it.
+     */
+    private void abandonNonce(BigInteger nonce) {
+        if (nonceManager == null) {
+            return;
+        }
+        nonceManager.confirm(getFromAddress(), nonce);
+        try {
+            nonceManager.resync(getFromAddress());
+        } catch (IOException e) {
+            // The next transaction fails with a nonce error, which resyncs the account
+        }
+    }
+
+    /** Whether the node already has a transaction with the nonce of the one rejected. */
+    private static boolean isNonceTaken(EthSendTransaction ethSendTransaction) {
+        if (ethSendTransaction == null || ethSendTransaction.getError().getMessage() == null) {
+            return false;
+        }
+        String message = ethSendTransaction.getError().getMessage().toLowerCase();
+        return message.contains("already known") || message.contains("underpriced");
+    }
+
+    private static boolean isNonceError(EthSendTransaction ethSendTransaction) {
+        return ethSendTransaction != null
+                && ethSendTransaction.getError().getMessage() != null
+                && ethSendTransaction.getError().getMessage().toLowerCase().contains("nonce");
+    }
+
+    private Overrides overrides() {
+        return OVERRIDES.get(getClass());
+    }
+
+    /** Synchronous hooks a subclass overrides, which the asynchronous path must call. */
+    private static final class Overrides {
+        private static final Class<?>[] SEND_TRANSACTION = {
+            BigInteger.class,
+            BigInteger.class,
+            String.class,
+            String.class,
+            BigInteger.class,
+            boolean.class
+        };
+        private static final Class<?>[] SEND_EIP1559_TRANSACTION = {
+            long.class,
+            BigInteger.class,
+            BigInteger.class,
+            BigInteger.class,
+            String.class,
+            String.class,
+            BigInteger.class,
+            boolean.class
+        };
+
+        private final boolean nonce;
+        private final boolean incentiveAddress;
+        private final boolean sendTransaction;
+        private final boolean sendEIP1559Transaction;
+        private final boolean sendIncentiveTransaction;
+
+        Overrides(Class<?> type) {
+            nonce = overrides(type, "getNonce", "getNonceAsync");
+            incentiveAddress = overrides(type, "getIncentiveAddress", "getIncentiveAddressAsync");
+            sendTransaction =
+                    overrides(type, "sendTransaction", "sendTransactionAsync", SEND_TRANSACTION);
+            sendEIP1559Transaction =
+                    overrides(
+                            type,
+                            "sendEIP1559Transaction",
+                            "sendEIP1559TransactionAsync",
+                            SEND_EIP1559_TRANSACTION);
+            sendIncentiveTransaction =
+                    overrides(
+                            type,
+                            "sendIncentiveTransaction",
+                            "sendIncentiveTransactionAsync",
+                            SEND_EIP1559_TRANSACTION);
+        }
+
+        private static boolean overrides(
+                Class<?> type, String method, String asyncMethod, Class<?>... parameterTypes) {
+            return AsyncOverrides.overrides(
+                    type, RawTransactionManager.class, method, asyncMethod, parameterTypes);
+        }
+    }
 }
@@ -14,6 +14,7 @@ package org.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.DefaultBlockParameter;
@@ -26,12 +27,22 @@ import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.tx.exceptions.ContractCallException;
 import org.web3j.tx.response.PollingTransactionReceiptProcessor;
 import org.web3j.tx.response.TransactionReceiptProcessor;
+import org.web3j.utils.Async;
 
 import static org.web3j.protocol.core.JsonRpc2_0Web3j.DEFAULT_BLOCK_TIME;
 
 /**
  * Transaction manager abstraction for executing transactions with Ethereum client via various
  * mechanisms.
+ *
+ * <p>Transactions can also be executed asynchronously, e.g. with {@link
+ * #executeTransactionAsync(BigInteger, BigInteger, String, String, BigInteger, boolean)}. The
+ * receipt is then awaited with {@link
+ * TransactionReceiptProcessor#waitForTransactionReceiptAsync(String)}. By default, transactions are
+ * sent by running the synchronous methods asynchronously, implementations that can send without
+ * blocking a thread override the {@code send*Async} methods. If a subclass overrides a synchronous
+ * {@code execute*} method without overriding its asynchronous counterpart, the asynchronous path
+ * runs the override on the {@link Async} executor instead.
  */
 public abstract class TransactionManager {
 
@@ -40,6 +51,14 @@ public abstract class TransactionManager {
     public static final String REVERT_ERR_STR =
             "Contract Call has been reverted by the EVM with the reason: '%s'.";
 
+    private static final ClassValue<Overrides> OVERRIDES =
+            new ClassValue<Overrides>() {
+                @Override
+                protected Overrides computeValue(Class<?> type) {
+                    return new Overrides(type);
+                }
+            };
+
     private final TransactionReceiptProcessor transactionReceiptProcessor;
     private final String fromAddress;
 
@@ -144,6 +163,92 @@ public abstract class TransactionManager {
         return processResponse(ethSendTransaction);
     }
 
+    protected CompletableFuture<TransactionReceipt> executeTransactionAsync(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor) {
+
+        if (OVERRIDES.get(getClass()).executeTransaction) {
+            return Async.run(
+                    () -> executeTransaction(gasPrice, gasLimit, to, data, value, constructor));
+        }
+        return sendTransactionAsync(gasPrice, gasLimit, to, data, value, constructor)
+                .thenCompose(this::processResponseAsync);
+    }
+
+    protected CompletableFuture<TransactionReceipt> executeTransactionEIP1559Async(
+            long chainId,
+            BigInteger maxPriorityFeePerGas,
+            BigInteger maxFeePerGas,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor) {
+
+        if (OVERRIDES.get(getClass()).executeEIP1559Transaction) {
+            return Async.run(
+                    () ->
+                            executeTransactionEIP1559(
+                                    chainId,
+                                    maxPriorityFeePerGas,
+                                    maxFeePerGas,
+                                    gasLimit,
+                                    to,
+                                    data,
+                                    value,
+                                    constructor));
+        }
+        return sendEIP1559TransactionAsync(
+                        chainId,
+                        maxPriorityFeePerGas,
+                        maxFeePerGas,
+                        gasLimit,
+                        to,
+                        data,
+                        value,
+                        constructor)
+                .thenCompose(this::processResponseAsync);
+    }
+
+    protected CompletableFuture<TransactionReceipt> executeIncentiveTransactionAsync(
+            long chainId,
+            BigInteger maxPriorityFeePerGas,
+            BigInteger maxFeePerGas,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor) {
+
+        if (OVERRIDES.get(getClass()).executeIncentiveTransaction) {
+            return Async.run(
+                    () ->
+                            executeIncentiveTransaction(
+                                    chainId,
+                                    maxPriorityFeePerGas,
+                                    maxFeePerGas,
+                                    gasLimit,
+                                    to,
+                                    data,
+                                    value,
+                                    constructor));
+        }
+        return sendIncentiveTransactionAsync(
+                        chainId,
+                        maxPriorityFeePerGas,
+                        maxFeePerGas,
+                        gasLimit,
+                        to,
+                        data,
+                        value,
+                        constructor)
+                .thenCompose(this::processResponseAsync);
+    }
+
     public EthSendTransaction sendTransaction(
             BigInteger gasPrice, BigInteger gasLimit, String to, String data, BigInteger value)
             throws IOException {
@@ -194,6 +299,60 @@ public abstract class TransactionManager {
             boolean constructor)
             throws IOException;
 
+    public CompletableFuture<EthSendTransaction> sendTransactionAsync(
+            BigInteger gasPrice,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor) {
+        return Async.run(() -> sendTransaction(gasPrice, gasLimit, to, data, value, constructor));
+    }
+
+    public CompletableFuture<EthSendTransaction> sendEIP1559TransactionAsync(
+            long chainId,
+            BigInteger maxPriorityFeePerGas,
+            BigInteger maxFeePerGas,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor) {
+        return Async.run(
+                () ->
+                        sendEIP1559Transaction(
+                                chainId,
+                                maxPriorityFeePerGas,
+                                maxFeePerGas,
+                                gasLimit,
+                                to,
+                                data,
+                                value,
+                                constructor));
+    }
+
+    public CompletableFuture<EthSendTransaction> sendIncentiveTransactionAsync(
+            long chainId,
+            BigInteger maxPriorityFeePerGas,
+            BigInteger maxFeePerGas,
+            BigInteger gasLimit,
+            String to,
+            String data,
+            BigInteger value,
+            boolean constructor) {
+        return Async.run(
+                () ->
+                        sendIncentiveTransaction(
+                                chainId,
+                                maxPriorityFeePerGas,
+                                maxFeePerGas,
+                                gasLimit,
+                                to,
+                                data,
+                                value,
+                                constructor));
+    }
+
     public abstract String sendCall(
             String to, String data, DefaultBlockParameter defaultBlockParameter) throws IOException;
 
@@ -215,10 +374,74 @@ public abstract class TransactionManager {
         return transactionReceiptProcessor.waitForTransactionReceipt(transactionHash);
     }
 
+    protected CompletableFuture<TransactionReceipt> processResponseAsync(
+            EthSendTransaction transactionResponse) {
+        if (transactionResponse.hasError()) {
+            return CompletableFuture.failedFuture(new JsonRpcError(transactionResponse.getError()));
+        }
+
+        String transactionHash = transactionResponse.getTransactionHash();
+
+        return transactionReceiptProcessor.waitForTransactionReceiptAsync(transactionHash);
+    }
+
     static void assertCallNotReverted(EthCall ethCall) {
         if (ethCall.isReverted()) {
             throw new ContractCallException(
                     String.format(REVERT_ERR_STR, ethCall.getRevertReason()));
         }
     }
+
+    /** Synchronous execute methods a subclass overrides, which the asynchronous path must call. */
+    private static final class Overrides {
+        private static final Class<?>[] EXECUTE_TRANSACTION = {
+            BigInteger.class,
+            BigInteger.class,
+            String.class,
+            String.class,
+            BigInteger.class,
+            boolean.class
+        };
+        private static final Class<?>[] EXECUTE_EIP1559_TRANSACTION = {
+            long.class,
+            BigInteger.class,
+            BigInteger.class,
+            BigInteger.class,
+            String.class,
+            String.class,
+            BigInteger.class,
+            boolean.class
+        };
+
+        private final boolean executeTransaction;
+        private final boolean executeEIP1559Transaction;
+        private final boolean executeIncentiveTransaction;
+
+        Overrides(Class<?> type) {
+            executeTransaction =
+                    overrides(
+                            type,
+                            "executeTransaction",
+                            "executeTransactionAsync",
+                            EXECUTE_TRANSACTION);
+            executeEIP1559Transaction =
+                    overrides(
+                            type,
+                            "executeTransactionEIP1559",
+                            "executeTransactionEIP1559Async",
+                            EXECUTE_EIP1559_TRANSACTION);
+            executeIncentiveTransaction =
+                    overrides(
+                            type,
+                            "executeIncentiveTransaction",
+                            "executeIncentiveTransactionAsync",
+                            EXECUTE_EIP1559_TRANSACTION);
+        }
+
+        private static boolean overrides(
+                Class<?> type, String method, String asyncMethod, Class<?>... parameterTypes) {
+            return AsyncOverrides.overrides(
+                    type, TransactionManager.class, method, asyncMethod, parameterTypes);
+        }
+    }
 }
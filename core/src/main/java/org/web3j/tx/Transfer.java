@@ -21,7 +21,6 @@ import java.util.concurrent.ExecutionException;
 import org.web3j.crypto.Credentials;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.RemoteCall;
-import org.web3j.protocol.core.methods.response.EthChainId;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
 import org.web3j.utils.Convert;
@@ -127,14 +126,14 @@ public class Transfer extends ManagedTransaction {
             BigInteger maxPriorityFeePerGas,
             BigInteger maxFeePerGas)
             throws IOException {
-        EthChainId chainId = web3j.ethChainId().send();
+        long chainId = ChainParameters.shared(web3j).getChainId();
         TransactionManager transactionManager = new RawTransactionManager(web3j, credentials);
 
         return new RemoteCall<>(
                 () ->
                         new Transfer(web3j, transactionManager)
                                 .sendEIP1559(
-                                        chainId.getChainId().longValue(),
+                                        chainId,
                                         toAddress,
                                         value,
                                         unit,
@@ -0,0 +1,84 @@
+package org.web3j.tx.gas;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.tx.ChainParameters;
+
+/**
+ * Gas provider reading the chain id, gas price and base fee from {@link ChainParameters}, with a
+ * static gas limit.
+ *
+ * <p>EIP-1559 transactions are sent if the latest block has a base fee. The max priority fee is the
+ * part of the gas price above the base fee, and the max fee allows for the base fee to double.
+ */
+public class ChainGasProvider implements ContractEIP1559GasProvider {
+
+    private final ChainParameters chainParameters;
+    private final BigInteger gasLimit;
+
+    public ChainGasProvider(Web3j web3j) {
+        this(ChainParameters.shared(web3j), DefaultGasProvider.GAS_LIMIT);
+    }
+
+    public ChainGasProvider(ChainParameters chainParameters, BigInteger gasLimit) {
+        this.chainParameters = chainParameters;
+        this.gasLimit = gasLimit;
+    }
+
+    @Override
+    public BigInteger getGasPrice(String contractFunc) {
+        return getGasPrice();
+    }
+
+    @Override
+    public BigInteger getGasPrice() {
+        return read(chainParameters::getGasPrice);
+    }
+
+    @Override
+    public BigInteger getGasLimit(String contractFunc) {
+        return gasLimit;
+    }
+
+    @Override
+    public BigInteger getGasLimit() {
+        return gasLimit;
+    }
+
+    @Override
+    public boolean isEIP1559Enabled() {
+        return read(chainParameters::getBaseFee) != null;
+    }
+
+    @Override
+    public long getChainId() {
+        return read(chainParameters::getChainId);
+    }
+
+    @Override
+    public BigInteger getMaxFeePerGas(String contractFunc) {
+        BigInteger baseFee = read(chainParameters::getBaseFee);
+        return baseFee.shiftLeft(1).add(getMaxPriorityFeePerGas(contractFunc));
+    }
+
+    @Override
+    public BigInteger getMaxPriorityFeePerGas(String contractFunc) {
+        BigInteger baseFee = read(chainParameters::getBaseFee);
+        return getGasPrice().subtract(baseFee).max(BigInteger.ZERO);
+    }
+
+    private static <T> T read(Parameter<T> parameter) {
+        try {
+            return parameter.read();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /** Reads a chain parameter. */
+    private interface Parameter<T> {
+        T read() throws IOException;
+    }
+}
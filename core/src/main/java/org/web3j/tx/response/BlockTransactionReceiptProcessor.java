@@ -0,0 +1,320 @@
+package org.web3j.tx.response;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import io.reactivex.disposables.Disposable;
+import io.reactivex.schedulers.Schedulers;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGetBlockReceipts;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+
+/**
+ * Transaction receipt processor that resolves the receipts of all pending transactions once per
+ * block, rather than polling for each transaction.
+ *
+ * <p>On each new block, the block is fetched with its transaction hashes, and the receipts of the
+ * pending transactions it contains are fetched in JSON-RPC batches, or with a single {@code
+ * eth_getBlockReceipts} request if many pending transactions are in the block. Transactions are
+ * also looked up on the first block after they are submitted, in case they were mined before, and
+ * on the block they time out at, in case the block they were mined in was missed. If a block or
+ * receipts cannot be fetched, the affected transactions are looked up again on the next block.
+ *
+ * <p>Timeouts are counted in blocks. Blocks are only followed while transactions are pending.
+ */
+public class BlockTransactionReceiptProcessor extends TransactionReceiptProcessor {
+
+    public static final int DEFAULT_TIMEOUT_BLOCKS = 50;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    public static final int DEFAULT_BLOCK_RECEIPTS_THRESHOLD = 10;
+
+    private final Web3j web3j;
+    private final Flowable<String> blockHashes;
+    private final Scheduler scheduler;
+    private final int timeoutBlocks;
+    private final int maxBatchSize;
+    private final int blockReceiptsThreshold;
+
+    // Keyed by lower case transaction hash
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private Disposable subscription;
+
+    public BlockTransactionReceiptProcessor(Web3j web3j) {
+        this(
+                web3j,
+                web3j.ethBlockHashFlowable(),
+                Schedulers.io(),
+                DEFAULT_TIMEOUT_BLOCKS,
+                DEFAULT_MAX_BATCH_SIZE,
+                DEFAULT_BLOCK_RECEIPTS_THRESHOLD);
+    }
+
+    /**
+     * Creates a block transaction receipt processor.
+     *
+     * @param web3j web3j instance to fetch blocks and receipts with
+     * @param blockHashes hashes of new blocks, e.g. from {@link Web3j#ethBlockHashFlowable()} or a
+     *     new heads subscription
+     * @param scheduler scheduler to process blocks on
+     * @param timeoutBlocks number of blocks after which a transaction without receipt times out
+     * @param maxBatchSize maximum number of receipts in a batch
+     * @param blockReceiptsThreshold number of pending transactions in a block from which all the
+     *     receipts of the block are fetched
+     */
+    public BlockTransactionReceiptProcessor(
+            Web3j web3j,
+            Flowable<String> blockHashes,
+            Scheduler scheduler,
+            int timeoutBlocks,
+            int maxBatchSize,
+            int blockReceiptsThreshold) {
+        super(web3j);
+        if (timeoutBlocks < 1) {
+            throw new IllegalArgumentException("Timeout must be at least one block");
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.web3j = web3j;
+        this.blockHashes = blockHashes;
+        this.scheduler = scheduler;
+        this.timeoutBlocks = timeoutBlocks;
+        this.maxBatchSize = maxBatchSize;
+        this.blockReceiptsThreshold = blockReceiptsThreshold;
+    }
+
+    @Override
+    public TransactionReceipt waitForTransactionReceipt(String transactionHash)
+            throws IOException, TransactionException {
+        try {
+            return watch(transactionHash).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransactionException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TransactionException) {
+                throw (TransactionException) e.getCause();
+            } else if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new TransactionException(e.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        return watch(transactionHash);
+    }
+
+    /**
+     * Watches for the receipt of a transaction.
+     *
+     * @param transactionHash transaction hash
+     * @return the receipt, or a {@link TransactionException} if it was not generated in time
+     */
+    public CompletableFuture<TransactionReceipt> watch(String transactionHash) {
+        Pending transaction =
+                pending.computeIfAbsent(
+                        transactionHash.toLowerCase(), hash -> new Pending(timeoutBlocks));
+        synchronized (this) {
+            if (subscription == null) {
+                subscription =
+                        blockHashes
+                                .observeOn(scheduler)
+                                .subscribe(this::onBlock, this::onBlockError);
+            }
+        }
+        return transaction.future;
+    }
+
+    /** Returns the number of transactions whose receipt is pending. */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void onBlock(String blockHash) {
+        EthBlock.Block block;
+        try {
+            block = getBlock(blockHash);
+        } catch (IOException e) {
+            // Transactions of the block are looked up again on the next block
+            block = null;
+        }
+        Set<String> blockTransactionHashes = new HashSet<>();
+        if (block != null) {
+            for (EthBlock.TransactionResult<?> transactionResult : block.getTransactions()) {
+                blockTransactionHashes.add(((String) transactionResult.get()).toLowerCase());
+            }
+        }
+
+        List<String> inBlock = new ArrayList<>();
+        List<String> lookedUp = new ArrayList<>();
+        List<String> timedOut = new ArrayList<>();
+        for (Map.Entry<String, Pending> entry : pending.entrySet()) {
+            String transactionHash = entry.getKey();
+            Pending transaction = entry.getValue();
+            if (blockTransactionHashes.contains(transactionHash)) {
+                inBlock.add(transactionHash);
+            } else if (--transaction.blocksLeft <= 0) {
+                timedOut.add(transactionHash);
+            } else if (!transaction.lookedUp || transaction.retry) {
+                lookedUp.add(transactionHash);
+            }
+            transaction.lookedUp = true;
+            // Any transaction may be in a block that could not be fetched
+            transaction.retry = block == null;
+        }
+
+        try {
+            if (!inBlock.isEmpty() && inBlock.size() >= blockReceiptsThreshold) {
+                resolveFromBlock(block, inBlock);
+            } else {
+                lookedUp.addAll(inBlock);
+            }
+            lookedUp.addAll(timedOut);
+            resolve(lookedUp);
+        } catch (IOException e) {
+            // Transactions still pending are looked up again on the next block
+            retry(inBlock);
+            retry(lookedUp);
+        }
+
+        for (String transactionHash : timedOut) {
+            Pending transaction = pending.remove(transactionHash);
+            if (transaction != null) {
+                transaction.future.completeExceptionally(
+                        new TransactionException(
+                                "Transaction receipt was not generated after "
+                                        + timeoutBlocks
+                                        + " blocks for transaction: "
+                                        + transactionHash,
+                                transactionHash));
+            }
+        }
+        stopIfIdle();
+    }
+
+    private void retry(List<String> transactionHashes) {
+        for (String transactionHash : transactionHashes) {
+            Pending transaction = pending.get(transactionHash);
+            if (transaction != null) {
+                transaction.retry = true;
+            }
+        }
+    }
+
+    private void onBlockError(Throwable throwable) {
+        synchronized (this) {
+            subscription = null;
+        }
+        for (String transactionHash : new ArrayList<>(pending.keySet())) {
+            Pending transaction = pending.remove(transactionHash);
+            if (transaction != null) {
+                transaction.future.completeExceptionally(throwable);
+            }
+        }
+    }
+
+    private synchronized void stopIfIdle() {
+        if (pending.isEmpty() && subscription != null) {
+            subscription.dispose();
+            subscription = null;
+        }
+    }
+
+    private EthBlock.Block getBlock(String blockHash) throws IOException {
+        EthBlock ethBlock = web3j.ethGetBlockByHash(blockHash, false).send();
+        if (ethBlock.hasError()) {
+            throw new IOException(
+                    "Failed to fetch block " + blockHash + ": " + ethBlock.getError().getMessage());
+        }
+        return ethBlock.getBlock();
+    }
+
+    private void resolveFromBlock(EthBlock.Block block, List<String> transactionHashes)
+            throws IOException {
+        EthGetBlockReceipts ethGetBlockReceipts =
+                web3j.ethGetBlockReceipts(new DefaultBlockParameterNumber(block.getNumber()))
+                        .send();
+        if (ethGetBlockReceipts.hasError() || ethGetBlockReceipts.getResult() == null) {
+            // Fall back to the receipts of the pending transactions
+            resolve(transactionHashes);
+            return;
+        }
+        for (TransactionReceipt receipt : ethGetBlockReceipts.getResult()) {
+            complete(receipt);
+        }
+    }
+
+    private void resolve(List<String> transactionHashes) throws IOException {
+        for (int from = 0; from < transactionHashes.size(); from += maxBatchSize) {
+            List<String> batch =
+                    transactionHashes.subList(
+                            from, Math.min(from + maxBatchSize, transactionHashes.size()));
+            BatchRequest batchRequest = web3j.newBatch();
+            List<Request<?, EthGetTransactionReceipt>> requests = new ArrayList<>(batch.size());
+            for (String transactionHash : batch) {
+                Request<?, EthGetTransactionReceipt> request =
+                        web3j.ethGetTransactionReceipt(transactionHash);
+                requests.add(request);
+                batchRequest.add(request);
+            }
+
+            BatchResponse batchResponse = batchRequest.send();
+            Map<Long, EthGetTransactionReceipt> receiptForId = new HashMap<>(batch.size() * 2);
+            for (Response<?> response : batchResponse.getResponses()) {
+                if (response instanceof EthGetTransactionReceipt) {
+                    receiptForId.put(response.getId(), (EthGetTransactionReceipt) response);
+                }
+            }
+            for (Request<?, EthGetTransactionReceipt> request : requests) {
+                EthGetTransactionReceipt ethGetTransactionReceipt =
+                        receiptForId.get(request.getId());
+                if (ethGetTransactionReceipt != null && !ethGetTransactionReceipt.hasError()) {
+                    ethGetTransactionReceipt.getTransactionReceipt().ifPresent(this::complete);
+                }
+            }
+        }
+    }
+
+    private void complete(TransactionReceipt receipt) {
+        Pending transaction = pending.remove(receipt.getTransactionHash().toLowerCase());
+        if (transaction != null) {
+            transaction.future.complete(receipt);
+        }
+    }
+
+    /** A transaction whose receipt is pending. */
+    private static class Pending {
+        private final CompletableFuture<TransactionReceipt> future = new CompletableFuture<>();
+        // Only accessed by the thread processing blocks
+        private int blocksLeft;
+        private boolean lookedUp;
+        // Whether the last lookup failed
+        private boolean retry;
+
+        Pending(int blocksLeft) {
+            this.blocksLeft = blocksLeft;
+        }
+    }
+}
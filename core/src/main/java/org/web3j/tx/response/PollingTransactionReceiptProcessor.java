@@ -14,6 +14,9 @@ package org.web3j.tx.response;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
@@ -38,6 +41,19 @@ public class PollingTransactionReceiptProcessor extends TransactionReceiptProces
         return getTransactionReceipt(transactionHash, sleepDuration, attempts);
     }
 
+    /**
+     * Polls for the receipt without holding a thread: each attempt is scheduled once the previous
+     * one has completed and the polling interval has elapsed.
+     */
+    @Override
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        if (attempts < 1) {
+            return CompletableFuture.failedFuture(timeout(transactionHash));
+        }
+        return getTransactionReceiptAsync(transactionHash, 1);
+    }
+
     private TransactionReceipt getTransactionReceipt(
             String transactionHash, long sleepDuration, int attempts)
             throws IOException, TransactionException {
@@ -60,7 +76,32 @@ public class PollingTransactionReceiptProcessor extends TransactionReceiptProces
             }
         }
 
-        throw new TransactionException(
+        throw timeout(transactionHash);
+    }
+
+    private CompletableFuture<TransactionReceipt> getTransactionReceiptAsync(
+            String transactionHash, int attempt) {
+        return sendTransactionReceiptRequestAsync(transactionHash)
+                .thenCompose(
+                        receiptOptional -> {
+                            if (receiptOptional.isPresent()) {
+                                return CompletableFuture.completedFuture(receiptOptional.get());
+                            } else if (attempt >= attempts) {
+                                return CompletableFuture.failedFuture(timeout(transactionHash));
+                            }
+                            Executor delayed =
+                                    CompletableFuture.delayedExecutor(
+                                            sleepDuration, TimeUnit.MILLISECONDS);
+                            return CompletableFuture.supplyAsync(() -> attempt + 1, delayed)
+                                    .thenCompose(
+                                            next ->
+                                                    getTransactionReceiptAsync(
+                                                            transactionHash, next));
+                        });
+    }
+
+    private TransactionException timeout(String transactionHash) {
+        return new TransactionException(
                 "Transaction receipt was not generated after "
                         + ((sleepDuration * attempts) / 1000
                                 + " seconds for transaction: "
@@ -14,11 +14,13 @@ package org.web3j.tx.response;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.Async;
 
 /** Abstraction for managing how we wait for transaction receipts to be generated on the network. */
 public abstract class TransactionReceiptProcessor {
@@ -32,6 +34,21 @@ public abstract class TransactionReceiptProcessor {
     public abstract TransactionReceipt waitForTransactionReceipt(String transactionHash)
             throws IOException, TransactionException;
 
+    /**
+     * Waits for a transaction receipt without blocking the calling thread.
+     *
+     * <p>By default, {@link #waitForTransactionReceipt(String)} is run asynchronously. Processors
+     * that can wait without holding a thread override this method.
+     *
+     * @param transactionHash transaction hash
+     * @return the receipt, or an {@link IOException} or {@link TransactionException} if it could
+     *     not be obtained
+     */
+    public CompletableFuture<TransactionReceipt> waitForTransactionReceiptAsync(
+            String transactionHash) {
+        return Async.run(() -> waitForTransactionReceipt(transactionHash));
+    }
+
     Optional<? extends TransactionReceipt> sendTransactionReceiptRequest(String transactionHash)
             throws IOException, TransactionException {
         EthGetTransactionReceipt transactionReceipt =
@@ -43,4 +60,23 @@ public abstract class TransactionReceiptProcessor {
 
         return transactionReceipt.getTransactionReceipt();
     }
+
+    CompletableFuture<Optional<TransactionReceipt>> sendTransactionReceiptRequestAsync(
+            String transactionHash) {
+        return web3j.ethGetTransactionReceipt(transactionHash)
+                .sendAsync()
+                .thenCompose(
+                        transactionReceipt -> {
+                            if (transactionReceipt.hasError()) {
+                                return CompletableFuture.failedFuture(
+                                        new TransactionException(
+                                                "Error processing request: "
+                                                        + transactionReceipt
+                                                                .getError()
+                                                                .getMessage()));
+                            }
+                            return CompletableFuture.completedFuture(
+                                    transactionReceipt.getTransactionReceipt());
+                        });
+    }
 }
@@ -14,7 +14,6 @@ package org.web3j.utils;
 
 import java.math.BigInteger;
 
-import io.reactivex.BackpressureStrategy;
 import io.reactivex.Flowable;
 
 /** Flowable utility functions. */
@@ -42,34 +41,18 @@ public class Flowables {
                     "Negative start index cannot be greater then end index");
         }
 
-        if (ascending) {
-            return Flowable.create(
-                    subscriber -> {
-                        for (BigInteger i = startValue;
-                                i.compareTo(endValue) < 1 && !subscriber.isCancelled();
-                                i = i.add(BigInteger.ONE)) {
-                            subscriber.onNext(i);
-                        }
-
-                        if (!subscriber.isCancelled()) {
-                            subscriber.onComplete();
-                        }
-                    },
-                    BackpressureStrategy.BUFFER);
-        } else {
-            return Flowable.create(
-                    subscriber -> {
-                        for (BigInteger i = endValue;
-                                i.compareTo(startValue) > -1 && !subscriber.isCancelled();
-                                i = i.subtract(BigInteger.ONE)) {
-                            subscriber.onNext(i);
-                        }
-
-                        if (!subscriber.isCancelled()) {
-                            subscriber.onComplete();
-                        }
-                    },
-                    BackpressureStrategy.BUFFER);
-        }
+        // Values are generated on demand, so nothing is buffered for slow subscribers
+        BigInteger first = ascending ? startValue : endValue;
+        BigInteger last = ascending ? endValue : startValue;
+        BigInteger step = ascending ? BigInteger.ONE : BigInteger.ONE.negate();
+        return Flowable.generate(
+                () -> first,
+                (value, emitter) -> {
+                    emitter.onNext(value);
+                    if (value.equals(last)) {
+                        emitter.onComplete();
+                    }
+                    return value.add(step);
+                });
     }
 }
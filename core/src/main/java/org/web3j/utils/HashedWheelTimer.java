@@ -0,0 +1,259 @@
+package org.web3j.utils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Timer for large numbers of timeouts that are usually cancelled before they expire, such as
+ * request timeouts.
+ *
+ * <p>Timeouts are kept in a wheel of buckets, each covering one tick. Adding and cancelling a
+ * timeout is constant time and cancelled timeouts are unlinked on the next tick, so they do not
+ * pile up until their deadline as they do in a {@link ScheduledExecutorService}. Timeouts expire
+ * with a precision of one tick. The wheel is advanced by a single periodic task, see {@link
+ * #start(ScheduledExecutorService)}, and expired tasks run on that task's thread.
+ */
+public class HashedWheelTimer {
+
+    private static final Logger log = LoggerFactory.getLogger(HashedWheelTimer.class);
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final LongSupplier nanoClock;
+    private final long startTime;
+
+    private final Queue<WheelTimeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // only accessed while holding the lock on this timer
+    private long tick;
+
+    public HashedWheelTimer(long tickDuration, TimeUnit unit, int ticksPerWheel) {
+        this(tickDuration, unit, ticksPerWheel, System::nanoTime);
+    }
+
+    /**
+     * Creates a timer reading the time from the given clock, which allows to control the time in
+     * tests.
+     *
+     * @param tickDuration duration of a tick
+     * @param unit time unit of the tick duration
+     * @param ticksPerWheel number of buckets, rounded up to a power of two
+     * @param nanoClock source of the current time in nanoseconds
+     */
+    public HashedWheelTimer(
+            long tickDuration, TimeUnit unit, int ticksPerWheel, LongSupplier nanoClock) {
+        if (tickDuration <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("Tick duration and wheel size must be positive");
+        }
+        int size = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[Math.max(size, 1)];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.nanoClock = nanoClock;
+        this.startTime = nanoClock.getAsLong();
+    }
+
+    /**
+     * Advances the wheel once every tick on the given executor.
+     *
+     * @param executor executor to run the timer on
+     * @return future of the periodic task, cancel it to stop the timer
+     */
+    public ScheduledFuture<?> start(ScheduledExecutorService executor) {
+        return executor.scheduleAtFixedRate(
+                this::expireTimeouts, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Schedules a task to run once the delay has elapsed.
+     *
+     * @param task task to run
+     * @param delay delay after which the task runs
+     * @param unit time unit of the delay
+     * @return handle to cancel the task
+     */
+    public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+        long deadline = nanoClock.getAsLong() - startTime + unit.toNanos(delay);
+        WheelTimeout timeout = new WheelTimeout(this, task, deadline);
+        pending.incrementAndGet();
+        added.add(timeout);
+        return timeout;
+    }
+
+    /** Returns the number of timeouts that have neither expired nor been cancelled. */
+    public int pendingTimeouts() {
+        return pending.get();
+    }
+
+    /** Runs the tasks of all timeouts whose deadline has passed. */
+    public synchronized void expireTimeouts() {
+        long elapsed = nanoClock.getAsLong() - startTime;
+        while ((tick + 1) * tickNanos <= elapsed) {
+            transferAddedTimeouts();
+            removeCancelledTimeouts();
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+        transferAddedTimeouts();
+        removeCancelledTimeouts();
+    }
+
+    private void transferAddedTimeouts() {
+        WheelTimeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state.get() != WheelTimeout.INIT) {
+                continue;
+            }
+            long expiryTick = Math.max(timeout.deadline / tickNanos, tick);
+            timeout.remainingRounds = (expiryTick - tick) / wheel.length;
+            wheel[(int) (expiryTick & mask)].add(timeout);
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        WheelTimeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    /** Handle of a task scheduled on a {@link HashedWheelTimer}. */
+    public interface Timeout {
+
+        /**
+         * Cancels the task if it has not run yet.
+         *
+         * @return true if the task was cancelled by this call
+         */
+        boolean cancel();
+
+        boolean isCancelled();
+
+        boolean isExpired();
+    }
+
+    private static class WheelTimeout implements Timeout {
+
+        private static final int INIT = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        // only accessed by the thread advancing the wheel
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTimeout previous;
+        private WheelTimeout next;
+
+        WheelTimeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED)) {
+                return false;
+            }
+            timer.pending.decrementAndGet();
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED)) {
+                return;
+            }
+            timer.pending.decrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                log.warn("Timeout task failed", t);
+            }
+        }
+    }
+
+    /** Doubly linked list of the timeouts expiring in one tick of the wheel. */
+    private static class Bucket {
+
+        private WheelTimeout head;
+        private WheelTimeout tail;
+
+        void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(WheelTimeout timeout) {
+            WheelTimeout next = timeout.next;
+            if (timeout.previous != null) {
+                timeout.previous.next = next;
+            }
+            if (next != null) {
+                next.previous = timeout.previous;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        void expire() {
+            WheelTimeout timeout = head;
+            while (timeout != null) {
+                WheelTimeout next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.web3j.protocol;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.NetVersion;
+import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchResponseDecoderTest {
+
+    private final BatchResponseDecoder decoder =
+            new BatchResponseDecoder(ObjectMapperFactory.getObjectMapper());
+
+    @Test
+    public void testResponsesAreMatchedById() throws IOException {
+        List<Request<?, ? extends Response<?>>> requests =
+                Arrays.asList(
+                        request("web3_clientVersion", Web3ClientVersion.class, 10),
+                        request("net_version", NetVersion.class, 11),
+                        request("eth_blockNumber", EthBlockNumber.class, 12));
+
+        BatchResponse response =
+                decoder.decode(
+                        requests,
+                        "["
+                                + "{\"jsonrpc\":\"2.0\",\"id\":12,\"result\":\"0x4b7\"},"
+                                + "{\"jsonrpc\":\"2.0\",\"result\":\"Mist/v0.9.3\",\"id\":10},"
+                                + "{\"id\":\"11\",\"jsonrpc\":\"2.0\",\"result\":\"59\"}"
+                                + "]");
+
+        List<? extends Response<?>> responses = response.getResponses();
+        assertEquals(responses.size(), 3);
+        assertEquals(((Web3ClientVersion) responses.get(0)).getWeb3ClientVersion(), "Mist/v0.9.3");
+        assertEquals(responses.get(0).getId(), 10);
+        assertEquals(((NetVersion) responses.get(1)).getNetVersion(), "59");
+        assertEquals(((EthBlockNumber) responses.get(2)).getBlockNumber().longValue(), 1207L);
+    }
+
+    @Test
+    public void testUnknownIdFallsBackToPosition() throws IOException {
+        List<Request<?, ? extends Response<?>>> requests =
+                Arrays.asList(
+                        request("web3_clientVersion", Web3ClientVersion.class, 20),
+                        request("net_version", NetVersion.class, 21));
+
+        BatchResponse response =
+                decoder.decode(
+                        requests,
+                        "["
+                                + "{\"jsonrpc\":\"2.0\",\"id\":null,"
+                                + "\"error\":{\"code\":-32600,\"message\":\"Invalid request\"}},"
+                                + "{\"jsonrpc\":\"2.0\",\"id\":99,\"result\":\"59\"}"
+                                + "]");
+
+        List<? extends Response<?>> responses = response.getResponses();
+        assertEquals(responses.size(), 2);
+        assertTrue(responses.get(0).hasError());
+        assertEquals(((NetVersion) responses.get(1)).getNetVersion(), "59");
+    }
+
+    @Test
+    public void testDuplicateIdsAreMatchedInRequestOrder() throws IOException {
+        List<Request<?, ? extends Response<?>>> requests =
+                Arrays.asList(
+                        request("web3_clientVersion", Web3ClientVersion.class, 1),
+                        request("net_version", NetVersion.class, 1));
+
+        BatchResponse response =
+                decoder.decode(
+                        requests,
+                        "["
+                                + "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"Mist/v0.9.3\"},"
+                                + "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"59\"}"
+                                + "]");
+
+        List<? extends Response<?>> responses = response.getResponses();
+        assertEquals(((Web3ClientVersion) responses.get(0)).getWeb3ClientVersion(), "Mist/v0.9.3");
+        assertEquals(((NetVersion) responses.get(1)).getNetVersion(), "59");
+    }
+
+    @Test
+    public void testMissingResponsesAreOmitted() throws IOException {
+        List<Request<?, ? extends Response<?>>> requests =
+                Arrays.asList(
+                        request("web3_clientVersion", Web3ClientVersion.class, 30),
+                        request("net_version", NetVersion.class, 31));
+
+        BatchResponse response =
+                decoder.decode(requests, "[{\"jsonrpc\":\"2.0\",\"id\":31,\"result\":\"59\"}]");
+
+        assertEquals(response.getResponses().size(), 1);
+        assertEquals(response.getResponses().get(0).getId(), 31);
+    }
+
+    @Test
+    public void testNonArrayResponseIsRejected() {
+        List<Request<?, ? extends Response<?>>> requests =
+                Collections.singletonList(request("net_version", NetVersion.class, 40));
+
+        assertThrows(
+                IOException.class,
+                () ->
+                        decoder.decode(
+                                requests,
+                                "{\"jsonrpc\":\"2.0\",\"id\":null,"
+                                        + "\"error\":{\"code\":-32700,\"message\":\"Parse error\"}}"));
+    }
+
+    private static <T extends Response<?>> Request<?, T> request(
+            String method, Class<T> responseType, long id) {
+        Request<?, T> request =
+                new Request<>(method, Collections.<String>emptyList(), null, responseType);
+        request.setId(id);
+        return request;
+    }
+}
@@ -0,0 +1,215 @@
+package org.web3j.protocol.batch;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AutoBatchingServiceTest {
+
+    private Web3jService web3jService;
+    private ScheduledExecutorService executorService;
+    private AutoBatchingService autoBatchingService;
+
+    @BeforeEach
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        executorService = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class))
+                .when(executorService)
+                .schedule(any(Runnable.class), any(long.class), any(TimeUnit.class));
+        autoBatchingService =
+                new AutoBatchingService(
+                        web3jService, 3, 10, TimeUnit.MILLISECONDS, executorService);
+    }
+
+    @Test
+    public void testRequestIsSentImmediatelyWhenIdle() throws Exception {
+        EthBlockNumber response = response(new EthBlockNumber(), 0);
+        Request<?, EthBlockNumber> request = request();
+        when(web3jService.sendAsync(request, EthBlockNumber.class))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        assertSame(autoBatchingService.send(request, EthBlockNumber.class), response);
+        verify(web3jService, never()).sendBatchAsync(any());
+        verify(executorService, never()).schedule(any(Runnable.class), any(long.class), any());
+    }
+
+    @Test
+    public void testRequestsAreCoalescedWhileBatchInFlight() throws Exception {
+        CompletableFuture<EthBlockNumber> inFlight = new CompletableFuture<>();
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(inFlight);
+        CompletableFuture<BatchResponse> batchResult = new CompletableFuture<>();
+        when(web3jService.sendBatchAsync(any(BatchRequest.class))).thenReturn(batchResult);
+
+        Request<?, EthBlockNumber> first = request();
+        CompletableFuture<EthBlockNumber> firstResult =
+                autoBatchingService.sendAsync(first, EthBlockNumber.class);
+
+        Request<?, EthBlockNumber> second = request();
+        Request<?, EthBlockNumber> third = request();
+        CompletableFuture<EthBlockNumber> secondResult =
+                autoBatchingService.sendAsync(second, EthBlockNumber.class);
+        CompletableFuture<EthBlockNumber> thirdResult =
+                autoBatchingService.sendAsync(third, EthBlockNumber.class);
+        verify(web3jService, never()).sendBatchAsync(any());
+        verify(executorService, times(1))
+                .schedule(any(Runnable.class), eq(TimeUnit.MILLISECONDS.toNanos(10)), any());
+
+        inFlight.complete(response(new EthBlockNumber(), first.getId()));
+        assertTrue(firstResult.isDone());
+
+        ArgumentCaptor<BatchRequest> captor = ArgumentCaptor.forClass(BatchRequest.class);
+        verify(web3jService).sendBatchAsync(captor.capture());
+        assertEquals(captor.getValue().getRequests(), Arrays.asList(second, third));
+
+        // Responses arrive in reverse order, one of them with an error
+        EthBlockNumber secondResponse = response(new EthBlockNumber(), second.getId());
+        EthBlockNumber thirdResponse = response(new EthBlockNumber(), third.getId());
+        thirdResponse.setError(new Response.Error(-32000, "failed"));
+        batchResult.complete(
+                new BatchResponse(
+                        captor.getValue().getRequests(),
+                        Arrays.asList(thirdResponse, secondResponse)));
+
+        assertSame(secondResult.get(), secondResponse);
+        assertSame(thirdResult.get(), thirdResponse);
+        assertTrue(thirdResult.get().hasError());
+    }
+
+    @Test
+    public void testFullBatchIsFlushedImmediately() {
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(new CompletableFuture<>());
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenReturn(new CompletableFuture<>());
+
+        autoBatchingService.sendAsync(request(), EthBlockNumber.class);
+        for (int i = 0; i < 3; i++) {
+            autoBatchingService.sendAsync(request(), EthBlockNumber.class);
+        }
+
+        ArgumentCaptor<BatchRequest> captor = ArgumentCaptor.forClass(BatchRequest.class);
+        verify(web3jService).sendBatchAsync(captor.capture());
+        assertEquals(captor.getValue().getRequests().size(), 3);
+    }
+
+    @Test
+    public void testBatchFailureIsPassedToEveryCaller() throws Exception {
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(new CompletableFuture<>());
+        CompletableFuture<BatchResponse> batchResult = new CompletableFuture<>();
+        when(web3jService.sendBatchAsync(any(BatchRequest.class))).thenReturn(batchResult);
+
+        autoBatchingService.sendAsync(request(), EthBlockNumber.class);
+        CompletableFuture<EthBlockNumber> first =
+                autoBatchingService.sendAsync(request(), EthBlockNumber.class);
+        CompletableFuture<EthBlockNumber> second =
+                autoBatchingService.sendAsync(request(), EthBlockNumber.class);
+        autoBatchingService.flush();
+
+        IOException error = new IOException("connection reset");
+        batchResult.completeExceptionally(error);
+
+        for (CompletableFuture<EthBlockNumber> result : Arrays.asList(first, second)) {
+            ExecutionException e = assertThrows(ExecutionException.class, result::get);
+            assertSame(e.getCause(), error);
+        }
+    }
+
+    @Test
+    public void testMissingResponseFailsOnlyItsCaller() throws Exception {
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(new CompletableFuture<>());
+        CompletableFuture<BatchResponse> batchResult = new CompletableFuture<>();
+        when(web3jService.sendBatchAsync(any(BatchRequest.class))).thenReturn(batchResult);
+
+        autoBatchingService.sendAsync(request(), EthBlockNumber.class);
+        Request<?, EthBlockNumber> answered = request();
+        CompletableFuture<EthBlockNumber> answeredResult =
+                autoBatchingService.sendAsync(answered, EthBlockNumber.class);
+        CompletableFuture<EthBlockNumber> unansweredResult =
+                autoBatchingService.sendAsync(request(), EthBlockNumber.class);
+        autoBatchingService.flush();
+
+        List<EthBlockNumber> responses =
+                Collections.singletonList(response(new EthBlockNumber(), answered.getId()));
+        batchResult.complete(new BatchResponse(Collections.emptyList(), responses));
+
+        assertFalse(answeredResult.isCompletedExceptionally());
+        ExecutionException e = assertThrows(ExecutionException.class, unansweredResult::get);
+        assertTrue(e.getCause() instanceof IOException);
+    }
+
+    @Test
+    public void testRequestsSharingAnIdAreSentSeparately() throws Exception {
+        CompletableFuture<EthBlockNumber> inFlight = new CompletableFuture<>();
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(inFlight)
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgument(0);
+                            return CompletableFuture.completedFuture(
+                                    response(new EthBlockNumber(), request.getId()));
+                        });
+
+        autoBatchingService.sendAsync(request(), EthBlockNumber.class);
+        Request<?, EthBlockNumber> duplicated = request();
+        CompletableFuture<EthBlockNumber> first =
+                autoBatchingService.sendAsync(duplicated, EthBlockNumber.class);
+        CompletableFuture<EthBlockNumber> second =
+                autoBatchingService.sendAsync(duplicated, EthBlockNumber.class);
+        autoBatchingService.flush();
+
+        inFlight.complete(response(new EthBlockNumber(), 0));
+
+        assertEquals(first.get().getId(), duplicated.getId());
+        assertEquals(second.get().getId(), duplicated.getId());
+        verify(web3jService, times(3)).sendAsync(any(Request.class), eq(EthBlockNumber.class));
+        verify(web3jService, never()).sendBatchAsync(any(BatchRequest.class));
+    }
+
+    private Request<?, EthBlockNumber> request() {
+        return new Request<>(
+                "eth_blockNumber",
+                Collections.<String>emptyList(),
+                autoBatchingService,
+                EthBlockNumber.class);
+    }
+
+    private static <T extends Response<?>> T response(T response, long id) {
+        response.setId(id);
+        return response;
+    }
+}
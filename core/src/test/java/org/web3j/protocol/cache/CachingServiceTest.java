@@ -0,0 +1,207 @@
+package org.web3j.protocol.cache;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.DefaultBlockParameter;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetCode;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.EthTransaction;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingServiceTest {
+
+    private static final String HASH =
+            "0xb903239f8543d04b5dc1ba6579132b143087c68db1b2168786408fcbce568238";
+
+    private Web3jService web3jService;
+    private CachingService cachingService;
+    private Web3j web3j;
+
+    @BeforeEach
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        cachingService = new CachingService(web3jService);
+        web3j = Web3j.build(cachingService, 1000, mock(ScheduledExecutorService.class));
+    }
+
+    @Test
+    public void testReceiptIsServedFromCache() throws Exception {
+        EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+        response.setResult(new TransactionReceipt());
+        when(web3jService.sendAsync(any(Request.class), eq(EthGetTransactionReceipt.class)))
+                .thenReturn(CompletableFuture.completedFuture(response));
+
+        assertSame(web3j.ethGetTransactionReceipt(HASH).send().getResult(), response.getResult());
+        assertSame(web3j.ethGetTransactionReceipt(HASH).send().getResult(), response.getResult());
+
+        verify(web3jService, times(1))
+                .sendAsync(any(Request.class), eq(EthGetTransactionReceipt.class));
+        CacheStats stats = cachingService.getStats();
+        assertEquals(stats.getHitCount(), 1);
+        assertEquals(stats.getMissCount(), 1);
+        assertEquals(stats.getSize(), 1);
+    }
+
+    @Test
+    public void testMissingAndErrorResultsAreNotCached() throws Exception {
+        EthGetTransactionReceipt pending = new EthGetTransactionReceipt();
+        EthGetTransactionReceipt error = new EthGetTransactionReceipt();
+        error.setError(new Response.Error(-32000, "failed"));
+        when(web3jService.sendAsync(any(Request.class), eq(EthGetTransactionReceipt.class)))
+                .thenReturn(CompletableFuture.completedFuture(pending))
+                .thenReturn(CompletableFuture.completedFuture(error));
+
+        web3j.ethGetTransactionReceipt(HASH).send();
+        web3j.ethGetTransactionReceipt(HASH).send();
+
+        assertEquals(cachingService.getStats().getSize(), 0);
+        assertEquals(cachingService.getStats().getLoadCount(), 2);
+    }
+
+    @Test
+    public void testOnlyMinedTransactionsAreCached() throws Exception {
+        Transaction transaction = new Transaction();
+        EthTransaction pending = new EthTransaction();
+        pending.setResult(transaction);
+        when(web3jService.sendAsync(any(Request.class), eq(EthTransaction.class)))
+                .thenReturn(CompletableFuture.completedFuture(pending));
+
+        web3j.ethGetTransactionByHash(HASH).send();
+        assertEquals(cachingService.getStats().getSize(), 0);
+
+        transaction.setBlockHash(HASH);
+        web3j.ethGetTransactionByHash(HASH).send();
+        assertEquals(cachingService.getStats().getSize(), 1);
+    }
+
+    @Test
+    public void testCodeIsCachedAtBlockNumbersOnly() throws Exception {
+        EthGetCode code = new EthGetCode();
+        code.setResult("0x60");
+        when(web3jService.sendAsync(any(Request.class), eq(EthGetCode.class)))
+                .thenReturn(CompletableFuture.completedFuture(code));
+
+        web3j.ethGetCode(HASH, DefaultBlockParameterName.LATEST).send();
+        assertEquals(cachingService.getStats().getSize(), 0);
+
+        web3j.ethGetCode(HASH, DefaultBlockParameter.valueOf(BigInteger.TEN)).send();
+        web3j.ethGetCode(HASH, DefaultBlockParameter.valueOf(BigInteger.TEN)).send();
+        assertEquals(cachingService.getStats().getSize(), 1);
+        assertEquals(cachingService.getStats().getHitCount(), 1);
+    }
+
+    @Test
+    public void testConcurrentMissesShareOneRequest() {
+        CompletableFuture<EthGetTransactionReceipt> upstream = new CompletableFuture<>();
+        when(web3jService.sendAsync(any(Request.class), eq(EthGetTransactionReceipt.class)))
+                .thenReturn(upstream);
+
+        List<Request<?, EthGetTransactionReceipt>> requests = new ArrayList<>();
+        List<CompletableFuture<EthGetTransactionReceipt>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Request<?, EthGetTransactionReceipt> request = web3j.ethGetTransactionReceipt(HASH);
+            requests.add(request);
+            results.add(request.sendAsync());
+        }
+
+        EthGetTransactionReceipt response = new EthGetTransactionReceipt();
+        response.setResult(new TransactionReceipt());
+        upstream.complete(response);
+
+        for (int i = 0; i < results.size(); i++) {
+            assertSame(results.get(i).join().getResult(), response.getResult());
+            assertEquals(requests.get(i).getId(), results.get(i).join().getId());
+        }
+        verify(web3jService, times(1))
+                .sendAsync(any(Request.class), eq(EthGetTransactionReceipt.class));
+        assertEquals(cachingService.getStats().getMissCount(), 50);
+        assertEquals(cachingService.getStats().getLoadCount(), 1);
+    }
+
+    @Test
+    public void testMinedResultsExpire() {
+        EthGetTransactionReceipt receipt = new EthGetTransactionReceipt();
+        receipt.setResult(new TransactionReceipt());
+        Transaction transaction = new Transaction();
+        transaction.setBlockHash(HASH);
+        EthTransaction mined = new EthTransaction();
+        mined.setResult(transaction);
+
+        assertEquals(
+                TimeUnit.MILLISECONDS.toNanos(CachingService.DEFAULT_MINED_TTL_MILLIS),
+                CachingService.DEFAULT_POLICIES
+                        .get("eth_getTransactionReceipt")
+                        .timeToLiveNanos(web3j.ethGetTransactionReceipt(HASH), receipt));
+        assertEquals(
+                TimeUnit.MILLISECONDS.toNanos(CachingService.DEFAULT_MINED_TTL_MILLIS),
+                CachingService.DEFAULT_POLICIES
+                        .get("eth_getTransactionByHash")
+                        .timeToLiveNanos(web3j.ethGetTransactionByHash(HASH), mined));
+    }
+
+    @Test
+    public void testUncachedMethodsArePassedThrough() {
+        Request<?, ?> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        cachingService,
+                        EthGetCode.class);
+        cachingService.sendAsync(request, EthGetCode.class);
+        cachingService.sendAsync(request, EthGetCode.class);
+
+        verify(web3jService, times(2)).sendAsync(request, EthGetCode.class);
+        assertEquals(cachingService.getStats().getMissCount(), 0);
+    }
+
+    @Test
+    public void testSegmentedLruKeepsFrequentlyReadEntries() {
+        SegmentedLruCache<Integer, String> cache = new SegmentedLruCache<>(5);
+        cache.put(0, "hot", Long.MAX_VALUE);
+        cache.get(0, 0);
+
+        for (int i = 1; i <= 10; i++) {
+            cache.put(i, "cold", Long.MAX_VALUE);
+        }
+
+        assertEquals(cache.get(0, 0), "hot");
+        assertEquals(cache.size(), 5);
+        assertEquals(cache.evictionCount(), 6);
+        assertTrue(cache.get(1, 0) == null);
+    }
+
+    @Test
+    public void testExpiredEntriesAreDropped() {
+        SegmentedLruCache<Integer, String> cache = new SegmentedLruCache<>(5);
+        cache.put(0, "value", 100);
+
+        assertEquals(cache.get(0, 99), "value");
+        assertEquals(cache.get(0, 100), null);
+        assertEquals(cache.size(), 0);
+    }
+}
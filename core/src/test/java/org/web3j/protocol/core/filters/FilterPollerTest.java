@@ -0,0 +1,236 @@
+package org.web3j.protocol.core.filters;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.EthUninstallFilter;
+import org.web3j.protocol.core.methods.response.Log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FilterPollerTest {
+
+    private final ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+
+    private Web3jService web3jService;
+    private Web3j web3j;
+    private ScheduledExecutorService executorService;
+    private ScheduledFuture<?> schedule;
+    private FilterPoller filterPoller;
+    private List<BatchRequest> batches;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        web3jService = mock(Web3jService.class);
+        executorService = mock(ScheduledExecutorService.class);
+        schedule = mock(ScheduledFuture.class);
+        doReturn(schedule)
+                .when(executorService)
+                .scheduleAtFixedRate(any(Runnable.class), anyLong(), anyLong(), any());
+        web3j = Web3j.build(web3jService, 1000, executorService);
+        filterPoller = new FilterPoller(web3j, executorService);
+        batches = new ArrayList<>();
+
+        when(web3jService.send(any(Request.class), eq(EthFilter.class)))
+                .thenReturn(response("\"0x1\"", EthFilter.class))
+                .thenReturn(response("\"0x2\"", EthFilter.class));
+        when(web3jService.send(any(Request.class), eq(EthLog.class)))
+                .thenReturn(response("[]", EthLog.class));
+    }
+
+    @Test
+    public void testPollsAllFiltersWithOneBatch() throws Exception {
+        List<Log> first = new CopyOnWriteArrayList<>();
+        List<Log> second = new CopyOnWriteArrayList<>();
+        new LogFilter(web3j, first::add, new org.web3j.protocol.core.methods.request.EthFilter())
+                .run(filterPoller, 1000);
+        new LogFilter(web3j, second::add, new org.web3j.protocol.core.methods.request.EthFilter())
+                .run(filterPoller, 1000);
+        answerBatches(request -> logsResult(request));
+
+        Runnable tick = scheduledTick();
+        tick.run();
+
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).getRequests().size());
+        assertEquals(1, first.size());
+        assertEquals("0x1", first.get(0).getData());
+        assertEquals(1, second.size());
+        assertEquals("0x2", second.get(0).getData());
+        verify(executorService, times(1))
+                .scheduleAtFixedRate(any(Runnable.class), eq(0L), eq(1000L), any());
+    }
+
+    @Test
+    public void testSplitsPollIntoBatchesOfMaxSize() throws Exception {
+        filterPoller = new FilterPoller(web3j, executorService, 2);
+        List<Log> logs = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            when(web3jService.send(any(Request.class), eq(EthFilter.class)))
+                    .thenReturn(response("\"0x" + (i + 1) + "\"", EthFilter.class));
+            new LogFilter(web3j, logs::add, new org.web3j.protocol.core.methods.request.EthFilter())
+                    .run(filterPoller, 1000);
+        }
+        answerBatches(request -> logsResult(request));
+        // The last filter is polled on its own
+        when(web3jService.send(any(Request.class), eq(EthLog.class)))
+                .thenReturn(response("[{\"data\":\"0x5\"}]", EthLog.class));
+
+        scheduledTick().run();
+
+        assertEquals(2, batches.size());
+        assertEquals(2, batches.get(0).getRequests().size());
+        assertEquals(2, batches.get(1).getRequests().size());
+        assertEquals(
+                Arrays.asList("0x1", "0x2", "0x3", "0x4", "0x5"),
+                logs.stream().map(Log::getData).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testReinstallsMissingFiltersTogether() throws Exception {
+        List<Log> first = new CopyOnWriteArrayList<>();
+        List<Log> second = new CopyOnWriteArrayList<>();
+        LogFilter firstFilter =
+                new LogFilter(
+                        web3j, first::add, new org.web3j.protocol.core.methods.request.EthFilter());
+        firstFilter.run(filterPoller, 1000);
+        new LogFilter(web3j, second::add, new org.web3j.protocol.core.methods.request.EthFilter())
+                .run(filterPoller, 1000);
+        answerBatches(
+                request -> {
+                    switch (request.getMethod()) {
+                        case "eth_getFilterChanges":
+                            return "\"error\":{\"code\":-32000,\"message\":\"filter not found\"}";
+                        case "eth_newFilter":
+                            return "\"result\":\"0x1" + request.getId() + "\"";
+                        default:
+                            return logsResult(request);
+                    }
+                });
+
+        scheduledTick().run();
+
+        assertEquals(3, batches.size());
+        assertEquals("eth_newFilter", batches.get(1).getRequests().get(0).getMethod());
+        assertEquals(2, batches.get(1).getRequests().size());
+        assertEquals("eth_getFilterLogs", batches.get(2).getRequests().get(0).getMethod());
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertEquals(firstFilter.getFilterId().toString(16), first.get(0).getData().substring(2));
+    }
+
+    @Test
+    public void testSkipsPausedFilters() throws Exception {
+        List<Log> first = new CopyOnWriteArrayList<>();
+        List<Log> second = new CopyOnWriteArrayList<>();
+        AtomicBoolean paused = new AtomicBoolean(true);
+        LogFilter firstFilter =
+                new LogFilter(
+                        web3j, first::add, new org.web3j.protocol.core.methods.request.EthFilter());
+        firstFilter.pauseWhile(paused::get);
+        firstFilter.run(filterPoller, 1000);
+        new LogFilter(web3j, second::add, new org.web3j.protocol.core.methods.request.EthFilter())
+                .run(filterPoller, 1000);
+        answerBatches(request -> logsResult(request));
+
+        Runnable tick = scheduledTick();
+        tick.run();
+
+        // Only the other filter is polled, without a batch
+        assertEquals(0, batches.size());
+        assertEquals(0, first.size());
+
+        paused.set(false);
+        tick.run();
+
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).getRequests().size());
+        assertEquals(1, first.size());
+    }
+
+    @Test
+    public void testStopsPollingWhenAllFiltersAreCancelled() throws Exception {
+        when(web3jService.send(any(Request.class), eq(EthUninstallFilter.class)))
+                .thenReturn(response("true", EthUninstallFilter.class));
+        LogFilter filter =
+                new LogFilter(
+                        web3j, log -> {}, new org.web3j.protocol.core.methods.request.EthFilter());
+        filter.run(filterPoller, 1000);
+        assertEquals(1, filterPoller.getFilterCount());
+
+        filter.cancel();
+
+        assertEquals(0, filterPoller.getFilterCount());
+        verify(schedule).cancel(false);
+    }
+
+    private Runnable scheduledTick() {
+        ArgumentCaptor<Runnable> tick = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService)
+                .scheduleAtFixedRate(tick.capture(), anyLong(), anyLong(), any(TimeUnit.class));
+        return tick.getValue();
+    }
+
+    private void answerBatches(Function<Request<?, ?>, String> answer) throws IOException {
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            batches.add(batchRequest);
+                            List<Response<?>> responses = new ArrayList<>();
+                            for (Request<?, ? extends Response<?>> request :
+                                    batchRequest.getRequests()) {
+                                responses.add(
+                                        objectMapper.readValue(
+                                                "{\"jsonrpc\":\"2.0\",\"id\":"
+                                                        + request.getId()
+                                                        + ","
+                                                        + answer.apply(request)
+                                                        + "}",
+                                                request.getResponseType()));
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+    }
+
+    // Answers with a single log carrying the filter id as data
+    private static String logsResult(Request<?, ?> request) {
+        return "\"result\":[{\"data\":\"" + request.getParams().get(0) + "\"}]";
+    }
+
+    private <T> T response(String result, Class<T> type) throws IOException {
+        return objectMapper.readValue(
+                "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":" + result + "}", type);
+    }
+}
@@ -16,15 +16,23 @@ import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Protocol;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import org.web3j.protocol.core.BatchRequest;
 import org.web3j.protocol.core.Request;
 import org.web3j.protocol.core.methods.response.EthBlockNumber;
 import org.web3j.protocol.core.methods.response.EthSubscribe;
@@ -32,6 +40,7 @@ import org.web3j.protocol.exceptions.ClientConnectionException;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -107,6 +116,138 @@ public class HttpServiceTest {
         fail("No exception");
     }
 
+    @Test
+    public void testStreamedResponseIsParsedAndClosed() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        Buffer content =
+                new Buffer().writeUtf8("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}");
+        ForwardingSource source =
+                new ForwardingSource(content) {
+                    @Override
+                    public void close() throws IOException {
+                        closed.set(true);
+                        super.close();
+                    }
+                };
+        Response response =
+                new Response.Builder()
+                        .code(200)
+                        .message("")
+                        .body(
+                                ResponseBody.create(
+                                        Okio.buffer(source), HttpService.JSON_MEDIA_TYPE, -1))
+                        .request(new okhttp3.Request.Builder().url(HttpService.DEFAULT_URL).build())
+                        .protocol(Protocol.HTTP_1_1)
+                        .build();
+
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Call call = Mockito.mock(Call.class);
+        Mockito.when(call.execute()).thenReturn(response);
+        Mockito.when(httpClient.newCall(Mockito.any())).thenReturn(call);
+
+        HttpService streamingHttpService = new HttpService(httpClient);
+        streamingHttpService.setStreamResponses(true);
+        assertTrue(streamingHttpService.isStreamResponses());
+        assertFalse(closed.get());
+
+        Request<String, EthBlockNumber> request =
+                new Request<>(
+                        "eth_blockNumber",
+                        Collections.emptyList(),
+                        streamingHttpService,
+                        EthBlockNumber.class);
+        EthBlockNumber ethBlockNumber = streamingHttpService.send(request, EthBlockNumber.class);
+
+        assertEquals(ethBlockNumber.getBlockNumber().longValue(), 1207L);
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testSendAsyncCompletesFromDispatcherCallback() throws Exception {
+        OkHttpClient httpClient =
+                mockAsyncHttpClient(
+                        buildResponse(200, "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":\"0x4b7\"}"));
+        HttpService asyncHttpService = new HttpService(httpClient);
+
+        CompletableFuture<EthBlockNumber> result =
+                asyncHttpService.sendAsync(
+                        blockNumberRequest(asyncHttpService), EthBlockNumber.class);
+
+        assertEquals(result.get().getBlockNumber().longValue(), 1207L);
+        Mockito.verify(httpClient.newCall(Mockito.any()), Mockito.never()).execute();
+    }
+
+    @Test
+    public void testSendAsyncPropagatesHttpErrors() {
+        String content = "429 too many requests";
+        HttpService asyncHttpService =
+                new HttpService(mockAsyncHttpClient(buildResponse(429, content)));
+
+        CompletableFuture<EthBlockNumber> result =
+                asyncHttpService.sendAsync(
+                        blockNumberRequest(asyncHttpService), EthBlockNumber.class);
+
+        ExecutionException e = assertThrows(ExecutionException.class, result::get);
+        assertTrue(e.getCause() instanceof ClientConnectionException);
+        assertEquals(e.getCause().getMessage(), "Invalid response received: 429; " + content);
+    }
+
+    @Test
+    public void testSendBatchAsyncWithNoRequests() throws Exception {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        HttpService asyncHttpService = new HttpService(httpClient);
+
+        assertTrue(
+                asyncHttpService
+                        .sendBatchAsync(new BatchRequest(asyncHttpService))
+                        .get()
+                        .getResponses()
+                        .isEmpty());
+        Mockito.verifyNoInteractions(httpClient);
+    }
+
+    @Test
+    public void testDefaultDispatcherLimits() {
+        OkHttpClient httpClient = HttpService.getOkHttpClientBuilder(16).build();
+        HttpService limitedHttpService = new HttpService(httpClient);
+
+        assertEquals(limitedHttpService.getDispatcher().getMaxRequests(), 16);
+        assertEquals(limitedHttpService.getDispatcher().getMaxRequestsPerHost(), 16);
+        assertEquals(
+                httpService.getDispatcher().getMaxRequestsPerHost(),
+                HttpService.DEFAULT_MAX_REQUESTS);
+    }
+
+    private static Response buildResponse(int code, String content) {
+        return new Response.Builder()
+                .code(code)
+                .message("")
+                .body(ResponseBody.create(content, HttpService.JSON_MEDIA_TYPE))
+                .request(new okhttp3.Request.Builder().url(HttpService.DEFAULT_URL).build())
+                .protocol(Protocol.HTTP_1_1)
+                .build();
+    }
+
+    private static OkHttpClient mockAsyncHttpClient(Response response) {
+        OkHttpClient httpClient = Mockito.mock(OkHttpClient.class);
+        Call call = Mockito.mock(Call.class);
+        Mockito.doAnswer(
+                        invocation -> {
+                            Callback callback = invocation.getArgument(0);
+                            callback.onResponse(call, response);
+                            return null;
+                        })
+                .when(call)
+                .enqueue(Mockito.any());
+        Mockito.when(httpClient.newCall(Mockito.any())).thenReturn(call);
+        return httpClient;
+    }
+
+    private static Request<String, EthBlockNumber> blockNumberRequest(HttpService service) {
+        return new Request<>(
+                "eth_blockNumber", Collections.emptyList(), service, EthBlockNumber.class);
+    }
+
     @Test
     public void subscriptionNotSupported() {
         Request<Object, EthSubscribe> subscribeRequest =
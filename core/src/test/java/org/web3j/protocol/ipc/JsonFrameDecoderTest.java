@@ -0,0 +1,85 @@
+package org.web3j.protocol.ipc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JsonFrameDecoderTest {
+
+    private final JsonFrameDecoder decoder = new JsonFrameDecoder(4);
+    private final List<String> frames = new ArrayList<>();
+
+    @Test
+    public void testSplitsConcatenatedFrames() throws IOException {
+        decode("{\"id\":1}\n{\"id\":2}[{\"id\":3}]  {\"id\":4}");
+
+        assertEquals(4, frames.size());
+        assertEquals("{\"id\":1}", frames.get(0));
+        assertEquals("{\"id\":2}", frames.get(1));
+        assertEquals("[{\"id\":3}]", frames.get(2));
+        assertEquals("{\"id\":4}", frames.get(3));
+    }
+
+    @Test
+    public void testIgnoresBracketsInStrings() throws IOException {
+        String frame = "{\"result\":\"}]{[\\\"\\\\\",\"nested\":{\"a\":[1,{\"b\":\"}\"}]}}";
+
+        decode(frame);
+
+        assertEquals(1, frames.size());
+        assertEquals(frame, frames.get(0));
+    }
+
+    @Test
+    public void testReassemblesFramesSplitAcrossReads() throws IOException {
+        String stream = "{\"id\":1,\"result\":\"ümlaut \\\"quoted\\\"\"}\n{\"id\":2,\"result\":[]}";
+        byte[] bytes = stream.getBytes(StandardCharsets.UTF_8);
+
+        for (byte b : bytes) {
+            decoder.decode(ByteBuffer.wrap(new byte[] {b}), this::onFrame);
+        }
+
+        assertEquals(2, frames.size());
+        assertEquals("{\"id\":1,\"result\":\"ümlaut \\\"quoted\\\"\"}", frames.get(0));
+        assertEquals("{\"id\":2,\"result\":[]}", frames.get(1));
+        assertEquals(0, decoder.pendingBytes());
+    }
+
+    @Test
+    public void testKeepsIncompleteFrame() throws IOException {
+        decode("{\"id\":1}{\"id\":");
+
+        assertEquals(1, frames.size());
+        assertEquals(6, decoder.pendingBytes());
+
+        decode("2}");
+
+        assertEquals("{\"id\":2}", frames.get(1));
+    }
+
+    @Test
+    public void testRejectsInvalidStream() {
+        assertThrows(IOException.class, () -> decode("\"id\""));
+        assertThrows(
+                IOException.class, () -> new JsonFrameDecoder().decode(bytes("}"), this::onFrame));
+    }
+
+    private void decode(String input) throws IOException {
+        decoder.decode(bytes(input), this::onFrame);
+    }
+
+    private static ByteBuffer bytes(String input) {
+        return ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void onFrame(byte[] buffer, int offset, int length) {
+        frames.add(new String(buffer, offset, length, StandardCharsets.UTF_8));
+    }
+}
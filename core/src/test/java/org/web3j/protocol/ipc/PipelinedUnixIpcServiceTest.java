@@ -0,0 +1,351 @@
+package org.web3j.protocol.ipc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.Pipe;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.reactivex.disposables.Disposable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.ObjectMapperFactory;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthSubscribe;
+import org.web3j.protocol.core.methods.response.NetVersion;
+import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+import org.web3j.protocol.websocket.events.NewHeadsNotification;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PipelinedUnixIpcServiceTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = ObjectMapperFactory.getObjectMapper();
+
+    private FakeNode node;
+    private PipelinedUnixIpcService service;
+
+    @BeforeEach
+    public void setUp() {
+        node = new FakeNode();
+        service = new PipelinedUnixIpcService(node, 1, false);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        service.close();
+    }
+
+    @Test
+    public void testPipelinesRequestsOverOneConnection() throws Exception {
+        List<JsonNode> received = new ArrayList<>();
+        node.onRequest =
+                (connection, request) -> {
+                    received.add(request);
+                    if (received.size() == 3) {
+                        // reply in reverse order, in a single write
+                        StringBuilder replies = new StringBuilder();
+                        for (int i = received.size() - 1; i >= 0; i--) {
+                            long id = received.get(i).get("id").asLong();
+                            replies.append(
+                                    "{\"jsonrpc\":\"2.0\",\"id\":"
+                                            + id
+                                            + ",\"result\":\"client-"
+                                            + id
+                                            + "\"}\n");
+                        }
+                        connection.reply(replies.toString());
+                    }
+                };
+
+        List<CompletableFuture<Web3ClientVersion>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(service.sendAsync(clientVersionRequest(), Web3ClientVersion.class));
+        }
+
+        for (CompletableFuture<Web3ClientVersion> result : results) {
+            Web3ClientVersion response = result.get(5, TimeUnit.SECONDS);
+            assertEquals("client-" + response.getId(), response.getWeb3ClientVersion());
+        }
+        assertEquals(1, node.connections.size());
+    }
+
+    @Test
+    public void testSendBatch() throws Exception {
+        node.onRequest =
+                (connection, request) -> {
+                    long first = request.get(0).get("id").asLong();
+                    long second = request.get(1).get("id").asLong();
+                    connection.reply(
+                            "[{\"jsonrpc\":\"2.0\",\"id\":"
+                                    + second
+                                    + ",\"result\":\"59\"},"
+                                    + "{\"jsonrpc\":\"2.0\",\"id\":"
+                                    + first
+                                    + ",\"result\":\"geth\"}]");
+                };
+
+        BatchResponse response =
+                new BatchRequest(service)
+                        .add(clientVersionRequest())
+                        .add(new Request<>("net_version", null, service, NetVersion.class))
+                        .send();
+
+        assertEquals(
+                "geth",
+                ((Web3ClientVersion) response.getResponses().get(0)).getWeb3ClientVersion());
+        assertEquals("59", ((NetVersion) response.getResponses().get(1)).getNetVersion());
+    }
+
+    @Test
+    public void testDeliversEventsFollowingSubscriptionReply() throws Exception {
+        List<JsonNode> received = new CopyOnWriteArrayList<>();
+        node.onRequest =
+                (connection, request) -> {
+                    received.add(request);
+                    if ("eth_subscribe".equals(request.get("method").asText())) {
+                        connection.reply(
+                                "{\"jsonrpc\":\"2.0\",\"id\":"
+                                        + request.get("id").asLong()
+                                        + ",\"result\":\"0xabc\"}"
+                                        + "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscription\","
+                                        + "\"params\":{\"subscription\":\"0xabc\","
+                                        + "\"result\":{\"number\":\"0x10\"}}}");
+                    }
+                };
+        CountDownLatch eventReceived = new CountDownLatch(1);
+        List<NewHeadsNotification> events = new CopyOnWriteArrayList<>();
+
+        Disposable disposable =
+                service.subscribe(
+                                new Request<>(
+                                        "eth_subscribe",
+                                        Arrays.asList("newHeads", Collections.emptyMap()),
+                                        service,
+                                        EthSubscribe.class),
+                                "eth_unsubscribe",
+                                NewHeadsNotification.class)
+                        .subscribe(
+                                event -> {
+                                    events.add(event);
+                                    eventReceived.countDown();
+                                });
+
+        assertTrue(eventReceived.await(5, TimeUnit.SECONDS));
+        assertEquals("0x10", events.get(0).getParams().getResult().getNumber());
+
+        disposable.dispose();
+        node.awaitRequests(2);
+        assertEquals("eth_unsubscribe", received.get(1).get("method").asText());
+        assertEquals("0xabc", received.get(1).get("params").get(0).asText());
+    }
+
+    @Test
+    public void testSkipsMalformedEventsOffReadingThread() throws Exception {
+        node.onRequest =
+                (connection, request) -> {
+                    long id = request.get("id").asLong();
+                    if ("eth_subscribe".equals(request.get("method").asText())) {
+                        connection.reply(
+                                "{\"jsonrpc\":\"2.0\",\"id\":"
+                                        + id
+                                        + ",\"result\":\"0xabc\"}"
+                                        + "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscription\","
+                                        + "\"params\":{\"subscription\":\"0xabc\","
+                                        + "\"result\":\"malformed\"}}"
+                                        + "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscription\","
+                                        + "\"params\":{\"subscription\":\"0xabc\","
+                                        + "\"result\":{\"number\":\"0x11\"}}}");
+                    } else {
+                        connection.reply(
+                                "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"result\":\"geth\"}");
+                    }
+                };
+        CountDownLatch eventReceived = new CountDownLatch(1);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        List<NewHeadsNotification> events = new CopyOnWriteArrayList<>();
+
+        Disposable disposable =
+                service.subscribe(
+                                new Request<>(
+                                        "eth_subscribe",
+                                        Arrays.asList("newHeads", Collections.emptyMap()),
+                                        service,
+                                        EthSubscribe.class),
+                                "eth_unsubscribe",
+                                NewHeadsNotification.class)
+                        .subscribe(
+                                event -> {
+                                    threads.add(Thread.currentThread().getName());
+                                    events.add(event);
+                                    eventReceived.countDown();
+                                });
+
+        assertTrue(eventReceived.await(5, TimeUnit.SECONDS));
+        assertEquals("0x11", events.get(0).getParams().getResult().getNumber());
+        assertFalse(threads.get(0).startsWith("web3j-ipc-"), threads.get(0));
+        assertEquals(
+                "geth",
+                service.send(clientVersionRequest(), Web3ClientVersion.class)
+                        .getWeb3ClientVersion());
+        assertEquals(1, node.connections.size());
+        disposable.dispose();
+    }
+
+    @Test
+    public void testFailsPendingRequestsWhenConnectionIsClosed() throws Exception {
+        node.onRequest = (connection, request) -> connection.close();
+
+        CompletableFuture<Web3ClientVersion> result =
+                service.sendAsync(clientVersionRequest(), Web3ClientVersion.class);
+
+        ExecutionException e =
+                assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IOException);
+
+        node.onRequest =
+                (connection, request) ->
+                        connection.reply(
+                                "{\"jsonrpc\":\"2.0\",\"id\":"
+                                        + request.get("id").asLong()
+                                        + ",\"result\":\"geth\"}");
+        assertEquals(
+                "geth",
+                service.send(clientVersionRequest(), Web3ClientVersion.class)
+                        .getWeb3ClientVersion());
+        assertEquals(2, node.connections.size());
+    }
+
+    private Request<?, Web3ClientVersion> clientVersionRequest() {
+        return new Request<>(
+                "web3_clientVersion", Collections.emptyList(), service, Web3ClientVersion.class);
+    }
+
+    /** Node answering requests on in-memory pipes. */
+    private static class FakeNode implements PipelinedUnixIpcService.ChannelFactory {
+
+        private final List<NodeConnection> connections = new CopyOnWriteArrayList<>();
+        private final List<JsonNode> requests = new CopyOnWriteArrayList<>();
+        private volatile BiConsumer<NodeConnection, JsonNode> onRequest = (c, r) -> {};
+
+        @Override
+        public ByteChannel open() throws IOException {
+            NodeConnection connection = new NodeConnection(this);
+            connections.add(connection);
+            connection.start();
+            return connection.clientChannel;
+        }
+
+        void awaitRequests(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (requests.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(requests.size() >= count);
+        }
+    }
+
+    private static class NodeConnection {
+
+        private final FakeNode node;
+        private final Pipe requestPipe;
+        private final Pipe replyPipe;
+        private final ByteChannel clientChannel;
+
+        NodeConnection(FakeNode node) throws IOException {
+            this.node = node;
+            this.requestPipe = Pipe.open();
+            this.replyPipe = Pipe.open();
+            this.clientChannel =
+                    new ByteChannel() {
+                        @Override
+                        public int read(ByteBuffer dst) throws IOException {
+                            return replyPipe.source().read(dst);
+                        }
+
+                        @Override
+                        public int write(ByteBuffer src) throws IOException {
+                            return requestPipe.sink().write(src);
+                        }
+
+                        @Override
+                        public boolean isOpen() {
+                            return replyPipe.source().isOpen();
+                        }
+
+                        @Override
+                        public void close() throws IOException {
+                            replyPipe.source().close();
+                            requestPipe.sink().close();
+                        }
+                    };
+        }
+
+        void start() {
+            Thread thread =
+                    new Thread(
+                            () -> {
+                                JsonFrameDecoder decoder = new JsonFrameDecoder();
+                                ByteBuffer buffer = ByteBuffer.allocate(1024);
+                                try {
+                                    while (requestPipe.source().read(buffer) >= 0) {
+                                        buffer.flip();
+                                        decoder.decode(buffer, this::onFrame);
+                                        buffer.clear();
+                                    }
+                                } catch (IOException e) {
+                                    // connection closed
+                                }
+                            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        private void onFrame(byte[] bytes, int offset, int length) throws IOException {
+            JsonNode request =
+                    OBJECT_MAPPER.readTree(
+                            new String(bytes, offset, length, StandardCharsets.UTF_8));
+            node.requests.add(request);
+            node.onRequest.accept(this, request);
+        }
+
+        void reply(String payload) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(payload.getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    replyPipe.sink().write(buffer);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        void close() {
+            try {
+                replyPipe.sink().close();
+                requestPipe.source().close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
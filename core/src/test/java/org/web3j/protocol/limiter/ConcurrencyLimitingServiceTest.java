@@ -0,0 +1,206 @@
+package org.web3j.protocol.limiter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.exceptions.ClientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConcurrencyLimitingServiceTest {
+
+    private Web3jService web3jService;
+    private ScheduledExecutorService executorService;
+    private List<Request<?, ?>> sentRequests;
+    private List<CompletableFuture<EthBlockNumber>> responses;
+
+    @BeforeEach
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        executorService = mock(ScheduledExecutorService.class);
+        doReturn(mock(ScheduledFuture.class))
+                .when(executorService)
+                .schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+        sentRequests = new ArrayList<>();
+        responses = new ArrayList<>();
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenAnswer(
+                        invocation -> {
+                            CompletableFuture<EthBlockNumber> response = new CompletableFuture<>();
+                            sentRequests.add(invocation.getArgument(0));
+                            responses.add(response);
+                            return response;
+                        });
+    }
+
+    @Test
+    public void testRequestsBeyondLimitAreQueued() throws Exception {
+        ConcurrencyLimitingService service = service(2, 2, 1);
+
+        CompletableFuture<EthBlockNumber> first =
+                service.sendAsync(request(), EthBlockNumber.class);
+        service.sendAsync(request(), EthBlockNumber.class);
+        CompletableFuture<EthBlockNumber> queued =
+                service.sendAsync(request(), EthBlockNumber.class);
+        CompletableFuture<EthBlockNumber> rejected =
+                service.sendAsync(request(), EthBlockNumber.class);
+
+        assertEquals(2, responses.size());
+        assertEquals(2, service.getInFlight());
+        assertEquals(1, service.getQueueSize());
+        ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(e.getCause() instanceof IOException);
+        assertEquals(1, service.getRejectedCount());
+
+        EthBlockNumber response = new EthBlockNumber();
+        responses.get(0).complete(response);
+
+        assertSame(response, first.get());
+        assertEquals(3, responses.size());
+        assertEquals(0, service.getQueueSize());
+        assertFalse(queued.isDone());
+    }
+
+    @Test
+    public void testLimitGrowsWhileItIsUsed() {
+        ConcurrencyLimitingService service = service(2, 10, 10);
+
+        for (int i = 0; i < 20; i++) {
+            service.sendAsync(request(), EthBlockNumber.class);
+            service.sendAsync(request(), EthBlockNumber.class);
+            completeAll();
+        }
+
+        assertTrue(service.getLimit() > 2);
+    }
+
+    @Test
+    public void testLimitShrinksWhenNodeIsOverloaded() {
+        ConcurrencyLimitingService service = service(10, 10, 10);
+
+        service.sendAsync(request(), EthBlockNumber.class);
+        responses
+                .get(0)
+                .completeExceptionally(
+                        new ClientConnectionException(
+                                "Invalid response received: 429; Too Many Requests"));
+
+        assertEquals(9, service.getLimit());
+    }
+
+    @Test
+    public void testLimitShrinksOnLimitExceededError() {
+        ConcurrencyLimitingService service = service(10, 10, 10);
+
+        CompletableFuture<EthBlockNumber> result =
+                service.sendAsync(request(), EthBlockNumber.class);
+        EthBlockNumber response = new EthBlockNumber();
+        response.setError(
+                new Response.Error(
+                        ConcurrencyLimitingService.LIMIT_EXCEEDED_ERROR_CODE,
+                        "request limit reached"));
+        responses.get(0).complete(response);
+
+        assertSame(response, result.join());
+        assertEquals(9, service.getLimit());
+    }
+
+    @Test
+    public void testHedgedRequestAnsweredFirstIsUsed() throws Exception {
+        ConcurrencyLimitingService service = service(10, 10, 10);
+        // record enough latencies for the hedge delay to be known
+        for (int i = 0; i < 40; i++) {
+            service.sendAsync(request(), EthBlockNumber.class);
+            completeAll();
+        }
+        service.enableHedging(Collections.singleton("eth_blockNumber"));
+        int sent = responses.size();
+
+        Request<?, EthBlockNumber> request = request();
+        CompletableFuture<EthBlockNumber> result = service.sendAsync(request, EthBlockNumber.class);
+        ArgumentCaptor<Runnable> hedge = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).schedule(hedge.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+        hedge.getValue().run();
+
+        assertEquals(sent + 2, responses.size());
+        assertSame(request, sentRequests.get(sent));
+        assertNotSame(request, sentRequests.get(sent + 1));
+        assertEquals(request.getMethod(), sentRequests.get(sent + 1).getMethod());
+
+        EthBlockNumber hedgeResponse = new EthBlockNumber();
+        responses.get(sent + 1).complete(hedgeResponse);
+        responses.get(sent).complete(new EthBlockNumber());
+
+        assertSame(hedgeResponse, result.get());
+        assertEquals(1, service.getHedgeCount());
+        assertEquals(1, service.getHedgeWinCount());
+        assertEquals(0, service.getInFlight());
+    }
+
+    @Test
+    public void testHedgedRequestFailsOnlyWhenAllCopiesFail() throws Exception {
+        ConcurrencyLimitingService service = service(10, 10, 10);
+        for (int i = 0; i < 40; i++) {
+            service.sendAsync(request(), EthBlockNumber.class);
+            completeAll();
+        }
+        service.enableHedging(Collections.singleton("eth_blockNumber"));
+        int sent = responses.size();
+
+        CompletableFuture<EthBlockNumber> result =
+                service.sendAsync(request(), EthBlockNumber.class);
+        ArgumentCaptor<Runnable> hedge = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).schedule(hedge.capture(), anyLong(), eq(TimeUnit.NANOSECONDS));
+        hedge.getValue().run();
+
+        responses.get(sent).completeExceptionally(new IOException("connection reset"));
+        assertFalse(result.isDone());
+
+        EthBlockNumber hedgeResponse = new EthBlockNumber();
+        responses.get(sent + 1).complete(hedgeResponse);
+        assertSame(hedgeResponse, result.get());
+    }
+
+    private ConcurrencyLimitingService service(int initialLimit, int maxLimit, int maxQueueSize) {
+        return new ConcurrencyLimitingService(
+                web3jService, initialLimit, 1, maxLimit, maxQueueSize, executorService);
+    }
+
+    private void completeAll() {
+        for (CompletableFuture<EthBlockNumber> response : new ArrayList<>(responses)) {
+            response.complete(new EthBlockNumber());
+        }
+    }
+
+    private Request<?, EthBlockNumber> request() {
+        return new Request<>(
+                "eth_blockNumber", Collections.emptyList(), web3jService, EthBlockNumber.class);
+    }
+}
@@ -0,0 +1,159 @@
+package org.web3j.protocol.loadbalancer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.core.DefaultBlockParameterName;
+import org.web3j.protocol.http.HttpService;
+import org.web3j.utils.Async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LoadBalancingServiceTest {
+
+    private static final String ADDRESS = "0x19e03255f667bdfd50a32722df860b1eeaf4d635";
+
+    private final List<Node> nodes = new ArrayList<>();
+    private ScheduledExecutorService executorService;
+    private LoadBalancingService loadBalancingService;
+    private Web3j web3j;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        executorService = Async.defaultExecutorService();
+        List<HttpService> services = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Node node = new Node();
+            nodes.add(node);
+            services.add(new HttpService(node.server.url("/").toString(), new OkHttpClient()));
+        }
+        loadBalancingService =
+                new LoadBalancingService(
+                        services,
+                        LoadBalancingService.DEFAULT_PINNED_METHODS,
+                        0,
+                        0,
+                        TimeUnit.MILLISECONDS,
+                        2,
+                        executorService);
+        web3j = Web3j.build(loadBalancingService, 1000, executorService);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        loadBalancingService.close();
+        executorService.shutdownNow();
+        for (Node node : nodes) {
+            node.server.shutdown();
+        }
+    }
+
+    @Test
+    public void testPinnedMethodsStickToOneEndpoint() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            web3j.ethSendRawTransaction("0x01").send();
+            web3j.ethGetTransactionCount(ADDRESS, DefaultBlockParameterName.PENDING).send();
+        }
+
+        int used = 0;
+        for (Node node : nodes) {
+            if (node.requests.get() > 0) {
+                used++;
+                assertEquals(node.requests.get(), 20);
+            }
+        }
+        assertEquals(used, 1);
+    }
+
+    @Test
+    public void testFailingEndpointIsEjectedAndRequestsFailOver() throws IOException {
+        Node failing = nodes.get(0);
+        failing.healthy.set(false);
+
+        for (int i = 0; i < 30; i++) {
+            assertEquals(web3j.ethBlockNumber().send().getBlockNumber().longValue(), 1L);
+        }
+
+        assertFalse(loadBalancingService.getEndpoints().get(0).isAvailable());
+        assertTrue(failing.requests.get() <= 2);
+    }
+
+    @Test
+    public void testHealthCheckReinstatesEndpoint() throws Exception {
+        Node node = nodes.get(1);
+        node.healthy.set(false);
+        loadBalancingService.checkHealth();
+        waitFor(() -> !loadBalancingService.getEndpoints().get(1).isAvailable());
+
+        node.healthy.set(true);
+        loadBalancingService.checkHealth();
+        waitFor(() -> loadBalancingService.getEndpoints().get(1).isAvailable());
+    }
+
+    @Test
+    public void testSlowEndpointIsAvoided() throws IOException {
+        nodes.get(1).delayMillis = 200;
+
+        for (int i = 0; i < 20; i++) {
+            web3j.ethBlockNumber().send();
+        }
+
+        // only requests sent before its latency was observed reach the slow node
+        assertTrue(nodes.get(1).requests.get() <= 2);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting for condition");
+            Thread.sleep(10);
+        }
+    }
+
+    private static class Node extends Dispatcher {
+
+        private final MockWebServer server = new MockWebServer();
+        private final AtomicBoolean healthy = new AtomicBoolean(true);
+        private final AtomicInteger requests = new AtomicInteger();
+        private volatile long delayMillis;
+
+        Node() throws IOException {
+            server.setDispatcher(this);
+            server.start();
+        }
+
+        @Override
+        public MockResponse dispatch(RecordedRequest request) {
+            String body = request.getBody().readUtf8();
+            if (!body.contains("axm_status")) {
+                requests.incrementAndGet();
+            }
+            if (!healthy.get()) {
+                return new MockResponse().setResponseCode(503);
+            }
+
+            String result = body.contains("axm_status") ? "{\"status\":\"normal\"}" : "\"0x1\"";
+            return new MockResponse()
+                    .setHeadersDelay(delayMillis, TimeUnit.MILLISECONDS)
+                    .setBody("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":" + result + "}");
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.TempFileProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AppendOnlyFileBlockCheckpointTest extends TempFileProvider {
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        Path path = Paths.get(tempDirPath, "checkpoint");
+        try (AppendOnlyFileBlockCheckpoint checkpoint = new AppendOnlyFileBlockCheckpoint(path)) {
+            assertEquals(-1, checkpoint.load());
+
+            checkpoint.save(100);
+            checkpoint.save(12345678901L);
+            assertEquals(12345678901L, checkpoint.load());
+        }
+
+        assertEquals(12345678901L, new AppendOnlyFileBlockCheckpoint(path).load());
+        assertEquals(32, Files.size(path));
+    }
+
+    @Test
+    public void testIgnoresTornRecords() throws IOException {
+        Path path = Paths.get(tempDirPath, "checkpoint");
+        try (AppendOnlyFileBlockCheckpoint checkpoint = new AppendOnlyFileBlockCheckpoint(path)) {
+            checkpoint.save(7);
+        }
+        // A record whose check value was not written, and part of another one
+        Files.write(path, new byte[16 + 5], StandardOpenOption.APPEND);
+
+        try (AppendOnlyFileBlockCheckpoint checkpoint = new AppendOnlyFileBlockCheckpoint(path)) {
+            assertEquals(7, checkpoint.load());
+
+            checkpoint.save(8);
+            assertEquals(8, checkpoint.load());
+        }
+    }
+
+    @Test
+    public void testCompacts() throws IOException {
+        Path path = Paths.get(tempDirPath, "checkpoint");
+        try (AppendOnlyFileBlockCheckpoint checkpoint =
+                new AppendOnlyFileBlockCheckpoint(path, 3)) {
+            for (int i = 0; i < 10; i++) {
+                checkpoint.save(i);
+                assertTrue(Files.size(path) <= 3 * 16);
+            }
+            assertEquals(9, checkpoint.load());
+        }
+    }
+}
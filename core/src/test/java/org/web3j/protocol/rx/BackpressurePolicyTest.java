@@ -0,0 +1,106 @@
+package org.web3j.protocol.rx;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import io.reactivex.Flowable;
+import io.reactivex.exceptions.MissingBackpressureException;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BackpressurePolicyTest {
+
+    private final PublishProcessor<Integer> source = PublishProcessor.create();
+    private final AtomicReference<BooleanSupplier> pauseCondition = new AtomicReference<>();
+
+    @Test
+    public void testDropOldest() {
+        BackpressurePolicy policy = BackpressurePolicy.dropOldest(3);
+        TestSubscriber<Integer> subscriber = apply(policy).test(0);
+
+        emit(1, 2, 3, 4, 5);
+
+        assertEquals(3, policy.getQueueDepth());
+        assertEquals(2, policy.getDroppedCount());
+
+        subscriber.request(5);
+        subscriber.assertValues(3, 4, 5);
+        assertEquals(0, policy.getQueueDepth());
+    }
+
+    @Test
+    public void testDropLatest() {
+        BackpressurePolicy policy = BackpressurePolicy.dropLatest(3);
+        TestSubscriber<Integer> subscriber = apply(policy).test(0);
+
+        emit(1, 2, 3, 4, 5);
+
+        subscriber.request(5);
+        subscriber.assertValues(1, 2, 5);
+        assertEquals(2, policy.getDroppedCount());
+    }
+
+    @Test
+    public void testError() {
+        BackpressurePolicy policy = BackpressurePolicy.error(2);
+        TestSubscriber<Integer> subscriber = apply(policy).test(0);
+
+        emit(1, 2, 3);
+
+        subscriber.assertError(MissingBackpressureException.class);
+        assertFalse(source.hasSubscribers());
+        assertEquals(0, policy.getQueueDepth());
+    }
+
+    @Test
+    public void testPausePolling() {
+        BackpressurePolicy policy = BackpressurePolicy.pausePolling(4);
+        TestSubscriber<Integer> subscriber = apply(policy).test(0);
+
+        emit(1, 2, 3);
+        assertFalse(pauseCondition.get().getAsBoolean());
+        // Items of a poll are not dropped once the buffer is full
+        emit(4, 5, 6);
+        assertTrue(pauseCondition.get().getAsBoolean());
+        assertEquals(6, policy.getQueueDepth());
+
+        subscriber.request(3);
+        assertTrue(pauseCondition.get().getAsBoolean());
+        subscriber.request(1);
+        assertFalse(pauseCondition.get().getAsBoolean());
+
+        subscriber.request(2);
+        subscriber.assertValues(1, 2, 3, 4, 5, 6);
+        assertEquals(0, policy.getDroppedCount());
+    }
+
+    @Test
+    public void testQueueDepthOfCancelledSubscription() {
+        BackpressurePolicy policy = BackpressurePolicy.unbounded();
+        TestSubscriber<Integer> subscriber = apply(policy).test(0);
+
+        emit(1, 2, 3);
+        assertEquals(3, policy.getQueueDepth());
+
+        subscriber.cancel();
+        assertEquals(0, policy.getQueueDepth());
+    }
+
+    private Flowable<Integer> apply(BackpressurePolicy policy) {
+        return policy.apply(
+                condition -> {
+                    pauseCondition.set(condition);
+                    return source;
+                });
+    }
+
+    private void emit(Integer... values) {
+        Arrays.stream(values).forEach(source::onNext);
+    }
+}
@@ -0,0 +1,186 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BatchBlockReplayerTest {
+
+    private Web3jService web3jService;
+    private Web3j web3j;
+
+    private final List<BatchRequest> batches = new ArrayList<>();
+    private final List<CompletableFuture<BatchResponse>> pending = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+    }
+
+    @Test
+    public void testEmitsBlocksInOrderWhenBatchesCompleteOutOfOrder() {
+        deferBatches();
+        BatchBlockReplayer replayer = new BatchBlockReplayer(web3j, 2, 2, 3, 60_000, 1_000);
+
+        TestSubscriber<EthBlock> subscriber = replayer.replay(0, 9, false, true).test();
+
+        assertEquals(3, pending.size());
+        complete(2);
+        complete(1);
+        subscriber.assertNoValues();
+
+        complete(0);
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L), blockNumbers(subscriber));
+
+        assertEquals(5, pending.size());
+        complete(4);
+        complete(3);
+        subscriber.assertComplete();
+        assertEquals(range(0, 9), blockNumbers(subscriber));
+    }
+
+    @Test
+    public void testEmitsBlocksInDescendingOrder() {
+        answerBatches();
+        BatchBlockReplayer replayer = new BatchBlockReplayer(web3j, 3, 3, 2, 60_000, 1_000);
+
+        TestSubscriber<EthBlock> subscriber = replayer.replay(5, 12, false, false).test();
+
+        subscriber.assertComplete();
+        List<Long> expected = range(5, 12);
+        expected.sort((a, b) -> Long.compare(b, a));
+        assertEquals(expected, blockNumbers(subscriber));
+        assertEquals(Arrays.asList(3, 3, 2), batchSizes());
+    }
+
+    @Test
+    public void testGrowsWindowOnFastSmallBatches() {
+        answerBatches();
+        BatchBlockReplayer replayer = new BatchBlockReplayer(web3j, 2, 8, 1, 60_000, 1_000);
+
+        TestSubscriber<EthBlock> subscriber = replayer.replay(0, 29, false, true).test();
+
+        subscriber.assertComplete();
+        assertEquals(range(0, 29), blockNumbers(subscriber));
+        assertEquals(Arrays.asList(2, 4, 7, 8, 8, 1), batchSizes());
+    }
+
+    @Test
+    public void testShrinksWindowOnLargePayloads() {
+        answerBatches();
+        BatchBlockReplayer replayer = new BatchBlockReplayer(web3j, 8, 8, 1, 60_000, 3);
+
+        TestSubscriber<EthBlock> subscriber = replayer.replay(0, 19, false, true).test();
+
+        subscriber.assertComplete();
+        assertEquals(range(0, 19), blockNumbers(subscriber));
+        assertEquals(Arrays.asList(8, 4, 2, 2, 2, 2), batchSizes());
+    }
+
+    @Test
+    public void testFailsOnErrorResponse() {
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<EthBlock> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                EthBlock ethBlock = new EthBlock();
+                                ethBlock.setId(request.getId());
+                                ethBlock.setError(new Response.Error(-32000, "header not found"));
+                                responses.add(ethBlock);
+                            }
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(batchRequest.getRequests(), responses));
+                        });
+        BatchBlockReplayer replayer = new BatchBlockReplayer(web3j);
+
+        replayer.replay(0, 9, false, true)
+                .test()
+                .assertError(
+                        e ->
+                                e instanceof IOException
+                                        && e.getMessage()
+                                                .equals(
+                                                        "Failed to fetch block 0: header not found"));
+    }
+
+    private void answerBatches() {
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            batches.add(batchRequest);
+                            return CompletableFuture.completedFuture(respond(batchRequest));
+                        });
+    }
+
+    private void deferBatches() {
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            batches.add(invocation.getArgument(0));
+                            CompletableFuture<BatchResponse> future = new CompletableFuture<>();
+                            pending.add(future);
+                            return future;
+                        });
+    }
+
+    private void complete(int batch) {
+        pending.get(batch).complete(respond(batches.get(batch)));
+    }
+
+    private static BatchResponse respond(BatchRequest batchRequest) {
+        // reply in reverse order, responses are matched by id
+        List<EthBlock> responses = new ArrayList<>();
+        for (Request<?, ?> request : batchRequest.getRequests()) {
+            EthBlock.Block block = new EthBlock.Block();
+            block.setNumber((String) request.getParams().get(0));
+            EthBlock ethBlock = new EthBlock();
+            ethBlock.setId(request.getId());
+            ethBlock.setResult(block);
+            responses.add(0, ethBlock);
+        }
+        return new BatchResponse(batchRequest.getRequests(), responses);
+    }
+
+    private List<Integer> batchSizes() {
+        return batches.stream()
+                .map(batch -> batch.getRequests().size())
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> blockNumbers(TestSubscriber<EthBlock> subscriber) {
+        return subscriber.values().stream()
+                .map(ethBlock -> ethBlock.getBlock().getNumber())
+                .map(BigInteger::longValueExact)
+                .collect(Collectors.toList());
+    }
+
+    private static List<Long> range(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,162 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGetBlockReceipts;
+import org.web3j.protocol.core.methods.response.Transaction;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BlockHydratorTest {
+
+    private Web3j web3j;
+    private Web3jService web3jService;
+
+    private final AtomicInteger batchCount = new AtomicInteger();
+    // Whether the receipts returned belong to another block
+    private volatile boolean reorganised;
+
+    @BeforeEach
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+
+        // Block n has n transactions
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            batchCount.incrementAndGet();
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            Request<?, ?> blockRequest = batchRequest.getRequests().get(0);
+                            Request<?, ?> receiptsRequest = batchRequest.getRequests().get(1);
+                            String blockHash = (String) blockRequest.getParams().get(0);
+                            long number =
+                                    Numeric.decodeQuantity(
+                                                    (String) receiptsRequest.getParams().get(0))
+                                            .longValueExact();
+
+                            List<EthBlock.TransactionResult> transactions = new ArrayList<>();
+                            List<TransactionReceipt> receipts = new ArrayList<>();
+                            for (int i = 0; i < number; i++) {
+                                EthBlock.TransactionObject transaction =
+                                        new EthBlock.TransactionObject();
+                                transaction.setHash(number + "-" + i);
+                                transactions.add(transaction);
+                                TransactionReceipt receipt = new TransactionReceipt();
+                                receipt.setTransactionHash(number + "-" + i);
+                                receipt.setBlockHash(reorganised ? hash(-1) : blockHash);
+                                receipts.add(receipt);
+                            }
+                            EthBlock.Block block = new EthBlock.Block();
+                            block.setHash(blockHash);
+                            block.setTransactions(transactions);
+
+                            EthBlock ethBlock = new EthBlock();
+                            ethBlock.setId(blockRequest.getId());
+                            ethBlock.setResult(block);
+                            EthGetBlockReceipts ethGetBlockReceipts = new EthGetBlockReceipts();
+                            ethGetBlockReceipts.setId(receiptsRequest.getId());
+                            ethGetBlockReceipts.setResult(receipts);
+                            List<Response<?>> responses =
+                                    Arrays.asList(ethBlock, ethGetBlockReceipts);
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(batchRequest.getRequests(), responses));
+                        });
+    }
+
+    @Test
+    public void testSharesBodyOfBlock() {
+        BlockHydrator hydrator = new BlockHydrator(web3j, 2);
+        BlockHeader header = new BlockHeader(header(3), hydrator);
+
+        BlockBody body = header.body().blockingGet();
+        List<Transaction> transactions = header.transactions().blockingGet();
+        List<TransactionReceipt> receipts = header.receipts().blockingGet();
+
+        assertEquals(1, batchCount.get());
+        assertEquals(3, transactions.size());
+        assertEquals(transactions, body.getTransactions());
+        assertEquals(receipts, body.getReceipts());
+        assertEquals("3-1", body.getReceipt("3-1").getTransactionHash());
+        assertNull(body.getReceipt("4-1"));
+        assertEquals(2, hydrator.getHitCount());
+        assertEquals(1, hydrator.getMissCount());
+    }
+
+    @Test
+    public void testFetchesOnSubscription() {
+        BlockHydrator hydrator = new BlockHydrator(web3j);
+
+        hydrator.hydrate(header(1));
+        assertEquals(0, batchCount.get());
+
+        hydrator.hydrate(header(1)).blockingGet();
+        assertEquals(1, batchCount.get());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedBody() {
+        BlockHydrator hydrator = new BlockHydrator(web3j, 2);
+
+        hydrator.hydrate(header(1)).blockingGet();
+        hydrator.hydrate(header(2)).blockingGet();
+        hydrator.hydrate(header(1)).blockingGet();
+        hydrator.hydrate(header(3)).blockingGet();
+        assertEquals(3, batchCount.get());
+
+        hydrator.hydrate(header(1)).blockingGet();
+        assertEquals(3, batchCount.get());
+        hydrator.hydrate(header(2)).blockingGet();
+        assertEquals(4, batchCount.get());
+    }
+
+    @Test
+    public void testDoesNotKeepFailedBody() {
+        BlockHydrator hydrator = new BlockHydrator(web3j);
+        reorganised = true;
+
+        hydrator.hydrate(header(2)).test().assertError(IOException.class);
+
+        reorganised = false;
+        assertEquals(2, hydrator.hydrate(header(2)).blockingGet().getReceipts().size());
+        assertEquals(2, batchCount.get());
+    }
+
+    private static EthBlock.Block header(long number) {
+        List<EthBlock.TransactionResult> transactionHashes = new ArrayList<>();
+        for (int i = 0; i < number; i++) {
+            transactionHashes.add(new EthBlock.TransactionHash(number + "-" + i));
+        }
+        EthBlock.Block block = new EthBlock.Block();
+        block.setNumber(Numeric.encodeQuantity(BigInteger.valueOf(number)));
+        block.setHash(hash(number));
+        block.setTransactions(transactionHashes);
+        return block;
+    }
+
+    private static String hash(long number) {
+        return String.format("0x%064x", number & 0xffffffffL);
+    }
+}
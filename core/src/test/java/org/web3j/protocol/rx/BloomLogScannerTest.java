@@ -0,0 +1,164 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Bloom;
+import org.web3j.utils.BloomBitsIndex;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BloomLogScannerTest {
+
+    private static final String ADDRESS = "0xc02aaa39b223fe8d0a0e5c4f27ead9083c756cc2";
+    private static final String TRANSFER =
+            "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+
+    // Blocks whose bloom contains the address and topic
+    private static final List<Long> MATCHING_BLOCKS = Arrays.asList(3L, 70L, 100L);
+
+    private Web3j web3j;
+    private Web3jService web3jService;
+
+    private final List<Long> fetchedHeaders = Collections.synchronizedList(new ArrayList<>());
+    private final List<Long> fetchedLogs = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<EthBlock> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                long number =
+                                        Numeric.decodeQuantity((String) request.getParams().get(0))
+                                                .longValueExact();
+                                assertFalse((Boolean) request.getParams().get(1));
+                                fetchedHeaders.add(number);
+                                responses.add(createHeader(request.getId(), number));
+                            }
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(batchRequest.getRequests(), responses));
+                        });
+        when(web3jService.sendAsync(any(Request.class), eq(EthLog.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgument(0);
+                            EthFilter ethFilter = (EthFilter) request.getParams().get(0);
+                            BigInteger number =
+                                    ((DefaultBlockParameterNumber) ethFilter.getFromBlock())
+                                            .getBlockNumber();
+                            fetchedLogs.add(number.longValueExact());
+
+                            EthLog.LogObject log = new EthLog.LogObject();
+                            log.setBlockNumber(Numeric.encodeQuantity(number));
+                            EthLog ethLog = new EthLog();
+                            ethLog.setResult(Collections.singletonList(log));
+                            return CompletableFuture.completedFuture(ethLog);
+                        });
+    }
+
+    @Test
+    public void testFetchesLogsOfMatchingBlocksOnly() {
+        BloomLogScanner scanner = new BloomLogScanner(web3j);
+
+        List<Log> logs = scanner.scan(filter(), 0, 127).toList().blockingGet();
+
+        assertEquals(MATCHING_BLOCKS, blockNumbers(logs));
+        assertEquals(MATCHING_BLOCKS, fetchedLogs);
+        assertEquals(128, fetchedHeaders.size());
+    }
+
+    @Test
+    public void testSkipsIndexedSections() throws IOException {
+        BloomBitsIndex index = new BloomBitsIndex(64);
+        BloomLogScanner scanner = new BloomLogScanner(web3j, index);
+
+        scanner.scan(filter(), 0, 127).toList().blockingGet();
+        assertTrue(index.isComplete(0));
+        assertTrue(index.isComplete(1));
+        fetchedHeaders.clear();
+        fetchedLogs.clear();
+
+        List<Log> logs = scanner.scan(filter(), 50, 140).toList().blockingGet();
+
+        assertEquals(Arrays.asList(70L, 100L), blockNumbers(logs));
+        assertEquals(Arrays.asList(70L, 100L), fetchedLogs);
+        // only the section that has not been indexed yet is fetched
+        assertEquals(13, fetchedHeaders.size());
+    }
+
+    @Test
+    public void testBloomQueryOfFilter() {
+        EthFilter ethFilter = filter();
+        ethFilter.addNullTopic();
+        ethFilter.addOptionalTopics(TRANSFER, null);
+
+        Bloom bloom = new Bloom();
+        bloom.add(ADDRESS);
+        bloom.add(TRANSFER);
+
+        assertTrue(BloomLogScanner.toBloomQuery(ethFilter).test(bloom.getBytes()));
+        assertFalse(BloomLogScanner.toBloomQuery(ethFilter).test(new Bloom().getBytes()));
+    }
+
+    private static EthFilter filter() {
+        EthFilter ethFilter = new EthFilter(null, null, ADDRESS);
+        ethFilter.addSingleTopic(TRANSFER);
+        return ethFilter;
+    }
+
+    private static EthBlock createHeader(long id, long number) {
+        Bloom bloom = new Bloom();
+        if (MATCHING_BLOCKS.contains(number)) {
+            bloom.add(ADDRESS);
+            bloom.add(TRANSFER);
+        } else {
+            bloom.add(Numeric.toHexStringWithPrefixZeroPadded(BigInteger.valueOf(number), 40));
+        }
+
+        EthBlock.Block block = new EthBlock.Block();
+        block.setNumber(Numeric.encodeQuantity(BigInteger.valueOf(number)));
+        block.setLogsBloom(bloom.getBytesHexString());
+        EthBlock ethBlock = new EthBlock();
+        ethBlock.setId(id);
+        ethBlock.setResult(block);
+        return ethBlock;
+    }
+
+    private static List<Long> blockNumbers(List<Log> logs) {
+        return logs.stream()
+                .map(log -> log.getBlockNumber().longValueExact())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,207 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthBlockNumber;
+import org.web3j.protocol.core.methods.response.EthGetBlockReceipts;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChainIndexerTest {
+
+    private static final long HEAD = 11;
+
+    private Web3j web3j;
+    private Web3jService web3jService;
+
+    private final InMemoryBlockCheckpoint checkpoint = new InMemoryBlockCheckpoint();
+    private final List<String> written = Collections.synchronizedList(new ArrayList<>());
+    // Block whose receipts belong to another block, if any
+    private long reorganisedBlock = -1;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+
+        EthBlockNumber ethBlockNumber = new EthBlockNumber();
+        ethBlockNumber.setResult(Numeric.encodeQuantity(BigInteger.valueOf(HEAD)));
+        when(web3jService.sendAsync(any(Request.class), eq(EthBlockNumber.class)))
+                .thenReturn(CompletableFuture.completedFuture(ethBlockNumber));
+
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<EthBlock> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                long number =
+                                        Numeric.decodeQuantity((String) request.getParams().get(0))
+                                                .longValueExact();
+                                EthBlock.Block block = new EthBlock.Block();
+                                block.setNumber(Numeric.encodeQuantity(BigInteger.valueOf(number)));
+                                block.setHash(hash(number));
+                                EthBlock ethBlock = new EthBlock();
+                                ethBlock.setId(request.getId());
+                                ethBlock.setResult(block);
+                                responses.add(ethBlock);
+                            }
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(batchRequest.getRequests(), responses));
+                        });
+
+        // Block n has n receipts
+        when(web3jService.sendAsync(any(Request.class), eq(EthGetBlockReceipts.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgument(0);
+                            long number =
+                                    Numeric.decodeQuantity((String) request.getParams().get(0))
+                                            .longValueExact();
+                            List<TransactionReceipt> receipts = new ArrayList<>();
+                            for (int i = 0; i < number; i++) {
+                                TransactionReceipt receipt = new TransactionReceipt();
+                                receipt.setBlockHash(
+                                        number == reorganisedBlock ? hash(-1) : hash(number));
+                                receipts.add(receipt);
+                            }
+                            EthGetBlockReceipts ethGetBlockReceipts = new EthGetBlockReceipts();
+                            ethGetBlockReceipts.setResult(receipts);
+                            return CompletableFuture.completedFuture(ethGetBlockReceipts);
+                        });
+    }
+
+    @Test
+    public void testIndexesConfirmedBlocksInOrder() {
+        List<Long> committed = indexer(2).index(0, 60_000).take(10).toList().blockingGet();
+
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), committed);
+        assertEquals(
+                Arrays.asList("0:0", "1:1", "2:2", "3:3", "4:4", "5:5", "6:6", "7:7", "8:8", "9:9"),
+                written);
+        assertEquals(9, checkpoint.load());
+    }
+
+    @Test
+    public void testCommitsOffComputationThreads() {
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        ChainIndexer<Integer> indexer =
+                new ChainIndexer<>(
+                        web3j,
+                        new BatchBlockReplayer(web3j),
+                        checkpoint,
+                        (block, receipts) -> receipts.size(),
+                        (blockNumber, value) -> threads.add(Thread.currentThread().getName()),
+                        false,
+                        true,
+                        2,
+                        2,
+                        0);
+
+        indexer.index(0, 60_000).take(5).blockingSubscribe();
+
+        assertEquals(5, threads.size());
+        for (String thread : threads) {
+            assertFalse(thread.startsWith("RxComputationThreadPool"), thread);
+        }
+    }
+
+    @Test
+    public void testResumesAfterCheckpoint() {
+        checkpoint.save(6);
+
+        List<Long> committed = indexer(0).index(0, 60_000).take(5).toList().blockingGet();
+
+        assertEquals(Arrays.asList(7L, 8L, 9L, 10L, 11L), committed);
+        assertEquals("7:7", written.get(0));
+        assertEquals(11, checkpoint.load());
+    }
+
+    @Test
+    public void testSinkFailureStopsBeforeCommit() {
+        ChainIndexer<Integer> indexer =
+                new ChainIndexer<>(
+                        web3j,
+                        new BatchBlockReplayer(web3j),
+                        checkpoint,
+                        (block, receipts) -> receipts.size(),
+                        (blockNumber, value) -> {
+                            if (blockNumber == 3) {
+                                throw new IOException("Sink unavailable");
+                            }
+                        },
+                        false,
+                        true,
+                        2,
+                        2,
+                        0);
+
+        indexer.index(0, 60_000)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(IOException.class);
+        assertEquals(2, checkpoint.load());
+    }
+
+    @Test
+    public void testFailsOnReceiptsOfOtherBlock() {
+        reorganisedBlock = 4;
+
+        indexer(0)
+                .index(0, 60_000)
+                .test()
+                .awaitDone(5, TimeUnit.SECONDS)
+                .assertError(IOException.class);
+        // Blocks still in flight are not committed, but none after the failing one
+        assertTrue(checkpoint.load() < 4);
+        assertEquals(checkpoint.load() + 1, written.size());
+    }
+
+    private ChainIndexer<Integer> indexer(int confirmations) {
+        return new ChainIndexer<>(
+                web3j,
+                new BatchBlockReplayer(web3j, 3, 3, 2, 1000, 10_000),
+                checkpoint,
+                (block, receipts) -> {
+                    // Blocks decoded later than their successors are still committed in order
+                    if (block.getNumber().longValueExact() % 3 == 0) {
+                        Thread.sleep(20);
+                    }
+                    return receipts.size();
+                },
+                (blockNumber, value) -> written.add(blockNumber + ":" + value),
+                false,
+                true,
+                3,
+                4,
+                confirmations);
+    }
+
+    private static String hash(long number) {
+        return String.format("0x%064x", number & 0xffffffffL);
+    }
+}
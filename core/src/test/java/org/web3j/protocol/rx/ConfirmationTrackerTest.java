@@ -0,0 +1,147 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConfirmationTrackerTest {
+
+    // Blocks by hash, the value of a block is its name
+    private final Map<String, ConfirmationTracker.Block<String>> chain = new HashMap<>();
+    private final List<String> fetched = new ArrayList<>();
+
+    private final ConfirmationTracker.Fetcher<String> fetcher =
+            blockHash -> {
+                ConfirmationTracker.Block<String> block = chain.get(blockHash);
+                if (block == null) {
+                    throw new IOException("Block not found");
+                }
+                fetched.add(blockHash);
+                return block;
+            };
+
+    @Test
+    public void testReleasesBlocksAtDepth() throws IOException {
+        ConfirmationTracker<String> tracker = new ConfirmationTracker<>(2, 4, fetcher);
+
+        assertTrue(tracker.onHead(block(10, "10", "9")).isEmpty());
+        assertTrue(tracker.onHead(block(11, "11", "10")).isEmpty());
+        assertEquals(Arrays.asList("+10"), names(tracker.onHead(block(12, "12", "11"))));
+        assertEquals(Arrays.asList("+11"), names(tracker.onHead(block(13, "13", "12"))));
+    }
+
+    @Test
+    public void testIgnoresKnownHead() throws IOException {
+        ConfirmationTracker<String> tracker = new ConfirmationTracker<>(0, 4, fetcher);
+
+        assertEquals(Arrays.asList("+10"), names(tracker.onHead(block(10, "10", "9"))));
+        assertEquals(Arrays.asList("+11"), names(tracker.onHead(block(11, "11", "10"))));
+        assertTrue(tracker.onHead(block(11, "11", "10")).isEmpty());
+        assertTrue(tracker.onHead(block(10, "10", "9")).isEmpty());
+        assertTrue(fetched.isEmpty());
+    }
+
+    @Test
+    public void testFetchesMissingBlocks() throws IOException {
+        ConfirmationTracker<String> tracker = new ConfirmationTracker<>(0, 4, fetcher);
+        block(11, "11", "10");
+        block(12, "12", "11");
+
+        tracker.onHead(block(10, "10", "9"));
+
+        assertEquals(
+                Arrays.asList("+11", "+12", "+13"), names(tracker.onHead(block(13, "13", "12"))));
+        assertEquals(Arrays.asList(hash("12"), hash("11")), fetched);
+    }
+
+    @Test
+    public void testRevertsOrphanedBlocks() throws IOException {
+        ConfirmationTracker<String> tracker = new ConfirmationTracker<>(1, 4, fetcher);
+        tracker.onHead(block(10, "10", "9"));
+        tracker.onHead(block(11, "11a", "10"));
+        tracker.onHead(block(12, "12a", "11a"));
+        assertEquals(Arrays.asList("+12a"), names(tracker.onHead(block(13, "13a", "12a"))));
+
+        block(12, "12b", "11a");
+        block(13, "13b", "12b");
+
+        // 13a had not been released yet, so only 12a is reverted
+        assertEquals(
+                Arrays.asList("-12a", "+12b", "+13b"),
+                names(tracker.onHead(block(14, "14b", "13b"))));
+    }
+
+    @Test
+    public void testSwitchesToShorterBranch() throws IOException {
+        ConfirmationTracker<String> tracker = new ConfirmationTracker<>(0, 4, fetcher);
+        tracker.onHead(block(10, "10", "9"));
+        tracker.onHead(block(11, "11a", "10"));
+        tracker.onHead(block(12, "12a", "11a"));
+
+        assertEquals(
+                Arrays.asList("-12a", "-11a", "+11b"),
+                names(tracker.onHead(block(11, "11b", "10"))));
+    }
+
+    @Test
+    public void testFailsOnReorganisationDeeperThanHistory() throws IOException {
+        ConfirmationTracker<String> tracker = new ConfirmationTracker<>(0, 2, fetcher);
+        tracker.onHead(block(10, "10", "9"));
+        for (int i = 11; i <= 15; i++) {
+            tracker.onHead(block(i, i + "a", (i == 11 ? "10" : (i - 1) + "a")));
+        }
+        block(12, "12b", "11a");
+        block(13, "13b", "12b");
+        block(14, "14b", "13b");
+        block(15, "15b", "14b");
+
+        assertThrows(IOException.class, () -> tracker.onHead(block(16, "16b", "15b")));
+    }
+
+    @Test
+    public void testMemoryIsBounded() throws IOException {
+        HeaderRing<String> ring = new HeaderRing<>(4);
+        for (int i = 0; i < 100; i++) {
+            ring.push(i, hashBytes(Integer.toString(i)), hashBytes(Integer.toString(i - 1)), "");
+        }
+
+        assertEquals(4, ring.size());
+        assertEquals(96, ring.oldestNumber());
+        assertEquals(99, ring.tipNumber());
+        assertTrue(ring.hashEquals(97, hashBytes("97")));
+    }
+
+    private ConfirmationTracker.Block<String> block(long number, String name, String parent) {
+        ConfirmationTracker.Block<String> block =
+                new ConfirmationTracker.Block<>(number, hash(name), hash(parent), name);
+        chain.put(hash(name), block);
+        return block;
+    }
+
+    private static String hash(String name) {
+        return String.format("0x%064x", name.hashCode() & 0xffffffffL);
+    }
+
+    private static byte[] hashBytes(String name) {
+        return Numeric.hexStringToByteArray(hash(name));
+    }
+
+    private static List<String> names(List<ChainEvent<String>> events) {
+        List<String> names = new ArrayList<>();
+        for (ChainEvent<String> event : events) {
+            names.add((event.isReverted() ? "-" : "+") + event.getValue());
+        }
+        return names;
+    }
+}
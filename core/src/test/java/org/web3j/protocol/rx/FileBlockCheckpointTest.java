@@ -0,0 +1,40 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.jupiter.api.Test;
+
+import org.web3j.TempFileProvider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FileBlockCheckpointTest extends TempFileProvider {
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        Path path = Paths.get(tempDirPath, "checkpoint");
+        FileBlockCheckpoint checkpoint = new FileBlockCheckpoint(path);
+
+        assertEquals(-1, checkpoint.load());
+
+        checkpoint.save(100);
+        checkpoint.save(12345678901L);
+
+        assertEquals(12345678901L, new FileBlockCheckpoint(path).load());
+        assertFalse(Files.exists(Paths.get(tempDirPath, "checkpoint.tmp")));
+    }
+
+    @Test
+    public void testInvalidCheckpoint() throws IOException {
+        Path path = Paths.get(tempDirPath, "checkpoint");
+        Files.write(path, "block".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(IOException.class, () -> new FileBlockCheckpoint(path).load());
+    }
+}
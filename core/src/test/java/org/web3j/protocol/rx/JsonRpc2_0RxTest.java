@@ -17,6 +17,7 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
@@ -32,6 +33,8 @@ import org.mockito.stubbing.OngoingStubbing;
 import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.Web3j;
 import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.DefaultBlockParameter;
 import org.web3j.protocol.core.DefaultBlockParameterNumber;
 import org.web3j.protocol.core.Request;
@@ -39,6 +42,7 @@ import org.web3j.protocol.core.methods.response.EthBlock;
 import org.web3j.protocol.core.methods.response.EthFilter;
 import org.web3j.protocol.core.methods.response.EthLog;
 import org.web3j.protocol.core.methods.response.EthUninstallFilter;
+import org.web3j.protocol.core.methods.response.Log;
 import org.web3j.protocol.core.methods.response.Transaction;
 import org.web3j.utils.Numeric;
 
@@ -72,11 +76,7 @@ public class JsonRpc2_0RxTest {
 
         List<EthBlock> ethBlocks = Arrays.asList(createBlock(0), createBlock(1), createBlock(2));
 
-        OngoingStubbing<EthBlock> stubbing =
-                when(web3jService.send(any(Request.class), eq(EthBlock.class)));
-        for (EthBlock ethBlock : ethBlocks) {
-            stubbing = stubbing.thenReturn(ethBlock);
-        }
+        stubBlockBatches(ethBlocks);
 
         Flowable<EthBlock> flowable =
                 web3j.replayPastBlocksFlowable(
@@ -111,11 +111,7 @@ public class JsonRpc2_0RxTest {
 
         List<EthBlock> ethBlocks = Arrays.asList(createBlock(2), createBlock(1), createBlock(0));
 
-        OngoingStubbing<EthBlock> stubbing =
-                when(web3jService.send(any(Request.class), eq(EthBlock.class)));
-        for (EthBlock ethBlock : ethBlocks) {
-            stubbing = stubbing.thenReturn(ethBlock);
-        }
+        stubBlockBatches(ethBlocks);
 
         Flowable<EthBlock> flowable =
                 web3j.replayPastBlocksFlowable(
@@ -156,20 +152,16 @@ public class JsonRpc2_0RxTest {
                         createBlock(3),
                         createBlock(4));
 
-        List<EthBlock> ethBlocks =
+        List<EthBlock> latestBlocks =
                 Arrays.asList(
                         expected.get(2), // greatest block
-                        expected.get(0),
-                        expected.get(1),
-                        expected.get(2),
                         expected.get(4), // greatest block
-                        expected.get(3),
-                        expected.get(4),
                         expected.get(4)); // greatest block
 
+        stubBlockBatches(expected);
         OngoingStubbing<EthBlock> stubbing =
                 when(web3jService.send(any(Request.class), eq(EthBlock.class)));
-        for (EthBlock ethBlock : ethBlocks) {
+        for (EthBlock ethBlock : latestBlocks) {
             stubbing = stubbing.thenReturn(ethBlock);
         }
 
@@ -323,11 +315,7 @@ public class JsonRpc2_0RxTest {
                                 Arrays.asList(
                                         createTransaction("0x3234"), createTransaction("0x3235"))));
 
-        OngoingStubbing<EthBlock> stubbing =
-                when(web3jService.send(any(Request.class), eq(EthBlock.class)));
-        for (EthBlock ethBlock : ethBlocks) {
-            stubbing = stubbing.thenReturn(ethBlock);
-        }
+        stubBlockBatches(ethBlocks);
 
         List<Transaction> expectedTransactions =
                 ethBlocks.stream()
@@ -362,6 +350,131 @@ public class JsonRpc2_0RxTest {
         assertTrue(subscription.isDisposed());
     }
 
+    @Test
+    public void testReplayPastAndFutureLogsFlowable() throws Exception {
+        when(web3jService.send(any(Request.class), eq(EthBlock.class))).thenReturn(createBlock(5));
+        when(web3jService.sendAsync(any(Request.class), eq(EthLog.class)))
+                .thenReturn(CompletableFuture.completedFuture(createLogs(1, 3)));
+
+        EthFilter ethFilter =
+                objectMapper.readValue(
+                        "{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":\"0x1\"}", EthFilter.class);
+        when(web3jService.send(any(Request.class), eq(EthFilter.class))).thenReturn(ethFilter);
+        when(web3jService.send(any(Request.class), eq(EthLog.class)))
+                .thenReturn(createLogs(6), createLogs(7), createLogs());
+        EthUninstallFilter ethUninstallFilter =
+                objectMapper.readValue(
+                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":true}", EthUninstallFilter.class);
+        when(web3jService.send(any(Request.class), eq(EthUninstallFilter.class)))
+                .thenReturn(ethUninstallFilter);
+
+        InMemoryBlockCheckpoint checkpoint = new InMemoryBlockCheckpoint();
+        Flowable<Log> flowable =
+                web3j.replayPastAndFutureLogsFlowable(
+                        new org.web3j.protocol.core.methods.request.EthFilter(),
+                        new DefaultBlockParameterNumber(BigInteger.ZERO),
+                        checkpoint);
+
+        CountDownLatch logLatch = new CountDownLatch(4);
+        List<BigInteger> results = new ArrayList<>();
+        Disposable subscription =
+                flowable.subscribe(
+                        result -> {
+                            results.add(result.getBlockNumber());
+                            logLatch.countDown();
+                        },
+                        throwable -> fail(throwable.getMessage()));
+
+        assertTrue(logLatch.await(2, TimeUnit.SECONDS));
+        assertEquals(
+                Arrays.asList(
+                        BigInteger.ONE,
+                        BigInteger.valueOf(3),
+                        BigInteger.valueOf(6),
+                        BigInteger.valueOf(7)),
+                results);
+        // the backfill completed block 5, the first live log of block 7 completed block 6
+        assertEquals(6, checkpoint.load());
+
+        subscription.dispose();
+    }
+
+    @Test
+    public void testConfirmedBlockFlowable() throws Exception {
+        EthFilter ethFilter =
+                objectMapper.readValue(
+                        "{\"id\":1,\"jsonrpc\":\"2.0\",\"result\":\"0x1\"}", EthFilter.class);
+        EthLog blockHashes =
+                objectMapper.readValue(
+                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[\"0x1\"]}", EthLog.class);
+        when(web3jService.send(any(Request.class), eq(EthFilter.class))).thenReturn(ethFilter);
+        when(web3jService.send(any(Request.class), eq(EthLog.class))).thenReturn(blockHashes);
+        EthUninstallFilter ethUninstallFilter =
+                objectMapper.readValue(
+                        "{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":true}", EthUninstallFilter.class);
+        when(web3jService.send(any(Request.class), eq(EthUninstallFilter.class)))
+                .thenReturn(ethUninstallFilter);
+        when(web3jService.send(any(Request.class), eq(EthBlock.class)))
+                .thenReturn(
+                        createChainedBlock(1, "0xa1", "0xa0"),
+                        createChainedBlock(2, "0xa2", "0xa1"),
+                        createChainedBlock(3, "0xa3", "0xa2"));
+
+        Flowable<ChainEvent<EthBlock>> flowable = web3j.confirmedBlockFlowable(false, 1);
+
+        List<ChainEvent<EthBlock>> results =
+                flowable.take(2).timeout(2, TimeUnit.SECONDS).toList().blockingGet();
+        assertEquals(1, results.get(0).getBlockNumber());
+        assertEquals(2, results.get(1).getBlockNumber());
+        assertEquals(ChainEvent.Type.CONFIRMED, results.get(1).getType());
+        assertEquals(
+                "0x00000000000000000000000000000000000000000000000000000000000000a2",
+                results.get(1).getBlockHash());
+    }
+
+    private EthBlock createChainedBlock(int number, String hash, String parentHash) {
+        EthBlock ethBlock = createBlock(number);
+        ethBlock.getBlock()
+                .setHash(Numeric.toHexStringWithPrefixZeroPadded(Numeric.toBigInt(hash), 64));
+        ethBlock.getBlock()
+                .setParentHash(
+                        Numeric.toHexStringWithPrefixZeroPadded(Numeric.toBigInt(parentHash), 64));
+        return ethBlock;
+    }
+
+    private EthLog createLogs(long... blockNumbers) {
+        List<EthLog.LogResult> logs = new ArrayList<>();
+        for (long blockNumber : blockNumbers) {
+            EthLog.LogObject log = new EthLog.LogObject();
+            log.setBlockNumber(Numeric.encodeQuantity(BigInteger.valueOf(blockNumber)));
+            logs.add(log);
+        }
+        EthLog ethLog = new EthLog();
+        ethLog.setResult(logs);
+        return ethLog;
+    }
+
+    private void stubBlockBatches(List<EthBlock> ethBlocks) {
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            List<EthBlock> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                BigInteger number =
+                                        Numeric.decodeQuantity((String) request.getParams().get(0));
+                                for (EthBlock ethBlock : ethBlocks) {
+                                    if (ethBlock.getBlock().getNumber().equals(number)) {
+                                        ethBlock.setId(request.getId());
+                                        responses.add(ethBlock);
+                                    }
+                                }
+                            }
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(batchRequest.getRequests(), responses));
+                        });
+    }
+
     private EthBlock createBlock(int number) {
         EthBlock ethBlock = new EthBlock();
         EthBlock.Block block = new EthBlock.Block();
@@ -0,0 +1,169 @@
+package org.web3j.protocol.rx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.DefaultBlockParameterNumber;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.request.EthFilter;
+import org.web3j.protocol.core.methods.response.EthLog;
+import org.web3j.protocol.core.methods.response.Log;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class LogBackfillerTest {
+
+    private static final EthFilter FILTER =
+            new EthFilter(null, null, "0x22f2b5d1c6e5fc1e5b1bbcaa8bc7dd4e8bac7a11");
+
+    private Web3j web3j;
+    private Web3jService web3jService;
+
+    // Blocks with logs, every block has one log per occurrence
+    private List<Long> logBlocks;
+    private int resultLimit = Integer.MAX_VALUE;
+    private final List<long[]> requestedRanges = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+        when(web3jService.sendAsync(any(Request.class), eq(EthLog.class)))
+                .thenAnswer(
+                        invocation ->
+                                CompletableFuture.completedFuture(
+                                        getLogs(invocation.getArgument(0))));
+    }
+
+    @Test
+    public void testBisectsChunksWithTooManyResults() {
+        logBlocks = Arrays.asList(1L, 2L, 3L, 3L, 4L, 5L, 8L, 9L, 9L, 9L);
+        resultLimit = 2;
+        InMemoryBlockCheckpoint checkpoint = new InMemoryBlockCheckpoint();
+        LogBackfiller backfiller = new LogBackfiller(web3j, 4, 4, 1, 100);
+
+        TestSubscriber<Log> subscriber = backfiller.backfill(FILTER, 0, 9, checkpoint).test();
+
+        // block 9 alone has more logs than the limit, the chunks before it are emitted
+        subscriber.assertError(IOException.class);
+        assertEquals(Arrays.asList(1L, 2L, 3L, 3L, 4L, 5L), blockNumbers(subscriber));
+        assertEquals(5, checkpoint.load());
+    }
+
+    @Test
+    public void testEmitsLogsInBlockOrder() {
+        logBlocks = Arrays.asList(0L, 3L, 3L, 7L, 12L, 15L, 15L, 21L, 24L);
+        resultLimit = 2;
+        InMemoryBlockCheckpoint checkpoint = new InMemoryBlockCheckpoint();
+        LogBackfiller backfiller = new LogBackfiller(web3j, 8, 8, 3, 100);
+
+        TestSubscriber<Log> subscriber = backfiller.backfill(FILTER, 0, 24, checkpoint).test();
+
+        subscriber.assertNoErrors();
+        subscriber.assertComplete();
+        assertEquals(logBlocks, blockNumbers(subscriber));
+        assertEquals(24, checkpoint.load());
+    }
+
+    @Test
+    public void testResumesFromCheckpoint() {
+        logBlocks = Arrays.asList(2L, 5L, 11L, 14L);
+        InMemoryBlockCheckpoint checkpoint = new InMemoryBlockCheckpoint(9);
+        LogBackfiller backfiller = new LogBackfiller(web3j, 4, 4, 1, 100);
+
+        TestSubscriber<Log> subscriber = backfiller.backfill(FILTER, 0, 15, checkpoint).test();
+
+        subscriber.assertComplete();
+        assertEquals(Arrays.asList(11L, 14L), blockNumbers(subscriber));
+        assertEquals(10, requestedRanges.get(0)[0]);
+        assertEquals(15, checkpoint.load());
+    }
+
+    @Test
+    public void testGrowsChunksOnSparseRanges() {
+        logBlocks = Collections.singletonList(50L);
+        LogBackfiller backfiller = new LogBackfiller(web3j, 2, 16, 1, 100);
+
+        TestSubscriber<Log> subscriber =
+                backfiller.backfill(FILTER, 0, 61, new InMemoryBlockCheckpoint()).test();
+
+        subscriber.assertComplete();
+        assertEquals(Collections.singletonList(50L), blockNumbers(subscriber));
+        assertEquals(
+                Arrays.asList(2L, 4L, 8L, 16L, 16L, 16L),
+                requestedRanges.stream()
+                        .map(range -> range[1] - range[0] + 1)
+                        .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testIsTooManyResults() {
+        assertTrue(
+                LogBackfiller.isTooManyResults(
+                        new Response.Error(-32005, "query returned more than 10000 results")));
+        assertTrue(
+                LogBackfiller.isTooManyResults(
+                        new Response.Error(-32602, "Log response size exceeded.")));
+        assertTrue(
+                LogBackfiller.isTooManyResults(
+                        new Response.Error(-32000, "exceed maximum block range: 5000")));
+        assertFalse(LogBackfiller.isTooManyResults(new Response.Error(-32000, "header not found")));
+    }
+
+    private EthLog getLogs(Request<?, ?> request) {
+        EthFilter ethFilter = (EthFilter) request.getParams().get(0);
+        long from =
+                ((DefaultBlockParameterNumber) ethFilter.getFromBlock())
+                        .getBlockNumber()
+                        .longValue();
+        long to =
+                ((DefaultBlockParameterNumber) ethFilter.getToBlock()).getBlockNumber().longValue();
+        requestedRanges.add(new long[] {from, to});
+
+        List<EthLog.LogResult> logs = new ArrayList<>();
+        for (long blockNumber : logBlocks) {
+            if (blockNumber >= from && blockNumber <= to) {
+                EthLog.LogObject log = new EthLog.LogObject();
+                log.setBlockNumber(Numeric.encodeQuantity(BigInteger.valueOf(blockNumber)));
+                logs.add(log);
+            }
+        }
+
+        EthLog ethLog = new EthLog();
+        ethLog.setId(request.getId());
+        if (logs.size() > resultLimit) {
+            ethLog.setError(
+                    new Response.Error(
+                            -32005, "query returned more than " + resultLimit + " results"));
+        } else {
+            ethLog.setResult(logs);
+        }
+        return ethLog;
+    }
+
+    private static List<Long> blockNumbers(TestSubscriber<Log> subscriber) {
+        return subscriber.values().stream()
+                .map(log -> log.getBlockNumber().longValueExact())
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,148 @@
+package org.web3j.protocol.rx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import io.reactivex.Flowable;
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.schedulers.Schedulers;
+import io.reactivex.subscribers.TestSubscriber;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthTransaction;
+import org.web3j.protocol.core.methods.response.Transaction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PendingTransactionHydratorTest {
+
+    private Web3j web3j;
+    private Web3jService web3jService;
+
+    // Sizes of the batches sent
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    public void setUp() {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+
+        // Hashes starting with "unknown" are not known to the node, "mined" ones are in a block,
+        // and "failed" ones return an error
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            batchSizes.add(batchRequest.getRequests().size());
+                            List<EthTransaction> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String hash = (String) request.getParams().get(0);
+                                EthTransaction ethTransaction = new EthTransaction();
+                                ethTransaction.setId(request.getId());
+                                if (hash.startsWith("failed")) {
+                                    ethTransaction.setError(
+                                            new Response.Error(-32000, "request timed out"));
+                                } else if (!hash.startsWith("unknown")) {
+                                    Transaction transaction = new Transaction();
+                                    transaction.setHash(hash);
+                                    if (hash.startsWith("mined")) {
+                                        transaction.setBlockNumber("0x1");
+                                    }
+                                    ethTransaction.setResult(transaction);
+                                }
+                                responses.add(ethTransaction);
+                            }
+                            return CompletableFuture.completedFuture(
+                                    new BatchResponse(batchRequest.getRequests(), responses));
+                        });
+    }
+
+    @Test
+    public void testFetchesBatches() {
+        PendingTransactionHydrator hydrator =
+                new PendingTransactionHydrator(web3j, Schedulers.computation(), 3, 60_000, 2, 100);
+        List<String> hashes =
+                Arrays.asList("0x1", "0x2", "0x1", "unknown1", "0x3", "mined1", "0x4", "0x2");
+
+        List<Transaction> transactions =
+                hydrator.hydrate(Flowable.fromIterable(hashes)).toList().blockingGet();
+
+        assertEquals(
+                Arrays.asList("0x1", "0x2", "0x3", "mined1", "0x4"),
+                transactions.stream().map(Transaction::getHash).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(3, 3), batchSizes);
+        assertEquals(2, hydrator.getDuplicateCount());
+        assertEquals(2, hydrator.getLateCount());
+        assertEquals(0, hydrator.getDroppedCount());
+    }
+
+    @Test
+    public void testSkipsTransactionsFailingToBeFetched() {
+        PendingTransactionHydrator hydrator =
+                new PendingTransactionHydrator(web3j, Schedulers.computation(), 3, 60_000, 2, 100);
+        List<String> hashes = Arrays.asList("0x1", "failed1", "0x2", "0x3");
+
+        List<Transaction> transactions =
+                hydrator.hydrate(Flowable.fromIterable(hashes)).toList().blockingGet();
+
+        assertEquals(
+                Arrays.asList("0x1", "0x2", "0x3"),
+                transactions.stream().map(Transaction::getHash).collect(Collectors.toList()));
+        assertEquals(1, hydrator.getDroppedCount());
+    }
+
+    @Test
+    public void testForgetsOldHashes() {
+        PendingTransactionHydrator hydrator =
+                new PendingTransactionHydrator(web3j, Schedulers.computation(), 10, 60_000, 2, 2);
+        List<String> hashes = Arrays.asList("0x1", "0x2", "0x3", "0x1", "0x3");
+
+        List<Transaction> transactions =
+                hydrator.hydrate(Flowable.fromIterable(hashes)).toList().blockingGet();
+
+        assertEquals(4, transactions.size());
+        assertEquals(1, hydrator.getDuplicateCount());
+    }
+
+    @Test
+    public void testDropsBatchesOfSlowSubscriber() {
+        PendingTransactionHydrator hydrator =
+                new PendingTransactionHydrator(web3j, Schedulers.computation(), 2, 60_000, 1, 100);
+        PublishProcessor<String> hashes = PublishProcessor.create();
+
+        TestSubscriber<Transaction> subscriber = hydrator.hydrate(hashes).test(0);
+        for (int i = 0; i < 10; i++) {
+            hashes.onNext("0x" + i);
+        }
+
+        // Only the batch in flight is kept, it waits for the subscriber
+        assertEquals(Collections.singletonList(2), batchSizes);
+        assertEquals(8, hydrator.getDroppedCount());
+        subscriber.assertNoValues();
+
+        subscriber.request(10);
+        hashes.onNext("0xa");
+        hashes.onComplete();
+
+        subscriber.awaitTerminalEvent();
+        assertEquals(
+                Arrays.asList("0x0", "0x1", "0xa"),
+                subscriber.values().stream()
+                        .map(Transaction::getHash)
+                        .collect(Collectors.toList()));
+    }
+}
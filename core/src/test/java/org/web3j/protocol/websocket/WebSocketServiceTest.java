@@ -13,17 +13,24 @@
 package org.web3j.protocol.websocket;
 
 import java.io.IOException;
+import java.math.BigInteger;
 import java.net.ConnectException;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.reactivex.Flowable;
 import io.reactivex.disposables.Disposable;
 import org.junit.jupiter.api.BeforeEach;
@@ -31,6 +38,7 @@ import org.junit.jupiter.api.Test;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 
+import org.web3j.protocol.ObjectMapperFactory;
 import org.web3j.protocol.core.BatchRequest;
 import org.web3j.protocol.core.BatchResponse;
 import org.web3j.protocol.core.Request;
@@ -38,19 +46,24 @@ import org.web3j.protocol.core.Response;
 import org.web3j.protocol.core.methods.response.EthSubscribe;
 import org.web3j.protocol.core.methods.response.NetVersion;
 import org.web3j.protocol.core.methods.response.Web3ClientVersion;
+import org.web3j.protocol.websocket.events.LogNotification;
 import org.web3j.protocol.websocket.events.NewHeadsNotification;
+import org.web3j.utils.HashedWheelTimer;
+import org.web3j.utils.Numeric;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.atMostOnce;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -78,6 +91,7 @@ public class WebSocketServiceTest {
         when(webSocketClient.connectBlocking()).thenReturn(true);
         when(webSocketClient.reconnectBlocking()).thenReturn(true);
         request.setId(1);
+        WebSocketService.nextBatchId.set(0);
     }
 
     @Test
@@ -196,6 +210,47 @@ public class WebSocketServiceTest {
                         "{\"jsonrpc\":\"2.0\",\"method\":\"web3_clientVersion\",\"params\":[],\"id\":1}");
     }
 
+    @Test
+    public void testOutOfOrderBatchRequestReply() throws Exception {
+        BatchRequest request = new BatchRequest(service);
+        request.add(
+                        new Request<>(
+                                "web3_clientVersion",
+                                Collections.<String>emptyList(),
+                                service,
+                                Web3ClientVersion.class))
+                .add(
+                        new Request<>(
+                                "net_version",
+                                Collections.<String>emptyList(),
+                                service,
+                                NetVersion.class));
+        request.getRequests().get(0).setId(1L);
+        request.getRequests().get(1).setId(2L);
+
+        CompletableFuture<BatchResponse> reply = service.sendBatchAsync(request);
+        long batchId = request.getRequests().get(0).getId();
+
+        service.onWebSocketMessage(
+                "["
+                        + "{\"id\":2,\"jsonrpc\":\"2.0\",\"result\":\"59\"},"
+                        + "{\"id\":"
+                        + batchId
+                        + ",\"jsonrpc\":\"2.0\",\"result\":\"Mist/v0.9.3/darwin/go1.4.1\"}"
+                        + "]");
+
+        assertTrue(reply.isDone());
+        BatchResponse response = reply.get();
+        assertEquals(request.getRequests().get(0).getId(), 1L);
+
+        Web3ClientVersion web3ClientVersion = (Web3ClientVersion) response.getResponses().get(0);
+        assertEquals(web3ClientVersion.getWeb3ClientVersion(), "Mist/v0.9.3/darwin/go1.4.1");
+        assertEquals(web3ClientVersion.getId(), 1L);
+
+        NetVersion netVersion = (NetVersion) response.getResponses().get(1);
+        assertEquals(netVersion.getNetVersion(), "59");
+    }
+
     @Test
     public void testBatchRequestReply() throws Exception {
         BatchRequest request = new BatchRequest(service);
@@ -300,22 +355,56 @@ public class WebSocketServiceTest {
 
     @Test
     public void testCancelRequestAfterTimeout() {
-        when(executorService.schedule(
-                        any(Runnable.class),
-                        eq(WebSocketService.REQUEST_TIMEOUT),
-                        eq(TimeUnit.SECONDS)))
-                .then(
-                        invocation -> {
-                            Runnable runnable = invocation.getArgument(0, Runnable.class);
-                            runnable.run();
-                            return null;
-                        });
+        AtomicLong clock = new AtomicLong();
+        HashedWheelTimer timer =
+                new HashedWheelTimer(
+                        WebSocketService.TIMEOUT_TICK_MILLIS,
+                        TimeUnit.MILLISECONDS,
+                        WebSocketService.TIMEOUT_WHEEL_SIZE,
+                        clock::get);
+        service = new WebSocketService(webSocketClient, executorService, timer, true);
 
         CompletableFuture<Web3ClientVersion> reply =
                 service.sendAsync(request, Web3ClientVersion.class);
+        clock.set(TimeUnit.SECONDS.toNanos(WebSocketService.REQUEST_TIMEOUT - 1));
+        timer.expireTimeouts();
+        assertFalse(reply.isDone());
+
+        clock.set(TimeUnit.SECONDS.toNanos(WebSocketService.REQUEST_TIMEOUT + 1));
+        timer.expireTimeouts();
 
         assertTrue(reply.isDone());
         assertThrows(ExecutionException.class, () -> reply.get());
+        assertFalse(service.isWaitingForReply(request.getId()));
+    }
+
+    @Test
+    public void testCancelTimeoutOnReply() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        HashedWheelTimer timer =
+                new HashedWheelTimer(
+                        WebSocketService.TIMEOUT_TICK_MILLIS,
+                        TimeUnit.MILLISECONDS,
+                        WebSocketService.TIMEOUT_WHEEL_SIZE,
+                        clock::get);
+        service = new WebSocketService(webSocketClient, executorService, timer, true);
+
+        CompletableFuture<Web3ClientVersion> reply =
+                service.sendAsync(request, Web3ClientVersion.class);
+        assertEquals(timer.pendingTimeouts(), 1);
+        sendGethVersionReply();
+
+        assertEquals(timer.pendingTimeouts(), 0);
+        clock.set(TimeUnit.SECONDS.toNanos(WebSocketService.REQUEST_TIMEOUT + 1));
+        timer.expireTimeouts();
+        assertEquals(reply.get().getWeb3ClientVersion(), "geth-version");
+    }
+
+    @Test
+    public void testEventForUnknownSubscriptionIsIgnored() throws Exception {
+        service.onWebSocketMessage(
+                "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscription\","
+                        + "\"params\":{\"subscription\":\"0x1\",\"result\":{\"number\":\"0x1\"}}}");
     }
 
     @Test
@@ -525,10 +614,327 @@ public class WebSocketServiceTest {
                 "Subscription request failed with error: Error message", throwable.getMessage());
     }
 
+    @Test
+    public void testResubscribeAfterReconnect() throws Exception {
+        runScheduledTasksImmediately();
+        List<String> sentPayloads = recordSentPayloads();
+        service.enableAutoReconnect(10, 100, TimeUnit.MILLISECONDS, false);
+        List<NewHeadsNotification> events = new CopyOnWriteArrayList<>();
+
+        subscribeAndConfirm(events);
+        service.onWebSocketClose();
+
+        long resubscribeId = lastSentId(sentPayloads, "eth_subscribe");
+        assertTrue(resubscribeId != REQUEST_ID);
+        service.onWebSocketMessage(
+                "{\"jsonrpc\":\"2.0\",\"id\":" + resubscribeId + ",\"result\":\"0xabc\"}");
+        sendNewHeadsEvent("0xabc", "0x11");
+
+        assertEquals(1, events.size());
+        assertEquals("0xabc", events.get(0).getParams().getSubscription());
+        assertTrue(service.getSubscriptionIdsMap().containsKey("0xabc"));
+        assertFalse(
+                service.getSubscriptionIdsMap().containsKey("0xcd0c3e8af590364c09d0fa6a1210faf5"));
+    }
+
+    @Test
+    public void testReplayIdempotentRequestsAfterReconnect() throws Exception {
+        runScheduledTasksImmediately();
+        service.enableAutoReconnect(10, 100, TimeUnit.MILLISECONDS, false);
+        Request<?, Response> sendRequest =
+                new Request<>(
+                        "eth_sendRawTransaction",
+                        Collections.singletonList("0x00"),
+                        service,
+                        Response.class);
+        sendRequest.setId(2);
+
+        CompletableFuture<Web3ClientVersion> replayed =
+                service.sendAsync(request, Web3ClientVersion.class);
+        CompletableFuture<Response> failed = service.sendAsync(sendRequest, Response.class);
+        service.onWebSocketClose();
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertFalse(replayed.isDone());
+        verify(webSocketClient, times(2))
+                .send(
+                        "{\"jsonrpc\":\"2.0\",\"method\":\"web3_clientVersion\",\"params\":[],\"id\":1}");
+
+        sendGethVersionReply();
+        assertEquals("geth-version", replayed.get().getWeb3ClientVersion());
+    }
+
+    @Test
+    public void testRetryReconnectWithBackoff() throws Exception {
+        runScheduledTasksImmediately();
+        when(webSocketClient.connectBlocking()).thenReturn(false);
+        when(webSocketClient.reconnectBlocking()).thenReturn(false, true);
+        service.enableAutoReconnect(10, 25, TimeUnit.MILLISECONDS, false);
+
+        service.onWebSocketClose();
+
+        verify(executorService).schedule(any(Runnable.class), eq(10L), eq(TimeUnit.MILLISECONDS));
+        verify(executorService).schedule(any(Runnable.class), eq(20L), eq(TimeUnit.MILLISECONDS));
+        verify(executorService).schedule(any(Runnable.class), eq(25L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testBackfillMissedNewHeadsAfterReconnect() throws Exception {
+        runScheduledTasksImmediately();
+        List<String> sentPayloads = recordSentPayloads();
+        service.enableAutoReconnect(10, 100, TimeUnit.MILLISECONDS, true);
+        List<NewHeadsNotification> events = new CopyOnWriteArrayList<>();
+
+        subscribeAndConfirm(events);
+        sendNewHeadsEvent("0xcd0c3e8af590364c09d0fa6a1210faf5", "0x10");
+        service.onWebSocketClose();
+
+        reply(lastSentId(sentPayloads, "eth_subscribe"), "\"0xabc\"");
+        // live event received while missed blocks are fetched is held back
+        sendNewHeadsEvent("0xabc", "0x12");
+        reply(lastSentId(sentPayloads, "eth_blockNumber"), "\"0x12\"");
+        replyWithBlock(sentPayloads, 0x11);
+        replyWithBlock(sentPayloads, 0x12);
+
+        assertEquals(3, events.size());
+        assertEquals("0x10", events.get(0).getParams().getResult().getNumber());
+        assertEquals("0x11", events.get(1).getParams().getResult().getNumber());
+        assertEquals("0x12", events.get(2).getParams().getResult().getNumber());
+        assertEquals("0xabc", events.get(2).getParams().getSubscription());
+    }
+
+    @Test
+    public void testBackfillNewHeadsGapLongerThanPage() throws Exception {
+        runScheduledTasksImmediately();
+        List<String> sentPayloads = recordSentPayloads();
+        service.enableAutoReconnect(10, 100, TimeUnit.MILLISECONDS, true);
+        List<NewHeadsNotification> events = new CopyOnWriteArrayList<>();
+
+        subscribeAndConfirm(events);
+        sendNewHeadsEvent("0xcd0c3e8af590364c09d0fa6a1210faf5", "0x10");
+        service.onWebSocketClose();
+
+        long head = 0x10 + SubscriptionBackfill.BACKFILL_PAGE_SIZE * 2 + 1;
+        reply(lastSentId(sentPayloads, "eth_subscribe"), "\"0xabc\"");
+        reply(
+                lastSentId(sentPayloads, "eth_blockNumber"),
+                "\"" + Numeric.encodeQuantity(BigInteger.valueOf(head)) + "\"");
+        for (long blockNumber = 0x11; blockNumber <= head; blockNumber++) {
+            replyWithBlock(sentPayloads, blockNumber);
+        }
+
+        assertEquals(head - 0x10 + 1, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            assertEquals(
+                    0x10 + i,
+                    Numeric.decodeQuantity(events.get(i).getParams().getResult().getNumber())
+                            .longValue());
+        }
+    }
+
+    @Test
+    public void testBackfillLogsInPagesBisectingRejectedRanges() throws Exception {
+        runScheduledTasksImmediately();
+        List<String> sentPayloads = recordSentPayloads();
+        service.enableAutoReconnect(10, 100, TimeUnit.MILLISECONDS, true);
+        List<LogNotification> events = new CopyOnWriteArrayList<>();
+
+        subscribeRequest =
+                new Request<>(
+                        "eth_subscribe",
+                        Arrays.asList("logs", Collections.singletonMap("address", "0x01")),
+                        service,
+                        EthSubscribe.class);
+        subscribeRequest.setId(1);
+        subscribeAndConfirm(
+                () -> service.subscribe(subscribeRequest, "eth_unsubscribe", LogNotification.class),
+                events,
+                new CopyOnWriteArrayList<>());
+        sendLogEvent("0xcd0c3e8af590364c09d0fa6a1210faf5", 0x10);
+        service.onWebSocketClose();
+
+        long pageEnd = 0x10 + SubscriptionBackfill.BACKFILL_LOG_PAGE_SIZE - 1;
+        long mid = 0x10 + (pageEnd - 0x10) / 2;
+        reply(lastSentId(sentPayloads, "eth_subscribe"), "\"0xabc\"");
+        reply(
+                lastSentId(sentPayloads, "eth_blockNumber"),
+                "\"" + Numeric.encodeQuantity(BigInteger.valueOf(pageEnd + 1)) + "\"");
+
+        assertLogRange(sentPayloads, 0x10, pageEnd);
+        service.onWebSocketMessage(
+                "{\"jsonrpc\":\"2.0\",\"id\":"
+                        + lastSentId(sentPayloads, "eth_getLogs")
+                        + ",\"error\":{\"code\":-32005,\"message\":\"query returned more than"
+                        + " 10000 results\"}}");
+        assertLogRange(sentPayloads, 0x10, mid);
+        reply(lastSentId(sentPayloads, "eth_getLogs"), "[" + log(0x10) + "," + log(0x11) + "]");
+        assertLogRange(sentPayloads, mid + 1, pageEnd);
+        reply(lastSentId(sentPayloads, "eth_getLogs"), "[]");
+        assertLogRange(sentPayloads, pageEnd + 1, pageEnd + 1);
+        reply(lastSentId(sentPayloads, "eth_getLogs"), "[" + log(pageEnd + 1) + "]");
+
+        assertEquals(3, events.size());
+        assertEquals("0x11", events.get(1).getParams().getResult().getBlockNumber());
+        assertEquals(
+                Numeric.encodeQuantity(BigInteger.valueOf(pageEnd + 1)),
+                events.get(2).getParams().getResult().getBlockNumber());
+    }
+
+    @Test
+    public void testBackfillFailureIsReportedToSubscriber() throws Exception {
+        runScheduledTasksImmediately();
+        List<String> sentPayloads = recordSentPayloads();
+        service.enableAutoReconnect(10, 100, TimeUnit.MILLISECONDS, true);
+        List<NewHeadsNotification> events = new CopyOnWriteArrayList<>();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        subscribeAndConfirm(this::subscribeToEvents, events, errors);
+        sendNewHeadsEvent("0xcd0c3e8af590364c09d0fa6a1210faf5", "0x10");
+        service.onWebSocketClose();
+
+        reply(lastSentId(sentPayloads, "eth_subscribe"), "\"0xabc\"");
+        sendNewHeadsEvent("0xabc", "0x12");
+        service.onWebSocketMessage(
+                "{\"jsonrpc\":\"2.0\",\"id\":"
+                        + lastSentId(sentPayloads, "eth_blockNumber")
+                        + ",\"error\":{\"code\":-32000,\"message\":\"unavailable\"}}");
+
+        // the live event is not emitted past the gap
+        assertEquals(1, events.size());
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0) instanceof IOException);
+        JsonNode unsubscribe = lastSent(sentPayloads, "eth_unsubscribe");
+        assertEquals("0xabc", unsubscribe.path("params").path(0).asText());
+    }
+
     private void runAsync(Runnable runnable) {
         Executors.newSingleThreadExecutor().execute(runnable);
     }
 
+    private void runScheduledTasksImmediately() {
+        doAnswer(
+                        invocation -> {
+                            invocation.getArgument(0, Runnable.class).run();
+                            return null;
+                        })
+                .when(executorService)
+                .schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    private List<String> recordSentPayloads() {
+        List<String> sentPayloads = new CopyOnWriteArrayList<>();
+        doAnswer(
+                        invocation -> {
+                            sentPayloads.add(invocation.getArgument(0, String.class));
+                            return null;
+                        })
+                .when(webSocketClient)
+                .send(anyString());
+        return sentPayloads;
+    }
+
+    private long lastSentId(List<String> sentPayloads, String method) throws IOException {
+        return lastSent(sentPayloads, method).get("id").asLong();
+    }
+
+    private JsonNode lastSent(List<String> sentPayloads, String method) throws IOException {
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        for (int i = sentPayloads.size() - 1; i >= 0; i--) {
+            JsonNode payload = objectMapper.readTree(sentPayloads.get(i));
+            if (method.equals(payload.path("method").asText())) {
+                return payload;
+            }
+        }
+        throw new AssertionError("No " + method + " request was sent");
+    }
+
+    private void assertLogRange(List<String> sentPayloads, long from, long to) throws IOException {
+        JsonNode filter = lastSent(sentPayloads, "eth_getLogs").path("params").path(0);
+        assertEquals("0x01", filter.path("address").asText());
+        assertEquals(
+                Numeric.encodeQuantity(BigInteger.valueOf(from)),
+                filter.path("fromBlock").asText());
+        assertEquals(
+                Numeric.encodeQuantity(BigInteger.valueOf(to)), filter.path("toBlock").asText());
+    }
+
+    private static String log(long blockNumber) {
+        return "{\"blockNumber\":\""
+                + Numeric.encodeQuantity(BigInteger.valueOf(blockNumber))
+                + "\",\"logIndex\":\"0x0\"}";
+    }
+
+    private void subscribeAndConfirm(List<NewHeadsNotification> events) throws Exception {
+        AtomicReference<Disposable> disposable = new AtomicReference<>();
+        CountDownLatch subscribed = new CountDownLatch(1);
+        runAsync(
+                () -> {
+                    disposable.set(subscribeToEvents().subscribe(events::add));
+                    subscribed.countDown();
+                });
+        sendSubscriptionConfirmation();
+        assertTrue(subscribed.await(2, TimeUnit.SECONDS));
+    }
+
+    // Subscribing blocks until the subscription is confirmed
+    private <T> void subscribeAndConfirm(
+            Supplier<Flowable<T>> flowable, List<T> events, List<Throwable> errors)
+            throws Exception {
+        CountDownLatch subscribed = new CountDownLatch(1);
+        runAsync(
+                () -> {
+                    flowable.get().subscribe(events::add, errors::add);
+                    subscribed.countDown();
+                });
+        sendSubscriptionConfirmation();
+        assertTrue(subscribed.await(2, TimeUnit.SECONDS));
+    }
+
+    private void replyWithBlock(List<String> sentPayloads, long blockNumber) throws IOException {
+        String number = Numeric.encodeQuantity(BigInteger.valueOf(blockNumber));
+        ObjectMapper objectMapper = ObjectMapperFactory.getObjectMapper();
+        for (String sentPayload : sentPayloads) {
+            JsonNode payload = objectMapper.readTree(sentPayload);
+            if ("eth_getBlockByNumber".equals(payload.path("method").asText())
+                    && number.equals(payload.path("params").path(0).asText())) {
+                reply(payload.get("id").asLong(), "{\"number\":\"" + number + "\"}");
+                return;
+            }
+        }
+        throw new AssertionError("Block " + number + " was not requested");
+    }
+
+    private void reply(long id, String result) throws IOException {
+        service.onWebSocketMessage(
+                "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"result\":" + result + "}");
+    }
+
+    private void sendLogEvent(String subscriptionId, long blockNumber) throws IOException {
+        service.onWebSocketMessage(
+                "{\"jsonrpc\":\"2.0\",\"method\":\"eth_subscription\",\"params\":{"
+                        + "\"subscription\":\""
+                        + subscriptionId
+                        + "\",\"result\":"
+                        + log(blockNumber)
+                        + "}}");
+    }
+
+    private void sendNewHeadsEvent(String subscriptionId, String blockNumber) throws IOException {
+        service.onWebSocketMessage(
+                "{"
+                        + "  \"jsonrpc\":\"2.0\","
+                        + "  \"method\":\"eth_subscription\","
+                        + "  \"params\":{"
+                        + "    \"subscription\":\""
+                        + subscriptionId
+                        + "\","
+                        + "    \"result\":{\"number\":\""
+                        + blockNumber
+                        + "\"}"
+                        + "  }"
+                        + "}");
+    }
+
     private Flowable<NewHeadsNotification> subscribeToEvents() {
         subscribeRequest =
                 new Request<>(
@@ -0,0 +1,337 @@
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import io.reactivex.Flowable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.crypto.Hash;
+import org.web3j.crypto.RawTransaction;
+import org.web3j.crypto.SampleKeys;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.service.TxSignServiceImpl;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BulkTransactionSenderTest {
+
+    // Values of transactions the node rejects, or returns another hash for
+    private static final long REJECTED = 7;
+    private static final long NONCE_TOO_LOW = 13;
+    private static final long MISMATCHED = 99;
+    private static final long ALREADY_KNOWN = 17;
+    private static final long UNDERPRICED = 19;
+
+    private Web3j web3j;
+    private Web3jService web3jService;
+    private NonceManager nonceManager;
+    private ForkJoinPool signingPool;
+
+    // PENDING transaction count reported by the node
+    private final AtomicLong transactionCount = new AtomicLong(5);
+    // Sizes of the batches sent
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    // Round trip of a batch, in milliseconds
+    private volatile long batchDelay;
+    // Whether the node accepts batches but their responses are lost
+    private volatile boolean responsesLost;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+        nonceManager = new NonceManager(web3j);
+        signingPool = new ForkJoinPool(3);
+
+        when(web3jService.send(any(Request.class), eq(EthGetTransactionCount.class)))
+                .thenAnswer(
+                        invocation -> {
+                            EthGetTransactionCount ethGetTransactionCount =
+                                    new EthGetTransactionCount();
+                            ethGetTransactionCount.setResult(
+                                    Numeric.encodeQuantity(
+                                            BigInteger.valueOf(transactionCount.get())));
+                            return ethGetTransactionCount;
+                        });
+
+        when(web3jService.sendBatchAsync(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            batchSizes.add(batchRequest.getRequests().size());
+                            if (responsesLost) {
+                                transactionCount.addAndGet(batchRequest.getRequests().size());
+                                return CompletableFuture.failedFuture(
+                                        new IOException("Connection reset"));
+                            }
+                            List<EthSendTransaction> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String hexValue = (String) request.getParams().get(0);
+                                long value =
+                                        TransactionDecoder.decode(hexValue)
+                                                .getValue()
+                                                .longValueExact();
+                                EthSendTransaction ethSendTransaction = new EthSendTransaction();
+                                ethSendTransaction.setId(request.getId());
+                                if (value == REJECTED) {
+                                    ethSendTransaction.setError(
+                                            new Response.Error(-32000, "insufficient funds"));
+                                } else if (value == NONCE_TOO_LOW) {
+                                    transactionCount.set(20);
+                                    ethSendTransaction.setError(
+                                            new Response.Error(-32000, "nonce too low"));
+                                } else if (value == ALREADY_KNOWN) {
+                                    ethSendTransaction.setError(
+                                            new Response.Error(-32000, "already known"));
+                                } else if (value == UNDERPRICED) {
+                                    transactionCount.incrementAndGet();
+                                    ethSendTransaction.setError(
+                                            new Response.Error(
+                                                    -32000, "replacement transaction underpriced"));
+                                } else if (value == MISMATCHED) {
+                                    ethSendTransaction.setResult("0xdead");
+                                } else {
+                                    ethSendTransaction.setResult(Hash.sha3(hexValue));
+                                }
+                                responses.add(ethSendTransaction);
+                            }
+                            BatchResponse batchResponse =
+                                    new BatchResponse(batchRequest.getRequests(), responses);
+                            return CompletableFuture.supplyAsync(
+                                    () -> batchResponse,
+                                    CompletableFuture.delayedExecutor(
+                                            batchDelay, TimeUnit.MILLISECONDS));
+                        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        signingPool.shutdown();
+    }
+
+    @Test
+    public void testSendsBatchesInOrder() {
+        List<BulkTransactionSender.Result> results =
+                sender().send(templates(1, 2, 3, 4, 5, 6, 8, 9, 10, 11)).toList().blockingGet();
+
+        assertEquals(Arrays.asList(3, 3, 3, 1), batchSizes);
+        assertEquals(nonces(5, 6, 7, 8, 9, 10, 11, 12, 13, 14), nonces(results));
+        for (BulkTransactionSender.Result result : results) {
+            assertEquals(BulkTransactionSender.Status.SENT, result.getStatus());
+            assertEquals(
+                    result.getTransactionHash(),
+                    result.getEthSendTransaction().getTransactionHash());
+        }
+        assertEquals(BigInteger.valueOf(15), nonceManager.getNextNonce(SampleKeys.ADDRESS));
+    }
+
+    @Test
+    public void testReusesNonceOfRejectedTransaction() {
+        BulkTransactionSender sender = sender();
+
+        List<BulkTransactionSender.Result> results =
+                sender.send(templates(1, REJECTED, 2, MISMATCHED)).toList().blockingGet();
+
+        assertEquals(
+                Arrays.asList(
+                        BulkTransactionSender.Status.SENT,
+                        BulkTransactionSender.Status.FAILED,
+                        BulkTransactionSender.Status.SENT,
+                        BulkTransactionSender.Status.HASH_MISMATCH),
+                results.stream()
+                        .map(BulkTransactionSender.Result::getStatus)
+                        .collect(Collectors.toList()));
+
+        List<BulkTransactionSender.Result> retried =
+                sender.send(templates(REJECTED + 1)).toList().blockingGet();
+        assertEquals(nonces(6), nonces(retried));
+    }
+
+    @Test
+    public void testResyncsOnNonceTooLow() {
+        List<BulkTransactionSender.Result> results =
+                sender().send(templates(1, NONCE_TOO_LOW, 2)).toList().blockingGet();
+
+        assertEquals(BulkTransactionSender.Status.NONCE_TOO_LOW, results.get(1).getStatus());
+        assertEquals(BigInteger.valueOf(20), nonceManager.getNextNonce(SampleKeys.ADDRESS));
+    }
+
+    @Test
+    public void testKeepsNonceOfAlreadyKnownTransaction() {
+        BulkTransactionSender sender = sender();
+
+        List<BulkTransactionSender.Result> results =
+                sender.send(templates(ALREADY_KNOWN)).toList().blockingGet();
+        assertEquals(BulkTransactionSender.Status.SENT, results.get(0).getStatus());
+
+        List<BulkTransactionSender.Result> next = sender.send(templates(1)).toList().blockingGet();
+        assertEquals(nonces(6), nonces(next));
+    }
+
+    @Test
+    public void testKeepsNonceOfUnderpricedReplacement() {
+        BulkTransactionSender sender = sender();
+
+        List<BulkTransactionSender.Result> results =
+                sender.send(templates(UNDERPRICED)).toList().blockingGet();
+        assertEquals(BulkTransactionSender.Status.FAILED, results.get(0).getStatus());
+
+        List<BulkTransactionSender.Result> next = sender.send(templates(1)).toList().blockingGet();
+        assertEquals(nonces(6), nonces(next));
+    }
+
+    @Test
+    public void testResyncsAfterLostResponses() {
+        responsesLost = true;
+        assertThrows(
+                RuntimeException.class,
+                () -> sender().send(templates(1, 2, 3)).toList().blockingGet());
+
+        responsesLost = false;
+        List<BulkTransactionSender.Result> results =
+                sender().send(templates(4)).toList().blockingGet();
+        assertEquals(nonces(8), nonces(results));
+    }
+
+    @Test
+    public void testSendsWithDefaults() {
+        batchDelay = 20;
+        BulkTransactionSender sender =
+                new BulkTransactionSender(web3j, SampleKeys.CREDENTIALS, ChainId.NONE);
+
+        assertAllSent(sender.send(templates(3000, 1)).toList().blockingGet());
+    }
+
+    @Test
+    public void testSignsWithinNonceCapacity() {
+        batchDelay = 20;
+        ForkJoinPool largePool = new ForkJoinPool(15);
+        try {
+            BulkTransactionSender sender =
+                    new BulkTransactionSender(
+                            web3j,
+                            new TxSignServiceImpl(SampleKeys.CREDENTIALS),
+                            ChainId.NONE,
+                            nonceManager,
+                            BulkTransactionSender.DEFAULT_BATCH_SIZE,
+                            BulkTransactionSender.DEFAULT_MAX_BATCHES_IN_FLIGHT,
+                            largePool);
+
+            assertAllSent(sender.send(templates(3000, 1)).toList().blockingGet());
+        } finally {
+            largePool.shutdown();
+        }
+    }
+
+    @Test
+    public void testRejectsBatchesBeyondNonceCapacity() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () ->
+                        new BulkTransactionSender(
+                                web3j,
+                                new TxSignServiceImpl(SampleKeys.CREDENTIALS),
+                                ChainId.NONE,
+                                nonceManager,
+                                300,
+                                4,
+                                signingPool));
+    }
+
+    @Test
+    public void testCopiesTransactionsWithNonce() {
+        RawTransaction template =
+                RawTransaction.createTransaction(
+                        1L,
+                        BigInteger.ZERO,
+                        BigInteger.TEN,
+                        SampleKeys.ADDRESS,
+                        BigInteger.ONE,
+                        "0x",
+                        BigInteger.ONE,
+                        BigInteger.TEN);
+
+        RawTransaction rawTransaction =
+                BulkTransactionSender.withNonce(template, BigInteger.valueOf(42));
+
+        assertEquals(BigInteger.valueOf(42), rawTransaction.getNonce());
+        assertEquals(template.getType(), rawTransaction.getType());
+        assertEquals(template.getGasLimit(), rawTransaction.getGasLimit());
+        assertEquals(template.getTo(), rawTransaction.getTo());
+        assertEquals(template.getValue(), rawTransaction.getValue());
+    }
+
+    private BulkTransactionSender sender() {
+        return new BulkTransactionSender(
+                web3j,
+                new TxSignServiceImpl(SampleKeys.CREDENTIALS),
+                ChainId.NONE,
+                nonceManager,
+                3,
+                2,
+                signingPool);
+    }
+
+    private static void assertAllSent(List<BulkTransactionSender.Result> results) {
+        assertEquals(3000, results.size());
+        for (BulkTransactionSender.Result result : results) {
+            assertEquals(BulkTransactionSender.Status.SENT, result.getStatus());
+        }
+    }
+
+    private static Flowable<RawTransaction> templates(int count, long value) {
+        long[] values = new long[count];
+        Arrays.fill(values, value);
+        return templates(values);
+    }
+
+    private static Flowable<RawTransaction> templates(long... values) {
+        List<RawTransaction> templates = new ArrayList<>();
+        for (long value : values) {
+            templates.add(
+                    RawTransaction.createEtherTransaction(
+                            BigInteger.ZERO,
+                            BigInteger.ONE,
+                            BigInteger.valueOf(21_000),
+                            SampleKeys.ADDRESS,
+                            BigInteger.valueOf(value)));
+        }
+        return Flowable.fromIterable(templates);
+    }
+
+    private static List<BigInteger> nonces(List<BulkTransactionSender.Result> results) {
+        return results.stream()
+                .map(BulkTransactionSender.Result::getNonce)
+                .collect(Collectors.toList());
+    }
+
+    private static List<BigInteger> nonces(long... nonces) {
+        return Arrays.stream(nonces).mapToObj(BigInteger::valueOf).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,199 @@
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.reactivex.processors.PublishProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.AXMIncentiveAddrResponse;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthChainId;
+import org.web3j.protocol.core.methods.response.EthGasPrice;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ChainParametersTest {
+
+    private Web3j web3j;
+    private Web3jService web3jService;
+
+    // Gas price reported by the node
+    private final AtomicLong gasPrice = new AtomicLong(10);
+    // Number of requests of each parameter
+    private final AtomicInteger chainIdRequests = new AtomicInteger();
+    private final AtomicInteger incentiveAddressRequests = new AtomicInteger();
+    private final AtomicInteger gasPriceRequests = new AtomicInteger();
+    private final AtomicInteger blockRequests = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+
+        when(web3jService.send(any(Request.class), eq(EthChainId.class)))
+                .thenAnswer(
+                        invocation -> {
+                            chainIdRequests.incrementAndGet();
+                            EthChainId ethChainId = new EthChainId();
+                            ethChainId.setResult("0x539");
+                            return ethChainId;
+                        });
+        when(web3jService.send(any(Request.class), eq(AXMIncentiveAddrResponse.class)))
+                .thenAnswer(
+                        invocation -> {
+                            incentiveAddressRequests.incrementAndGet();
+                            AXMIncentiveAddrResponse response = new AXMIncentiveAddrResponse();
+                            response.setResult("0x1000000000000000000000000000000000000001");
+                            return response;
+                        });
+        when(web3jService.send(any(Request.class), eq(EthGasPrice.class)))
+                .thenAnswer(invocation -> gasPrice());
+        when(web3jService.sendAsync(any(Request.class), eq(EthGasPrice.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(gasPrice()));
+        when(web3jService.send(any(Request.class), eq(EthBlock.class)))
+                .thenAnswer(
+                        invocation -> {
+                            blockRequests.incrementAndGet();
+                            EthBlock ethBlock = new EthBlock();
+                            ethBlock.setResult(block(3, 30_000_000));
+                            return ethBlock;
+                        });
+    }
+
+    @Test
+    public void testCachesParameters() throws IOException {
+        ChainParameters chainParameters = new ChainParameters(web3j);
+
+        assertEquals(1337, chainParameters.getChainId());
+        assertEquals(1337, chainParameters.getChainId());
+        assertEquals(1337, chainParameters.getChainIdAsync().join());
+
+        assertEquals(1, chainIdRequests.get());
+        assertEquals(2, chainParameters.getHitCount());
+        assertEquals(1, chainParameters.getMissCount());
+    }
+
+    @Test
+    public void testExpiresParameters() throws Exception {
+        ChainParameters chainParameters =
+                new ChainParameters(
+                        web3j,
+                        null,
+                        Collections.singletonMap(
+                                ChainParameters.Parameter.GAS_PRICE,
+                                ChainParameters.RefreshPolicy.ttl(1)));
+
+        assertEquals(BigInteger.TEN, chainParameters.getGasPrice());
+        gasPrice.set(20);
+        Thread.sleep(10);
+
+        assertEquals(BigInteger.valueOf(20), chainParameters.getGasPrice());
+        assertEquals(2, gasPriceRequests.get());
+    }
+
+    @Test
+    public void testInvalidatesOnError() throws IOException {
+        ChainParameters chainParameters = new ChainParameters(web3j);
+        chainParameters.getIncentiveAddress();
+
+        assertFalse(chainParameters.invalidateOn(new Response.Error(-32000, "insufficient funds")));
+        chainParameters.getIncentiveAddress();
+        assertEquals(1, incentiveAddressRequests.get());
+
+        assertTrue(
+                chainParameters.invalidateOn(
+                        new Response.Error(-32000, "Invalid incentive address")));
+        chainParameters.getIncentiveAddress();
+        assertEquals(2, incentiveAddressRequests.get());
+    }
+
+    @Test
+    public void testFetchesBlockParametersTogether() throws IOException {
+        ChainParameters chainParameters = new ChainParameters(web3j);
+
+        assertEquals(BigInteger.valueOf(3), chainParameters.getBaseFee());
+        assertEquals(BigInteger.valueOf(30_000_000), chainParameters.getBlockGasLimit());
+
+        assertEquals(1, blockRequests.get());
+    }
+
+    @Test
+    public void testRefreshesOnNewHead() throws IOException {
+        PublishProcessor<EthBlock.Block> newHeads = PublishProcessor.create();
+        Map<ChainParameters.Parameter, ChainParameters.RefreshPolicy> policies =
+                new EnumMap<>(ChainParameters.Parameter.class);
+        policies.put(
+                ChainParameters.Parameter.GAS_PRICE, ChainParameters.RefreshPolicy.onNewHead());
+        policies.put(ChainParameters.Parameter.BASE_FEE, ChainParameters.RefreshPolicy.onNewHead());
+        ChainParameters chainParameters = new ChainParameters(web3j, newHeads, policies);
+
+        newHeads.onNext(block(7, 30_000_000));
+        gasPrice.set(20);
+        newHeads.onNext(block(8, 30_000_000));
+
+        assertEquals(BigInteger.valueOf(8), chainParameters.getBaseFee());
+        assertEquals(BigInteger.valueOf(20), chainParameters.getGasPrice());
+        assertEquals(0, blockRequests.get());
+        assertEquals(2, gasPriceRequests.get());
+        assertEquals(0, chainParameters.getMissCount());
+
+        chainParameters.close();
+        assertFalse(newHeads.hasSubscribers());
+    }
+
+    @Test
+    public void testExpiresParametersAfterNewHeadsFail() throws Exception {
+        PublishProcessor<EthBlock.Block> newHeads = PublishProcessor.create();
+        ChainParameters chainParameters =
+                new ChainParameters(
+                        web3j,
+                        newHeads,
+                        Collections.singletonMap(
+                                ChainParameters.Parameter.GAS_PRICE,
+                                ChainParameters.RefreshPolicy.onNewHead()));
+
+        newHeads.onNext(block(7, 30_000_000));
+        assertEquals(BigInteger.TEN, chainParameters.getGasPrice());
+        assertEquals(1, gasPriceRequests.get());
+
+        gasPrice.set(20);
+        newHeads.onError(new IOException("Connection closed"));
+
+        assertEquals(BigInteger.valueOf(20), chainParameters.getGasPrice());
+        assertEquals(2, gasPriceRequests.get());
+        assertEquals(1, chainParameters.getMissCount());
+    }
+
+    private EthGasPrice gasPrice() {
+        gasPriceRequests.incrementAndGet();
+        EthGasPrice ethGasPrice = new EthGasPrice();
+        ethGasPrice.setResult(Numeric.encodeQuantity(BigInteger.valueOf(gasPrice.get())));
+        return ethGasPrice;
+    }
+
+    private static EthBlock.Block block(long baseFee, long gasLimit) {
+        EthBlock.Block block = new EthBlock.Block();
+        block.setBaseFeePerGas(Numeric.encodeQuantity(BigInteger.valueOf(baseFee)));
+        block.setGasLimit(Numeric.encodeQuantity(BigInteger.valueOf(gasLimit)));
+        return block;
+    }
+}
@@ -17,6 +17,7 @@ import java.math.BigInteger;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.function.BiFunction;
 
@@ -40,6 +41,7 @@ import org.web3j.protocol.core.*;
 import org.web3j.protocol.core.methods.request.Transaction;
 import org.web3j.protocol.core.methods.response.EthCall;
 import org.web3j.protocol.core.methods.response.EthGetCode;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
 import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
 import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import org.web3j.protocol.core.methods.response.Log;
@@ -329,6 +331,98 @@ public class ContractTest extends ManagedTransactionTester {
                         .send());
     }
 
+    @Test
+    public void testTransactionAsync() throws Exception {
+        TransactionReceipt transactionReceipt = new TransactionReceipt();
+        transactionReceipt.setTransactionHash(TRANSACTION_HASH);
+        transactionReceipt.setStatus(TXN_SUCCESS_STATUS);
+
+        prepareAsyncTransaction(transactionReceipt);
+
+        assertEquals(
+                transactionReceipt,
+                contract.performTransaction(
+                                new Address(BigInteger.TEN), new Uint256(BigInteger.ONE))
+                        .sendAsync()
+                        .get());
+    }
+
+    @Test
+    public void testTransactionAsyncCallsOverriddenExecuteTransaction() throws Exception {
+        TransactionReceipt overriddenReceipt = createTransactionReceipt();
+        TestContract overridingContract =
+                new TestContract(
+                        ADDRESS,
+                        web3j,
+                        getVerifiedTransactionManager(SampleKeys.CREDENTIALS),
+                        new DefaultGasProvider()) {
+                    @Override
+                    protected TransactionReceipt executeTransaction(Function function) {
+                        return overriddenReceipt;
+                    }
+                };
+
+        assertEquals(
+                overriddenReceipt,
+                overridingContract
+                        .performTransaction(
+                                new Address(BigInteger.TEN), new Uint256(BigInteger.ONE))
+                        .sendAsync()
+                        .get());
+    }
+
+    @Test
+    public void testTransactionAsyncCallsOverriddenManagerExecuteTransaction() throws Exception {
+        TransactionReceipt overriddenReceipt = createTransactionReceipt();
+        TransactionManager overridingManager =
+                new RawTransactionManager(web3j, SampleKeys.CREDENTIALS) {
+                    @Override
+                    protected TransactionReceipt executeTransaction(
+                            BigInteger gasPrice,
+                            BigInteger gasLimit,
+                            String to,
+                            String data,
+                            BigInteger value,
+                            boolean constructor) {
+                        return overriddenReceipt;
+                    }
+                };
+        TestContract managedContract =
+                new TestContract(ADDRESS, web3j, overridingManager, new DefaultGasProvider());
+
+        assertEquals(
+                overriddenReceipt,
+                managedContract
+                        .performTransaction(
+                                new Address(BigInteger.TEN), new Uint256(BigInteger.ONE))
+                        .sendAsync()
+                        .get());
+    }
+
+    @Test
+    public void testTransactionAsyncFailedWithRevertReason() throws Exception {
+        TransactionReceipt transactionReceipt = createFailedTransactionReceipt();
+        prepareCall(OWNER_REVERT_MSG_HASH);
+        prepareAsyncTransaction(transactionReceipt);
+
+        ExecutionException thrown =
+                assertThrows(
+                        ExecutionException.class,
+                        () ->
+                                contract.performTransaction(
+                                                new Address(BigInteger.TEN),
+                                                new Uint256(BigInteger.ONE))
+                                        .sendAsync()
+                                        .get());
+
+        assertTrue(thrown.getCause() instanceof TransactionException);
+        assertEquals(
+                String.format(
+                        "Transaction %s has failed with status: %s. Gas used: 1. Revert reason: '%s'.",
+                        TRANSACTION_HASH, TXN_FAIL_STATUS, OWNER_REVERT_MSG_STR),
+                thrown.getCause().getMessage());
+    }
+
     @Test
     public void testTransactionFailed() throws IOException {
         TransactionReceipt transactionReceipt = createFailedTransactionReceipt();
@@ -571,6 +665,33 @@ public class ContractTest extends ManagedTransactionTester {
         assertThrows(RuntimeException.class, this::testErrorScenario);
     }
 
+    @SuppressWarnings("unchecked")
+    private void prepareAsyncTransaction(TransactionReceipt transactionReceipt) {
+        EthGetTransactionCount ethGetTransactionCount = new EthGetTransactionCount();
+        ethGetTransactionCount.setResult("0x1");
+        Request<?, EthGetTransactionCount> transactionCountRequest = mock(Request.class);
+        when(transactionCountRequest.sendAsync())
+                .thenReturn(CompletableFuture.completedFuture(ethGetTransactionCount));
+        when(web3j.ethGetTransactionCount(SampleKeys.ADDRESS, DefaultBlockParameterName.PENDING))
+                .thenReturn((Request) transactionCountRequest);
+
+        EthSendTransaction ethSendTransaction = new EthSendTransaction();
+        ethSendTransaction.setResult(TRANSACTION_HASH);
+        Request<?, EthSendTransaction> rawTransactionRequest = mock(Request.class);
+        when(rawTransactionRequest.sendAsync())
+                .thenReturn(CompletableFuture.completedFuture(ethSendTransaction));
+        when(web3j.ethSendRawTransaction(any(String.class)))
+                .thenReturn((Request) rawTransactionRequest);
+
+        EthGetTransactionReceipt ethGetTransactionReceipt = new EthGetTransactionReceipt();
+        ethGetTransactionReceipt.setResult(transactionReceipt);
+        Request<?, EthGetTransactionReceipt> getTransactionReceiptRequest = mock(Request.class);
+        when(getTransactionReceiptRequest.sendAsync())
+                .thenReturn(CompletableFuture.completedFuture(ethGetTransactionReceipt));
+        when(web3j.ethGetTransactionReceipt(TRANSACTION_HASH))
+                .thenReturn((Request) getTransactionReceiptRequest);
+    }
+
     @Test
     public void testExtractEventParametersWithLogGivenATransactionReceipt() {
 
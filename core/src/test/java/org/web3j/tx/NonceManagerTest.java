@@ -0,0 +1,264 @@
+package org.web3j.tx;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.crypto.SampleKeys;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.Response;
+import org.web3j.protocol.core.methods.response.EthGetTransactionCount;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
+import org.web3j.service.TxSignServiceImpl;
+import org.web3j.utils.Numeric;
+import org.web3j.utils.TxHashVerifier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class NonceManagerTest {
+
+    private static final String ADDRESS = SampleKeys.ADDRESS;
+
+    private Web3j web3j;
+    private Web3jService web3jService;
+
+    // PENDING transaction count reported by the node
+    private final AtomicLong transactionCount = new AtomicLong(5);
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+
+        when(web3jService.send(any(Request.class), eq(EthGetTransactionCount.class)))
+                .thenAnswer(
+                        invocation -> {
+                            EthGetTransactionCount ethGetTransactionCount =
+                                    new EthGetTransactionCount();
+                            ethGetTransactionCount.setResult(
+                                    Numeric.encodeQuantity(
+                                            BigInteger.valueOf(transactionCount.get())));
+                            return ethGetTransactionCount;
+                        });
+    }
+
+    @Test
+    public void testAllocatesConcurrently() throws Exception {
+        NonceManager nonceManager = new NonceManager(web3j);
+        Set<BigInteger> nonces = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(
+                    executorService.submit(
+                            () -> {
+                                for (int j = 0; j < 100; j++) {
+                                    BigInteger nonce = nonceManager.acquire(ADDRESS);
+                                    assertTrue(nonces.add(nonce));
+                                    nonceManager.confirm(ADDRESS, nonce);
+                                }
+                                return null;
+                            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+
+        assertEquals(800, nonces.size());
+        assertEquals(BigInteger.valueOf(5), Collections.min(nonces));
+        assertEquals(BigInteger.valueOf(804), Collections.max(nonces));
+        assertEquals(BigInteger.valueOf(805), nonceManager.getNextNonce(ADDRESS));
+    }
+
+    @Test
+    public void testReusesReleasedNonces() throws IOException {
+        NonceManager nonceManager = new NonceManager(web3j);
+        BigInteger first = nonceManager.acquire(ADDRESS);
+        BigInteger second = nonceManager.acquire(ADDRESS);
+        BigInteger third = nonceManager.acquire(ADDRESS);
+
+        nonceManager.release(ADDRESS, second);
+        nonceManager.release(ADDRESS, third);
+        // Not in flight any more
+        nonceManager.release(ADDRESS, third);
+
+        assertEquals(BigInteger.valueOf(7), nonceManager.getNextNonce(ADDRESS));
+        assertEquals(second, nonceManager.acquire(ADDRESS));
+        assertEquals(third, nonceManager.acquire(ADDRESS));
+        assertEquals(1, nonceManager.getReusedCount());
+        nonceManager.confirm(ADDRESS, first);
+    }
+
+    @Test
+    public void testLimitsNoncesInFlight() throws IOException {
+        NonceManager nonceManager = new NonceManager(web3j, 64);
+        for (int i = 0; i < 64; i++) {
+            nonceManager.acquire(ADDRESS);
+        }
+
+        assertThrows(IOException.class, () -> nonceManager.acquire(ADDRESS));
+
+        nonceManager.confirm(ADDRESS, BigInteger.valueOf(5));
+        assertEquals(BigInteger.valueOf(69), nonceManager.acquire(ADDRESS));
+    }
+
+    @Test
+    public void testResyncsOnDrift() throws IOException {
+        NonceManager nonceManager = new NonceManager(web3j);
+        nonceManager.confirm(ADDRESS, nonceManager.acquire(ADDRESS));
+
+        // Transactions sent elsewhere
+        transactionCount.set(9);
+        nonceManager.resync(ADDRESS);
+        assertEquals(BigInteger.valueOf(9), nonceManager.acquire(ADDRESS));
+
+        // Nonces beyond the count are still in flight
+        transactionCount.set(8);
+        nonceManager.resync(ADDRESS);
+        assertEquals(BigInteger.valueOf(10), nonceManager.getNextNonce(ADDRESS));
+
+        // Transactions dropped by the node
+        nonceManager.confirm(ADDRESS, BigInteger.valueOf(9));
+        nonceManager.resync(ADDRESS);
+        assertEquals(BigInteger.valueOf(8), nonceManager.acquire(ADDRESS));
+        assertEquals(2, nonceManager.getResyncCount());
+    }
+
+    @Test
+    public void testTransactionManagerReleasesNonceOfFailedTransaction() throws IOException {
+        Queue<String> errors = new LinkedList<>();
+        errors.add("insufficient funds");
+        errors.add(null);
+        List<BigInteger> nonces = new ArrayList<>();
+        when(web3jService.send(any(Request.class), eq(EthSendTransaction.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgument(0);
+                            nonces.add(
+                                    TransactionDecoder.decode((String) request.getParams().get(0))
+                                            .getNonce());
+                            EthSendTransaction ethSendTransaction = new EthSendTransaction();
+                            String error = errors.poll();
+                            if (error != null) {
+                                ethSendTransaction.setError(new Response.Error(-32000, error));
+                            }
+                            return ethSendTransaction;
+                        });
+
+        RawTransactionManager transactionManager =
+                new RawTransactionManager(
+                        web3j, SampleKeys.CREDENTIALS, ChainId.NONE, new NonceManager(web3j));
+        transactionManager.setTxHashVerifier(mock(TxHashVerifier.class));
+        when(transactionManager.getTxHashVerifier().verify(any(), any())).thenReturn(true);
+
+        assertTrue(
+                transactionManager
+                        .sendTransaction(
+                                BigInteger.ONE, BigInteger.TEN, ADDRESS, "", BigInteger.ONE)
+                        .hasError());
+        transactionManager.sendTransaction(
+                BigInteger.ONE, BigInteger.TEN, ADDRESS, "", BigInteger.ONE);
+
+        assertEquals(nonces.get(0), nonces.get(1));
+    }
+
+    @Test
+    public void testTransactionManagerKeepsNonceTheNodeMayHave() throws IOException {
+        Queue<String> errors = new LinkedList<>();
+        errors.add("timeout");
+        errors.add("already known");
+        errors.add(null);
+        List<BigInteger> nonces = new ArrayList<>();
+        when(web3jService.send(any(Request.class), eq(EthSendTransaction.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgument(0);
+                            nonces.add(
+                                    TransactionDecoder.decode((String) request.getParams().get(0))
+                                            .getNonce());
+                            // The node accepts each transaction, whatever the response
+                            transactionCount.incrementAndGet();
+                            String error = errors.poll();
+                            if ("timeout".equals(error)) {
+                                throw new IOException("Read timed out");
+                            }
+                            EthSendTransaction ethSendTransaction = new EthSendTransaction();
+                            if (error != null) {
+                                ethSendTransaction.setError(new Response.Error(-32000, error));
+                            }
+                            return ethSendTransaction;
+                        });
+
+        RawTransactionManager transactionManager =
+                new RawTransactionManager(
+                        web3j, SampleKeys.CREDENTIALS, ChainId.NONE, new NonceManager(web3j));
+        transactionManager.setTxHashVerifier(mock(TxHashVerifier.class));
+        when(transactionManager.getTxHashVerifier().verify(any(), any())).thenReturn(true);
+
+        assertThrows(
+                IOException.class,
+                () ->
+                        transactionManager.sendTransaction(
+                                BigInteger.ONE, BigInteger.TEN, ADDRESS, "", BigInteger.ONE));
+        assertTrue(
+                transactionManager
+                        .sendTransaction(
+                                BigInteger.ONE, BigInteger.TEN, ADDRESS, "", BigInteger.ONE)
+                        .hasError());
+        transactionManager.sendTransaction(
+                BigInteger.ONE, BigInteger.TEN, ADDRESS, "", BigInteger.ONE);
+
+        assertEquals(
+                Arrays.asList(BigInteger.valueOf(5), BigInteger.valueOf(6), BigInteger.valueOf(7)),
+                nonces);
+    }
+
+    @Test
+    public void testSharesNonceManagerOfWeb3j() {
+        assertSame(NonceManager.shared(web3j), NonceManager.shared(web3j));
+        assertSame(
+                new FastRawTransactionManager(web3j, SampleKeys.CREDENTIALS).getNonceManager(),
+                new FastRawTransactionManager(web3j, SampleKeys.CREDENTIALS).getNonceManager());
+    }
+
+    @Test
+    public void testSeededTransactionManagerKeepsSharedNonces() throws IOException {
+        NonceManager.shared(web3j).acquire(ADDRESS);
+
+        FastRawTransactionManager transactionManager =
+                new FastRawTransactionManager(
+                        web3j,
+                        new TxSignServiceImpl(SampleKeys.CREDENTIALS),
+                        ChainId.NONE,
+                        BigInteger.valueOf(41));
+
+        assertEquals(BigInteger.valueOf(41), transactionManager.getCurrentNonce());
+        assertEquals(BigInteger.valueOf(6), NonceManager.shared(web3j).getNextNonce(ADDRESS));
+    }
+}
@@ -14,6 +14,8 @@ package org.web3j.tx;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.CompletableFuture;
 
 import okhttp3.Call;
 import okhttp3.MediaType;
@@ -26,16 +28,21 @@ import org.junit.jupiter.api.Test;
 
 import org.web3j.crypto.HSMHTTPPass;
 import org.web3j.crypto.SampleKeys;
+import org.web3j.crypto.TransactionDecoder;
+import org.web3j.protocol.core.methods.response.EthSendTransaction;
 import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.service.HSMHTTPRequestProcessor;
 import org.web3j.service.TxHSMSignService;
 import org.web3j.service.TxSignService;
 import org.web3j.tx.exceptions.TxHashMismatchException;
 import org.web3j.utils.Convert;
+import org.web3j.utils.TxHashVerifier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -60,6 +67,57 @@ public class RawTransactionManagerTest extends ManagedTransactionTester {
                 () -> transfer.sendFunds(ADDRESS, BigDecimal.ONE, Convert.Unit.ETHER).send());
     }
 
+    @Test
+    public void testAsyncPathCallsOverriddenHooks() {
+        org.web3j.protocol.core.Request<?, EthSendTransaction> request =
+                mock(org.web3j.protocol.core.Request.class);
+        EthSendTransaction ethSendTransaction = new EthSendTransaction();
+        ethSendTransaction.setResult("0x1");
+        when(request.sendAsync()).thenReturn(CompletableFuture.completedFuture(ethSendTransaction));
+        StringBuilder sent = new StringBuilder();
+        when(web3j.ethSendRawTransaction(anyString()))
+                .thenAnswer(
+                        invocation -> {
+                            sent.append(invocation.getArgument(0, String.class));
+                            return request;
+                        });
+
+        RawTransactionManager nonceOverride =
+                new RawTransactionManager(web3j, SampleKeys.CREDENTIALS) {
+                    @Override
+                    protected BigInteger getNonce() {
+                        return BigInteger.valueOf(42);
+                    }
+                };
+        nonceOverride.setTxHashVerifier(mock(TxHashVerifier.class));
+        when(nonceOverride.getTxHashVerifier().verify(any(), any())).thenReturn(true);
+        nonceOverride
+                .sendTransactionAsync(
+                        BigInteger.ONE, BigInteger.TEN, ADDRESS, "", BigInteger.ONE, false)
+                .join();
+        assertEquals(BigInteger.valueOf(42), TransactionDecoder.decode(sent.toString()).getNonce());
+
+        RawTransactionManager sendOverride =
+                new RawTransactionManager(web3j, SampleKeys.CREDENTIALS) {
+                    @Override
+                    public EthSendTransaction sendTransaction(
+                            BigInteger gasPrice,
+                            BigInteger gasLimit,
+                            String to,
+                            String data,
+                            BigInteger value,
+                            boolean constructor) {
+                        return ethSendTransaction;
+                    }
+                };
+        assertSame(
+                ethSendTransaction,
+                sendOverride
+                        .sendTransactionAsync(
+                                BigInteger.ONE, BigInteger.TEN, ADDRESS, "", BigInteger.ONE, false)
+                        .join());
+    }
+
     @Test
     public void testSignRawTxWithHSM() throws IOException {
         TransactionReceipt transactionReceipt = prepareTransfer();
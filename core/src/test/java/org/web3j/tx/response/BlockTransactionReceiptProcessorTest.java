@@ -0,0 +1,243 @@
+package org.web3j.tx.response;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.processors.PublishProcessor;
+import io.reactivex.schedulers.Schedulers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.web3j.protocol.Web3j;
+import org.web3j.protocol.Web3jService;
+import org.web3j.protocol.core.BatchRequest;
+import org.web3j.protocol.core.BatchResponse;
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthBlock;
+import org.web3j.protocol.core.methods.response.EthGetBlockReceipts;
+import org.web3j.protocol.core.methods.response.EthGetTransactionReceipt;
+import org.web3j.protocol.core.methods.response.TransactionReceipt;
+import org.web3j.protocol.exceptions.TransactionException;
+import org.web3j.utils.Numeric;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BlockTransactionReceiptProcessorTest {
+
+    private Web3j web3j;
+    private Web3jService web3jService;
+
+    private final PublishProcessor<String> blockHashes = PublishProcessor.create();
+    // Transactions of each block, and block of each mined transaction
+    private final Map<String, List<String>> blockTransactions = new HashMap<>();
+    private final Map<String, String> transactionBlocks = new HashMap<>();
+
+    private final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> blockReceiptsRequests =
+            Collections.synchronizedList(new ArrayList<>());
+    // Requests that fail, as the node is unreachable
+    private final List<String> unreachableBlocks = new ArrayList<>();
+    private final AtomicInteger unreachableBatches = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        web3jService = mock(Web3jService.class);
+        web3j = Web3j.build(web3jService);
+
+        when(web3jService.send(any(Request.class), eq(EthBlock.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgument(0);
+                            String blockHash = (String) request.getParams().get(0);
+                            if (unreachableBlocks.contains(blockHash)) {
+                                throw new IOException("Connection refused");
+                            }
+                            List<EthBlock.TransactionResult> transactions = new ArrayList<>();
+                            for (String transactionHash :
+                                    blockTransactions.getOrDefault(
+                                            blockHash, Collections.emptyList())) {
+                                transactions.add(new EthBlock.TransactionHash(transactionHash));
+                            }
+                            EthBlock.Block block = new EthBlock.Block();
+                            block.setHash(blockHash);
+                            block.setNumber(Numeric.encodeQuantity(BigInteger.ONE));
+                            block.setTransactions(transactions);
+                            EthBlock ethBlock = new EthBlock();
+                            ethBlock.setResult(block);
+                            return ethBlock;
+                        });
+
+        when(web3jService.send(any(Request.class), eq(EthGetBlockReceipts.class)))
+                .thenAnswer(
+                        invocation -> {
+                            Request<?, ?> request = invocation.getArgument(0);
+                            blockReceiptsRequests.add((String) request.getParams().get(0));
+                            List<TransactionReceipt> receipts = new ArrayList<>();
+                            for (List<String> transactionHashes : blockTransactions.values()) {
+                                for (String transactionHash : transactionHashes) {
+                                    receipts.add(receipt(transactionHash));
+                                }
+                            }
+                            EthGetBlockReceipts ethGetBlockReceipts = new EthGetBlockReceipts();
+                            ethGetBlockReceipts.setResult(receipts);
+                            return ethGetBlockReceipts;
+                        });
+
+        when(web3jService.sendBatch(any(BatchRequest.class)))
+                .thenAnswer(
+                        invocation -> {
+                            BatchRequest batchRequest = invocation.getArgument(0);
+                            batchSizes.add(batchRequest.getRequests().size());
+                            if (unreachableBatches.getAndDecrement() > 0) {
+                                throw new IOException("Connection refused");
+                            }
+                            List<EthGetTransactionReceipt> responses = new ArrayList<>();
+                            for (Request<?, ?> request : batchRequest.getRequests()) {
+                                String transactionHash = (String) request.getParams().get(0);
+                                EthGetTransactionReceipt ethGetTransactionReceipt =
+                                        new EthGetTransactionReceipt();
+                                ethGetTransactionReceipt.setId(request.getId());
+                                if (transactionBlocks.containsKey(transactionHash)) {
+                                    ethGetTransactionReceipt.setResult(receipt(transactionHash));
+                                }
+                                responses.add(ethGetTransactionReceipt);
+                            }
+                            return new BatchResponse(batchRequest.getRequests(), responses);
+                        });
+    }
+
+    @Test
+    public void testResolvesTransactionsOfBlockInBatch() throws Exception {
+        BlockTransactionReceiptProcessor processor = processor(10);
+        CompletableFuture<TransactionReceipt> first = processor.watch("0x1");
+        CompletableFuture<TransactionReceipt> second = processor.watch("0x2");
+        CompletableFuture<TransactionReceipt> third = processor.watch("0x3");
+
+        // All transactions are looked up on the first block
+        mine("0xb1", "0x1");
+        assertEquals("0x1", first.get().getTransactionHash());
+        assertEquals(Arrays.asList(2, 1), batchSizes);
+
+        // Then only the transactions in the block
+        mine("0xb2", "0x2", "0x3");
+        assertEquals("0x2", second.get().getTransactionHash());
+        assertEquals("0x3", third.get().getTransactionHash());
+        assertEquals(Arrays.asList(2, 1, 2), batchSizes);
+        assertEquals(0, processor.getPendingCount());
+    }
+
+    @Test
+    public void testFetchesReceiptsOfBlockWithManyTransactions() throws Exception {
+        BlockTransactionReceiptProcessor processor = processor(2);
+        CompletableFuture<TransactionReceipt> first = processor.watch("0x1");
+        mine("0xb1");
+        CompletableFuture<TransactionReceipt> second = processor.watch("0x2");
+        mine("0xb2");
+
+        mine("0xb3", "0x1", "0x2");
+
+        assertEquals("0x1", first.get().getTransactionHash());
+        assertEquals("0x2", second.get().getTransactionHash());
+        assertEquals(Collections.singletonList("0x1"), blockReceiptsRequests);
+        assertEquals(Arrays.asList(1, 1), batchSizes);
+    }
+
+    @Test
+    public void testTimesOutAfterBlocks() {
+        BlockTransactionReceiptProcessor processor = processor(10);
+        CompletableFuture<TransactionReceipt> future = processor.watch("0x1");
+
+        mine("0xb1");
+        mine("0xb2");
+        assertFalse(future.isDone());
+        mine("0xb3");
+
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof TransactionException);
+        // Looked up on the first block and on the block it timed out at
+        assertEquals(Arrays.asList(1, 1), batchSizes);
+        // Blocks are not followed once no transaction is pending
+        assertFalse(blockHashes.hasSubscribers());
+    }
+
+    @Test
+    public void testRetriesFailedLookupsOnNextBlock() throws Exception {
+        BlockTransactionReceiptProcessor processor =
+                new BlockTransactionReceiptProcessor(
+                        web3j, blockHashes, Schedulers.trampoline(), 10, 2, 10);
+        CompletableFuture<TransactionReceipt> future = processor.watch("0x1");
+        mine("0xb1");
+
+        // The block the transaction is mined in cannot be fetched
+        unreachableBlocks.add("0xb2");
+        mine("0xb2", "0x1");
+        assertFalse(future.isDone());
+
+        // Nor its receipt on the next block
+        unreachableBatches.set(1);
+        mine("0xb3");
+        assertFalse(future.isDone());
+
+        mine("0xb4");
+        assertEquals("0x1", future.get().getTransactionHash());
+        assertEquals(Arrays.asList(1, 1, 1), batchSizes);
+    }
+
+    @Test
+    public void testWaitsForTransactionReceipt() throws Exception {
+        BlockTransactionReceiptProcessor processor = processor(10);
+        transactionBlocks.put("0x1", "0xb0");
+
+        CompletableFuture<TransactionReceipt> future =
+                CompletableFuture.supplyAsync(
+                        () -> {
+                            try {
+                                return processor.waitForTransactionReceipt("0x1");
+                            } catch (IOException | TransactionException e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+        while (!blockHashes.hasSubscribers()) {
+            Thread.sleep(10);
+        }
+        blockHashes.onNext("0xb1");
+
+        assertEquals("0x1", future.get(5, TimeUnit.SECONDS).getTransactionHash());
+    }
+
+    private BlockTransactionReceiptProcessor processor(int blockReceiptsThreshold) {
+        return new BlockTransactionReceiptProcessor(
+                web3j, blockHashes, Schedulers.trampoline(), 3, 2, blockReceiptsThreshold);
+    }
+
+    private void mine(String blockHash, String... transactionHashes) {
+        blockTransactions.put(blockHash, Arrays.asList(transactionHashes));
+        for (String transactionHash : transactionHashes) {
+            transactionBlocks.put(transactionHash, blockHash);
+        }
+        blockHashes.onNext(blockHash);
+    }
+
+    private static TransactionReceipt receipt(String transactionHash) {
+        TransactionReceipt receipt = new TransactionReceipt();
+        receipt.setTransactionHash(transactionHash);
+        return receipt;
+    }
+}
@@ -13,6 +13,8 @@
 package org.web3j.tx.response;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,7 @@ import org.web3j.protocol.core.methods.response.TransactionReceipt;
 import org.web3j.protocol.exceptions.TransactionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.doReturn;
@@ -73,6 +76,37 @@ public class PollingTransactionReceiptProcessorTest {
         }
     }
 
+    @Test
+    public void pollsAsynchronouslyUntilTransactionReceiptIsAvailable() throws Exception {
+        TransactionReceipt transactionReceipt = new TransactionReceipt();
+        Request request = mock(Request.class);
+        when(request.sendAsync())
+                .thenReturn(CompletableFuture.completedFuture(response(null)))
+                .thenReturn(CompletableFuture.completedFuture(response(transactionReceipt)));
+        doReturn(request).when(web3j).ethGetTransactionReceipt(TRANSACTION_HASH);
+
+        TransactionReceipt receipt =
+                processor.waitForTransactionReceiptAsync(TRANSACTION_HASH).get();
+
+        assertEquals(receipt, transactionReceipt);
+    }
+
+    @Test
+    public void failsAsynchronouslyWhenReceiptIsNotAvailableInTime() {
+        Request request = mock(Request.class);
+        when(request.sendAsync()).thenReturn(CompletableFuture.completedFuture(response(null)));
+        doReturn(request).when(web3j).ethGetTransactionReceipt(TRANSACTION_HASH);
+
+        CompletableFuture<TransactionReceipt> future =
+                processor.waitForTransactionReceiptAsync(TRANSACTION_HASH);
+
+        ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof TransactionException);
+        assertEquals(
+                TRANSACTION_HASH,
+                ((TransactionException) exception.getCause()).getTransactionHash().get());
+    }
+
     private static <T extends Response<?>> Request requestReturning(T response) {
         Request request = mock(Request.class);
         try {
@@ -0,0 +1,85 @@
+package org.web3j.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HashedWheelTimerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    public void setUp() {
+        timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 8, clock::get);
+    }
+
+    @Test
+    public void testTimeoutsExpireInDeadlineOrder() {
+        List<Integer> expired = new ArrayList<>();
+        timer.newTimeout(() -> expired.add(2), 200, TimeUnit.MILLISECONDS);
+        timer.newTimeout(() -> expired.add(1), 25, TimeUnit.MILLISECONDS);
+        timer.newTimeout(() -> expired.add(3), 1000, TimeUnit.MILLISECONDS);
+
+        advance(20);
+        assertTrue(expired.isEmpty());
+
+        advance(10);
+        assertEquals(expired, List.of(1));
+
+        // timeouts run at the end of the tick their deadline falls in,
+        // here after several rotations of the 80ms wheel
+        advance(170);
+        assertEquals(expired, List.of(1));
+        advance(10);
+        assertEquals(expired, List.of(1, 2));
+        advance(780);
+        assertEquals(expired, List.of(1, 2));
+        advance(20);
+        assertEquals(expired, List.of(1, 2, 3));
+        assertEquals(timer.pendingTimeouts(), 0);
+    }
+
+    @Test
+    public void testCancelledTimeoutDoesNotRun() {
+        AtomicLong runs = new AtomicLong();
+        HashedWheelTimer.Timeout timeout =
+                timer.newTimeout(runs::incrementAndGet, 50, TimeUnit.MILLISECONDS);
+        advance(10);
+
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(timer.pendingTimeouts(), 0);
+
+        advance(100);
+        assertEquals(runs.get(), 0);
+        assertTrue(timeout.isCancelled());
+        assertFalse(timeout.isExpired());
+    }
+
+    @Test
+    public void testOverdueTimeoutExpiresOnNextTick() {
+        AtomicLong runs = new AtomicLong();
+        advance(100);
+        HashedWheelTimer.Timeout timeout =
+                timer.newTimeout(runs::incrementAndGet, 0, TimeUnit.MILLISECONDS);
+
+        advance(10);
+        assertEquals(runs.get(), 1);
+        assertTrue(timeout.isExpired());
+        assertFalse(timeout.cancel());
+    }
+
+    private void advance(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+        timer.expireTimeouts();
+    }
+}
@@ -0,0 +1,213 @@
+package org.web3j.protocol.http;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.management.ThreadMXBean;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import org.web3j.protocol.core.Request;
+import org.web3j.protocol.core.methods.response.EthLog;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares peak heap usage, allocation and p99 latency of buffered and streamed {@link HttpService}
+ * response deserialization for large eth_getLogs responses.
+ *
+ * <p>Peak heap is sampled while requests are in flight, so it includes the decoded responses and
+ * the mock server's own copy of the payload. Allocation is measured for the calling thread only.
+ */
+public class HttpServiceStreamingBenchmarkIT {
+
+    private static final Logger log =
+            LoggerFactory.getLogger(HttpServiceStreamingBenchmarkIT.class);
+
+    private static final int FIVE_MB = 5 * 1024 * 1024;
+    private static final int FIFTY_MB = 50 * 1024 * 1024;
+
+    private static final String LOG_ENTRY =
+            "{\"removed\":false,\"logIndex\":\"0x1\",\"transactionIndex\":\"0x0\","
+                    + "\"transactionHash\":\"0xdf829c5a142f1fccd7d8216c5785ac562ff41e2dcfdf5785ac562ff41e2dcf\","
+                    + "\"blockHash\":\"0x8216c5785ac562ff41e2dcfdf5785ac562ff41e2dcfdf829c5a142f1fccd7d\","
+                    + "\"blockNumber\":\"0x1b4\",\"address\":\"0x16c5785ac562ff41e2dcfdf829c5a142f1fccd7d\","
+                    + "\"data\":\"0x0000000000000000000000000000000000000000000000000000000000000001\","
+                    + "\"type\":\"mined\",\"topics\":["
+                    + "\"0x59ebeb90bc63057b6515673c3ecf9438e5058bca0f92585014eced636878c9a5\"]}";
+
+    private MockWebServer server;
+    private Buffer fiveMbResponse;
+    private Buffer fiftyMbResponse;
+
+    @BeforeAll
+    public void setUp() throws IOException {
+        fiveMbResponse = buildEthLogResponse(FIVE_MB);
+        fiftyMbResponse = buildEthLogResponse(FIFTY_MB);
+
+        server = new MockWebServer();
+        server.setDispatcher(
+                new Dispatcher() {
+                    @Override
+                    public MockResponse dispatch(RecordedRequest request) {
+                        Buffer body =
+                                request.getPath().endsWith("large")
+                                        ? fiftyMbResponse
+                                        : fiveMbResponse;
+                        return new MockResponse().setBody(body.clone());
+                    }
+                });
+        server.start();
+    }
+
+    @AfterAll
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    public void testFiveMegabyteResponses() throws Exception {
+        compare("5 MB", server.url("/small").toString(), 50);
+    }
+
+    @Test
+    public void testFiftyMegabyteResponses() throws Exception {
+        compare("50 MB", server.url("/large").toString(), 10);
+    }
+
+    private void compare(String label, String url, int iterations) throws Exception {
+        Result buffered = run(url, false, iterations);
+        Result streamed = run(url, true, iterations);
+
+        assertEquals(buffered.logCount, streamed.logCount);
+
+        log.info(
+                "{} response, {} iterations: buffered {}; streamed {}",
+                label,
+                iterations,
+                buffered,
+                streamed);
+    }
+
+    private Result run(String url, boolean streamResponses, int iterations) throws Exception {
+        // Bypass the default client so that debug logging does not buffer response bodies
+        HttpService httpService = new HttpService(url, new OkHttpClient());
+        httpService.setStreamResponses(streamResponses);
+
+        // Warm up the connection pool and the object mapper before measuring
+        int logCount = send(httpService);
+
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        System.gc();
+        HeapSampler heapSampler = new HeapSampler();
+        heapSampler.start();
+
+        long[] latencies = new long[iterations];
+        long allocatedBytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            send(httpService);
+            latencies[i] = System.nanoTime() - start;
+            allocatedBytes += threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        }
+
+        heapSampler.finish();
+
+        Arrays.sort(latencies);
+        int p99Index = (int) Math.ceil(iterations * 0.99) - 1;
+        return new Result(
+                logCount,
+                heapSampler.peakHeapBytes.get(),
+                allocatedBytes / iterations,
+                latencies[p99Index] / 1_000_000);
+    }
+
+    private static int send(HttpService httpService) throws IOException {
+        Request<?, EthLog> request =
+                new Request<>("eth_getLogs", Collections.emptyList(), httpService, EthLog.class);
+        return request.send().getLogs().size();
+    }
+
+    private static Buffer buildEthLogResponse(int targetSize) {
+        Buffer buffer = new Buffer();
+        buffer.writeUtf8("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[");
+        buffer.writeUtf8(LOG_ENTRY);
+        while (buffer.size() < targetSize) {
+            buffer.writeUtf8(",");
+            buffer.writeUtf8(LOG_ENTRY);
+        }
+        buffer.writeUtf8("]}");
+        return buffer;
+    }
+
+    private static class HeapSampler extends Thread {
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final AtomicLong peakHeapBytes = new AtomicLong();
+
+        HeapSampler() {
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            Runtime runtime = Runtime.getRuntime();
+            while (running.get()) {
+                long used = runtime.totalMemory() - runtime.freeMemory();
+                peakHeapBytes.accumulateAndGet(used, Math::max);
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        void finish() throws InterruptedException {
+            running.set(false);
+            join();
+        }
+    }
+
+    private static class Result {
+        private static final long MB = 1024 * 1024;
+
+        private final int logCount;
+        private final long peakHeapBytes;
+        private final long allocatedBytesPerCall;
+        private final long p99Millis;
+
+        Result(int logCount, long peakHeapBytes, long allocatedBytesPerCall, long p99Millis) {
+            this.logCount = logCount;
+            this.peakHeapBytes = peakHeapBytes;
+            this.allocatedBytesPerCall = allocatedBytesPerCall;
+            this.p99Millis = p99Millis;
+        }
+
+        @Override
+        public String toString() {
+            return "peak heap "
+                    + peakHeapBytes / MB
+                    + " MB, allocated "
+                    + allocatedBytesPerCall / MB
+                    + " MB/call, p99 "
+                    + p99Millis
+                    + " ms";
+        }
+    }
+}
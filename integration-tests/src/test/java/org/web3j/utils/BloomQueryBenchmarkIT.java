@@ -0,0 +1,128 @@
+package org.web3j.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares the throughput and allocation of testing one log filter of 50 addresses against the
+ * blooms of 100k blocks with {@link Bloom#test(byte[], byte[]...)}, which hashes the addresses on
+ * every call, and with a {@link BloomQuery} built once.
+ */
+public class BloomQueryBenchmarkIT {
+
+    private static final Logger log = LoggerFactory.getLogger(BloomQueryBenchmarkIT.class);
+
+    private static final int ADDRESS_COUNT = 50;
+    private static final int BLOCK_COUNT = 100_000;
+    private static final int ITEMS_PER_BLOCK = 20;
+
+    @Test
+    public void testManyAddressesAgainstManyBlocks() {
+        Random random = new Random(42);
+        byte[][] addresses = new byte[ADDRESS_COUNT][];
+        for (int i = 0; i < ADDRESS_COUNT; i++) {
+            addresses[i] = randomBytes(random, 20);
+        }
+
+        // Back to back blooms of blocks, each containing random items and, for every 100th block,
+        // one of the addresses
+        byte[] blooms = new byte[BLOCK_COUNT * 256];
+        List<byte[]> bloomList = new ArrayList<>(BLOCK_COUNT);
+        for (int i = 0; i < BLOCK_COUNT; i++) {
+            Bloom bloom = new Bloom();
+            for (int j = 0; j < ITEMS_PER_BLOCK; j++) {
+                bloom.add(randomBytes(random, 32));
+            }
+            if (i % 100 == 0) {
+                bloom.add(addresses[random.nextInt(ADDRESS_COUNT)]);
+            }
+            byte[] bloomBytes = bloom.getBytes();
+            System.arraycopy(bloomBytes, 0, blooms, i * 256, 256);
+            bloomList.add(bloomBytes);
+        }
+
+        Result perCall = measure(() -> testWithBloom(bloomList, addresses));
+
+        BloomQuery query = new BloomQuery.Builder().anyOf(addresses).build();
+        long[] matches = new long[(BLOCK_COUNT + 63) / 64];
+        // Warm up so that compilation does not count as allocation
+        query.testAll(blooms, 0, BLOCK_COUNT, matches);
+        Result precomputed = measure(() -> query.testAll(blooms, 0, BLOCK_COUNT, matches));
+
+        assertEquals(perCall.matches, precomputed.matches);
+        log.info(
+                "{} addresses against {} blooms: Bloom.test {}; BloomQuery {}",
+                ADDRESS_COUNT,
+                BLOCK_COUNT,
+                perCall,
+                precomputed);
+    }
+
+    private static int testWithBloom(List<byte[]> blooms, byte[][] addresses) {
+        int matchCount = 0;
+        for (byte[] bloomBytes : blooms) {
+            for (byte[] address : addresses) {
+                if (Bloom.test(bloomBytes, address)) {
+                    matchCount++;
+                    break;
+                }
+            }
+        }
+        return matchCount;
+    }
+
+    private static Result measure(Benchmark benchmark) {
+        ThreadMXBean threadMXBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        int matches = benchmark.run();
+        long nanos = System.nanoTime() - start;
+        long allocatedBytes = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result(matches, nanos, allocatedBytes);
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private interface Benchmark {
+        int run();
+    }
+
+    private static class Result {
+        private final int matches;
+        private final long nanos;
+        private final long allocatedBytes;
+
+        Result(int matches, long nanos, long allocatedBytes) {
+            this.matches = matches;
+            this.nanos = nanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return matches
+                    + " matches in "
+                    + nanos / 1_000_000
+                    + " ms, "
+                    + nanos / BLOCK_COUNT
+                    + " ns/block, allocated "
+                    + allocatedBytes / BLOCK_COUNT
+                    + " bytes/block";
+        }
+    }
+}
@@ -29,7 +29,8 @@ public class Bloom {
     private final byte[] bytes = new byte[BYTES_LENGTH];
 
     /**
-     * test topics against a bloom filter.
+     * test topics against a bloom filter. topics are hashed on every call, use {@link BloomQuery}
+     * to test the same topics against many filters.
      *
      * @param bloomBytes the filter bytes.
      * @param topics topics to be tested
@@ -157,6 +158,16 @@ public class Bloom {
                 && b.value[2] == (b.value[2] & this.bytes[b.index[2]]);
     }
 
+    /**
+     * test a query against this filter.
+     *
+     * @param query the query, with its topics hashed once.
+     * @return true if the query may match (false-positive is possible), otherwise returns false.
+     */
+    public boolean test(BloomQuery query) {
+        return query.test(this.bytes);
+    }
+
     @Override
     public String toString() {
         return getBytesHexString();
@@ -0,0 +1,203 @@
+package org.web3j.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the bloom filters of blocks, rotated into one bit vector per bloom bit as in geth's
+ * "bloombits".
+ *
+ * <p>Blocks are grouped into sections of a fixed number of blocks. For every section and each of
+ * the 2048 bloom bits, the index holds a vector with one bit per block of the section, so that the
+ * blocks of a section that may match a {@link BloomQuery} are found by combining three vectors per
+ * item, instead of testing the bloom of every block. Only sections whose blocks have all been added
+ * can be queried.
+ *
+ * <p>Sections are held in memory, or in memory-mapped files of a directory, one file per section,
+ * which lets the index survive restarts. Blocks should only be added once they are final, as the
+ * index does not handle chain reorganisations.
+ */
+public class BloomBitsIndex {
+
+    public static final int DEFAULT_SECTION_SIZE = 4096;
+
+    private final int sectionSize;
+    // Bytes of a bit vector with one bit per block of a section
+    private final int vectorLength;
+    private final Path directory;
+
+    private final Map<Long, ByteBuffer> sections = new HashMap<>();
+    private final Set<Long> completeSections = new HashSet<>();
+
+    /** Creates an index held in memory. */
+    public BloomBitsIndex() {
+        this(DEFAULT_SECTION_SIZE);
+    }
+
+    /**
+     * Creates an index held in memory.
+     *
+     * @param sectionSize number of blocks per section, a multiple of 64
+     */
+    public BloomBitsIndex(int sectionSize) {
+        this(sectionSize, null);
+    }
+
+    /**
+     * Creates an index held in memory-mapped files, reusing the sections already in the directory.
+     *
+     * @param sectionSize number of blocks per section, a multiple of 64, which must not change
+     *     between runs
+     * @param directory directory of the section files
+     */
+    public BloomBitsIndex(int sectionSize, Path directory) {
+        if (sectionSize <= 0 || sectionSize % 64 != 0) {
+            throw new IllegalArgumentException("Section size must be a positive multiple of 64");
+        }
+        this.sectionSize = sectionSize;
+        this.vectorLength = sectionSize / 8;
+        this.directory = directory;
+    }
+
+    public int getSectionSize() {
+        return sectionSize;
+    }
+
+    /**
+     * Adds the bloom filter of a block.
+     *
+     * @param blockNumber block number
+     * @param bloomBytes the filter bytes, 256 in length
+     * @throws IOException if the section file cannot be mapped
+     */
+    public synchronized void add(long blockNumber, byte[] bloomBytes) throws IOException {
+        if (bloomBytes.length != BloomQuery.BYTES_LENGTH) {
+            throw new IllegalArgumentException("bytes must be 256 in length");
+        }
+        long section = blockNumber / sectionSize;
+        if (completeSections.contains(section)) {
+            return;
+        }
+
+        ByteBuffer buffer = section(section);
+        int offset = (int) (blockNumber % sectionSize);
+        int byteInVector = offset >>> 3;
+        byte bit = (byte) (1 << (offset & 7));
+        for (int i = 0; i < BloomQuery.BYTES_LENGTH; i++) {
+            int bloomByte = bloomBytes[i] & 0xff;
+            while (bloomByte != 0) {
+                int position = i * 8 + Integer.numberOfTrailingZeros(bloomByte);
+                int index = position * vectorLength + byteInVector;
+                buffer.put(index, (byte) (buffer.get(index) | bit));
+                bloomByte &= bloomByte - 1;
+            }
+        }
+
+        // The vector after the bloom bits records which blocks have been added
+        int addedIndex = BloomQuery.BITS_LENGTH * vectorLength + byteInVector;
+        buffer.put(addedIndex, (byte) (buffer.get(addedIndex) | bit));
+        if (isFull(buffer)) {
+            completeSections.add(section);
+        }
+    }
+
+    /** Returns whether all blocks of a section have been added. */
+    public synchronized boolean isComplete(long section) throws IOException {
+        if (!completeSections.contains(section) && directory != null) {
+            Path path = path(section);
+            if (Files.exists(path) && isFull(section(section))) {
+                completeSections.add(section);
+            }
+        }
+        return completeSections.contains(section);
+    }
+
+    /**
+     * Finds the blocks of a complete section whose bloom may match a query.
+     *
+     * @param section section number
+     * @param query bloom query
+     * @return bit set with bit {@code i} of word {@code i / 64} set if block {@code section *
+     *     sectionSize + i} may match
+     * @throws IllegalStateException if the section is not complete
+     */
+    public synchronized long[] match(long section, BloomQuery query) throws IOException {
+        if (!isComplete(section)) {
+            throw new IllegalStateException("Section " + section + " is not complete");
+        }
+        ByteBuffer buffer = section(section);
+        int words = sectionSize / 64;
+        long[] result = new long[words];
+        Arrays.fill(result, -1L);
+        long[] group = new long[words];
+
+        int[] positions = query.getPositions();
+        int item = 0;
+        for (int groupEnd : query.getGroupEnds()) {
+            Arrays.fill(group, 0L);
+            for (; item < groupEnd; item++) {
+                int first = positions[item * 3] * vectorLength;
+                int second = positions[item * 3 + 1] * vectorLength;
+                int third = positions[item * 3 + 2] * vectorLength;
+                for (int word = 0; word < words; word++) {
+                    group[word] |=
+                            buffer.getLong(first + word * 8)
+                                    & buffer.getLong(second + word * 8)
+                                    & buffer.getLong(third + word * 8);
+                }
+            }
+            for (int word = 0; word < words; word++) {
+                result[word] &= group[word];
+            }
+        }
+        return result;
+    }
+
+    private ByteBuffer section(long section) throws IOException {
+        ByteBuffer buffer = sections.get(section);
+        if (buffer == null) {
+            int length = (BloomQuery.BITS_LENGTH + 1) * vectorLength;
+            if (directory == null) {
+                buffer = ByteBuffer.allocate(length);
+            } else {
+                Files.createDirectories(directory);
+                try (FileChannel channel =
+                        FileChannel.open(
+                                path(section),
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.READ,
+                                StandardOpenOption.WRITE)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+                }
+            }
+            // In little-endian words, bit i of a word is the block i of the word
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            sections.put(section, buffer);
+        }
+        return buffer;
+    }
+
+    private boolean isFull(ByteBuffer buffer) {
+        int addedStart = BloomQuery.BITS_LENGTH * vectorLength;
+        for (int i = 0; i < vectorLength; i += 8) {
+            if (buffer.getLong(addedStart + i) != -1L) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Path path(long section) {
+        return directory.resolve("section-" + section + ".bits");
+    }
+}
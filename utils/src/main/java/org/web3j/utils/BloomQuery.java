@@ -0,0 +1,306 @@
+package org.web3j.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.web3j.crypto.Hash;
+
+/**
+ * Query of a 2048-bit Ethereum bloom filter, with the bit positions of its items computed once.
+ *
+ * <p>A query consists of groups of items. A bloom matches if, for every group, it contains at least
+ * one of the group's items, like a log filter matches logs of any of its addresses and, for every
+ * topic position, any of its topics. A query without groups matches every bloom.
+ *
+ * <p>Unlike {@link Bloom#test(byte[], byte[]...)}, which hashes every topic on each call, a query
+ * hashes its items when it is built. Tests then only read the bloom, without allocating, so one
+ * query can be tested against the blooms of many blocks. Queries are immutable and thread-safe.
+ */
+public class BloomQuery {
+
+    public static final int WORDS_LENGTH = 32;
+
+    static final int BITS_LENGTH = 2048;
+    static final int BYTES_LENGTH = BITS_LENGTH / 8;
+
+    // Three bit positions per item, the items of each group follow each other
+    private final int[] positions;
+    // Number of items up to and including each group
+    private final int[] groupEnds;
+
+    // Byte and word of each position, with the mask of its bit
+    private final int[] byteIndexes;
+    private final int[] byteMasks;
+    private final int[] wordIndexes;
+    private final long[] wordMasks;
+
+    private BloomQuery(int[] positions, int[] groupEnds) {
+        this.positions = positions;
+        this.groupEnds = groupEnds;
+
+        byteIndexes = new int[positions.length];
+        byteMasks = new int[positions.length];
+        wordIndexes = new int[positions.length];
+        wordMasks = new long[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            int byteIndex = positions[i] >>> 3;
+            int bit = positions[i] & 7;
+            byteIndexes[i] = byteIndex;
+            byteMasks[i] = 1 << bit;
+            wordIndexes[i] = byteIndex >>> 3;
+            wordMasks[i] = 1L << ((7 - (byteIndex & 7)) * 8 + bit);
+        }
+    }
+
+    /**
+     * Tests a bloom filter.
+     *
+     * @param bloomBytes the filter bytes, 256 in length
+     * @return true if the bloom may match the query (false-positive is possible), false if it does
+     *     not
+     */
+    public boolean test(byte[] bloomBytes) {
+        if (bloomBytes.length != BYTES_LENGTH) {
+            throw new IllegalArgumentException("bytes must be 256 in length");
+        }
+        return test(bloomBytes, 0);
+    }
+
+    /**
+     * Tests a bloom filter held in a larger array, such as the blooms of many blocks stored back to
+     * back.
+     *
+     * @param blooms array holding the filter
+     * @param offset index of the first of the 256 filter bytes
+     * @return true if the bloom may match the query (false-positive is possible), false if it does
+     *     not
+     */
+    public boolean test(byte[] blooms, int offset) {
+        checkRange(blooms, offset, 1);
+        int item = 0;
+        for (int groupEnd : groupEnds) {
+            boolean found = false;
+            for (; item < groupEnd && !found; item++) {
+                int i = item * 3;
+                found =
+                        (blooms[offset + byteIndexes[i]] & byteMasks[i]) != 0
+                                && (blooms[offset + byteIndexes[i + 1]] & byteMasks[i + 1]) != 0
+                                && (blooms[offset + byteIndexes[i + 2]] & byteMasks[i + 2]) != 0;
+            }
+            if (!found) {
+                return false;
+            }
+            item = groupEnd;
+        }
+        return true;
+    }
+
+    /**
+     * Tests a bloom filter given as 32 words.
+     *
+     * @param bloomWords the filter bytes read as big-endian words, see {@link #toWords(byte[], int,
+     *     long[])}
+     * @return true if the bloom may match the query (false-positive is possible), false if it does
+     *     not
+     */
+    public boolean test(long[] bloomWords) {
+        if (bloomWords.length != WORDS_LENGTH) {
+            throw new IllegalArgumentException("words must be 32 in length");
+        }
+        int item = 0;
+        for (int groupEnd : groupEnds) {
+            boolean found = false;
+            for (; item < groupEnd && !found; item++) {
+                int i = item * 3;
+                found =
+                        (bloomWords[wordIndexes[i]] & wordMasks[i]) != 0
+                                && (bloomWords[wordIndexes[i + 1]] & wordMasks[i + 1]) != 0
+                                && (bloomWords[wordIndexes[i + 2]] & wordMasks[i + 2]) != 0;
+            }
+            if (!found) {
+                return false;
+            }
+            item = groupEnd;
+        }
+        return true;
+    }
+
+    /**
+     * Tests the bloom filters of many blocks, stored back to back.
+     *
+     * @param blooms array holding the filters
+     * @param offset index of the first byte of the first filter
+     * @param count number of filters
+     * @param matches bit set to fill, with bit {@code i % 64} of word {@code i / 64} set if filter
+     *     {@code i} may match, at least {@code (count + 63) / 64} in length
+     * @return number of filters that may match
+     */
+    public int testAll(byte[] blooms, int offset, int count, long[] matches) {
+        checkRange(blooms, offset, count);
+        if (matches.length < (count + 63) / 64) {
+            throw new IllegalArgumentException("matches is too short for " + count + " filters");
+        }
+        int matchCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (test(blooms, offset + i * BYTES_LENGTH)) {
+                matches[i >>> 6] |= 1L << i;
+                matchCount++;
+            } else {
+                matches[i >>> 6] &= ~(1L << i);
+            }
+        }
+        return matchCount;
+    }
+
+    /**
+     * Reads the 256 bytes of a bloom filter as 32 big-endian words, for {@link #test(long[])}.
+     *
+     * @param blooms array holding the filter
+     * @param offset index of the first of the 256 filter bytes
+     * @param bloomWords array of 32 words to fill
+     */
+    public static void toWords(byte[] blooms, int offset, long[] bloomWords) {
+        checkRange(blooms, offset, 1);
+        if (bloomWords.length != WORDS_LENGTH) {
+            throw new IllegalArgumentException("words must be 32 in length");
+        }
+        for (int word = 0; word < WORDS_LENGTH; word++) {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = value << 8 | (blooms[offset + word * 8 + i] & 0xff);
+            }
+            bloomWords[word] = value;
+        }
+    }
+
+    int[] getPositions() {
+        return positions;
+    }
+
+    int[] getGroupEnds() {
+        return groupEnds;
+    }
+
+    private static void checkRange(byte[] blooms, int offset, int count) {
+        if (offset < 0 || count < 0 || offset + (long) count * BYTES_LENGTH > blooms.length) {
+            throw new IllegalArgumentException(
+                    "bytes must hold " + count + " filters of 256 bytes from offset " + offset);
+        }
+    }
+
+    /**
+     * Computes the bit positions an item sets in a bloom filter, as per the Ethereum yellow paper,
+     * section 4.3.1. Position {@code p} is bit {@code p % 8} of byte {@code p / 8}.
+     */
+    static void positions(byte[] item, int[] positions, int offset) {
+        byte[] hash = Hash.sha3(item);
+        for (int i = 0; i < 3; i++) {
+            int value = ((hash[2 * i] & 0xff) << 8 | (hash[2 * i + 1] & 0xff)) & 0x7ff;
+            int byteIndex = BYTES_LENGTH - (value >> 3) - 1;
+            positions[offset + i] = byteIndex * 8 + (value & 7);
+        }
+    }
+
+    /** Builds a bloom query. */
+    public static class Builder {
+
+        private final List<List<byte[]>> groups = new ArrayList<>();
+
+        /**
+         * Adds a group of items, of which at least one must be contained in the bloom.
+         *
+         * @param items addresses or topics
+         * @return this builder
+         */
+        public Builder anyOf(byte[]... items) {
+            return anyOf(Arrays.asList(items));
+        }
+
+        /**
+         * Adds a group of items, of which at least one must be contained in the bloom.
+         *
+         * @param items addresses or topics
+         * @return this builder
+         */
+        public Builder anyOf(List<byte[]> items) {
+            if (items.isEmpty()) {
+                throw new IllegalArgumentException("A group needs at least one item");
+            }
+            groups.add(new ArrayList<>(items));
+            return this;
+        }
+
+        /**
+         * Adds a group of items given as hex strings, of which at least one must be contained in
+         * the bloom.
+         *
+         * @param items addresses or topics
+         * @return this builder
+         */
+        public Builder anyOfHex(List<String> items) {
+            return anyOf(toBytes(items));
+        }
+
+        /**
+         * Adds items which must all be contained in the bloom.
+         *
+         * @param items addresses or topics
+         * @return this builder
+         */
+        public Builder allOf(byte[]... items) {
+            return allOf(Arrays.asList(items));
+        }
+
+        /**
+         * Adds items which must all be contained in the bloom.
+         *
+         * @param items addresses or topics
+         * @return this builder
+         */
+        public Builder allOf(List<byte[]> items) {
+            for (byte[] item : items) {
+                groups.add(Collections.singletonList(item));
+            }
+            return this;
+        }
+
+        /**
+         * Adds items given as hex strings which must all be contained in the bloom.
+         *
+         * @param items addresses or topics
+         * @return this builder
+         */
+        public Builder allOfHex(List<String> items) {
+            return allOf(toBytes(items));
+        }
+
+        private static List<byte[]> toBytes(List<String> items) {
+            List<byte[]> bytes = new ArrayList<>(items.size());
+            for (String item : items) {
+                bytes.add(Numeric.hexStringToByteArray(item));
+            }
+            return bytes;
+        }
+
+        public BloomQuery build() {
+            int itemCount = 0;
+            for (List<byte[]> group : groups) {
+                itemCount += group.size();
+            }
+
+            int[] positions = new int[itemCount * 3];
+            int[] groupEnds = new int[groups.size()];
+            int item = 0;
+            for (int i = 0; i < groups.size(); i++) {
+                for (byte[] itemBytes : groups.get(i)) {
+                    positions(itemBytes, positions, item * 3);
+                    item++;
+                }
+                groupEnds[i] = item;
+            }
+            return new BloomQuery(positions, groupEnds);
+        }
+    }
+}
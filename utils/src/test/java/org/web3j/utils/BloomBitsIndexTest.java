@@ -0,0 +1,67 @@
+package org.web3j.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BloomBitsIndexTest {
+
+    private static final String ADDRESS = "0xc02aaa39b223fe8d0a0e5c4f27ead9083c756cc2";
+
+    private static final BloomQuery QUERY =
+            new BloomQuery.Builder().anyOfHex(Collections.singletonList(ADDRESS)).build();
+
+    @Test
+    public void testMatchesIndexedBlocks() throws IOException {
+        BloomBitsIndex index = new BloomBitsIndex(128);
+        addSection(index, 1);
+
+        assertFalse(index.isComplete(0));
+        assertTrue(index.isComplete(1));
+        // blocks 130 and 255 contain the address
+        assertArrayEquals(new long[] {1L << 2, 1L << 63}, index.match(1, QUERY));
+        assertThrows(IllegalStateException.class, () -> index.match(0, QUERY));
+    }
+
+    @Test
+    public void testReopensMappedSections() throws IOException {
+        Path directory = Files.createTempDirectory(BloomBitsIndexTest.class.getSimpleName());
+        try {
+            addSection(new BloomBitsIndex(128, directory), 1);
+
+            BloomBitsIndex index = new BloomBitsIndex(128, directory);
+            assertTrue(index.isComplete(1));
+            assertFalse(index.isComplete(2));
+            assertArrayEquals(new long[] {1L << 2, 1L << 63}, index.match(1, QUERY));
+        } finally {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    private static void addSection(BloomBitsIndex index, long section) throws IOException {
+        Bloom matching = new Bloom();
+        matching.add(ADDRESS);
+        Bloom other = new Bloom();
+        other.add("0x0000000000000000000000000000000000000001");
+
+        for (int i = 0; i < 128; i++) {
+            long blockNumber = section * 128 + i;
+            boolean matches = i == 2 || i == 127;
+            index.add(blockNumber, matches ? matching.getBytes() : other.getBytes());
+        }
+    }
+}
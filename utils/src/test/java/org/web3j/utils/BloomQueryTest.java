@@ -0,0 +1,121 @@
+package org.web3j.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BloomQueryTest {
+
+    private static final String WETH = "0xc02aaa39b223fe8d0a0e5c4f27ead9083c756cc2";
+    private static final String TRANSFER =
+            "0xddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+    private static final String ABSENT = "0x0000000000000000000000000000000000000001";
+
+    @Test
+    public void testMatchesBloomClass() {
+        Bloom bloom = new Bloom();
+        bloom.add(WETH);
+        bloom.add(TRANSFER);
+        byte[] bloomBytes = bloom.getBytes();
+
+        for (String item : Arrays.asList(WETH, TRANSFER, ABSENT)) {
+            BloomQuery query =
+                    new BloomQuery.Builder().anyOfHex(Collections.singletonList(item)).build();
+            assertTrue(query.test(bloomBytes) == bloom.test(item), item);
+        }
+    }
+
+    @Test
+    public void testGroups() {
+        Bloom bloom = new Bloom();
+        bloom.add(WETH);
+        bloom.add(TRANSFER);
+        byte[] bloomBytes = bloom.getBytes();
+
+        assertTrue(new BloomQuery.Builder().build().test(bloomBytes));
+        assertTrue(
+                new BloomQuery.Builder()
+                        .anyOfHex(Arrays.asList(ABSENT, WETH))
+                        .anyOfHex(Collections.singletonList(TRANSFER))
+                        .build()
+                        .test(bloomBytes));
+        assertFalse(
+                new BloomQuery.Builder()
+                        .anyOfHex(Collections.singletonList(WETH))
+                        .anyOfHex(Collections.singletonList(ABSENT))
+                        .build()
+                        .test(bloomBytes));
+        assertFalse(
+                new BloomQuery.Builder()
+                        .anyOfHex(Arrays.asList(WETH, TRANSFER))
+                        .anyOfHex(Collections.singletonList(ABSENT))
+                        .build()
+                        .test(bloomBytes));
+    }
+
+    @Test
+    public void testAllOf() {
+        Bloom bloom = new Bloom();
+        bloom.add(WETH);
+        bloom.add(TRANSFER);
+
+        assertTrue(
+                bloom.test(
+                        new BloomQuery.Builder().allOfHex(Arrays.asList(WETH, TRANSFER)).build()));
+        assertFalse(
+                bloom.test(new BloomQuery.Builder().allOfHex(Arrays.asList(WETH, ABSENT)).build()));
+    }
+
+    @Test
+    public void testViewsAgree() {
+        BloomQuery query =
+                new BloomQuery.Builder()
+                        .anyOfHex(Arrays.asList(ABSENT, WETH))
+                        .anyOfHex(Collections.singletonList(TRANSFER))
+                        .build();
+
+        // Blooms of 130 blocks back to back after a 7 byte prefix, every third one matching
+        int count = 130;
+        byte[] blooms = new byte[7 + count * 256];
+        long[] bloomWords = new long[BloomQuery.WORDS_LENGTH];
+        for (int i = 0; i < count; i++) {
+            Bloom bloom = new Bloom();
+            if (i % 3 == 0) {
+                bloom.add(WETH);
+            }
+            bloom.add(TRANSFER);
+            System.arraycopy(bloom.getBytes(), 0, blooms, 7 + i * 256, 256);
+        }
+
+        long[] matches = new long[3];
+        matches[1] = -1L;
+        assertEquals(44, query.testAll(blooms, 7, count, matches));
+        for (int i = 0; i < count; i++) {
+            boolean expected = i % 3 == 0;
+            BloomQuery.toWords(blooms, 7 + i * 256, bloomWords);
+            assertEquals(expected, query.test(blooms, 7 + i * 256));
+            assertEquals(expected, query.test(bloomWords));
+            assertEquals(expected, (matches[i / 64] & (1L << (i % 64))) != 0);
+        }
+    }
+
+    @Test
+    public void testInvalidBloom() {
+        BloomQuery query = new BloomQuery.Builder().build();
+        assertThrows(IllegalArgumentException.class, () -> query.test(new byte[255]));
+        assertThrows(IllegalArgumentException.class, () -> query.test(new byte[256], 1));
+        assertThrows(IllegalArgumentException.class, () -> query.test(new long[31]));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> query.testAll(new byte[512], 0, 2, new long[0]));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new BloomQuery.Builder().anyOf(Collections.emptyList()));
+    }
+}